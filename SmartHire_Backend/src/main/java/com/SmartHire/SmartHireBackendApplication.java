@@ -12,7 +12,9 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
   "com.SmartHire.seekerService.mapper",
   "com.SmartHire.messageService.mapper",
   "com.SmartHire.recruitmentService.mapper",
-  "com.SmartHire.adminService.mapper"
+  "com.SmartHire.adminService.mapper",
+  "com.SmartHire.searchService.mapper",
+  "com.SmartHire.common.storage.mapper"
 })
 public class SmartHireBackendApplication {
 
@@ -6,6 +6,7 @@ import com.SmartHire.adminService.mapper.BanRecordMapper;
 import com.SmartHire.adminService.model.BanRecord;
 import com.SmartHire.adminService.service.BanRecordService;
 import com.SmartHire.common.api.UserAuthApi;
+import com.SmartHire.common.dto.userDto.UserBriefDTO;
 import com.SmartHire.common.dto.userDto.UserCommonDTO;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import java.util.Date;
@@ -99,12 +100,12 @@ public class BanRecordServiceImpl extends ServiceImpl<BanRecordMapper, BanRecord
     try {
       // 1. 检查用户是否存在
       log.info("步骤1: 检查用户是否存在, userId={}", userId);
-      UserCommonDTO user = userAuthApi.getUserById(userId);
+      UserBriefDTO user = userAuthApi.getUserBrief(userId);
       if (user == null) {
         log.error("用户不存在: userId={}", userId);
         throw AdminServiceException.userNotFound(userId);
       }
-      log.info("用户存在: username={}", user.getUsername());
+      log.info("用户存在: userId={}", userId);
 
       // 2. 检查是否有生效的封禁记录
       log.info("步骤2: 检查是否有生效的封禁记录");
@@ -126,8 +127,7 @@ public class BanRecordServiceImpl extends ServiceImpl<BanRecordMapper, BanRecord
 
       // 4. 恢复用户状态
       log.info("步骤4: 恢复用户状态");
-      user.setStatus(1); // 1-正常
-      userAuthApi.updateUser(user);
+      userAuthApi.updateUser(statusUpdate(userId, 1)); // 1-正常
       log.info("用户状态已更新为正常");
 
       log.info("用户封禁解除成功，用户ID: {}", userId);
@@ -174,10 +174,8 @@ public class BanRecordServiceImpl extends ServiceImpl<BanRecordMapper, BanRecord
         banRecordMapper.updateById(ban);
 
         // 恢复用户状态
-        UserCommonDTO user = userAuthApi.getUserById(ban.getUserId());
-        if (user != null) {
-          user.setStatus(1); // 1-正常
-          userAuthApi.updateUser(user);
+        if (userAuthApi.existsUser(ban.getUserId())) {
+          userAuthApi.updateUser(statusUpdate(ban.getUserId(), 1)); // 1-正常
         }
 
         processedCount++;
@@ -225,4 +223,12 @@ public class BanRecordServiceImpl extends ServiceImpl<BanRecordMapper, BanRecord
 
     return statistics;
   }
+
+  /** 只更新状态字段，避免用读出的旧资料覆盖用户同时修改的其他字段 */
+  private static UserCommonDTO statusUpdate(Long userId, Integer status) {
+    UserCommonDTO user = new UserCommonDTO();
+    user.setId(userId);
+    user.setStatus(status);
+    return user;
+  }
 }
@@ -5,12 +5,14 @@ import com.SmartHire.adminService.model.Notification;
 import com.SmartHire.adminService.service.NotificationService;
 import com.SmartHire.common.exception.exception.AdminServiceException;
 import com.SmartHire.common.api.UserAuthApi;
+import com.SmartHire.common.dto.userDto.UserBriefDTO;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 通知服务实现类 - 管理员端专用
@@ -190,9 +192,10 @@ public class NotificationServiceImpl implements NotificationService {
             throw AdminServiceException.operationFailed("用户ID列表包含重复项");
         }
 
-        // 验证每个用户是否存在
+        // 验证每个用户是否存在（批量读取近端缓存，未命中的用户一次查询）
+        Map<Long, UserBriefDTO> users = userAuthApi.getUserBriefs(userIds);
         for (Long userId : userIds) {
-            if (!userAuthApi.existsUser(userId)) {
+            if (!users.containsKey(userId)) {
                 throw AdminServiceException.userNotFound(userId);
             }
         }
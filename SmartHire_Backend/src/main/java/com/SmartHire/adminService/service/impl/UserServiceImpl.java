@@ -1,6 +1,7 @@
 package com.SmartHire.adminService.service.impl;
 
 import com.SmartHire.common.dto.userDto.UserManagementDTO;
+import com.SmartHire.common.dto.userDto.UserBriefDTO;
 import com.SmartHire.common.dto.userDto.UserCommonDTO;
 import com.SmartHire.adminService.dto.UserStatusUpdateDTO;
 import com.SmartHire.common.exception.exception.AdminServiceException;
@@ -116,8 +117,9 @@ public class UserServiceImpl implements UserService {
     log.info("开始批量更新用户状态，用户数量: {}, 目标状态: {}, 操作管理员: {}", userIds.size(), status, operatorName);
 
     // 验证所有用户是否存在且非管理员
+    Map<Long, UserBriefDTO> users = userAuthApi.getUserBriefs(userIds);
     for (Long userId : userIds) {
-      UserCommonDTO user = userAuthApi.getUserById(userId);
+      UserBriefDTO user = users.get(userId);
       if (user == null) {
         throw AdminServiceException.userNotFound(userId);
       }
@@ -6,7 +6,9 @@ import com.SmartHire.common.dto.hrDto.JobCardDTO;
 import com.SmartHire.common.dto.hrDto.JobFullDetailDTO;
 import com.SmartHire.common.dto.hrDto.JobInfoDTO;
 import com.SmartHire.common.dto.hrDto.JobSearchDTO;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /** HR服务API接口 用于模块间通信，避免直接访问数据库 */
 public interface HrApi {
@@ -84,6 +86,14 @@ public interface HrApi {
    */
   JobCardDTO getJobCardByJobId(Long jobId);
 
+  /**
+   * 批量获取岗位卡片信息，用于列表页
+   *
+   * @param jobIds 岗位ID集合
+   * @return 岗位ID -> 岗位卡片信息，不存在的岗位不在结果中
+   */
+  Map<Long, JobCardDTO> getJobCards(Collection<Long> jobIds);
+
   /**
    * 根据HR ID获取HR用户ID
    *
@@ -0,0 +1,36 @@
+package com.SmartHire.common.api;
+
+import com.SmartHire.common.dto.hrDto.JobCardDTO;
+import com.SmartHire.common.dto.hrDto.JobSearchDTO;
+import java.util.Collection;
+import java.util.List;
+
+/** 搜索服务API接口 用于模块间通信 */
+public interface SearchApi {
+
+  /**
+   * 从内存索引检索招聘中的岗位
+   *
+   * @param searchDTO 筛选条件
+   * @return 岗位卡片列表（含技能）；索引未开启、尚未构建完成或关键词含单个汉字时返回 null，调用方应回退到数据库查询
+   */
+  List<JobCardDTO> searchJobs(JobSearchDTO searchDTO);
+
+  /**
+   * 从技能索引匹配招聘中的岗位
+   *
+   * @param skills 技能名称
+   * @param minMatch 最少命中的技能数：1 为任一命中，等于技能数为全部命中
+   * @return 按ID升序的岗位ID；索引不可用时返回 null，调用方应回退到数据库查询
+   */
+  List<Long> matchJobsBySkills(Collection<String> skills, int minMatch);
+
+  /**
+   * 从技能索引匹配求职者
+   *
+   * @param skills 技能名称
+   * @param minMatch 最少命中的技能数：1 为任一命中，等于技能数为全部命中
+   * @return 按ID升序的求职者ID；索引不可用时返回 null，调用方应回退到数据库查询
+   */
+  List<Long> matchSeekersBySkills(Collection<String> skills, int minMatch);
+}
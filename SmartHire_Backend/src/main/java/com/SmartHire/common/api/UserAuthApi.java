@@ -1,9 +1,12 @@
 package com.SmartHire.common.api;
 
+import com.SmartHire.common.dto.userDto.UserBriefDTO;
 import com.SmartHire.common.dto.userDto.UserCommonDTO;
 import com.SmartHire.common.dto.userDto.UserManagementDTO;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /** 用户认证服务API接口 用于模块间通信，避免直接访问数据库 */
 public interface UserAuthApi {
@@ -16,6 +19,22 @@ public interface UserAuthApi {
    */
   UserCommonDTO getUserById(Long userId);
 
+  /**
+   * 获取用户简要信息（类型、状态），优先读取本地近端缓存
+   *
+   * @param userId 用户ID
+   * @return 用户简要信息，用户不存在时返回 null
+   */
+  UserBriefDTO getUserBrief(Long userId);
+
+  /**
+   * 批量获取用户简要信息，缓存未命中的用户一次查询
+   *
+   * @param userIds 用户ID列表
+   * @return 用户ID -> 简要信息，不存在的用户不在结果中
+   */
+  Map<Long, UserBriefDTO> getUserBriefs(Collection<Long> userIds);
+
   /**
    * 根据用户ID验证用户是否存在
    *
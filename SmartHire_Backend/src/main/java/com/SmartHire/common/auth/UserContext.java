@@ -3,21 +3,26 @@ package com.SmartHire.common.auth;
 
 import com.SmartHire.common.exception.enums.ErrorCode;
 import com.SmartHire.common.exception.exception.BusinessException;
-import com.SmartHire.common.utils.JwtUtil;
 import java.util.Map;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 import lombok.extern.slf4j.Slf4j;
 
-/** 用户上下文工具类 统一提供从SecurityContext中获取当前登录用户信息的方法 */
+/**
+ * 用户上下文工具类 统一提供获取当前登录用户信息的方法
+ *
+ * <p>HTTP 请求中优先读取认证过滤器放入请求属性的 {@link UserInfo}；不在请求线程中时（如异步任务）从 SecurityContext
+ * 的 Claims 解析
+ */
 @Component
 @Slf4j
 public class UserContext {
 
-  @Autowired
-  private JwtUtil jwtUtil;
+  /** 认证过滤器写入当前用户信息的请求属性名 */
+  public static final String USER_INFO_ATTRIBUTE = UserContext.class.getName() + ".USER_INFO";
 
 
   /**
@@ -27,8 +32,13 @@ public class UserContext {
    * @throws BusinessException 如果用户未登录或信息不完整
    */
   public UserInfo getCurrentUser() {
-    Map<String, Object> claims = getCurrentClaims();
-    return parseUserInfo(claims);
+    RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+    if (attributes != null
+        && attributes.getAttribute(USER_INFO_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST)
+            instanceof UserInfo userInfo) {
+      return userInfo;
+    }
+    return UserInfo.fromClaims(getCurrentClaims());
   }
 
   /**
@@ -72,7 +82,7 @@ public class UserContext {
         log.error("用户类型为空: userId={}, username={}", userInfo.getId(), userInfo.getUsername());
         throw new BusinessException(ErrorCode.USER_ID_NOT_EXIST);
       }
-      log.info("成功获取用户类型: userId={}, userType={}", userInfo.getId(), userInfo.getUserType());
+      log.debug("成功获取用户类型: userId={}, userType={}", userInfo.getId(), userInfo.getUserType());
       return userInfo.getUserType();
     } catch (BusinessException e) {
       log.error("获取用户类型失败: {}", e.getMessage());
@@ -128,49 +138,15 @@ public class UserContext {
   @SuppressWarnings("unchecked")
   private Map<String, Object> getCurrentClaims() {
     Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-    log.info("authentication: {}", authentication);
     if (authentication == null) {
       throw new BusinessException(ErrorCode.USER_NOT_LOGIN);
     }
 
     Object principal = authentication.getPrincipal();
-    log.info("principal: {}", principal);
     if (principal instanceof Map<?, ?> map) {
       return (Map<String, Object>) map;
     }
 
     throw new BusinessException(ErrorCode.USER_NOT_LOGIN);
   }
-
-  /**
-   * 从Claims中解析用户信息
-   *
-   * @param claims JWT Claims
-   * @return UserInfo对象
-   * @throws BusinessException 如果Claims格式不正确
-   */
-  private UserInfo parseUserInfo(Map<String, Object> claims) {
-    log.info("claims: {}", claims);
-    if (claims == null || claims.isEmpty()) {
-      throw new BusinessException(ErrorCode.USER_NOT_LOGIN);
-    }
-
-    Long userId = jwtUtil.getUserIdFromToken(claims);
-    if (userId == null) {
-      throw new BusinessException(ErrorCode.USER_ID_NOT_EXIST);
-    }
-
-    String username = (String) claims.get("username");
-    Object userTypeObj = claims.get("userType");
-
-    Integer userType = null;
-    if (userTypeObj instanceof Integer) {
-      userType = (Integer) userTypeObj;
-    } else if (userTypeObj instanceof Number) {
-      userType = ((Number) userTypeObj).intValue();
-    }
-
-    log.info("解析用户信息: userId={}, username={}, userType={}", userId, username, userType);
-    return new UserInfo(userId, username, userType);
-  }
 }
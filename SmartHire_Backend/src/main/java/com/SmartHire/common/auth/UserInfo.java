@@ -1,20 +1,38 @@
 package com.SmartHire.common.auth;
 
-import lombok.AllArgsConstructor;
-import lombok.Data;
-import lombok.NoArgsConstructor;
+import com.SmartHire.common.exception.enums.ErrorCode;
+import com.SmartHire.common.exception.exception.BusinessException;
+import java.util.Map;
+import lombok.Value;
 
-/** 用户信息实体类 从JWT中解析出的用户基本信息 */
-@Data
-@NoArgsConstructor
-@AllArgsConstructor
+/** 用户信息实体类 从JWT中解析出的用户基本信息，不可变，可在请求和令牌缓存间共享 */
+@Value
 public class UserInfo {
   /** 用户ID */
-  private Long id;
+  Long id;
 
   /** 用户名 */
-  private String username;
+  String username;
 
   /** 用户类型：1-求职者，2-HR，3-管理员 */
-  private Integer userType;
+  Integer userType;
+
+  /**
+   * 从JWT Claims中解析用户信息
+   *
+   * @param claims JWT Claims
+   * @return UserInfo对象
+   * @throws BusinessException 如果Claims为空或缺少用户ID
+   */
+  public static UserInfo fromClaims(Map<String, Object> claims) {
+    if (claims == null || claims.isEmpty()) {
+      throw new BusinessException(ErrorCode.USER_NOT_LOGIN);
+    }
+    if (!(claims.get("id") instanceof Number id)) {
+      throw new BusinessException(ErrorCode.USER_ID_NOT_EXIST);
+    }
+    Integer userType =
+        claims.get("userType") instanceof Number type ? type.intValue() : null;
+    return new UserInfo(id.longValue(), (String) claims.get("username"), userType);
+  }
 }
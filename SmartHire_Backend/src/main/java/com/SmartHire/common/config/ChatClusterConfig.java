@@ -0,0 +1,61 @@
+package com.SmartHire.common.config;
+
+import java.net.InetAddress;
+import java.util.UUID;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.DirectExchange;
+import org.springframework.amqp.core.Queue;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 聊天集群配置 为每个消息服务节点声明专属的路由队列
+ *
+ * <p>每个节点有唯一的 nodeId，并声明一个以 nodeId 为路由键绑定到 {@link RabbitMQConfig#CHAT_NODE_EXCHANGE}
+ * 的队列。生产者根据在线状态注册表查到接收者所在节点后，直接把消息投递到该节点的队列
+ */
+@Slf4j
+@Getter
+@Configuration
+public class ChatClusterConfig {
+
+  /** 当前节点ID */
+  private final String nodeId;
+
+  public ChatClusterConfig(@Value("${message.node-id:}") String configuredNodeId) {
+    this.nodeId =
+        configuredNodeId == null || configuredNodeId.isBlank()
+            ? resolveHostName() + "-" + UUID.randomUUID().toString().substring(0, 8)
+            : configuredNodeId;
+    log.info("聊天节点ID: {}", nodeId);
+  }
+
+  /** 节点路由交换机（direct） */
+  @Bean
+  public DirectExchange chatNodeExchange() {
+    return new DirectExchange(RabbitMQConfig.CHAT_NODE_EXCHANGE, true, false);
+  }
+
+  /** 当前节点的专属队列 非持久化，节点下线后自动删除 */
+  @Bean
+  public Queue chatNodeQueue() {
+    return new Queue(RabbitMQConfig.CHAT_NODE_QUEUE_PREFIX + nodeId, false, false, true);
+  }
+
+  @Bean
+  public Binding chatNodeBinding() {
+    return BindingBuilder.bind(chatNodeQueue()).to(chatNodeExchange()).with(nodeId);
+  }
+
+  private static String resolveHostName() {
+    try {
+      return InetAddress.getLocalHost().getHostName();
+    } catch (Exception e) {
+      return "node";
+    }
+  }
+}
@@ -1,10 +1,29 @@
 package com.SmartHire.common.config;
 
+import com.SmartHire.common.mq.RabbitConsumerAdvice;
+import com.SmartHire.common.mq.RabbitConsumerProperties;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.amqp.core.Base64UrlNamingStrategy;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Declarable;
+import org.springframework.amqp.core.Declarables;
+import org.springframework.amqp.core.DirectExchange;
+import org.springframework.amqp.core.HeadersExchange;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.QueueBuilder;
+import org.springframework.amqp.core.TopicExchange;
 import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -20,6 +39,15 @@ public class RabbitMQConfig {
   /** 聊天消息队列 */
   public static final String CHAT_MESSAGE_QUEUE = "smarthire.chat.message.queue";
 
+  /** 聊天节点路由交换机：按节点ID把消息直接投递到接收者 WebSocket 所在节点 */
+  public static final String CHAT_NODE_EXCHANGE = "smarthire.chat.node.exchange";
+
+  /** 聊天节点专属队列名前缀，完整队列名为 前缀 + 节点ID */
+  public static final String CHAT_NODE_QUEUE_PREFIX = "smarthire.chat.node.";
+
+  /** 聊天消息落库队列：写后落库模式下，消息先持久化到此队列再批量写入 MySQL */
+  public static final String CHAT_PERSIST_QUEUE = "smarthire.chat.persist.queue";
+
   /** 通知消息队列（预留） */
   public static final String NOTIFICATION_QUEUE = "smarthire.notification.queue";
 
@@ -29,6 +57,9 @@ public class RabbitMQConfig {
   /** 聊天消息路由键 */
   public static final String ROUTING_KEY_CHAT = "message.chat";
 
+  /** 聊天消息落库路由键 */
+  public static final String ROUTING_KEY_CHAT_PERSIST = "message.chat.persist";
+
   /** 通知消息路由键（预留） */
   public static final String ROUTING_KEY_NOTIFICATION = "message.notification";
 
@@ -51,6 +82,27 @@ public class RabbitMQConfig {
   /** 会话创建事件队列 */
   public static final String CONVERSATION_CREATED_QUEUE = "smarthire.conversation.created.queue";
 
+  /** 重试延迟交换机：按延迟毫秒数路由到对应的延迟队列 */
+  public static final String RETRY_DELAY_EXCHANGE = "smarthire.retry.delay.exchange";
+
+  /** 延迟队列名前缀，完整队列名为 前缀 + 延迟毫秒数；消息在队列中过期后转发到重试回流交换机 */
+  public static final String RETRY_DELAY_QUEUE_PREFIX = "smarthire.retry.delay.";
+
+  /** 重试回流交换机：按消息头 x-retry-target 把到期的重试消息送回原队列 */
+  public static final String RETRY_RETURN_EXCHANGE = "smarthire.retry.return.exchange";
+
+  /** 死信交换机：以原队列名为路由键投递到 原队列名.dlq */
+  public static final String DEAD_LETTER_EXCHANGE = "smarthire.dead.letter.exchange";
+
+  /** 岗位卡片缓存交换机：岗位、公司、HR 信息变更后广播缓存失效 */
+  public static final String JOB_CARD_EXCHANGE = "smarthire.job.card.exchange";
+
+  /** 岗位卡片缓存失效路由键 */
+  public static final String ROUTING_KEY_JOB_CARD_INVALIDATED = "job.card.invalidated";
+
+  /** 岗位卡片缓存失效的节点队列名前缀，每个节点一个匿名队列，节点下线后自动删除 */
+  public static final String JOB_CARD_INVALIDATE_QUEUE_PREFIX = "smarthire.job.card.invalidate.";
+
   /** 配置消息转换器（JSON 格式） 将 Java 对象自动序列化为 JSON，消费时自动反序列化 */
   @Bean
   public MessageConverter messageConverter() {
@@ -62,6 +114,18 @@ public class RabbitMQConfig {
   public RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory) {
     RabbitTemplate template = new RabbitTemplate(connectionFactory);
     template.setMessageConverter(messageConverter());
+    // 消息ID用于消费端幂等，发布时间用于统计消费延迟；重试/死信转投时保留原值
+    template.setBeforePublishPostProcessors(
+        message -> {
+          MessageProperties properties = message.getMessageProperties();
+          if (properties.getMessageId() == null) {
+            properties.setMessageId(UUID.randomUUID().toString());
+          }
+          if (properties.getTimestamp() == null) {
+            properties.setTimestamp(new Date());
+          }
+          return message;
+        });
     template.setConfirmCallback(
         (correlationData, ack, cause) -> {
           if (!ack) {
@@ -71,16 +135,124 @@ public class RabbitMQConfig {
     return template;
   }
 
-  /** 配置监听器容器工厂 消费者使用 JSON 转换器自动反序列化消息 */
+  /**
+   * 配置监听器容器工厂 消费者使用 JSON 转换器自动反序列化消息
+   *
+   * <p>受管队列按 rabbit.consumer.queues 覆盖 prefetch 和并发数，消费失败由 {@link RabbitConsumerAdvice} 重试或转入死信队列
+   */
   @Bean
   public SimpleRabbitListenerContainerFactory rabbitListenerContainerFactory(
-      ConnectionFactory connectionFactory) {
+      ConnectionFactory connectionFactory,
+      RabbitConsumerAdvice consumerAdvice,
+      RabbitConsumerProperties consumerProperties) {
     SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
     factory.setConnectionFactory(connectionFactory);
     factory.setMessageConverter(messageConverter());
     // 设置并发消费者数量
     factory.setConcurrentConsumers(3);
     factory.setMaxConcurrentConsumers(10);
+    factory.setAdviceChain(consumerAdvice);
+    factory.setContainerCustomizer(
+        container -> {
+          for (String queue : container.getQueueNames()) {
+            RabbitConsumerProperties.QueueSettings settings = consumerProperties.getQueues().get(queue);
+            if (settings == null) {
+              continue;
+            }
+            container.setPrefetchCount(settings.getPrefetch());
+            // 先降到 1 再设置上限，避免新上限小于工厂默认的初始并发数时校验失败
+            container.setConcurrentConsumers(1);
+            container.setMaxConcurrentConsumers(settings.getMaxConcurrency());
+            container.setConcurrentConsumers(
+                Math.min(settings.getConcurrency(), settings.getMaxConcurrency()));
+            break;
+          }
+        });
+    return factory;
+  }
+
+  /**
+   * 重试与死信拓扑
+   *
+   * <p>每个重试延迟一条延迟队列（队列级 TTL，到期转发到回流交换机）；每个受管队列按 x-retry-target 头绑定到回流交换机，并有自己的死信队列。
+   * 不修改已有业务队列的参数，避免与 broker 上已存在的同名队列声明冲突
+   */
+  @Bean
+  public Declarables consumerRetryTopology(RabbitConsumerProperties consumerProperties) {
+    List<Declarable> declarables = new ArrayList<>();
+    DirectExchange delayExchange = new DirectExchange(RETRY_DELAY_EXCHANGE, true, false);
+    HeadersExchange returnExchange = new HeadersExchange(RETRY_RETURN_EXCHANGE, true, false);
+    DirectExchange deadLetterExchange = new DirectExchange(DEAD_LETTER_EXCHANGE, true, false);
+    declarables.add(delayExchange);
+    declarables.add(returnExchange);
+    declarables.add(deadLetterExchange);
+
+    for (Long delayMs : consumerProperties.getRetryDelaysMs().stream().distinct().toList()) {
+      Queue delayQueue =
+          QueueBuilder.durable(RabbitConsumerAdvice.retryDelayQueue(delayMs))
+              .ttl(delayMs.intValue())
+              .deadLetterExchange(RETRY_RETURN_EXCHANGE)
+              .build();
+      declarables.add(delayQueue);
+      declarables.add(BindingBuilder.bind(delayQueue).to(delayExchange).with(String.valueOf(delayMs)));
+    }
+
+    for (String queueName : consumerProperties.getQueues().keySet()) {
+      // 与 @RabbitListener 中的声明一致（持久、无参数），重复声明无副作用
+      Queue queue = new Queue(queueName, true);
+      Queue deadLetterQueue = new Queue(RabbitConsumerAdvice.deadLetterQueue(queueName), true);
+      Binding returnBinding =
+          BindingBuilder.bind(queue)
+              .to(returnExchange)
+              .where(RabbitConsumerAdvice.HEADER_RETRY_TARGET)
+              .matches(queueName);
+      declarables.add(queue);
+      declarables.add(deadLetterQueue);
+      declarables.add(returnBinding);
+      declarables.add(BindingBuilder.bind(deadLetterQueue).to(deadLetterExchange).with(queueName));
+    }
+    return new Declarables(declarables);
+  }
+
+  /** 岗位卡片缓存交换机（topic） */
+  @Bean
+  public TopicExchange jobCardExchange() {
+    return new TopicExchange(JOB_CARD_EXCHANGE, true, false);
+  }
+
+  /** 当前节点的岗位卡片缓存失效队列 非持久、独占，节点下线后自动删除 */
+  @Bean
+  public Queue jobCardInvalidateQueue() {
+    return new AnonymousQueue(new Base64UrlNamingStrategy(JOB_CARD_INVALIDATE_QUEUE_PREFIX));
+  }
+
+  @Bean
+  public Binding jobCardInvalidateBinding() {
+    return BindingBuilder.bind(jobCardInvalidateQueue())
+        .to(jobCardExchange())
+        .with(ROUTING_KEY_JOB_CARD_INVALIDATED);
+  }
+
+  /**
+   * 批量消费监听器容器工厂 攒够 batchSize 条或等待 receiveTimeout 后整批交给监听方法，整批处理成功后统一确认
+   *
+   * <p>单消费者，保证同一节点内按投递顺序落库
+   */
+  @Bean
+  public SimpleRabbitListenerContainerFactory batchRabbitListenerContainerFactory(
+      ConnectionFactory connectionFactory,
+      @Value("${message.write-behind.batch-size:500}") int batchSize,
+      @Value("${message.write-behind.flush-window-ms:100}") long flushWindowMs) {
+    SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+    factory.setConnectionFactory(connectionFactory);
+    factory.setMessageConverter(messageConverter());
+    factory.setBatchListener(true);
+    factory.setConsumerBatchEnabled(true);
+    factory.setBatchSize(batchSize);
+    factory.setReceiveTimeout(flushWindowMs);
+    factory.setPrefetchCount(batchSize * 2);
+    factory.setConcurrentConsumers(1);
+    factory.setMaxConcurrentConsumers(1);
     return factory;
   }
 }
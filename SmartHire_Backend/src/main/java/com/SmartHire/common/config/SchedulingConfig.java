@@ -0,0 +1,9 @@
+package com.SmartHire.common.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/** 定时任务配置 开启 @Scheduled 支持，供各模块的后台刷盘/同步任务使用 */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {}
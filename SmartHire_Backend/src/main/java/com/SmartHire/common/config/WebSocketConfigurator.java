@@ -3,6 +3,7 @@ package com.SmartHire.common.config;
 import jakarta.websocket.HandshakeResponse;
 import jakarta.websocket.server.HandshakeRequest;
 import jakarta.websocket.server.ServerEndpointConfig;
+import java.util.List;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -13,9 +14,16 @@ public class WebSocketConfigurator extends ServerEndpointConfig.Configurator {
     // 获取请求参数
     String queryString = request.getQueryString();
     if (queryString != null && queryString.startsWith("token=")) {
-      String token = queryString.substring(6);
+      int end = queryString.indexOf('&');
+      String token = end < 0 ? queryString.substring(6) : queryString.substring(6, end);
       // 将 token 存储到配置的属性中，后续在 @OnOpen 中可以获取
       config.getUserProperties().put("token", token);
     }
+
+    // 离线消息回放模式：replay=batch 时按批次回放并等待客户端确认，未指定时逐条推送
+    List<String> replay = request.getParameterMap().get("replay");
+    config
+        .getUserProperties()
+        .put("replayMode", replay == null || replay.isEmpty() ? "" : replay.get(0));
   }
 }
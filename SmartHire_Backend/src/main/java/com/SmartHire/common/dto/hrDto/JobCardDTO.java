@@ -4,6 +4,7 @@ import java.io.Serial;
 import java.io.Serializable;
 import java.math.BigDecimal;
 import lombok.Data;
+import java.util.Date;
 import java.util.List;
 
 /** 岗位卡片DTO - 用于求职者端岗位列表展示 */
@@ -53,6 +54,9 @@ public class JobCardDTO implements Serializable {
   /** 工作类型：0-全职 1-实习 */
   private Integer jobType;
 
+  /** 发布时间 */
+  private Date publishedAt;
+
   /** 技能要求列表 */
   private List<String> skills;
 
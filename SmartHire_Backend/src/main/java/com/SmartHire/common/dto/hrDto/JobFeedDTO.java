@@ -0,0 +1,22 @@
+package com.SmartHire.common.dto.hrDto;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.List;
+import lombok.Data;
+
+/** 岗位信息流分页结果 DTO - 游标分页，用于求职者端无限滚动 */
+@Data
+public class JobFeedDTO implements Serializable {
+  @Serial
+  private static final long serialVersionUID = 1L;
+
+  /** 本页岗位卡片（按发布时间倒序） */
+  private List<JobCardDTO> list;
+
+  /** 下一页游标，原样传回即可；没有更多时为 null */
+  private String nextCursor;
+
+  /** 是否还有更多岗位 */
+  private Boolean hasMore;
+}
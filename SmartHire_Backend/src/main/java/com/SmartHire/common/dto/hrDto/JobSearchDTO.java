@@ -50,4 +50,7 @@ public class JobSearchDTO implements Serializable {
     @Positive(message = "分页大小必须为正整数")
     @Max(value = 100, message = "分页大小不能超过100")
     private Integer size = 20;
+
+    /** 游标（仅信息流接口使用），取上一页返回的 nextCursor，不传时返回第一页 */
+    private String cursor;
 }
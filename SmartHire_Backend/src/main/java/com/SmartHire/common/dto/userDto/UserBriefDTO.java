@@ -0,0 +1,16 @@
+package com.SmartHire.common.dto.userDto;
+
+import java.io.Serializable;
+import lombok.Value;
+
+/**
+ * 模块间通用的用户简要信息 只包含几乎不变的用户类型和状态，可被近端缓存共享，因此不可变
+ */
+@Value
+public class UserBriefDTO implements Serializable {
+    Long id;
+    /** 用户类型：1-求职者 2-HR 3-管理员 */
+    Integer userType;
+    /** 状态：0-禁用 1-正常 */
+    Integer status;
+}
@@ -0,0 +1,23 @@
+package com.SmartHire.common.event;
+
+import java.io.Serial;
+import java.io.Serializable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 投递记录新增事件（进程内 Spring 事件）
+ *
+ * <p>求职者投递或 HR 推荐岗位写入投递记录后发布，该投递的匹配分在事务提交后据此后台计算
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApplicationSubmittedEvent implements Serializable {
+
+  @Serial private static final long serialVersionUID = 1L;
+
+  /** 投递ID */
+  private Long applicationId;
+}
@@ -0,0 +1,24 @@
+package com.SmartHire.common.event;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 岗位卡片缓存失效事件（RabbitMQ 广播）
+ *
+ * <p>岗位、公司或 HR 信息变更并提交后发送到 {@code smarthire.job.card.exchange}，各节点收到后清除本地缓存中的对应卡片
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobCardInvalidatedEvent implements Serializable {
+
+  @Serial private static final long serialVersionUID = 1L;
+
+  /** 失效的岗位ID */
+  private List<Long> jobIds;
+}
@@ -0,0 +1,23 @@
+package com.SmartHire.common.event;
+
+import java.io.Serial;
+import java.io.Serializable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 岗位变更事件（进程内 Spring 事件）
+ *
+ * <p>岗位创建、修改、上下线后发布，搜索索引等派生数据在事务提交后据此刷新
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobInfoChangedEvent implements Serializable {
+
+  @Serial private static final long serialVersionUID = 1L;
+
+  /** 岗位ID */
+  private Long jobId;
+}
@@ -0,0 +1,23 @@
+package com.SmartHire.common.event;
+
+import java.io.Serial;
+import java.io.Serializable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 岗位技能要求变更事件（进程内 Spring 事件）
+ *
+ * <p>岗位创建或整体替换技能要求后发布，该岗位下投递的匹配分在事务提交后据此后台重算
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobSkillsChangedEvent implements Serializable {
+
+  @Serial private static final long serialVersionUID = 1L;
+
+  /** 岗位ID */
+  private Long jobId;
+}
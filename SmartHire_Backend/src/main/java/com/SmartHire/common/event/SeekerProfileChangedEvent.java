@@ -0,0 +1,23 @@
+package com.SmartHire.common.event;
+
+import java.io.Serial;
+import java.io.Serializable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 求职者画像变更事件（进程内 Spring 事件）
+ *
+ * <p>求职者基本信息、教育经历（最高学历）、求职期望变更或注销后发布，岗位推荐等派生数据在事务提交后据此刷新
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeekerProfileChangedEvent implements Serializable {
+
+  @Serial private static final long serialVersionUID = 1L;
+
+  /** 求职者ID */
+  private Long jobSeekerId;
+}
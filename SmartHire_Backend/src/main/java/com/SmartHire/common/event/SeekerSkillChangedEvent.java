@@ -0,0 +1,23 @@
+package com.SmartHire.common.event;
+
+import java.io.Serial;
+import java.io.Serializable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 求职者技能变更事件（进程内 Spring 事件）
+ *
+ * <p>求职者新增、修改、删除技能或注销后发布，技能索引等派生数据在事务提交后据此刷新
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeekerSkillChangedEvent implements Serializable {
+
+  @Serial private static final long serialVersionUID = 1L;
+
+  /** 求职者ID */
+  private Long jobSeekerId;
+}
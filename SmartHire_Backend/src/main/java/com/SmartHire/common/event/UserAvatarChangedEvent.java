@@ -0,0 +1,23 @@
+package com.SmartHire.common.event;
+
+import java.io.Serial;
+import java.io.Serializable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 用户头像变更事件（进程内 Spring 事件）
+ *
+ * <p>用户更换头像后发布，岗位卡片等冗余了头像的缓存在事务提交后据此失效
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserAvatarChangedEvent implements Serializable {
+
+  @Serial private static final long serialVersionUID = 1L;
+
+  /** 用户ID */
+  private Long userId;
+}
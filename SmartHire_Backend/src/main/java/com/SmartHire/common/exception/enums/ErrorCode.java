@@ -89,6 +89,7 @@ public enum ErrorCode {
     CONTENT_IS_EMPTY(1405, "文本消息内容不能为空"),
     MEDIA_URL_IS_EMPTY(1406, "媒体消息URL不能为空"),
     MEDIA_UPLOAD_FAILED(1407, "媒体消息附件上传失败"),
+    MESSAGE_SEND_FAILED(1408, "消息发送失败，请稍后重试"),
 
     // 管理员相关错误码 (1500-1599)
     ADMIN_USER_NOT_FOUND(1501, "用户不存在"),
@@ -108,6 +109,14 @@ public enum ErrorCode {
     REPORT_HANDLE_FAILED(1592, "举报处理失败"),
     REPORT_EVIDENCE_NOT_FOUND(1593, "该举报没有证据图片"),
 
+    // 文件直传相关错误码 (1600-1699)
+    UPLOAD_FILE_TYPE_NOT_ALLOWED(1601, "不支持的文件类型"),
+    UPLOAD_FILE_TOO_LARGE(1602, "文件大小超出限制"),
+    UPLOAD_TICKET_INVALID(1603, "上传凭证无效或已过期"),
+    UPLOAD_OBJECT_NOT_FOUND(1604, "文件尚未上传完成"),
+    UPLOAD_FILE_MISMATCH(1605, "上传的文件与申请时声明的大小或类型不一致"),
+    UPLOAD_DIRECT_NOT_SUPPORTED(1606, "当前存储不支持直传，请使用表单上传"),
+
     METHOD_NOT_ALLOWED(9997, "不支持的请求方式"),
     NOT_FOUND(9998, "接口不存在"),
     SYSTEM_ERROR(9999, "系统内部错误,请检查业务处理逻辑,以及是否存在未处理的异常情况");
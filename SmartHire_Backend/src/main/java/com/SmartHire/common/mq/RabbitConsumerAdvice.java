@@ -0,0 +1,243 @@
+package com.SmartHire.common.mq;
+
+import com.SmartHire.common.config.RabbitMQConfig;
+import com.SmartHire.common.exception.exception.BusinessException;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import lombok.extern.slf4j.Slf4j;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.amqp.AmqpRejectAndDontRequeueException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageBuilder;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * 监听器容器通知 包裹每次消息投递，统一处理指标、幂等、重试与死信
+ *
+ * <p>受管队列（见 {@link RabbitConsumerProperties}）的消费失败不再由监听方法吞掉：可重试的异常按退避时间投递到延迟队列，到期后经
+ * {@link RabbitMQConfig#RETRY_RETURN_EXCHANGE} 回到原队列；业务异常、消息无法解析或重试耗尽时投递到该队列的死信队列。原消息在转投成功后确认，
+ * 转投失败则抛出异常由容器重新入队。非受管队列只记录指标，异常照常抛出
+ */
+@Slf4j
+@Component
+public class RabbitConsumerAdvice implements MethodInterceptor {
+
+  /** 已重试次数 */
+  public static final String HEADER_RETRY_COUNT = "x-retry-count";
+
+  /** 重试消息到期后回到的队列 */
+  public static final String HEADER_RETRY_TARGET = "x-retry-target";
+
+  private static final String HEADER_ORIGINAL_QUEUE = "x-original-queue";
+  private static final String HEADER_EXCEPTION_CLASS = "x-exception-class";
+  private static final String HEADER_EXCEPTION_MESSAGE = "x-exception-message";
+
+  private static final long CONFIRM_TIMEOUT_MS = 5000;
+
+  @Autowired private RabbitTemplate rabbitTemplate;
+
+  @Autowired private RabbitConsumerProperties properties;
+
+  @Autowired private RabbitIdempotencyStore idempotencyStore;
+
+  @Autowired private RabbitConsumerMetrics metrics;
+
+  /** 受管队列对应的死信队列名 */
+  public static String deadLetterQueue(String queue) {
+    return queue + ".dlq";
+  }
+
+  /** 延迟队列名 */
+  public static String retryDelayQueue(long delayMs) {
+    return RabbitMQConfig.RETRY_DELAY_QUEUE_PREFIX + delayMs;
+  }
+
+  @Override
+  public Object invoke(MethodInvocation invocation) throws Throwable {
+    Object data = invocation.getArguments().length > 1 ? invocation.getArguments()[1] : null;
+    if (!(data instanceof Message message)) {
+      return invocation.proceed();
+    }
+    MessageProperties messageProperties = message.getMessageProperties();
+    String queue = messageProperties.getConsumerQueue();
+    if (queue == null) {
+      return invocation.proceed();
+    }
+    // 重试消息保留原发布时间，其延迟包含退避等待，不计入消费延迟
+    Date timestamp = messageProperties.getTimestamp();
+    if (timestamp != null && messageProperties.getHeader(HEADER_RETRY_COUNT) == null) {
+      metrics.recordLag(queue, System.currentTimeMillis() - timestamp.getTime());
+    }
+
+    long start = System.nanoTime();
+    if (!properties.isManaged(queue)) {
+      try {
+        Object result = invocation.proceed();
+        metrics.record(queue, RabbitConsumerMetrics.Outcome.SUCCESS, System.nanoTime() - start);
+        return result;
+      } catch (Throwable e) {
+        metrics.record(queue, RabbitConsumerMetrics.Outcome.FAILURE, System.nanoTime() - start);
+        throw e;
+      }
+    }
+
+    String messageId = messageProperties.getMessageId();
+    if (messageId != null) {
+      RabbitIdempotencyStore.Claim claim = idempotencyStore.claim(queue, messageId);
+      if (claim == RabbitIdempotencyStore.Claim.DONE) {
+        log.info("消息已处理过，跳过重复投递: queue={}, messageId={}", queue, messageId);
+        metrics.record(queue, RabbitConsumerMetrics.Outcome.DUPLICATE, System.nanoTime() - start);
+        return null;
+      }
+      if (claim == RabbitIdempotencyStore.Claim.IN_PROGRESS) {
+        // 其他消费者正在处理（或处理中宕机、标记尚未过期）：延后再看，不能直接确认丢弃
+        handleFailure(queue, message, new IllegalStateException("消息正在被其他消费者处理"), start);
+        return null;
+      }
+    }
+
+    try {
+      Object result = invocation.proceed();
+      if (messageId != null) {
+        idempotencyStore.complete(queue, messageId);
+      }
+      metrics.record(queue, RabbitConsumerMetrics.Outcome.SUCCESS, System.nanoTime() - start);
+      return result;
+    } catch (Throwable e) {
+      if (messageId != null) {
+        idempotencyStore.release(queue, messageId);
+      }
+      handleFailure(queue, message, e, start);
+      return null;
+    }
+  }
+
+  /**
+   * 供不经过本通知的监听器（如批量消费）转投单条失败消息：可重试的异常进入延迟队列，否则或重试耗尽时进入死信队列
+   *
+   * <p>队列须配置为受管队列，重试回流和死信队列的绑定才会声明
+   *
+   * @param queue 原队列名
+   * @param message 原始消息
+   * @param error 消费异常
+   * @throws Exception 转投失败，调用方应让容器重新入队
+   */
+  public void retryOrDeadLetter(String queue, Message message, Throwable error) throws Exception {
+    handleFailure(queue, message, error, System.nanoTime());
+  }
+
+  /**
+   * 把消息直接转入死信队列，不再重试
+   *
+   * @param queue 原队列名
+   * @param message 原始消息
+   * @param error 消费异常
+   * @throws Exception 转投失败，调用方应让容器重新入队
+   */
+  public void deadLetter(String queue, Message message, Throwable error) throws Exception {
+    Object retried = message.getMessageProperties().getHeader(HEADER_RETRY_COUNT);
+    int attempt = retried instanceof Number number ? number.intValue() : 0;
+    deadLetter(queue, message, error, rootCause(error), attempt, System.nanoTime());
+  }
+
+  private void handleFailure(String queue, Message message, Throwable error, long start)
+      throws Exception {
+    Throwable cause = rootCause(error);
+    Object retried = message.getMessageProperties().getHeader(HEADER_RETRY_COUNT);
+    int attempt = retried instanceof Number number ? number.intValue() : 0;
+    List<Long> delays = properties.getRetryDelaysMs();
+
+    if (isRetryable(cause) && attempt < delays.size()) {
+      long delayMs = delays.get(attempt);
+      log.warn(
+          "消费失败，{}ms 后第 {} 次重试: queue={}, messageId={}, error={}",
+          delayMs,
+          attempt + 1,
+          queue,
+          message.getMessageProperties().getMessageId(),
+          cause.toString());
+      Message retry =
+          MessageBuilder.fromClonedMessage(message)
+              .setHeader(HEADER_RETRY_TARGET, queue)
+              .setHeader(HEADER_RETRY_COUNT, attempt + 1)
+              .build();
+      publish(RabbitMQConfig.RETRY_DELAY_EXCHANGE, String.valueOf(delayMs), retry, error);
+      metrics.record(queue, RabbitConsumerMetrics.Outcome.RETRY, System.nanoTime() - start);
+      return;
+    }
+
+    deadLetter(queue, message, error, cause, attempt, start);
+  }
+
+  private void deadLetter(
+      String queue, Message message, Throwable error, Throwable cause, int attempt, long start)
+      throws Exception {
+    log.error(
+        "消费失败，转入死信队列: queue={}, messageId={}, retried={}",
+        queue,
+        message.getMessageProperties().getMessageId(),
+        attempt,
+        cause);
+    String reason = cause.getMessage() == null ? "" : cause.getMessage();
+    Message dead =
+        MessageBuilder.fromClonedMessage(message)
+            .setHeader(HEADER_ORIGINAL_QUEUE, queue)
+            .setHeader(HEADER_EXCEPTION_CLASS, cause.getClass().getName())
+            .setHeader(HEADER_EXCEPTION_MESSAGE, reason.length() > 500 ? reason.substring(0, 500) : reason)
+            .build();
+    publish(RabbitMQConfig.DEAD_LETTER_EXCHANGE, queue, dead, error);
+    metrics.record(queue, RabbitConsumerMetrics.Outcome.DEAD_LETTER, System.nanoTime() - start);
+  }
+
+  /** 转投消息；开启发布确认时等待 broker 确认，确保原消息确认前副本已落到 broker */
+  private void publish(String exchange, String routingKey, Message message, Throwable original)
+      throws Exception {
+    CorrelationData correlation =
+        new CorrelationData(message.getMessageProperties().getMessageId());
+    rabbitTemplate.send(exchange, routingKey, message, correlation);
+    if (!rabbitTemplate.getConnectionFactory().isPublisherConfirms()) {
+      return;
+    }
+    try {
+      CorrelationData.Confirm confirm =
+          correlation.getFuture().get(CONFIRM_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+      if (!confirm.isAck()) {
+        throw new IllegalStateException("转投消息被 broker 拒收: " + confirm.getReason(), original);
+      }
+    } catch (TimeoutException | ExecutionException e) {
+      throw new IllegalStateException("等待转投消息确认失败", e);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw e;
+    }
+  }
+
+  /** 业务异常、消息无法解析、参数错误重试也不会成功，直接进入死信队列 */
+  private static boolean isRetryable(Throwable cause) {
+    return !(cause instanceof BusinessException
+        || cause instanceof MessageConversionException
+        || cause instanceof IllegalArgumentException
+        || cause instanceof AmqpRejectAndDontRequeueException);
+  }
+
+  /** 展开容器包装的 ListenerExecutionFailedException 等，取业务抛出的原始异常 */
+  private static Throwable rootCause(Throwable error) {
+    Throwable cause = error;
+    while (cause.getCause() != null
+        && cause.getCause() != cause
+        && !(cause instanceof BusinessException)
+        && !(cause instanceof MessageConversionException)) {
+      cause = cause.getCause();
+    }
+    return cause;
+  }
+}
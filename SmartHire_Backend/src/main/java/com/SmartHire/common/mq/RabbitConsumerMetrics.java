@@ -0,0 +1,103 @@
+package com.SmartHire.common.mq;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.rabbit.core.RabbitAdmin;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * RabbitMQ 消费指标
+ *
+ * <ul>
+ *   <li>{@code rabbit.consumer.messages}：按队列和处理结果计数，即吞吐量
+ *   <li>{@code rabbit.consumer.duration}：监听方法处理耗时
+ *   <li>{@code rabbit.consumer.lag}：消息从发布到开始消费的延迟
+ *   <li>{@code rabbit.consumer.depth}：受管队列及其死信队列的积压条数，定时从 broker 拉取
+ * </ul>
+ */
+@Slf4j
+@Component
+public class RabbitConsumerMetrics {
+
+  /** 处理结果 */
+  public enum Outcome {
+    SUCCESS,
+    RETRY,
+    DEAD_LETTER,
+    DUPLICATE,
+    FAILURE
+  }
+
+  @Autowired private MeterRegistry meterRegistry;
+
+  @Autowired private AmqpAdmin amqpAdmin;
+
+  @Autowired private RabbitConsumerProperties properties;
+
+  private final Map<String, AtomicLong> depths = new ConcurrentHashMap<>();
+
+  public void record(String queue, Outcome outcome, long durationNanos) {
+    Counter.builder("rabbit.consumer.messages")
+        .tag("queue", queue)
+        .tag("outcome", outcome.name().toLowerCase())
+        .register(meterRegistry)
+        .increment();
+    Timer.builder("rabbit.consumer.duration")
+        .tag("queue", queue)
+        .register(meterRegistry)
+        .record(durationNanos, TimeUnit.NANOSECONDS);
+  }
+
+  public void recordLag(String queue, long lagMs) {
+    Timer.builder("rabbit.consumer.lag")
+        .tag("queue", queue)
+        .register(meterRegistry)
+        .record(Math.max(lagMs, 0), TimeUnit.MILLISECONDS);
+  }
+
+  /** 定时拉取受管队列积压条数；broker 不可达时保留上一次的值 */
+  @Scheduled(fixedDelayString = "${rabbit.consumer.depth-poll-ms:30000}")
+  public void pollQueueDepths() {
+    for (String queue : properties.getQueues().keySet()) {
+      updateDepth(queue);
+      updateDepth(RabbitConsumerAdvice.deadLetterQueue(queue));
+    }
+  }
+
+  private void updateDepth(String queue) {
+    try {
+      Properties queueProperties = amqpAdmin.getQueueProperties(queue);
+      if (queueProperties == null) {
+        return;
+      }
+      Object count = queueProperties.get(RabbitAdmin.QUEUE_MESSAGE_COUNT);
+      if (count instanceof Number number) {
+        depths
+            .computeIfAbsent(
+                queue,
+                q -> {
+                  AtomicLong holder = new AtomicLong();
+                  Gauge.builder("rabbit.consumer.depth", holder, AtomicLong::get)
+                      .tag("queue", q)
+                      .register(meterRegistry);
+                  return holder;
+                })
+            .set(number.longValue());
+      }
+    } catch (AmqpException e) {
+      log.debug("读取队列积压失败: queue={}", queue, e);
+    }
+  }
+}
@@ -0,0 +1,53 @@
+package com.SmartHire.common.mq;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * RabbitMQ 消费者配置
+ *
+ * <p>{@code queues} 中列出的队列为"受管队列"：按各自配置设置 prefetch 和并发数，消费失败时按 {@code retryDelaysMs}
+ * 经延迟队列指数退避重试，重试耗尽或不可重试的失败转入该队列的死信队列，并按消息ID去重
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "rabbit.consumer")
+public class RabbitConsumerProperties {
+
+  /** 各次重试前的等待时间（毫秒），长度即最大重试次数 */
+  private List<Long> retryDelaysMs = new ArrayList<>(List.of(1000L, 5000L, 30000L, 120000L));
+
+  /** 已处理消息ID的保留时间（小时），在此期间重复投递的消息会被跳过 */
+  private long idempotencyTtlHours = 72;
+
+  /** 消息处理中标记的过期时间（秒），处理节点宕机后超过该时间才允许其他节点重新处理 */
+  private long processingTtlSeconds = 300;
+
+  /** 受管队列：队列名 -> 消费配置 */
+  private Map<String, QueueSettings> queues = new HashMap<>();
+
+  public boolean isManaged(String queue) {
+    return queue != null && queues.containsKey(queue);
+  }
+
+  /** 单个队列的消费配置 */
+  @Getter
+  @Setter
+  public static class QueueSettings {
+    /** 每个消费者未确认消息的上限 */
+    private int prefetch = 10;
+
+    /** 初始消费者数量 */
+    private int concurrency = 1;
+
+    /** 最大消费者数量 */
+    private int maxConcurrency = 3;
+  }
+}
@@ -0,0 +1,59 @@
+package com.SmartHire.common.mq;
+
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * 消费幂等记录 以 "队列:消息ID" 为键记录处理状态，防止重投或重试的事件重复发送聊天消息
+ *
+ * <p>Redis 键 {@code mq:idempotent:{队列}:{消息ID}}，值为 {@code processing}（处理中，短过期）或 {@code done}（已完成）
+ */
+@Component
+public class RabbitIdempotencyStore {
+
+  private static final String KEY_PREFIX = "mq:idempotent:";
+  private static final String PROCESSING = "processing";
+  private static final String DONE = "done";
+
+  /** 抢占结果 */
+  public enum Claim {
+    /** 抢占成功，可以处理 */
+    ACQUIRED,
+    /** 已处理完成，直接跳过 */
+    DONE,
+    /** 其他消费者正在处理 */
+    IN_PROGRESS
+  }
+
+  @Autowired private RedisTemplate<String, String> redisTemplate;
+
+  @Autowired private RabbitConsumerProperties properties;
+
+  public Claim claim(String queue, String messageId) {
+    String key = key(queue, messageId);
+    Boolean acquired =
+        redisTemplate
+            .opsForValue()
+            .setIfAbsent(key, PROCESSING, properties.getProcessingTtlSeconds(), TimeUnit.SECONDS);
+    if (Boolean.TRUE.equals(acquired)) {
+      return Claim.ACQUIRED;
+    }
+    return DONE.equals(redisTemplate.opsForValue().get(key)) ? Claim.DONE : Claim.IN_PROGRESS;
+  }
+
+  public void complete(String queue, String messageId) {
+    redisTemplate
+        .opsForValue()
+        .set(key(queue, messageId), DONE, properties.getIdempotencyTtlHours(), TimeUnit.HOURS);
+  }
+
+  public void release(String queue, String messageId) {
+    redisTemplate.delete(key(queue, messageId));
+  }
+
+  private static String key(String queue, String messageId) {
+    return KEY_PREFIX + queue + ":" + messageId;
+  }
+}
@@ -1,21 +1,19 @@
 package com.SmartHire.common.security;
 
 import com.SmartHire.common.auth.JwtTokenExtractor;
+import com.SmartHire.common.auth.UserContext;
 import com.SmartHire.common.exception.enums.ErrorCode;
 import com.SmartHire.common.exception.exception.BusinessException;
-import com.SmartHire.common.utils.JwtUtil;
-import com.auth0.jwt.interfaces.DecodedJWT;
+import com.SmartHire.common.security.VerifiedTokenCache.VerifiedToken;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.util.Collections;
-import java.util.Map;
 import java.util.Set;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
@@ -26,14 +24,13 @@ import org.springframework.web.filter.OncePerRequestFilter;
  * - 支持公共路径放行
  * - 支持前缀匹配
  * - 支持 context-path 自动处理
- * - 支持 Redis 黑名单检查
+ * - 验签结果按令牌缓存，同一令牌只验签一次
+ * - 验签通过后按 jti 检查令牌是否已吊销
  */
 @Slf4j
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-  private static final String ACCESS_BLACKLIST_PREFIX = "token:blacklist:access:";
-
   // 公共路径（支持前缀匹配）
   private static final Set<String> PUBLIC_PATHS = Set.of(
       "/health",
@@ -54,13 +51,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
       "/doc.html");
 
   @Autowired
-  private JwtUtil jwtUtil;
+  private VerifiedTokenCache verifiedTokenCache;
 
   @Autowired
   private JwtTokenExtractor tokenExtractor;
 
   @Autowired
-  private RedisTemplate<String, String> redisTemplate;
+  private TokenRevocationService tokenRevocationService;
 
   @Override
   protected void doFilterInternal(
@@ -94,19 +91,21 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     try {
       // 提取 token
       String token = tokenExtractor.extractToken(request);
-      ensureNotBlacklisted(token);
-      DecodedJWT decoded = jwtUtil.verifyToken(token);
+      VerifiedToken verified = verifiedTokenCache.verify(token);
 
-      if (!jwtUtil.isAccessToken(decoded)) {
+      if (!verified.accessToken()) {
         log.warn("Refresh token 访问受保护接口, path={}", servletPath);
         throw new BusinessException(ErrorCode.TOKEN_IS_REFRESH_TOKEN);
       }
+      ensureNotRevoked(verified);
 
-      // 设置 SecurityContext
-      Map<String, Object> claims = jwtUtil.getClaims(decoded);
-      UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(claims, null,
-          Collections.emptyList());
+      // 设置 SecurityContext，并把解析好的用户信息放入请求属性供 UserContext 直接读取
+      UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+          verified.claims(), null, Collections.emptyList());
       SecurityContextHolder.getContext().setAuthentication(authentication);
+      if (verified.userInfo() != null) {
+        request.setAttribute(UserContext.USER_INFO_ATTRIBUTE, verified.userInfo());
+      }
 
       filterChain.doFilter(request, response);
     } catch (BusinessException ex) {
@@ -120,12 +119,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     }
   }
 
-  /** 检查 token 是否在黑名单 */
-  private void ensureNotBlacklisted(String token) {
-    if (token == null || token.isBlank()) {
-      throw new BusinessException(ErrorCode.TOKEN_IS_NULL);
-    }
-    if (Boolean.TRUE.equals(redisTemplate.hasKey(ACCESS_BLACKLIST_PREFIX + token))) {
+  /** 检查 token 是否已吊销，须在验签之后调用 */
+  private void ensureNotRevoked(VerifiedToken verified) {
+    if (tokenRevocationService.isRevoked(verified.tokenId())) {
       throw new BusinessException(ErrorCode.TOKEN_IS_IN_BLACKLIST);
     }
   }
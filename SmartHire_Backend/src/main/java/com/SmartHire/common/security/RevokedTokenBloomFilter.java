@@ -0,0 +1,75 @@
+package com.SmartHire.common.security;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 已吊销令牌ID的布隆过滤器
+ *
+ * <p>判定"不在集合中"时一定准确，判定"可能在集合中"时需再查 Redis 确认。位数组用 {@link AtomicLongArray}，
+ * 订阅线程写入与请求线程读取可以并发进行；容量不足时由定时同步按最新数量重建
+ */
+final class RevokedTokenBloomFilter {
+
+  private final AtomicLongArray bits;
+
+  private final long bitSize;
+
+  private final int hashCount;
+
+  /**
+   * @param expectedInsertions 预计元素数
+   * @param falsePositiveRate 期望误判率
+   */
+  RevokedTokenBloomFilter(long expectedInsertions, double falsePositiveRate) {
+    long n = Math.max(1, expectedInsertions);
+    long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+    this.bitSize = Math.max(64, (m + 63) / 64 * 64);
+    this.bits = new AtomicLongArray((int) (bitSize / 64));
+    this.hashCount = Math.max(1, (int) Math.round((double) bitSize / n * Math.log(2)));
+  }
+
+  void put(String tokenId) {
+    long h1 = hash(tokenId);
+    long h2 = mix(h1);
+    for (int i = 0; i < hashCount; i++) {
+      long index = Math.floorMod(h1 + i * h2, bitSize);
+      int word = (int) (index >>> 6);
+      long mask = 1L << index;
+      long current;
+      while (((current = bits.get(word)) & mask) == 0
+          && !bits.compareAndSet(word, current, current | mask)) {
+        // 其他线程同时修改了同一个字，重读后重试
+      }
+    }
+  }
+
+  boolean mightContain(String tokenId) {
+    long h1 = hash(tokenId);
+    long h2 = mix(h1);
+    for (int i = 0; i < hashCount; i++) {
+      long index = Math.floorMod(h1 + i * h2, bitSize);
+      if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /** FNV-1a 64 位哈希 */
+  private static long hash(String tokenId) {
+    long h = 0xcbf29ce484222325L;
+    for (byte b : tokenId.getBytes(StandardCharsets.UTF_8)) {
+      h ^= b;
+      h *= 0x100000001b3L;
+    }
+    return h;
+  }
+
+  /** SplitMix64 混淆，作为双重哈希的第二个哈希（保证为奇数，避免步长退化） */
+  private static long mix(long h) {
+    h = (h ^ (h >>> 30)) * 0xbf58476d1ce4e5b9L;
+    h = (h ^ (h >>> 27)) * 0x94d049bb133111ebL;
+    return (h ^ (h >>> 31)) | 1L;
+  }
+}
@@ -0,0 +1,197 @@
+package com.SmartHire.common.security;
+
+import com.SmartHire.common.exception.exception.BusinessException;
+import com.SmartHire.common.utils.JwtUtil;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import jakarta.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 令牌吊销服务 以令牌的 jti 为键记录已吊销的令牌，供认证过滤器在验签通过后检查
+ *
+ * <p>Redis 有序集合 {@code token:revoked} 是吊销记录的唯一来源，成员为 jti，分值为令牌过期时间（毫秒）。
+ * 每个节点在本地维护一份已吊销 jti 的布隆过滤器：定时从 Redis 全量重建，新吊销通过频道
+ * {@code token:revoked:broadcast} 即时推送。布隆过滤器判定不存在时直接放行，只有判定可能存在时才查 Redis
+ * 确认，因此绝大多数请求不需要访问 Redis；过滤器尚未加载成功时每次都查 Redis
+ *
+ * <p>旧版本以整个令牌为键写入 {@code token:blacklist:access:{token}} / {@code token:blacklist:refresh:{token}}，
+ * 启动及每次同步时把这些键迁入 {@code token:revoked}（旧令牌没有 jti，以签名为标识）。旧键保留到自身过期，
+ * 滚动升级期间的旧节点仍按旧键检查；旧节点也可能继续写入，迁移一直进行到启动后经过一个刷新令牌有效期，此后不会再有未过期的旧键
+ */
+@Slf4j
+@Component
+public class TokenRevocationService {
+
+  private static final String REVOKED_KEY = "token:revoked";
+  private static final String REVOKED_CHANNEL = "token:revoked:broadcast";
+  private static final String LEGACY_BLACKLIST_PREFIX = "token:blacklist:";
+
+  @Autowired private RedisTemplate<String, String> redisTemplate;
+
+  @Autowired private RedisMessageListenerContainer redisMessageListenerContainer;
+
+  @Autowired private JwtUtil jwtUtil;
+
+  /** 布隆过滤器的最小容量，重建时取其与当前吊销数两倍中的较大者 */
+  @Value("${jwt.revocation.bloom-min-capacity:10000}")
+  private long bloomMinCapacity;
+
+  /** 布隆过滤器的期望误判率 */
+  @Value("${jwt.revocation.bloom-fpp:0.01}")
+  private double bloomFpp;
+
+  /** 本地过滤器与 Redis 全量同步的间隔（毫秒），也是广播丢失时其他节点的最长滞后时间 */
+  @Value("${jwt.revocation.sync-interval-ms:30000}")
+  private long syncIntervalMs;
+
+  /** 刷新令牌有效期（毫秒），也是旧版黑名单键的最长存活时间 */
+  @Value("${jwt.refresh-token-valid-time}")
+  private long refreshTokenValidTime;
+
+  private volatile RevokedTokenBloomFilter filter;
+
+  /** 旧版黑名单迁移的截止时间 */
+  private long legacyMigrationDeadline;
+
+  /** 最近通过本节点吊销或广播收到的 jti 及收到时间，重建过滤器时补入，防止重建期间的吊销丢失 */
+  private final Map<String, Long> recentRevocations = new ConcurrentHashMap<>();
+
+  @PostConstruct
+  public void init() {
+    redisMessageListenerContainer.addMessageListener(
+        (message, pattern) ->
+            markRevoked(new String(message.getBody(), StandardCharsets.UTF_8)),
+        new ChannelTopic(REVOKED_CHANNEL));
+    legacyMigrationDeadline = System.currentTimeMillis() + refreshTokenValidTime;
+    try {
+      sync();
+    } catch (Exception e) {
+      log.warn("加载已吊销令牌失败，同步成功前每次都查询 Redis", e);
+    }
+  }
+
+  /**
+   * 吊销令牌
+   *
+   * @param tokenId 令牌ID（jti）
+   * @param expiresAt 令牌过期时间，过期后吊销记录随之清理
+   */
+  public void revoke(String tokenId, Date expiresAt) {
+    if (tokenId == null || expiresAt == null || expiresAt.getTime() <= System.currentTimeMillis()) {
+      return;
+    }
+    redisTemplate.opsForZSet().add(REVOKED_KEY, tokenId, expiresAt.getTime());
+    markRevoked(tokenId);
+    try {
+      redisTemplate.convertAndSend(REVOKED_CHANNEL, tokenId);
+    } catch (Exception e) {
+      log.warn("广播令牌吊销失败，其他节点将在下次同步后生效: tokenId={}", tokenId, e);
+    }
+  }
+
+  /**
+   * 判断令牌是否已被吊销，调用前应已完成验签和过期校验
+   *
+   * @param tokenId 令牌ID（jti）
+   * @return 已吊销返回 true
+   */
+  public boolean isRevoked(String tokenId) {
+    if (tokenId == null) {
+      return false;
+    }
+    RevokedTokenBloomFilter current = filter;
+    if (current != null && !current.mightContain(tokenId)) {
+      return false;
+    }
+    Double expiresAt = redisTemplate.opsForZSet().score(REVOKED_KEY, tokenId);
+    return expiresAt != null && expiresAt > System.currentTimeMillis();
+  }
+
+  /** 清理已过期的吊销记录，并按 Redis 中的最新集合重建本地布隆过滤器 */
+  @Scheduled(
+      fixedDelayString = "${jwt.revocation.sync-interval-ms:30000}",
+      initialDelayString = "${jwt.revocation.sync-interval-ms:30000}")
+  public void sync() {
+    long startedAt = System.currentTimeMillis();
+    if (startedAt < legacyMigrationDeadline) {
+      try {
+        migrateLegacyBlacklist();
+      } catch (Exception e) {
+        log.warn("迁移旧版令牌黑名单失败，下次同步重试", e);
+      }
+    }
+    redisTemplate.opsForZSet().removeRangeByScore(REVOKED_KEY, 0, startedAt);
+    Set<String> revoked =
+        redisTemplate.opsForZSet().rangeByScore(REVOKED_KEY, startedAt, Double.POSITIVE_INFINITY);
+
+    int size = revoked == null ? 0 : revoked.size();
+    RevokedTokenBloomFilter rebuilt =
+        new RevokedTokenBloomFilter(
+            Math.max(bloomMinCapacity, 2L * (size + recentRevocations.size())), bloomFpp);
+    if (revoked != null) {
+      revoked.forEach(rebuilt::put);
+    }
+    recentRevocations.keySet().forEach(rebuilt::put);
+    filter = rebuilt;
+    // 同步开始前收到的吊销已写入 Redis，必然包含在本次快照中；再补一次是为了覆盖替换前的并发写入
+    recentRevocations.keySet().forEach(rebuilt::put);
+    recentRevocations.values().removeIf(receivedAt -> receivedAt < startedAt - syncIntervalMs);
+    log.debug("已吊销令牌同步完成: size={}", size);
+  }
+
+  /** 把尚未迁移的旧版黑名单键迁入吊销集合 */
+  private void migrateLegacyBlacklist() {
+    List<String> keys = new ArrayList<>();
+    ScanOptions options =
+        ScanOptions.scanOptions().match(LEGACY_BLACKLIST_PREFIX + "*").count(1000).build();
+    try (Cursor<String> cursor = redisTemplate.scan(options)) {
+      while (cursor.hasNext()) {
+        keys.add(cursor.next());
+      }
+    }
+    int migrated = 0;
+    for (String key : keys) {
+      // 键格式为 token:blacklist:{access|refresh}:{token}
+      int tokenStart = key.indexOf(':', LEGACY_BLACKLIST_PREFIX.length()) + 1;
+      DecodedJWT decoded;
+      try {
+        decoded = jwtUtil.decodeToken(key.substring(tokenStart));
+      } catch (BusinessException e) {
+        log.warn("旧版黑名单键无法解析，已跳过: key={}", key);
+        continue;
+      }
+      String tokenId = jwtUtil.getTokenId(decoded);
+      if (redisTemplate.opsForZSet().score(REVOKED_KEY, tokenId) == null) {
+        revoke(tokenId, decoded.getExpiresAt());
+        migrated++;
+      }
+    }
+    if (migrated > 0) {
+      log.info("旧版令牌黑名单迁移完成: count={}", migrated);
+    }
+  }
+
+  private void markRevoked(String tokenId) {
+    recentRevocations.put(tokenId, System.currentTimeMillis());
+    RevokedTokenBloomFilter current = filter;
+    if (current != null) {
+      current.put(tokenId);
+    }
+  }
+}
@@ -0,0 +1,130 @@
+package com.SmartHire.common.security;
+
+import com.SmartHire.common.auth.UserInfo;
+import com.SmartHire.common.utils.JwtUtil;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 已验签令牌缓存 同一令牌只验签、解析一次，之后的请求按令牌摘要直接取出解析结果
+ *
+ * <p>键为整个令牌的 SHA-256 摘要（不能只取签名段，否则篡改载荷的令牌会命中缓存），条目在令牌的 exp 时刻过期，
+ * 因此过期令牌总会重新走验签并被拒绝。吊销不在缓存范围内，每次请求仍需单独检查
+ */
+@Component
+public class VerifiedTokenCache {
+
+  /**
+   * 验签通过的令牌
+   *
+   * @param tokenId 令牌ID（jti）
+   * @param accessToken 是否为 access token
+   * @param expiresAt 过期时间（毫秒）
+   * @param claims 只读的 Claims
+   * @param userInfo 从 Claims 解析出的用户信息，refresh token 或 Claims 不完整时为 null
+   */
+  public record VerifiedToken(
+      String tokenId,
+      boolean accessToken,
+      long expiresAt,
+      Map<String, Object> claims,
+      UserInfo userInfo) {}
+
+  @Autowired private JwtUtil jwtUtil;
+
+  @Autowired private MeterRegistry meterRegistry;
+
+  /** 缓存的令牌数上限 */
+  @Value("${jwt.cache.verified-token.maximum-size:50000}")
+  private long maximumSize;
+
+  private Cache<String, VerifiedToken> cache;
+
+  @PostConstruct
+  public void init() {
+    cache =
+        Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfter(
+                new Expiry<String, VerifiedToken>() {
+                  @Override
+                  public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+                    long remainingMillis = value.expiresAt() - System.currentTimeMillis();
+                    return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMillis, 0));
+                  }
+
+                  @Override
+                  public long expireAfterUpdate(
+                      String key, VerifiedToken value, long currentTime, long currentDuration) {
+                    return currentDuration;
+                  }
+
+                  @Override
+                  public long expireAfterRead(
+                      String key, VerifiedToken value, long currentTime, long currentDuration) {
+                    return currentDuration;
+                  }
+                })
+            .recordStats()
+            .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwt.verified");
+  }
+
+  /**
+   * 验证令牌，命中缓存时跳过验签和解析
+   *
+   * @param token JWT token 字符串
+   * @return 验签通过的令牌
+   * @throws com.SmartHire.common.exception.exception.BusinessException 令牌为空、签名无效或已过期
+   */
+  public VerifiedToken verify(String token) {
+    if (token == null || token.isBlank()) {
+      // 交给 verifyToken 抛出统一的异常
+      jwtUtil.verifyToken(token);
+    }
+    return cache.get(digest(token), key -> load(token));
+  }
+
+  private VerifiedToken load(String token) {
+    DecodedJWT decoded = jwtUtil.verifyToken(token);
+    Map<String, Object> claims =
+        Collections.unmodifiableMap(new LinkedHashMap<>(jwtUtil.getClaims(decoded)));
+    boolean accessToken = jwtUtil.isAccessToken(decoded);
+    UserInfo userInfo = null;
+    if (accessToken && claims.get("id") instanceof Number) {
+      userInfo = UserInfo.fromClaims(claims);
+    }
+    return new VerifiedToken(
+        jwtUtil.getTokenId(decoded),
+        accessToken,
+        decoded.getExpiresAt().getTime(),
+        claims,
+        userInfo);
+  }
+
+  private static String digest(String token) {
+    try {
+      byte[] hash =
+          MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+      return Base64.getEncoder().encodeToString(hash);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 不可用", e);
+    }
+  }
+}
@@ -0,0 +1,204 @@
+package com.SmartHire.common.storage;
+
+import com.SmartHire.common.exception.enums.ErrorCode;
+import com.SmartHire.common.exception.exception.BusinessException;
+import com.SmartHire.common.storage.dto.UploadTicketDTO;
+import com.SmartHire.common.storage.dto.UploadTicketRequest;
+import com.SmartHire.common.utils.AliOssUtil;
+import com.SmartHire.common.utils.TransactionUtils;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 客户端直传服务
+ *
+ * <p>流程：客户端先申请凭证，服务端校验声明的类型和大小，返回表单直传参数和对象键；签名策略限定对象键、类型和精确的文件大小，
+ * 不符的上传由存储直接拒绝。客户端直接把文件上传到存储，再提交对象键，服务端读取对象元数据再次核对大小和类型后才落库。
+ * 文件内容不经过应用服务器，也不占用数据库连接。
+ *
+ * <p>凭证存于 Redis 哈希 {@code upload:ticket:{对象键}}，提交时原子删除，同一凭证只能提交一次。
+ * 未提交的凭证同时登记在有序集合 {@code upload:pending}（分值为过期时间），过期后由定时任务把对应对象交给删除发件箱清理。
+ * 提交时 {@code upload:pending} 中的登记在业务事务提交之前移除，任何失败都只会留下孤儿文件，不会删除已被引用的对象；
+ * 事务回滚则恢复登记和凭证，客户端可重新提交，未再提交的对象照常由定时任务清理
+ */
+@Slf4j
+@Component
+public class DirectUploadService {
+
+  /**
+   * 提交成功的上传
+   *
+   * @param url 访问地址
+   * @param fileName 申请凭证时声明的原始文件名
+   */
+  public record CommittedUpload(String url, String fileName) {}
+
+  private static final String TICKET_PREFIX = "upload:ticket:";
+  private static final String PENDING_KEY = "upload:pending";
+
+  @Autowired private ObjectStorage storage;
+
+  @Autowired private AliOssUtil aliOssUtil;
+
+  @Autowired private StorageDeletionOutbox storageDeletionOutbox;
+
+  @Autowired private RedisTemplate<String, String> redisTemplate;
+
+  /** 签名有效期（秒），也是凭证的有效期 */
+  @Value("${storage.direct-upload.url-ttl-seconds:900}")
+  private long urlTtlSeconds;
+
+  /** 凭证过期后再等待多久才清理未提交的对象（秒），避免与临界时刻的提交冲突 */
+  @Value("${storage.direct-upload.cleanup-grace-seconds:300}")
+  private long cleanupGraceSeconds;
+
+  /**
+   * 申请直传凭证
+   *
+   * @param purpose 用途
+   * @param userId 当前用户ID
+   * @param request 文件名、类型和大小
+   * @return 直传凭证
+   */
+  public UploadTicketDTO createTicket(
+      UploadPurpose purpose, Long userId, UploadTicketRequest request) {
+    String contentType = UploadPurpose.normalizeContentType(request.getContentType());
+    if (!purpose.allows(contentType)) {
+      throw new BusinessException(ErrorCode.UPLOAD_FILE_TYPE_NOT_ALLOWED);
+    }
+    if (request.getSize() == null || request.getSize() <= 0) {
+      throw new BusinessException(ErrorCode.VALIDATION_ERROR);
+    }
+    if (request.getSize() > purpose.getMaxSizeBytes()) {
+      throw new BusinessException(ErrorCode.UPLOAD_FILE_TOO_LARGE);
+    }
+
+    String objectKey =
+        aliOssUtil.buildObjectName(
+            purpose.getDirectoryKey(), aliOssUtil.generateFileUrl(request.getFileName()));
+    Date expiresAt =
+        new Date(System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(urlTtlSeconds));
+    PresignedUpload upload;
+    try {
+      upload = storage.presignUpload(objectKey, contentType, request.getSize(), expiresAt);
+    } catch (UnsupportedOperationException e) {
+      throw new BusinessException(ErrorCode.UPLOAD_DIRECT_NOT_SUPPORTED);
+    }
+
+    String ticketKey = TICKET_PREFIX + objectKey;
+    redisTemplate
+        .opsForHash()
+        .putAll(
+            ticketKey,
+            Map.of(
+                "purpose", purpose.name(),
+                "userId", String.valueOf(userId),
+                "contentType", contentType,
+                "size", String.valueOf(request.getSize()),
+                "fileName", request.getFileName(),
+                "expiresAt", String.valueOf(expiresAt.getTime())));
+    redisTemplate.expire(ticketKey, urlTtlSeconds, TimeUnit.SECONDS);
+    redisTemplate.opsForZSet().add(PENDING_KEY, objectKey, expiresAt.getTime());
+    return new UploadTicketDTO(
+        upload.url(), upload.formFields(), objectKey, contentType, expiresAt);
+  }
+
+  /**
+   * 提交已直传的对象：核对凭证归属、对象大小和类型，通过后凭证作废并返回访问地址
+   *
+   * <p>对象尚未上传时凭证保留，客户端可在上传完成后重试；大小或类型不符时凭证作废，对象交给删除发件箱清理
+   *
+   * @param purpose 用途
+   * @param userId 当前用户ID
+   * @param objectKey 对象键
+   * @return 访问地址和原始文件名
+   */
+  public CommittedUpload commit(UploadPurpose purpose, Long userId, String objectKey) {
+    String ticketKey = TICKET_PREFIX + objectKey;
+    Map<Object, Object> ticket = redisTemplate.opsForHash().entries(ticketKey);
+    if (ticket.isEmpty()
+        || !purpose.name().equals(ticket.get("purpose"))
+        || !String.valueOf(userId).equals(ticket.get("userId"))) {
+      throw new BusinessException(ErrorCode.UPLOAD_TICKET_INVALID);
+    }
+
+    StoredObject stored = storage.getObjectInfo(objectKey);
+    if (stored == null) {
+      throw new BusinessException(ErrorCode.UPLOAD_OBJECT_NOT_FOUND);
+    }
+    // 原子删除凭证，并发提交时只有一个能成功
+    if (!Boolean.TRUE.equals(redisTemplate.delete(ticketKey))) {
+      throw new BusinessException(ErrorCode.UPLOAD_TICKET_INVALID);
+    }
+
+    long declaredSize = Long.parseLong((String) ticket.get("size"));
+    String declaredType = (String) ticket.get("contentType");
+    boolean sizeMatches =
+        stored.size() == declaredSize && stored.size() <= purpose.getMaxSizeBytes();
+    boolean typeMatches =
+        Objects.equals(declaredType, UploadPurpose.normalizeContentType(stored.contentType()));
+    if (!sizeMatches || !typeMatches) {
+      log.warn(
+          "直传文件与凭证不符，已作废: objectKey={}, declared={}/{}, actual={}/{}",
+          objectKey,
+          declaredSize,
+          declaredType,
+          stored.size(),
+          stored.contentType());
+      // 随后抛出的异常会回滚业务事务，删除登记必须独立提交
+      storageDeletionOutbox.enqueueIndependently(List.of(objectKey));
+      redisTemplate.opsForZSet().remove(PENDING_KEY, objectKey);
+      throw new BusinessException(ErrorCode.UPLOAD_FILE_MISMATCH);
+    }
+
+    // 待清理登记在业务事务提交之前移除：移除失败时异常使业务事务回滚，已被引用的对象不会再被定时任务删除；
+    // 节点在提交前宕机时凭证和登记都已不在，对象只会成为无人清理的孤儿文件
+    TransactionUtils.runAfterRollback(() -> restoreTicket(ticketKey, ticket, objectKey));
+    redisTemplate.opsForZSet().remove(PENDING_KEY, objectKey);
+    return new CommittedUpload(storage.getPublicUrl(objectKey), (String) ticket.get("fileName"));
+  }
+
+  /** 业务事务回滚后恢复待清理登记和凭证，凭证已过期则只恢复登记，对象留给定时任务清理 */
+  private void restoreTicket(String ticketKey, Map<Object, Object> ticket, String objectKey) {
+    Object expiresAt = ticket.get("expiresAt");
+    long expiresAtMs =
+        expiresAt == null ? System.currentTimeMillis() : Long.parseLong((String) expiresAt);
+    long remainingMs = expiresAtMs - System.currentTimeMillis();
+    try {
+      redisTemplate.opsForZSet().add(PENDING_KEY, objectKey, expiresAtMs);
+      if (remainingMs <= 0) {
+        return;
+      }
+      redisTemplate.opsForHash().putAll(ticketKey, ticket);
+      redisTemplate.expire(ticketKey, remainingMs, TimeUnit.MILLISECONDS);
+    } catch (Exception e) {
+      log.warn("恢复直传凭证或待清理登记失败，对象可能成为孤儿文件: ticketKey={}", ticketKey, e);
+    }
+  }
+
+  /** 清理过期未提交的直传对象 */
+  @Scheduled(fixedDelayString = "${storage.direct-upload.cleanup-interval-ms:60000}")
+  public void cleanupExpired() {
+    long threshold = System.currentTimeMillis() - TimeUnit.SECONDS.toMillis(cleanupGraceSeconds);
+    Set<String> expired =
+        redisTemplate
+            .opsForZSet()
+            .rangeByScore(PENDING_KEY, 0, threshold, 0, ObjectStorage.MAX_BATCH_DELETE);
+    if (expired == null || expired.isEmpty()) {
+      return;
+    }
+    storageDeletionOutbox.enqueue(expired);
+    redisTemplate.opsForZSet().remove(PENDING_KEY, expired.toArray());
+    log.info("清理过期未提交的直传对象: count={}", expired.size());
+  }
+}
@@ -0,0 +1,135 @@
+package com.SmartHire.common.storage;
+
+import jakarta.annotation.PostConstruct;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Date;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * 本地文件系统存储后端 {@code storage.type=local} 时启用，供开发、测试环境在无网络时使用
+ *
+ * <p>对象名即根目录下的相对路径。先写入同目录下的临时文件再原子改名，读者不会看到写了一半的文件
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "storage", name = "type", havingValue = "local")
+public class LocalObjectStorage implements ObjectStorage {
+
+  @Autowired private StorageProperties properties;
+
+  private Path rootDir;
+
+  private String baseUrl;
+
+  @PostConstruct
+  public void init() throws IOException {
+    rootDir = Path.of(properties.getLocal().getRootDir()).toAbsolutePath().normalize();
+    Files.createDirectories(rootDir);
+    String configuredUrl = properties.getLocal().getBaseUrl();
+    baseUrl =
+        StringUtils.hasText(configuredUrl) ? configuredUrl : rootDir.toUri().toString();
+    if (baseUrl.endsWith("/")) {
+      baseUrl = baseUrl.substring(0, baseUrl.length() - 1);
+    }
+    log.info("使用本地文件存储: rootDir={}, baseUrl={}", rootDir, baseUrl);
+  }
+
+  @Override
+  public String name() {
+    return "local";
+  }
+
+  @Override
+  public void putObject(String objectName, InputStream in, long contentLength) throws IOException {
+    Path target = resolve(objectName);
+    Files.createDirectories(target.getParent());
+    Path temp = Files.createTempFile(target.getParent(), ".upload-", ".tmp");
+    try {
+      Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+      Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } finally {
+      Files.deleteIfExists(temp);
+    }
+  }
+
+  @Override
+  public void putObject(String objectName, MultipartFile file) throws IOException {
+    try (InputStream in = file.getInputStream()) {
+      putObject(objectName, in, file.getSize());
+    }
+  }
+
+  @Override
+  public PresignedUpload presignUpload(
+      String objectName, String contentType, long size, Date expiration) {
+    throw new UnsupportedOperationException("本地存储不支持直传");
+  }
+
+  @Override
+  public StoredObject getObjectInfo(String objectName) {
+    Path path = resolve(objectName);
+    if (!Files.isRegularFile(path)) {
+      return null;
+    }
+    try {
+      return new StoredObject(Files.size(path), Files.probeContentType(path));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @Override
+  public boolean exists(String objectName) {
+    return Files.isRegularFile(resolve(objectName));
+  }
+
+  @Override
+  public void deleteObject(String objectName) {
+    try {
+      Files.deleteIfExists(resolve(objectName));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @Override
+  public void deleteObjects(List<String> objectNames) {
+    objectNames.forEach(this::deleteObject);
+  }
+
+  @Override
+  public String getPublicUrl(String objectName) {
+    return baseUrl + "/" + objectName;
+  }
+
+  @Override
+  public String extractObjectName(String fileUrl) {
+    String prefix = baseUrl + "/";
+    if (fileUrl == null || !fileUrl.startsWith(prefix) || fileUrl.length() == prefix.length()) {
+      return null;
+    }
+    String objectPath = fileUrl.substring(prefix.length());
+    int queryIndex = objectPath.indexOf("?");
+    return queryIndex >= 0 ? objectPath.substring(0, queryIndex) : objectPath;
+  }
+
+  /** 解析对象路径，拒绝跳出根目录的对象名 */
+  private Path resolve(String objectName) {
+    Path path = rootDir.resolve(objectName).normalize();
+    if (!path.startsWith(rootDir) || path.equals(rootDir)) {
+      throw new IllegalArgumentException("非法的对象名: " + objectName);
+    }
+    return path;
+  }
+}
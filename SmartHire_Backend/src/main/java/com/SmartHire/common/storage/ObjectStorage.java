@@ -0,0 +1,97 @@
+package com.SmartHire.common.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Date;
+import java.util.List;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * 对象存储后端 由 {@code storage.type} 选择实现：{@code oss}（默认，阿里云 OSS）或 {@code local}（本地文件系统，
+ * 供开发、测试环境离线使用）
+ *
+ * <p>上层通过 {@link com.SmartHire.common.utils.AliOssUtil} 使用，不直接依赖具体实现
+ */
+public interface ObjectStorage {
+
+  /** 单次批量删除的对象数上限（OSS DeleteObjects 的限制） */
+  int MAX_BATCH_DELETE = 1000;
+
+  /** 后端名称，用作监控指标的标签 */
+  String name();
+
+  /**
+   * 从输入流上传对象，流由调用方关闭
+   *
+   * @param objectName 对象名
+   * @param in 输入流
+   * @param contentLength 内容长度，未知时传 -1
+   */
+  void putObject(String objectName, InputStream in, long contentLength) throws IOException;
+
+  /**
+   * 直接从上传文件流式写入对象，大文件可按分片并行上传
+   *
+   * @param objectName 对象名
+   * @param file 上传文件
+   */
+  void putObject(String objectName, MultipartFile file) throws IOException;
+
+  /**
+   * 生成客户端表单直传参数，签名策略限定对象名、Content-Type 和文件大小，不符的上传由存储直接拒绝
+   *
+   * @param objectName 对象名
+   * @param contentType Content-Type
+   * @param size 文件大小（字节）
+   * @param expiration 签名过期时间
+   * @return 上传地址和表单字段
+   * @throws UnsupportedOperationException 后端不支持直传
+   */
+  PresignedUpload presignUpload(String objectName, String contentType, long size, Date expiration);
+
+  /**
+   * 读取对象元数据
+   *
+   * @param objectName 对象名
+   * @return 元数据，对象不存在时返回 null
+   */
+  StoredObject getObjectInfo(String objectName);
+
+  /**
+   * 判断对象是否存在
+   *
+   * @param objectName 对象名
+   * @return 存在返回 true
+   */
+  boolean exists(String objectName);
+
+  /**
+   * 删除对象，对象不存在时视为成功
+   *
+   * @param objectName 对象名
+   */
+  void deleteObject(String objectName);
+
+  /**
+   * 批量删除对象，不存在的对象视为删除成功；请求失败时整体抛出异常
+   *
+   * @param objectNames 对象名，一次最多 {@link #MAX_BATCH_DELETE} 个
+   */
+  void deleteObjects(List<String> objectNames);
+
+  /**
+   * 对象的公开访问地址
+   *
+   * @param objectName 对象名
+   * @return 访问URL
+   */
+  String getPublicUrl(String objectName);
+
+  /**
+   * 从本后端生成的访问地址中解析对象名
+   *
+   * @param fileUrl 访问URL
+   * @return 对象名，不是本后端的地址时返回 null
+   */
+  String extractObjectName(String fileUrl);
+}
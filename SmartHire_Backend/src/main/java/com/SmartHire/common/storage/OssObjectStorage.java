@@ -0,0 +1,329 @@
+package com.SmartHire.common.storage;
+
+import com.aliyun.oss.ClientBuilderConfiguration;
+import com.aliyun.oss.ClientException;
+import com.aliyun.oss.OSS;
+import com.aliyun.oss.OSSClientBuilder;
+import com.aliyun.oss.OSSErrorCode;
+import com.aliyun.oss.OSSException;
+import com.aliyun.oss.model.AbortMultipartUploadRequest;
+import com.aliyun.oss.model.CompleteMultipartUploadRequest;
+import com.aliyun.oss.model.DeleteObjectsRequest;
+import com.aliyun.oss.common.utils.BinaryUtil;
+import com.aliyun.oss.model.InitiateMultipartUploadRequest;
+import com.aliyun.oss.model.MatchMode;
+import com.aliyun.oss.model.ObjectMetadata;
+import com.aliyun.oss.model.PartETag;
+import com.aliyun.oss.model.PolicyConditions;
+import com.aliyun.oss.model.PutObjectRequest;
+import com.aliyun.oss.model.UploadPartRequest;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * 阿里云 OSS 存储后端
+ *
+ * <p>整个应用共用一个带连接池的 OSS 客户端，随容器关闭。超过阈值的上传文件按分片并行上传：每个分片各自打开一次文件流、
+ * 跳到分片起点后直接上传，不在内存中缓冲分片数据；任一分片失败时取消整个分片上传
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "storage", name = "type", havingValue = "oss", matchIfMissing = true)
+public class OssObjectStorage implements ObjectStorage {
+
+  @Autowired private StorageProperties properties;
+
+  @Value("${aliyun.oss.endpoint:}")
+  private String endpoint;
+
+  @Value("${aliyun.oss.access-key-id:}")
+  private String accessKeyId;
+
+  @Value("${aliyun.oss.access-key-secret:}")
+  private String accessKeySecret;
+
+  @Value("${aliyun.oss.bucket:}")
+  private String bucket;
+
+  private OSS ossClient;
+
+  private ExecutorService partExecutor;
+
+  @PostConstruct
+  public void init() {
+    if (!StringUtils.hasText(endpoint)) {
+      log.warn("未配置 aliyun.oss.endpoint，OSS 存储不可用；离线环境可设置 storage.type=local");
+      return;
+    }
+    ClientBuilderConfiguration configuration = new ClientBuilderConfiguration();
+    configuration.setMaxConnections(properties.getOss().getMaxConnections());
+    configuration.setConnectionTimeout(properties.getOss().getConnectionTimeoutMs());
+    configuration.setSocketTimeout(properties.getOss().getSocketTimeoutMs());
+    ossClient = new OSSClientBuilder().build(endpoint, accessKeyId, accessKeySecret, configuration);
+
+    AtomicInteger threadIndex = new AtomicInteger();
+    partExecutor =
+        Executors.newFixedThreadPool(
+            Math.max(1, properties.getMultipart().getConcurrency()),
+            runnable -> {
+              Thread thread = new Thread(runnable, "oss-part-" + threadIndex.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            });
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    if (partExecutor != null) {
+      partExecutor.shutdownNow();
+    }
+    if (ossClient != null) {
+      ossClient.shutdown();
+    }
+  }
+
+  @Override
+  public String name() {
+    return "oss";
+  }
+
+  @Override
+  public void putObject(String objectName, InputStream in, long contentLength) {
+    ObjectMetadata metadata = new ObjectMetadata();
+    if (contentLength >= 0) {
+      metadata.setContentLength(contentLength);
+    }
+    try {
+      client().putObject(new PutObjectRequest(bucket, objectName, in, metadata));
+    } catch (OSSException oe) {
+      log.error(
+          "OSSException during upload. objectName={}, code={}, message={}, requestId={}",
+          objectName,
+          oe.getErrorCode(),
+          oe.getErrorMessage(),
+          oe.getRequestId(),
+          oe);
+      throw new RuntimeException("OSS上传失败，请检查凭证配置", oe);
+    } catch (ClientException ce) {
+      log.error(
+          "ClientException during upload. objectName={}, message={}",
+          objectName,
+          ce.getMessage(),
+          ce);
+      throw new RuntimeException("OSS客户端异常，请检查网络或配置", ce);
+    }
+  }
+
+  @Override
+  public void putObject(String objectName, MultipartFile file) throws IOException {
+    long size = file.getSize();
+    if (size < properties.getMultipart().getThresholdBytes()) {
+      try (InputStream in = file.getInputStream()) {
+        putObject(objectName, in, size);
+      }
+      return;
+    }
+    multipartUpload(objectName, file, size);
+  }
+
+  private void multipartUpload(String objectName, MultipartFile file, long size) {
+    long partSize = properties.getMultipart().getPartSizeBytes();
+    String uploadId =
+        client()
+            .initiateMultipartUpload(new InitiateMultipartUploadRequest(bucket, objectName))
+            .getUploadId();
+    List<CompletableFuture<PartETag>> parts = new ArrayList<>();
+    try {
+      int partNumber = 1;
+      for (long offset = 0; offset < size; offset += partSize, partNumber++) {
+        long start = offset;
+        long length = Math.min(partSize, size - offset);
+        int number = partNumber;
+        parts.add(
+            CompletableFuture.supplyAsync(
+                () -> uploadPart(objectName, uploadId, file, number, start, length),
+                partExecutor));
+      }
+      CompletableFuture<Void> allParts =
+          CompletableFuture.allOf(parts.toArray(CompletableFuture[]::new));
+      // 任一分片失败即停止等待，不等其余分片传完
+      parts.forEach(
+          part ->
+              part.exceptionally(
+                  ex -> {
+                    allParts.completeExceptionally(ex);
+                    return null;
+                  }));
+      allParts.join();
+
+      List<PartETag> partETags =
+          new ArrayList<>(parts.stream().map(CompletableFuture::join).toList());
+      partETags.sort(Comparator.comparingInt(PartETag::getPartNumber));
+      ossClient.completeMultipartUpload(
+          new CompleteMultipartUploadRequest(bucket, objectName, uploadId, partETags));
+      log.debug("分片上传完成: objectName={}, size={}, parts={}", objectName, size, partETags.size());
+    } catch (RuntimeException e) {
+      // 先取消尚未开始的分片，避免取消上传后仍有分片占用线程继续上传
+      parts.forEach(part -> part.cancel(false));
+      abortQuietly(objectName, uploadId);
+      Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+      log.error("OSS分片上传失败, objectName={}, size={}", objectName, size, cause);
+      throw new RuntimeException("OSS分片上传失败", cause);
+    }
+  }
+
+  private PartETag uploadPart(
+      String objectName,
+      String uploadId,
+      MultipartFile file,
+      int partNumber,
+      long offset,
+      long length) {
+    try (InputStream in = file.getInputStream()) {
+      in.skipNBytes(offset);
+      UploadPartRequest request = new UploadPartRequest();
+      request.setBucketName(bucket);
+      request.setKey(objectName);
+      request.setUploadId(uploadId);
+      request.setPartNumber(partNumber);
+      request.setPartSize(length);
+      request.setInputStream(in);
+      return ossClient.uploadPart(request).getPartETag();
+    } catch (IOException e) {
+      throw new CompletionException(e);
+    }
+  }
+
+  private OSS client() {
+    if (ossClient == null) {
+      throw new IllegalStateException("OSS 客户端未初始化，请检查 aliyun.oss 配置");
+    }
+    return ossClient;
+  }
+
+  private void abortQuietly(String objectName, String uploadId) {
+    try {
+      ossClient.abortMultipartUpload(new AbortMultipartUploadRequest(bucket, objectName, uploadId));
+    } catch (Exception e) {
+      log.warn("取消分片上传失败，残留分片由 OSS 生命周期规则清理: objectName={}", objectName, e);
+    }
+  }
+
+  @Override
+  public PresignedUpload presignUpload(
+      String objectName, String contentType, long size, Date expiration) {
+    // 签名 URL 的 PUT 无法约束 Content-Length，改用 PostObject 策略：content-length-range 上下限都取声明的大小
+    PolicyConditions conditions = new PolicyConditions();
+    conditions.addConditionItem(MatchMode.Exact, PolicyConditions.COND_KEY, objectName);
+    conditions.addConditionItem(MatchMode.Exact, PolicyConditions.COND_CONTENT_TYPE, contentType);
+    conditions.addConditionItem(PolicyConditions.COND_CONTENT_LENGTH_RANGE, size, size);
+    conditions.addConditionItem(PolicyConditions.COND_SUCCESS_ACTION_STATUS, "204");
+    String policy = client().generatePostPolicy(expiration, conditions);
+
+    Map<String, String> fields = new LinkedHashMap<>();
+    fields.put("key", objectName);
+    fields.put("Content-Type", contentType);
+    fields.put("success_action_status", "204");
+    fields.put("OSSAccessKeyId", accessKeyId);
+    fields.put("policy", BinaryUtil.toBase64String(policy.getBytes(StandardCharsets.UTF_8)));
+    fields.put("Signature", client().calculatePostSignature(policy));
+    return new PresignedUpload("https://" + buildPublicHost(), fields);
+  }
+
+  @Override
+  public StoredObject getObjectInfo(String objectName) {
+    try {
+      ObjectMetadata metadata = client().getObjectMetadata(bucket, objectName);
+      return new StoredObject(metadata.getContentLength(), metadata.getContentType());
+    } catch (OSSException oe) {
+      if (OSSErrorCode.NO_SUCH_KEY.equals(oe.getErrorCode())) {
+        return null;
+      }
+      throw oe;
+    }
+  }
+
+  @Override
+  public boolean exists(String objectName) {
+    return client().doesObjectExist(bucket, objectName);
+  }
+
+  @Override
+  public void deleteObject(String objectName) {
+    client().deleteObject(bucket, objectName);
+  }
+
+  @Override
+  public void deleteObjects(List<String> objectNames) {
+    if (objectNames.isEmpty()) {
+      return;
+    }
+    if (objectNames.size() > MAX_BATCH_DELETE) {
+      throw new IllegalArgumentException("单次最多删除 " + MAX_BATCH_DELETE + " 个对象");
+    }
+    client().deleteObjects(new DeleteObjectsRequest(bucket).withKeys(objectNames).withQuiet(true));
+  }
+
+  @Override
+  public String getPublicUrl(String objectName) {
+    return "https://" + buildPublicHost() + "/" + objectName;
+  }
+
+  @Override
+  public String extractObjectName(String fileUrl) {
+    if (!StringUtils.hasText(fileUrl)) {
+      return null;
+    }
+    String host = buildPublicHost();
+    int hostIndex = fileUrl.indexOf(host);
+    if (hostIndex < 0) {
+      return null;
+    }
+    int pathIndex = fileUrl.indexOf("/", hostIndex + host.length());
+    if (pathIndex < 0 || pathIndex + 1 >= fileUrl.length()) {
+      return null;
+    }
+    String objectPath = fileUrl.substring(pathIndex + 1);
+    int queryIndex = objectPath.indexOf("?");
+    if (queryIndex >= 0) {
+      objectPath = objectPath.substring(0, queryIndex);
+    }
+    return objectPath;
+  }
+
+  private String buildPublicHost() {
+    return bucket + "." + extractEndpointHost(endpoint);
+  }
+
+  private String extractEndpointHost(String rawEndpoint) {
+    if (rawEndpoint == null || rawEndpoint.isBlank()) {
+      return "";
+    }
+    int idx = rawEndpoint.lastIndexOf("/");
+    if (idx >= 0 && idx + 1 < rawEndpoint.length()) {
+      return rawEndpoint.substring(idx + 1);
+    }
+    return rawEndpoint;
+  }
+}
@@ -0,0 +1,11 @@
+package com.SmartHire.common.storage;
+
+import java.util.Map;
+
+/**
+ * 客户端表单直传参数：以 multipart/form-data POST 到 url，先按顺序带上 formFields，最后是名为 file 的文件字段
+ *
+ * @param url 上传地址
+ * @param formFields 表单字段，包含对象键、签名策略及签名
+ */
+public record PresignedUpload(String url, Map<String, String> formFields) {}
@@ -0,0 +1,124 @@
+package com.SmartHire.common.storage;
+
+import com.SmartHire.common.storage.mapper.StorageDeletionOutboxMapper;
+import com.SmartHire.common.storage.model.StorageDeletionTask;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+/**
+ * 存储对象删除发件箱
+ *
+ * <p>业务删除记录时调用 {@link #enqueue} 在同一个数据库事务里登记要删除的对象，事务回滚则登记一并撤销，不会误删文件。
+ * 后台定时按登记顺序取出到期记录，每批最多 1000 个对象调用一次批量删除；失败的一批按指数退避推迟重试。
+ * 多个节点可能同时处理同一批记录，删除对象是幂等的，重复删除无害
+ */
+@Slf4j
+@Component
+public class StorageDeletionOutbox {
+
+  @Autowired private StorageDeletionOutboxMapper outboxMapper;
+
+  @Autowired private ObjectStorage storage;
+
+  /** 每批删除的对象数，不超过 1000 */
+  @Value("${storage.deletion.batch-size:1000}")
+  private int batchSize;
+
+  /** 单次清理最多处理的批数，避免积压过多时长时间占用调度线程 */
+  @Value("${storage.deletion.max-batches-per-run:20}")
+  private int maxBatchesPerRun;
+
+  /** 首次失败后的重试间隔（毫秒），之后每次翻倍 */
+  @Value("${storage.deletion.retry-base-delay-ms:30000}")
+  private long retryBaseDelayMs;
+
+  /** 重试间隔上限（毫秒） */
+  @Value("${storage.deletion.retry-max-delay-ms:3600000}")
+  private long retryMaxDelayMs;
+
+  /** 失败次数达到该值后每次失败记 error 日志，提示人工介入 */
+  @Value("${storage.deletion.alert-attempts:10}")
+  private int alertAttempts;
+
+  /**
+   * 登记待删除对象，应在删除业务记录的同一事务中调用
+   *
+   * @param objectNames 对象名，空值会被忽略
+   */
+  public void enqueue(Collection<String> objectNames) {
+    if (objectNames == null) {
+      return;
+    }
+    List<String> names = objectNames.stream().filter(StringUtils::hasText).distinct().toList();
+    if (names.isEmpty()) {
+      return;
+    }
+    outboxMapper.insertBatch(names, new Date());
+  }
+
+  /**
+   * 在独立事务中登记待删除对象，不随调用方事务回滚
+   *
+   * <p>用于调用方随后会抛出异常、但对象无论如何都必须删除的场景，如直传文件校验不通过
+   *
+   * @param objectNames 对象名，空值会被忽略
+   */
+  @Transactional(propagation = Propagation.REQUIRES_NEW, rollbackFor = Exception.class)
+  public void enqueueIndependently(Collection<String> objectNames) {
+    enqueue(objectNames);
+  }
+
+  /** 清理到期的待删除对象 */
+  @Scheduled(fixedDelayString = "${storage.deletion.drain-interval-ms:5000}")
+  public void drain() {
+    int limit = Math.max(1, Math.min(batchSize, ObjectStorage.MAX_BATCH_DELETE));
+    for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+      List<StorageDeletionTask> tasks = outboxMapper.selectDue(new Date(), limit);
+      if (tasks.isEmpty()) {
+        return;
+      }
+      List<Long> ids = tasks.stream().map(StorageDeletionTask::getId).toList();
+      List<String> objectNames =
+          tasks.stream().map(StorageDeletionTask::getObjectName).distinct().toList();
+      try {
+        storage.deleteObjects(objectNames);
+        outboxMapper.deleteByIds(ids);
+        log.debug("批量删除存储对象完成: count={}", objectNames.size());
+      } catch (Exception e) {
+        markFailed(tasks, ids, e);
+        return;
+      }
+      if (tasks.size() < limit) {
+        return;
+      }
+    }
+  }
+
+  private void markFailed(List<StorageDeletionTask> tasks, List<Long> ids, Exception e) {
+    int attempts =
+        tasks.stream()
+            .map(StorageDeletionTask::getAttempts)
+            .filter(Objects::nonNull)
+            .max(Integer::compare)
+            .orElse(0);
+    long delay = retryBaseDelayMs << Math.min(attempts, 20);
+    Date nextAttemptAt = new Date(System.currentTimeMillis() + Math.min(delay, retryMaxDelayMs));
+    String error = Objects.requireNonNullElse(e.getMessage(), e.getClass().getName());
+    outboxMapper.markFailed(ids, nextAttemptAt, error.length() > 500 ? error.substring(0, 500) : error);
+    if (attempts + 1 >= alertAttempts) {
+      log.error("批量删除存储对象多次失败: count={}, attempts={}", ids.size(), attempts + 1, e);
+    } else {
+      log.warn("批量删除存储对象失败，稍后重试: count={}, nextAttemptAt={}", ids.size(), nextAttemptAt, e);
+    }
+  }
+}
@@ -0,0 +1,62 @@
+package com.SmartHire.common.storage;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/** 对象存储配置 阿里云 OSS 的地址和凭证仍在 {@code aliyun.oss} 下配置 */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "storage")
+public class StorageProperties {
+
+  /** 存储后端：oss 或 local */
+  private String type = "oss";
+
+  private Multipart multipart = new Multipart();
+
+  private Oss oss = new Oss();
+
+  private Local local = new Local();
+
+  /** 分片上传配置 */
+  @Getter
+  @Setter
+  public static class Multipart {
+    /** 超过该大小（字节）的上传文件改用分片上传 */
+    private long thresholdBytes = 16L * 1024 * 1024;
+
+    /** 分片大小（字节），OSS 要求除最后一片外不小于 100KB */
+    private long partSizeBytes = 8L * 1024 * 1024;
+
+    /** 同时上传的分片数，所有上传共享 */
+    private int concurrency = 8;
+  }
+
+  /** OSS 客户端连接池配置 */
+  @Getter
+  @Setter
+  public static class Oss {
+    /** 最大连接数 */
+    private int maxConnections = 128;
+
+    /** 建立连接超时（毫秒） */
+    private int connectionTimeoutMs = 5000;
+
+    /** 读写超时（毫秒） */
+    private int socketTimeoutMs = 60000;
+  }
+
+  /** 本地文件系统后端配置 */
+  @Getter
+  @Setter
+  public static class Local {
+    /** 文件存放根目录 */
+    private String rootDir = "./storage";
+
+    /** 访问地址前缀，为空时使用根目录的 file: URI */
+    private String baseUrl = "";
+  }
+}
@@ -0,0 +1,9 @@
+package com.SmartHire.common.storage;
+
+/**
+ * 已存储对象的元数据
+ *
+ * @param size 对象大小（字节）
+ * @param contentType 对象的 Content-Type，未知时为 null
+ */
+public record StoredObject(long size, String contentType) {}
@@ -0,0 +1,76 @@
+package com.SmartHire.common.storage;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 直传用途 决定对象所在目录、大小上限和允许的 Content-Type
+ *
+ * <p>允许的类型中以 "/" 结尾的表示整个大类，如 {@code image/}
+ */
+public enum UploadPurpose {
+  /** 聊天图片、文件、语音、视频 */
+  CHAT_MEDIA(
+      "chat",
+      200L * 1024 * 1024,
+      List.of(
+          "image/",
+          "video/",
+          "audio/",
+          "application/pdf",
+          "application/msword",
+          "application/vnd.openxmlformats-officedocument.wordprocessingml.document",
+          "application/zip")),
+
+  /** 附件简历 */
+  RESUME(
+      "resume",
+      20L * 1024 * 1024,
+      List.of(
+          "application/pdf",
+          "application/msword",
+          "application/vnd.openxmlformats-officedocument.wordprocessingml.document")),
+
+  /** 用户头像 */
+  AVATAR("avatar", 5L * 1024 * 1024, List.of("image/jpeg", "image/png", "image/webp", "image/gif"));
+
+  private final String directoryKey;
+  private final long maxSizeBytes;
+  private final List<String> allowedContentTypes;
+
+  UploadPurpose(String directoryKey, long maxSizeBytes, List<String> allowedContentTypes) {
+    this.directoryKey = directoryKey;
+    this.maxSizeBytes = maxSizeBytes;
+    this.allowedContentTypes = allowedContentTypes;
+  }
+
+  public String getDirectoryKey() {
+    return directoryKey;
+  }
+
+  public long getMaxSizeBytes() {
+    return maxSizeBytes;
+  }
+
+  /**
+   * 判断 Content-Type 是否允许
+   *
+   * @param contentType 已规范化的 Content-Type
+   * @return 允许返回 true
+   */
+  public boolean allows(String contentType) {
+    return contentType != null
+        && allowedContentTypes.stream()
+            .anyMatch(t -> t.endsWith("/") ? contentType.startsWith(t) : contentType.equals(t));
+  }
+
+  /** 规范化 Content-Type：去掉参数部分并转为小写 */
+  public static String normalizeContentType(String contentType) {
+    if (contentType == null) {
+      return null;
+    }
+    int paramIndex = contentType.indexOf(';');
+    String type = paramIndex >= 0 ? contentType.substring(0, paramIndex) : contentType;
+    return type.trim().toLowerCase(Locale.ROOT);
+  }
+}
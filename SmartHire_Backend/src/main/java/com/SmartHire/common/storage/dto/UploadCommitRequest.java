@@ -0,0 +1,12 @@
+package com.SmartHire.common.storage.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+/** 直传完成后的提交请求 */
+@Data
+public class UploadCommitRequest {
+  /** 申请凭证时返回的对象键 */
+  @NotBlank(message = "对象键不能为空")
+  private String objectKey;
+}
@@ -0,0 +1,31 @@
+package com.SmartHire.common.storage.dto;
+
+import java.util.Date;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 直传凭证：客户端以 multipart/form-data POST 到 uploadUrl，先带上 formFields 中的全部字段，最后是名为 file 的文件字段；
+ * 上传成功后用 objectKey 提交。文件名、类型、大小与申请时不符的上传由存储直接拒绝
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadTicketDTO {
+  /** 上传地址 */
+  private String uploadUrl;
+
+  /** 上传表单字段，包含对象键、Content-Type 及签名策略 */
+  private Map<String, String> formFields;
+
+  /** 对象键，上传完成后提交时使用 */
+  private String objectKey;
+
+  /** 文件的 Content-Type，已包含在表单字段中 */
+  private String contentType;
+
+  /** 签名过期时间 */
+  private Date expiresAt;
+}
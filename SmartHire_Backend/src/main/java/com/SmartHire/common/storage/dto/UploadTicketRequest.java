@@ -0,0 +1,25 @@
+package com.SmartHire.common.storage.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+/** 申请直传URL的请求 */
+@Data
+public class UploadTicketRequest {
+  /** 原始文件名 */
+  @NotBlank(message = "文件名不能为空")
+  @Size(max = 255, message = "文件名不能超过255字符")
+  private String fileName;
+
+  /** 文件的 Content-Type，上传时必须使用同一个值 */
+  @NotBlank(message = "文件类型不能为空")
+  private String contentType;
+
+  /** 文件大小（字节） */
+  @NotNull(message = "文件大小不能为空")
+  @Positive(message = "文件大小必须大于0")
+  private Long size;
+}
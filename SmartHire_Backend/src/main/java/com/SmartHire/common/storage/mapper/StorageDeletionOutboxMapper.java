@@ -0,0 +1,50 @@
+package com.SmartHire.common.storage.mapper;
+
+import com.SmartHire.common.storage.model.StorageDeletionTask;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import org.apache.ibatis.annotations.Param;
+
+/** 存储对象删除发件箱 Mapper */
+public interface StorageDeletionOutboxMapper {
+
+  /**
+   * 批量登记待删除对象
+   *
+   * @param objectNames 对象名
+   * @param now 当前时间，作为创建时间和首次尝试时间
+   * @return 插入行数
+   */
+  int insertBatch(@Param("objectNames") Collection<String> objectNames, @Param("now") Date now);
+
+  /**
+   * 按登记顺序取出到期的待删除对象
+   *
+   * @param now 当前时间
+   * @param limit 条数上限
+   * @return 待删除对象
+   */
+  List<StorageDeletionTask> selectDue(@Param("now") Date now, @Param("limit") int limit);
+
+  /**
+   * 删除已处理的记录
+   *
+   * @param ids 记录ID
+   * @return 删除行数
+   */
+  int deleteByIds(@Param("ids") Collection<Long> ids);
+
+  /**
+   * 记录一次失败并推迟下次尝试
+   *
+   * @param ids 记录ID
+   * @param nextAttemptAt 下次尝试时间
+   * @param lastError 失败原因
+   * @return 更新行数
+   */
+  int markFailed(
+      @Param("ids") Collection<Long> ids,
+      @Param("nextAttemptAt") Date nextAttemptAt,
+      @Param("lastError") String lastError);
+}
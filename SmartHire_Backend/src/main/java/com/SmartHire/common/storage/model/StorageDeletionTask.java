@@ -0,0 +1,35 @@
+package com.SmartHire.common.storage.model;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import java.io.Serializable;
+import java.util.Date;
+import lombok.Data;
+
+/** 待删除的存储对象（删除发件箱记录） */
+@Data
+@TableName("storage_deletion_outbox")
+public class StorageDeletionTask implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  /** 记录ID */
+  @TableId(value = "id", type = IdType.AUTO)
+  private Long id;
+
+  /** 对象名 */
+  private String objectName;
+
+  /** 已失败次数 */
+  private Integer attempts;
+
+  /** 下次尝试时间 */
+  private Date nextAttemptAt;
+
+  /** 最近一次失败原因 */
+  private String lastError;
+
+  /** 创建时间 */
+  private Date createdAt;
+}
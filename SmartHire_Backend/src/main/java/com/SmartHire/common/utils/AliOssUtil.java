@@ -1,31 +1,38 @@
 package com.SmartHire.common.utils;
 
-import com.aliyun.oss.*;
-import com.aliyun.oss.model.PutObjectRequest;
+import com.SmartHire.common.storage.ObjectStorage;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
-import lombok.Getter;
-import lombok.Setter;
+import java.util.concurrent.TimeUnit;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 import org.springframework.web.multipart.MultipartFile;
 
+/**
+ * 文件存储工具 负责对象命名、目录前缀和上传指标，实际读写交给 {@link ObjectStorage} 后端（默认阿里云 OSS，
+ * {@code storage.type=local} 时为本地文件系统）
+ *
+ * <p>上传指标：{@code storage.upload}（耗时，按后端和结果打标签）、{@code storage.upload.size}（字节数）、
+ * {@code storage.upload.throughput}（字节/秒）
+ */
 @Slf4j
-@Getter
-@Setter
 @Component
 @ConfigurationProperties(prefix = "aliyun.oss")
 public class AliOssUtil {
 
-  private String endpoint;
-  private String accessKeyId;
-  private String accessKeySecret;
-  private String bucket;
+  @Autowired private ObjectStorage storage;
+
+  @Autowired private MeterRegistry meterRegistry;
 
   /** 可配置的目录前缀映射，如 avatar=avatars/, resume=resumes/ */
   private Map<String, String> directoryPrefixes = new HashMap<>();
@@ -38,32 +45,15 @@ public class AliOssUtil {
    * @return 文件访问url
    */
   public String uploadFile(String objectName, InputStream in) throws IOException {
-
-    OSS ossClient = new OSSClientBuilder().build(endpoint, accessKeyId, accessKeySecret);
+    CountingInputStream counting = new CountingInputStream(in);
+    long start = System.nanoTime();
+    boolean success = false;
     try {
-      PutObjectRequest putObjectRequest = new PutObjectRequest(bucket, objectName, in);
-      ossClient.putObject(putObjectRequest);
-      return buildPublicUrl(objectName);
-    } catch (OSSException oe) {
-      log.error(
-          "OSSException during upload. objectName={}, code={}, message={}, requestId={}",
-          objectName,
-          oe.getErrorCode(),
-          oe.getErrorMessage(),
-          oe.getRequestId(),
-          oe);
-      throw new RuntimeException("OSS上传失败，请检查凭证配置", oe);
-    } catch (ClientException ce) {
-      log.error(
-          "ClientException during upload. objectName={}, message={}",
-          objectName,
-          ce.getMessage(),
-          ce);
-      throw new RuntimeException("OSS客户端异常，请检查网络或配置", ce);
+      storage.putObject(objectName, counting, -1);
+      success = true;
+      return storage.getPublicUrl(objectName);
     } finally {
-      if (ossClient != null) {
-        ossClient.shutdown();
-      }
+      recordUpload(start, counting.count, success);
     }
   }
 
@@ -80,6 +70,28 @@ public class AliOssUtil {
     return uploadFile(objectName, in);
   }
 
+  /**
+   * 根据目录键组装 objectName，直接从上传文件流式上传，大文件自动分片并行上传
+   *
+   * @param directoryKey 目录键（如 avatar、resume 等）
+   * @param fileName 生成的唯一文件名
+   * @param file multipart 文件
+   * @return 文件访问url
+   */
+  public String uploadFile(String directoryKey, String fileName, MultipartFile file)
+      throws IOException {
+    String objectName = buildObjectName(directoryKey, fileName);
+    long start = System.nanoTime();
+    boolean success = false;
+    try {
+      storage.putObject(objectName, file);
+      success = true;
+      return storage.getPublicUrl(objectName);
+    } finally {
+      recordUpload(start, file.getSize(), success);
+    }
+  }
+
   /**
    * 直接上传 multipart 文件并自动生成文件名
    *
@@ -90,8 +102,7 @@ public class AliOssUtil {
     if (file == null || file.isEmpty()) {
       throw new IllegalArgumentException("上传文件不能为空");
     }
-    String objectName = buildObjectName(directoryKey, generateFileUrl(file.getOriginalFilename()));
-    return uploadFile(objectName, file.getInputStream());
+    return uploadFile(directoryKey, generateFileUrl(file.getOriginalFilename()), file);
   }
 
   /**
@@ -101,62 +112,22 @@ public class AliOssUtil {
    * @return 文件是否存在
    */
   public boolean findFile(String objectName) {
-    // 创建OSSClient实例。
-    // 当OSSClient实例不再使用时，调用shutdown方法以释放资源。
-    OSS ossClient = new OSSClientBuilder().build(endpoint, accessKeyId, accessKeySecret);
-    boolean found = false;
-
     try {
-      // 判断文件是否存在。如果返回值为true，则文件存在，否则存储空间或者文件不存在。
-      // 设置是否进行重定向或者镜像回源。默认值为true，表示忽略302重定向和镜像回源；如果设置isINoss为false，则进行302重定向或者镜像回源。
-      // boolean isINoss = true;
-      found = ossClient.doesObjectExist(bucket, objectName);
-      // boolean found = ossClient.doesObjectExist(bucket, objectName, isINoss);
-      System.out.println(found);
-    } catch (OSSException oe) {
-      System.out.println(
-          "Caught an OSSException, which means your request made it to OSS, "
-              + "but was rejected with an error response for some reason.");
-      System.out.println("Error Message:" + oe.getErrorMessage());
-      System.out.println("Error Code:" + oe.getErrorCode());
-      System.out.println("Request ID:" + oe.getRequestId());
-      System.out.println("Host ID:" + oe.getHostId());
-    } catch (ClientException ce) {
-      System.out.println(
-          "Caught an ClientException, which means the client encountered "
-              + "a serious internal problem while trying to communicate with OSS, "
-              + "such as not being able to access the network.");
-      System.out.println("Error Message:" + ce.getMessage());
-    } finally {
-      if (ossClient != null) {
-        ossClient.shutdown();
-      }
+      return storage.exists(objectName);
+    } catch (RuntimeException e) {
+      log.warn("查询文件失败，objectName={}, message={}", objectName, e.getMessage(), e);
+      return false;
     }
-    return found;
   }
 
   public boolean deleteFile(String objectName) {
-    OSS ossClient = new OSSClientBuilder().build(endpoint, accessKeyId, accessKeySecret);
-    boolean deleted = false;
     try {
-      ossClient.deleteObject(bucket, objectName);
-      deleted = true;
-    } catch (OSSException oe) {
-      log.warn(
-          "删除OSS文件失败，objectName={}, code={}, message={}, requestId={}",
-          objectName,
-          oe.getErrorCode(),
-          oe.getErrorMessage(),
-          oe.getRequestId(),
-          oe);
-    } catch (ClientException ce) {
-      log.warn("OSS客户端删除文件失败，objectName={}, message={}", objectName, ce.getMessage(), ce);
-    } finally {
-      if (ossClient != null) {
-        ossClient.shutdown();
-      }
+      storage.deleteObject(objectName);
+      return true;
+    } catch (RuntimeException e) {
+      log.warn("删除文件失败，objectName={}, message={}", objectName, e.getMessage(), e);
+      return false;
     }
-    return deleted;
   }
 
   /**
@@ -190,21 +161,7 @@ public class AliOssUtil {
     if (fileUrl == null || fileUrl.isBlank()) {
       return null;
     }
-    String host = buildPublicHost();
-    int hostIndex = fileUrl.indexOf(host);
-    if (hostIndex < 0) {
-      return null;
-    }
-    int pathIndex = fileUrl.indexOf("/", hostIndex + host.length());
-    if (pathIndex < 0 || pathIndex + 1 >= fileUrl.length()) {
-      return null;
-    }
-    String objectPath = fileUrl.substring(pathIndex + 1);
-    int queryIndex = objectPath.indexOf("?");
-    if (queryIndex >= 0) {
-      objectPath = objectPath.substring(0, queryIndex);
-    }
-    return objectPath;
+    return storage.extractObjectName(fileUrl);
   }
 
   private String resolveDirectoryPrefix(String directoryKey) {
@@ -229,25 +186,6 @@ public class AliOssUtil {
     return normalized;
   }
 
-  private String buildPublicUrl(String objectName) {
-    return "https://" + buildPublicHost() + "/" + objectName;
-  }
-
-  private String buildPublicHost() {
-    return bucket + "." + extractEndpointHost(endpoint);
-  }
-
-  private String extractEndpointHost(String rawEndpoint) {
-    if (rawEndpoint == null || rawEndpoint.isBlank()) {
-      return "";
-    }
-    int idx = rawEndpoint.lastIndexOf("/");
-    if (idx >= 0 && idx + 1 < rawEndpoint.length()) {
-      return rawEndpoint.substring(idx + 1);
-    }
-    return rawEndpoint;
-  }
-
   /** 为避免暴露内部可变 Map，返回一个副本 */
   public Map<String, String> getDirectoryPrefixes() {
     return new HashMap<>(directoryPrefixes);
@@ -260,4 +198,55 @@ public class AliOssUtil {
       this.directoryPrefixes.putAll(directoryPrefixes);
     }
   }
+
+  private void recordUpload(long startNanos, long bytes, boolean success) {
+    long elapsedNanos = System.nanoTime() - startNanos;
+    Timer.builder("storage.upload")
+        .tag("backend", storage.name())
+        .tag("outcome", success ? "success" : "failure")
+        .register(meterRegistry)
+        .record(elapsedNanos, TimeUnit.NANOSECONDS);
+    if (!success || bytes <= 0) {
+      return;
+    }
+    DistributionSummary.builder("storage.upload.size")
+        .baseUnit("bytes")
+        .tag("backend", storage.name())
+        .register(meterRegistry)
+        .record(bytes);
+    if (elapsedNanos > 0) {
+      DistributionSummary.builder("storage.upload.throughput")
+          .baseUnit("bytes/s")
+          .tag("backend", storage.name())
+          .register(meterRegistry)
+          .record(bytes * 1e9 / elapsedNanos);
+    }
+  }
+
+  /** 统计实际读取的字节数，用于长度未知的输入流 */
+  private static class CountingInputStream extends FilterInputStream {
+    private long count;
+
+    CountingInputStream(InputStream in) {
+      super(in);
+    }
+
+    @Override
+    public int read() throws IOException {
+      int b = super.read();
+      if (b >= 0) {
+        count++;
+      }
+      return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      int n = super.read(b, off, len);
+      if (n > 0) {
+        count += n;
+      }
+      return n;
+    }
+  }
 }
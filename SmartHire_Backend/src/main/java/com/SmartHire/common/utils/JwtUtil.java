@@ -3,9 +3,13 @@ package com.SmartHire.common.utils;
 import com.SmartHire.common.exception.enums.ErrorCode;
 import com.SmartHire.common.exception.exception.BusinessException;
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.exceptions.JWTDecodeException;
 import com.auth0.jwt.exceptions.JWTVerificationException;
 import com.auth0.jwt.interfaces.DecodedJWT;
+import java.security.SecureRandom;
+import java.util.Base64;
 import java.util.Date;
 import java.util.Map;
 import lombok.extern.slf4j.Slf4j;
@@ -16,7 +20,13 @@ import org.springframework.stereotype.Component;
 @Component
 public class JwtUtil {
 
+  /** jti 随机字节数，Base64URL 编码后为 16 个字符 */
+  private static final int TOKEN_ID_BYTES = 12;
+
+  private static final SecureRandom TOKEN_ID_RANDOM = new SecureRandom();
+
   private final Algorithm algorithm;
+  private final JWTVerifier verifier;
   private final long refreshTokenValidTime;
   private final long accessTokenValidTime;
 
@@ -25,6 +35,7 @@ public class JwtUtil {
       @Value("${jwt.refresh-token-valid-time}") long refreshTokenValidTime,
       @Value("${jwt.access-token-valid-time}") long accessTokenValidTime) {
     this.algorithm = Algorithm.HMAC256(secretKey);
+    this.verifier = JWT.require(algorithm).build();
     this.refreshTokenValidTime = refreshTokenValidTime;
     this.accessTokenValidTime = accessTokenValidTime;
   }
@@ -33,6 +44,7 @@ public class JwtUtil {
     return JWT.create()
         .withClaim("claims", claims)
         .withClaim("type", "access")
+        .withJWTId(newTokenId())
         .withExpiresAt(new Date(System.currentTimeMillis() + accessTokenValidTime))
         .sign(algorithm);
   }
@@ -41,6 +53,7 @@ public class JwtUtil {
     return JWT.create()
         .withClaim("claims", claims)
         .withClaim("type", "refresh")
+        .withJWTId(newTokenId())
         .withExpiresAt(new Date(System.currentTimeMillis() + refreshTokenValidTime))
         .sign(algorithm);
   }
@@ -58,17 +71,12 @@ public class JwtUtil {
       throw new BusinessException(ErrorCode.TOKEN_IS_NULL);
     }
 
-    log.info(
-        "开始验证token，长度: {}, 前缀: {}",
-        token.length(),
-        token.substring(0, Math.min(20, token.length())) + "...");
-
     try {
-      DecodedJWT decoded = JWT.require(algorithm).build().verify(token);
-      log.info("Token验证成功");
-      log.info("- Token类型: {}", decoded.getClaim("type").asString());
-      log.info(" - 用户ID: {}", decoded.getClaim("claims").asMap().get("id"));
-      log.info("- 过期时间: {}", decoded.getExpiresAt());
+      DecodedJWT decoded = verifier.verify(token);
+      log.debug(
+          "Token验证成功: type={}, expiresAt={}",
+          decoded.getClaim("type").asString(),
+          decoded.getExpiresAt());
       return decoded;
     } catch (JWTVerificationException e) {
       log.error("Token验证失败: {}", e.getMessage());
@@ -77,6 +85,34 @@ public class JwtUtil {
     }
   }
 
+  /**
+   * 只解码不验签，用于从本服务签发并保存的 token 中读取 jti、过期时间等信息
+   *
+   * @param token JWT token 字符串
+   * @return DecodedJWT 解码后的 JWT 对象
+   */
+  public DecodedJWT decodeToken(String token) {
+    if (token == null || token.isBlank()) {
+      throw new BusinessException(ErrorCode.TOKEN_IS_NULL);
+    }
+    try {
+      return JWT.decode(token);
+    } catch (JWTDecodeException e) {
+      throw new BusinessException(ErrorCode.TOKEN_IS_INVALID);
+    }
+  }
+
+  /**
+   * 获取 token 的唯一标识，用于吊销 旧版本签发的 token 没有 jti，用签名代替
+   *
+   * @param decodedJWT
+   * @return
+   */
+  public String getTokenId(DecodedJWT decodedJWT) {
+    String jti = decodedJWT.getId();
+    return jti != null ? jti : decodedJWT.getSignature();
+  }
+
   /**
    * 解析令牌并提取 claims 内部调用 verifyToken 进行验证，然后提取 claims 信息 适用于只需要用户信息（claims）的场景
    *
@@ -155,4 +191,10 @@ public class JwtUtil {
     long remaining = decodedJWT.getExpiresAt().getTime() - System.currentTimeMillis();
     return Math.max(remaining / 1000, 0);
   }
+
+  private static String newTokenId() {
+    byte[] bytes = new byte[TOKEN_ID_BYTES];
+    TOKEN_ID_RANDOM.nextBytes(bytes);
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+  }
 }
@@ -0,0 +1,84 @@
+package com.SmartHire.common.utils;
+
+/**
+ * Snowflake 风格的本地 ID 生成器
+ *
+ * <p>ID 共 53 位，不超过 JavaScript 的安全整数范围，前端可以直接按数字处理：
+ *
+ * <pre>
+ * | 32 位：距 2025-01-01 的秒数 | 5 位：机器号 | 16 位：秒内序号 |
+ * </pre>
+ *
+ * <p>单机每秒最多生成 65536 个 ID，超出时等待到下一秒；时钟回拨时等待时钟追上。同一时刻每个机器号只能由一个节点持有
+ */
+public class SnowflakeIdGenerator {
+
+  /** 起始时间 2025-01-01T00:00:00Z（秒） */
+  private static final long EPOCH_SECONDS = 1735689600L;
+
+  private static final int WORKER_BITS = 5;
+  private static final int SEQUENCE_BITS = 16;
+
+  /** 可用机器号数量 */
+  public static final int MAX_WORKERS = 1 << WORKER_BITS;
+
+  private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+  private final long workerId;
+
+  private long lastSecond = -1L;
+  private long sequence = 0L;
+
+  public SnowflakeIdGenerator(int workerId) {
+    if (workerId < 0 || workerId >= MAX_WORKERS) {
+      throw new IllegalArgumentException("机器号超出范围: " + workerId);
+    }
+    this.workerId = workerId;
+  }
+
+  /**
+   * 生成下一个 ID，同一生成器内严格递增
+   *
+   * @return ID
+   */
+  public synchronized long nextId() {
+    long now = currentSecond();
+    if (now < lastSecond) {
+      now = waitUntil(lastSecond);
+    }
+    if (now == lastSecond) {
+      sequence = (sequence + 1) & SEQUENCE_MASK;
+      if (sequence == 0) {
+        now = waitUntil(lastSecond + 1);
+      }
+    } else {
+      sequence = 0L;
+    }
+    lastSecond = now;
+    return ((now - EPOCH_SECONDS) << (WORKER_BITS + SEQUENCE_BITS))
+        | (workerId << SEQUENCE_BITS)
+        | sequence;
+  }
+
+  public int getWorkerId() {
+    return (int) workerId;
+  }
+
+  private long waitUntil(long second) {
+    long now = currentSecond();
+    while (now < second) {
+      try {
+        Thread.sleep(Math.max(1L, second * 1000 - System.currentTimeMillis()));
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException("等待生成 ID 时被中断", e);
+      }
+      now = currentSecond();
+    }
+    return now;
+  }
+
+  protected long currentSecond() {
+    return System.currentTimeMillis() / 1000;
+  }
+}
@@ -0,0 +1,52 @@
+package com.SmartHire.common.utils;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/** 事务相关工具类 */
+public class TransactionUtils {
+
+  private TransactionUtils() {}
+
+  /**
+   * 在当前事务提交后执行；不在事务中时立即执行
+   *
+   * <p>用于 Redis 等事务外副作用，避免回滚的数据已经对外可见
+   *
+   * @param action 提交后执行的动作
+   */
+  public static void runAfterCommit(Runnable action) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+              action.run();
+            }
+          });
+    } else {
+      action.run();
+    }
+  }
+
+  /**
+   * 在当前事务回滚后执行；不在事务中时不执行
+   *
+   * <p>用于撤销事务内已提前生效的 Redis 等外部操作
+   *
+   * @param action 回滚后执行的动作
+   */
+  public static void runAfterRollback(Runnable action) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+              if (status == STATUS_ROLLED_BACK) {
+                action.run();
+              }
+            }
+          });
+    }
+  }
+}
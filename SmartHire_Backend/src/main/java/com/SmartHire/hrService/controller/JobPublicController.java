@@ -2,6 +2,7 @@ package com.SmartHire.hrService.controller;
 
 import com.SmartHire.common.entity.Result;
 import com.SmartHire.common.dto.hrDto.JobCardDTO;
+import com.SmartHire.common.dto.hrDto.JobFeedDTO;
 import com.SmartHire.common.dto.hrDto.JobSearchDTO;
 import com.SmartHire.hrService.service.JobInfoService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -30,5 +31,14 @@ public class JobPublicController {
     List<JobCardDTO> list = jobInfoService.searchPublicJobs(searchDTO);
     return Result.success("查询成功", list);
   }
+
+  @PostMapping("/feed")
+  @Operation(
+      summary = "岗位信息流（求职者端）",
+      description = "按条件筛选招聘中的岗位，按发布时间倒序游标分页；首次请求不传 cursor，之后传上一页返回的 nextCursor")
+  public Result<JobFeedDTO> feedPublicJobs(@Valid @RequestBody JobSearchDTO searchDTO) {
+    JobFeedDTO feed = jobInfoService.feedPublicJobs(searchDTO);
+    return Result.success("查询成功", feed);
+  }
 }
 
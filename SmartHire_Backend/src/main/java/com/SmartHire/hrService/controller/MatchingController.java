@@ -24,12 +24,12 @@ public class MatchingController {
 
   @Autowired private MatchingService matchingService;
 
-  /** 对指定岗位执行关键词匹配并返回排序结果 */
+  /** 查询指定岗位的投递，按关键词匹配得分排序 */
   @GetMapping("/job/{jobId}")
-  @Operation(summary = "岗位匹配结果", description = "计算岗位与投递简历的关键词匹配得分并返回排序列表")
+  @Operation(summary = "岗位匹配结果", description = "返回岗位下投递简历按关键词匹配得分排序的列表，匹配分由后台计算")
   public Result<List<ApplicationListDTO>> matchApplicationsForJob(
       @PathVariable @Min(value = 1, message = "岗位ID非法") Long jobId) {
     List<ApplicationListDTO> results = matchingService.matchApplicationsForJob(jobId);
-    return Result.success("匹配完成", results);
+    return Result.success("查询成功", results);
   }
 }
@@ -5,6 +5,7 @@ import jakarta.validation.constraints.Min;
 import java.io.Serial;
 import java.io.Serializable;
 import java.math.BigDecimal;
+import java.util.List;
 import lombok.Data;
 
 /** 岗位更新DTO */
@@ -73,4 +74,7 @@ public class JobInfoUpdateDTO implements Serializable {
 
   /** 状态：0-已下线 1-招聘中 2-已暂停 */
   private Integer status;
+
+  /** 技能要求列表，传入时整体替换原有技能要求（传空列表表示清空） */
+  private List<JobSkillDTO> skills;
 }
@@ -7,7 +7,9 @@ import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 简历 Mapper 接口
@@ -36,7 +38,7 @@ public interface HrApplicationMapper extends BaseMapper<Application> {
      *
      * @param hrId  HR ID
      * @param jobId 岗位ID
-     * @return 投递列表
+     * @return 投递列表，按匹配分降序、投递时间倒序，未计算匹配分的排最后
      */
     List<ApplicationListDTO> selectApplicationsByJob(@Param("hrId") Long hrId,
                                                      @Param("jobId") Long jobId);
@@ -51,6 +53,18 @@ public interface HrApplicationMapper extends BaseMapper<Application> {
     ApplicationListDTO selectApplicationDetail(@Param("applicationId") Long applicationId,
                                                @Param("hrId") Long hrId);
 
+    /**
+     * 查询需要重算匹配分的投递（只查 id、job_id、job_seeker_id 及当前匹配结果），三个条件取并集
+     *
+     * @param jobIds         岗位ID列表
+     * @param jobSeekerIds   求职者ID列表
+     * @param applicationIds 投递ID列表
+     * @return 投递列表；三个列表不能同时为空
+     */
+    List<ApplicationListDTO> selectMatchTargets(@Param("jobIds") Collection<Long> jobIds,
+                                                @Param("jobSeekerIds") Collection<Long> jobSeekerIds,
+                                                @Param("applicationIds") Collection<Long> applicationIds);
+
     /**
      * 更新匹配结果
      *
@@ -63,5 +77,16 @@ public interface HrApplicationMapper extends BaseMapper<Application> {
                            @Param("score") java.math.BigDecimal score,
                            @Param("analysis") String analysis,
                            @Param("updatedAt") java.util.Date updatedAt);
-}
 
+    /**
+     * 批量更新匹配结果，一条 UPDATE ... CASE 语句
+     *
+     * @param scores    投递ID -> 匹配分，不能为空
+     * @param analyses  投递ID -> 匹配分析，键与 scores 相同
+     * @param updatedAt 更新时间
+     * @return 更新的行数
+     */
+    int updateMatchResults(@Param("scores") Map<Long, java.math.BigDecimal> scores,
+                           @Param("analyses") Map<Long, String> analyses,
+                           @Param("updatedAt") java.util.Date updatedAt);
+}
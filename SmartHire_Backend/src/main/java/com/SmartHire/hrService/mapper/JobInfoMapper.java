@@ -4,7 +4,10 @@ import com.SmartHire.common.dto.hrDto.JobCardDTO;
 import com.SmartHire.hrService.model.JobInfo;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
@@ -21,7 +24,8 @@ public interface JobInfoMapper extends BaseMapper<JobInfo> {
    * @param minSalary         最低薪资
    * @param maxSalary         最高薪资
    * @param keyword           关键字
-   * @param skills            技能列表
+   * @param skills            技能列表，关联技能表筛选（任一命中）
+   * @param jobIds            候选岗位ID（可选），由技能索引预先筛出，传入时 skills 应为空
    * @param companyId         公司ID
    * @return 岗位卡片列表
    */
@@ -33,10 +37,42 @@ public interface JobInfoMapper extends BaseMapper<JobInfo> {
       @Param("maxSalary") BigDecimal maxSalary,
       @Param("keyword") String keyword,
       @Param("skills") List<String> skills,
+      @Param("jobIds") List<Long> jobIds,
       @Param("companyId") Long companyId,
       @Param("offset") Integer offset,
       @Param("limit") Integer limit);
 
+  /**
+   * 求职者端岗位信息流，按 (published_at, id) 倒序游标分页，走 idx_status_published_id
+   *
+   * @param city              城市
+   * @param jobType           职位类型
+   * @param educationRequired 学历要求
+   * @param minSalary         最低薪资
+   * @param maxSalary         最高薪资
+   * @param keyword           关键字
+   * @param skills            技能列表，关联技能表筛选（任一命中）
+   * @param jobIds            候选岗位ID（可选），由技能索引预先筛出，传入时 skills 应为空
+   * @param companyId         公司ID
+   * @param cursorPublishedAt 游标：上一页最后一个岗位的发布时间，为空时从头开始
+   * @param cursorId          游标：上一页最后一个岗位的ID
+   * @param limit             条数
+   * @return 岗位卡片列表
+   */
+  List<JobCardDTO> selectPublicJobFeed(
+      @Param("city") String city,
+      @Param("jobType") Integer jobType,
+      @Param("educationRequired") Integer educationRequired,
+      @Param("minSalary") BigDecimal minSalary,
+      @Param("maxSalary") BigDecimal maxSalary,
+      @Param("keyword") String keyword,
+      @Param("skills") List<String> skills,
+      @Param("jobIds") List<Long> jobIds,
+      @Param("companyId") Long companyId,
+      @Param("cursorPublishedAt") Date cursorPublishedAt,
+      @Param("cursorId") Long cursorId,
+      @Param("limit") Integer limit);
+
   /**
    * 根据岗位ID获取岗位卡片信息
    *
@@ -46,16 +82,39 @@ public interface JobInfoMapper extends BaseMapper<JobInfo> {
   JobCardDTO selectJobCardById(@Param("jobId") Long jobId);
 
   /**
-   * 增加岗位浏览量
+   * 批量获取岗位卡片信息（不含技能）
    *
-   * @param jobId 岗位ID
+   * @param jobIds 岗位ID集合，不能为空
+   * @return 岗位卡片列表，不存在的岗位不在结果中
    */
-  void incrementViewCount(@Param("jobId") Long jobId);
+  List<JobCardDTO> selectJobCardsByIds(@Param("jobIds") Collection<Long> jobIds);
 
   /**
-   * 增加岗位投递量
+   * 查询公司下的全部岗位ID
    *
-   * @param jobId 岗位ID
+   * @param companyId 公司ID
+   * @return 岗位ID列表
+   */
+  List<Long> selectJobIdsByCompanyId(@Param("companyId") Long companyId);
+
+  /**
+   * 查询HR用户发布的全部岗位ID
+   *
+   * @param userId HR的用户ID
+   * @return 岗位ID列表
+   */
+  List<Long> selectJobIdsByHrUserId(@Param("userId") Long userId);
+
+  /**
+   * 批量累加岗位浏览量、投递量，一条 UPDATE ... CASE 语句
+   *
+   * @param viewDeltas        岗位ID -> 浏览量增量
+   * @param applicationDeltas 岗位ID -> 投递量增量
+   * @param jobIds            涉及的岗位ID，两个 Map 键的并集，不能为空
+   * @return 更新的行数
    */
-  void incrementApplicationCount(@Param("jobId") Long jobId);
+  int addCounts(
+      @Param("viewDeltas") Map<Long, Long> viewDeltas,
+      @Param("applicationDeltas") Map<Long, Long> applicationDeltas,
+      @Param("jobIds") Collection<Long> jobIds);
 }
@@ -1,6 +1,10 @@
 package com.SmartHire.hrService.mapper;
 
+import com.SmartHire.hrService.model.SeekerSkillRow;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
@@ -15,4 +19,30 @@ public interface JobSeekerSkillMapper {
    * @return 技能名称列表
    */
   List<String> selectSkillNamesByJobSeekerId(@Param("jobSeekerId") Long jobSeekerId);
+
+  /**
+   * 批量查询多个求职者的技能（只查 job_seeker_id、skill_name 两列）
+   *
+   * @param jobSeekerIds 求职者ID列表，不能为空
+   * @return 技能列表，同一求职者内的顺序与 {@link #selectSkillNamesByJobSeekerId} 一致
+   */
+  List<SeekerSkillRow> selectSkillRowsByJobSeekerIds(
+      @Param("jobSeekerIds") List<Long> jobSeekerIds);
+
+  /**
+   * 批量查询技能名称，一次 IN 查询
+   *
+   * @param jobSeekerIds 求职者ID列表
+   * @return 求职者ID -> 技能名称列表；没有技能的求职者不在结果中
+   */
+  default Map<Long, List<String>> selectSkillNamesByJobSeekerIds(List<Long> jobSeekerIds) {
+    Map<Long, List<String>> result = new HashMap<>();
+    if (jobSeekerIds == null || jobSeekerIds.isEmpty()) {
+      return result;
+    }
+    for (SeekerSkillRow row : selectSkillRowsByJobSeekerIds(jobSeekerIds)) {
+      result.computeIfAbsent(row.getJobSeekerId(), k -> new ArrayList<>()).add(row.getSkillName());
+    }
+    return result;
+  }
 }
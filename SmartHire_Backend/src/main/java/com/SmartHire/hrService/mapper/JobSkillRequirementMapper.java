@@ -2,7 +2,10 @@ package com.SmartHire.hrService.mapper;
 
 import com.SmartHire.hrService.model.JobSkillRequirement;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
@@ -18,6 +21,31 @@ public interface JobSkillRequirementMapper extends BaseMapper<JobSkillRequiremen
    */
   List<String> selectSkillNamesByJobId(@Param("jobId") Long jobId);
 
+  /**
+   * 批量查询多个职位的技能要求（只查 job_id、skill_name 两列）
+   *
+   * @param jobIds 职位ID列表，不能为空
+   * @return 技能要求列表，同一职位内的顺序与 {@link #selectSkillNamesByJobId} 一致
+   */
+  List<JobSkillRequirement> selectSkillRowsByJobIds(@Param("jobIds") List<Long> jobIds);
+
+  /**
+   * 批量查询技能名称，一次 IN 查询
+   *
+   * @param jobIds 职位ID列表
+   * @return 职位ID -> 技能名称列表；没有技能要求的职位不在结果中
+   */
+  default Map<Long, List<String>> selectSkillNamesByJobIds(List<Long> jobIds) {
+    Map<Long, List<String>> result = new LinkedHashMap<>();
+    if (jobIds == null || jobIds.isEmpty()) {
+      return result;
+    }
+    for (JobSkillRequirement row : selectSkillRowsByJobIds(jobIds)) {
+      result.computeIfAbsent(row.getJobId(), k -> new ArrayList<>()).add(row.getSkillName());
+    }
+    return result;
+  }
+
   /**
    * 根据职位ID删除所有技能要求
    *
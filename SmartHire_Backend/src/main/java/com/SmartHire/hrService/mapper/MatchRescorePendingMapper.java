@@ -0,0 +1,54 @@
+package com.SmartHire.hrService.mapper;
+
+import com.SmartHire.hrService.model.MatchRescoreTask;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+/** 匹配分待重算标记 Mapper 接口 */
+@Mapper
+public interface MatchRescorePendingMapper {
+
+  /**
+   * 登记待重算对象，已有标记时递增版本号
+   *
+   * @param targetType 标记对象类型
+   * @param targetIds 岗位/求职者/投递ID，不能为空
+   * @param now 当前时间
+   * @return 影响行数
+   */
+  int mark(
+      @Param("targetType") String targetType,
+      @Param("targetIds") Collection<Long> targetIds,
+      @Param("now") Date now);
+
+  /**
+   * 按登记顺序取出到期的标记
+   *
+   * @param now 当前时间
+   * @param limit 条数上限
+   * @return 待重算标记
+   */
+  List<MatchRescoreTask> selectDue(@Param("now") Date now, @Param("limit") int limit);
+
+  /**
+   * 删除已重算的标记，重算期间再次登记（版本号已变）的保留
+   *
+   * @param tasks 取出时的标记，不能为空
+   * @return 删除行数
+   */
+  int deleteProcessed(@Param("tasks") Collection<MatchRescoreTask> tasks);
+
+  /**
+   * 记录一次失败并推迟下次尝试
+   *
+   * @param tasks 标记，不能为空
+   * @param nextAttemptAt 下次尝试时间
+   * @return 更新行数
+   */
+  int markFailed(
+      @Param("tasks") Collection<MatchRescoreTask> tasks,
+      @Param("nextAttemptAt") Date nextAttemptAt);
+}
@@ -0,0 +1,41 @@
+package com.SmartHire.hrService.model;
+
+import com.baomidou.mybatisplus.annotation.TableName;
+import java.io.Serializable;
+import java.util.Date;
+import lombok.Data;
+
+/** 匹配分待重算标记 */
+@Data
+@TableName("match_rescore_pending")
+public class MatchRescoreTask implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  /** 标记对象：岗位 */
+  public static final String TYPE_JOB = "JOB";
+
+  /** 标记对象：求职者 */
+  public static final String TYPE_SEEKER = "SEEKER";
+
+  /** 标记对象：投递 */
+  public static final String TYPE_APPLICATION = "APPLICATION";
+
+  /** 标记对象类型 */
+  private String targetType;
+
+  /** 岗位/求职者/投递ID */
+  private Long targetId;
+
+  /** 登记次数 */
+  private Long version;
+
+  /** 已失败次数 */
+  private Integer attempts;
+
+  /** 下次尝试时间 */
+  private Date nextAttemptAt;
+
+  /** 首次登记时间 */
+  private Date createdAt;
+}
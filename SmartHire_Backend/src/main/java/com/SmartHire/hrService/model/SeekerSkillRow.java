@@ -0,0 +1,14 @@
+package com.SmartHire.hrService.model;
+
+import lombok.Data;
+
+/** 求职者技能（只读投影，批量匹配时使用） */
+@Data
+public class SeekerSkillRow {
+
+  /** 求职者ID */
+  private Long jobSeekerId;
+
+  /** 技能名称 */
+  private String skillName;
+}
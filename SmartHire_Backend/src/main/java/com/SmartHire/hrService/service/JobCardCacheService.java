@@ -0,0 +1,50 @@
+package com.SmartHire.hrService.service;
+
+import com.SmartHire.common.dto.hrDto.JobCardDTO;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * 岗位卡片缓存服务
+ *
+ * <p>本地 Caffeine + Redis 两级缓存，按岗位ID缓存 {@link JobCardDTO}（含技能）。岗位、公司、HR 信息变更后通过 RabbitMQ 广播失效
+ */
+public interface JobCardCacheService {
+
+  /**
+   * 获取岗位卡片
+   *
+   * @param jobId 岗位ID
+   * @return 岗位卡片副本；岗位不存在时返回 null
+   */
+  JobCardDTO get(Long jobId);
+
+  /**
+   * 批量获取岗位卡片，未命中的岗位合并为一次数据库查询
+   *
+   * @param jobIds 岗位ID集合
+   * @return 岗位ID -> 岗位卡片副本，不存在的岗位不在结果中
+   */
+  Map<Long, JobCardDTO> getAll(Collection<Long> jobIds);
+
+  /**
+   * 当前事务提交后使岗位卡片失效，并通知其他节点
+   *
+   * @param jobIds 岗位ID集合
+   */
+  void invalidate(Collection<Long> jobIds);
+
+  /**
+   * 当前事务提交后使公司下全部岗位的卡片失效
+   *
+   * @param companyId 公司ID
+   */
+  void invalidateByCompany(Long companyId);
+
+  /**
+   * 当前事务提交后使HR发布的全部岗位的卡片失效
+   *
+   * @param userId HR的用户ID
+   */
+  void invalidateByHrUser(Long userId);
+}
@@ -0,0 +1,35 @@
+package com.SmartHire.hrService.service;
+
+import com.SmartHire.common.dto.hrDto.JobInfoDTO;
+
+/**
+ * 岗位计数服务
+ *
+ * <p>浏览量、投递量先在内存中累加，定期合并为批量 UPDATE 写入 job_info，避免热门岗位的行锁与 HR 编辑争用
+ */
+public interface JobCounterService {
+
+  /**
+   * 浏览量加一
+   *
+   * @param jobId 岗位ID
+   */
+  void incrementViews(Long jobId);
+
+  /**
+   * 投递量加一
+   *
+   * @param jobId 岗位ID
+   */
+  void incrementApplications(Long jobId);
+
+  /**
+   * 在数据库中的计数上加上本节点尚未写入的增量
+   *
+   * @param jobInfo 岗位信息，计数字段为数据库中的值
+   */
+  void applyPending(JobInfoDTO jobInfo);
+
+  /** 立即把累积的增量写入数据库 */
+  void flush();
+}
@@ -5,6 +5,7 @@ import com.SmartHire.hrService.dto.JobInfoUpdateDTO;
 import com.SmartHire.common.dto.hrDto.JobInfoDTO;
 import com.SmartHire.common.dto.hrDto.JobSearchDTO;
 import com.SmartHire.common.dto.hrDto.JobCardDTO;
+import com.SmartHire.common.dto.hrDto.JobFeedDTO;
 import com.SmartHire.hrService.model.JobInfo;
 import com.baomidou.mybatisplus.extension.service.IService;
 import java.util.List;
@@ -67,6 +68,14 @@ public interface JobInfoService extends IService<JobInfo> {
    */
   List<JobCardDTO> searchPublicJobs(JobSearchDTO searchDTO);
 
+  /**
+   * 求职者端岗位信息流（游标分页），按发布时间倒序，供无限滚动使用
+   *
+   * @param searchDTO 筛选条件，page 忽略，cursor 取上一页返回的 nextCursor
+   * @return 本页岗位卡片及下一页游标
+   */
+  JobFeedDTO feedPublicJobs(JobSearchDTO searchDTO);
+
   /**
    * 提交岗位审核
    *
@@ -0,0 +1,36 @@
+package com.SmartHire.hrService.service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 岗位技能批量加载器（请求级）
+ *
+ * <p>同一个 HTTP 请求内登记过的岗位在第一次取技能时合并为一次 IN 查询，结果在请求内复用；不在请求线程中调用时每次直接批量查询
+ */
+public interface JobSkillLoader {
+
+  /**
+   * 登记本请求稍后要用到技能的岗位，不立即查询
+   *
+   * @param jobIds 岗位ID集合
+   */
+  void prime(Collection<Long> jobIds);
+
+  /**
+   * 获取单个岗位的技能，会连同已登记的岗位一起查询
+   *
+   * @param jobId 岗位ID
+   * @return 技能名称列表，没有时为空列表
+   */
+  List<String> load(Long jobId);
+
+  /**
+   * 批量获取岗位技能，会连同已登记的岗位一起查询
+   *
+   * @param jobIds 岗位ID集合
+   * @return 岗位ID -> 技能名称列表，每个请求的岗位都有值（可能为空列表）
+   */
+  Map<Long, List<String>> loadAll(Collection<Long> jobIds);
+}
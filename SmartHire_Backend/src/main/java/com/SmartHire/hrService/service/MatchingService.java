@@ -7,10 +7,15 @@ import java.util.List;
 public interface MatchingService {
 
   /**
-   * 对指定岗位的投递执行关键词匹配并返回排序结果
+   * 查询指定岗位的投递及匹配结果
+   *
+   * <p>匹配分由后台在技能变更、新投递后重算，这里只读取
    *
    * @param jobId 岗位ID
    * @return 匹配结果列表（已按匹配度排序）
    */
   List<ApplicationListDTO> matchApplicationsForJob(Long jobId);
+
+  /** 重算待处理的岗位、求职者、投递涉及的匹配分，由定时任务调用 */
+  void refreshPending();
 }
@@ -15,6 +15,7 @@ import com.SmartHire.hrService.model.HrAuditRecord;
 import com.SmartHire.hrService.model.HrInfo;
 import com.SmartHire.hrService.model.JobInfo;
 import com.SmartHire.hrService.service.CompanyService;
+import com.SmartHire.hrService.service.JobCardCacheService;
 import com.SmartHire.adminService.enums.AuditStatus;
 import com.SmartHire.adminService.mapper.JobAuditMapper;
 import com.SmartHire.adminService.model.JobAuditRecord;
@@ -55,6 +56,9 @@ public class CompanyServiceImpl implements CompanyService {
     @Autowired
     private JobAuditMapper jobAuditMapper;
 
+    @Autowired
+    private JobCardCacheService jobCardCacheService;
+
     @Override
     public Long createCompany(CompanyDTO createDTO) {
         Long userId = userContext.getCurrentUserId();
@@ -185,6 +189,8 @@ public class CompanyServiceImpl implements CompanyService {
         company.setRegisteredCapital(companyDTO.getRegisteredCapital());
         company.setUpdatedAt(new Date());
         companyMapper.updateById(company);
+        // 公司名称、规模、融资阶段冗余在本公司的岗位卡片中
+        jobCardCacheService.invalidateByCompany(companyId);
     }
 
     @Override
@@ -7,19 +7,24 @@ import com.SmartHire.common.dto.hrDto.JobCardDTO;
 import com.SmartHire.common.dto.hrDto.JobFullDetailDTO;
 import com.SmartHire.common.dto.hrDto.JobInfoDTO;
 import com.SmartHire.common.dto.hrDto.JobSearchDTO;
+import com.SmartHire.common.event.JobInfoChangedEvent;
 import com.SmartHire.hrService.mapper.CompanyMapper;
 import com.SmartHire.hrService.mapper.HrInfoMapper;
 import com.SmartHire.hrService.mapper.JobInfoMapper;
-import com.SmartHire.hrService.mapper.JobSkillRequirementMapper;
 import com.SmartHire.hrService.model.Company;
 import com.SmartHire.hrService.model.HrInfo;
 import com.SmartHire.hrService.model.JobInfo;
 import com.SmartHire.hrService.service.JobInfoService;
 import com.SmartHire.hrService.service.HrInfoService;
+import com.SmartHire.hrService.service.JobCardCacheService;
+import com.SmartHire.hrService.service.JobCounterService;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 /** HR服务API实现类 用于模块间通信 */
@@ -42,7 +47,13 @@ public class HrApiImpl implements HrApi {
   private HrInfoService hrInfoService;
 
   @Autowired
-  private JobSkillRequirementMapper jobSkillRequirementMapper;
+  private ApplicationEventPublisher eventPublisher;
+
+  @Autowired
+  private JobCardCacheService jobCardCacheService;
+
+  @Autowired
+  private JobCounterService jobCounterService;
 
   @Override
   public Long getHrIdByUserId(Long userId) {
@@ -110,16 +121,12 @@ public class HrApiImpl implements HrApi {
 
   @Override
   public JobCardDTO getJobCardByJobId(Long jobId) {
-    if (jobId == null) {
-      return null;
-    }
-    JobCardDTO jobCard = jobInfoMapper.selectJobCardById(jobId);
-    if (jobCard != null) {
-      // 填充技能要求
-      List<String> skills = jobSkillRequirementMapper.selectSkillNamesByJobId(jobId);
-      jobCard.setSkills(skills);
-    }
-    return jobCard;
+    return jobCardCacheService.get(jobId);
+  }
+
+  @Override
+  public Map<Long, JobCardDTO> getJobCards(Collection<Long> jobIds) {
+    return jobCardCacheService.getAll(jobIds);
   }
 
   @Override
@@ -138,7 +145,11 @@ public class HrApiImpl implements HrApi {
     }
     JobInfo jobInfo = new JobInfo();
     BeanUtils.copyProperties(jobInfoDTO, jobInfo);
-    return jobInfoMapper.updateById(jobInfo) > 0;
+    boolean updated = jobInfoMapper.updateById(jobInfo) > 0;
+    if (updated) {
+      eventPublisher.publishEvent(new JobInfoChangedEvent(jobInfo.getId()));
+    }
+    return updated;
   }
 
   @Override
@@ -152,6 +163,7 @@ public class HrApiImpl implements HrApi {
     }
     JobInfoDTO dto = new JobInfoDTO();
     BeanUtils.copyProperties(jobInfo, dto);
+    jobCounterService.applyPending(dto);
     return dto;
   }
 
@@ -13,6 +13,7 @@ import com.SmartHire.hrService.model.Company;
 import com.SmartHire.hrService.model.HrAuditRecord;
 import com.SmartHire.hrService.model.HrInfo;
 import com.SmartHire.hrService.service.HrInfoService;
+import com.SmartHire.hrService.service.JobCardCacheService;
 import com.SmartHire.adminService.enums.AuditStatus;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
@@ -38,6 +39,9 @@ public class HrInfoServiceImpl extends ServiceImpl<HrInfoMapper, HrInfo> impleme
   @Autowired
   private HrInfoMapper hrInfoMapper;
 
+  @Autowired
+  private JobCardCacheService jobCardCacheService;
+
   /**
    * 获取当前登录用户ID
    * 注意：用户身份验证已由AOP在Controller层统一处理，此处无需再次验证
@@ -199,6 +203,10 @@ public class HrInfoServiceImpl extends ServiceImpl<HrInfoMapper, HrInfo> impleme
     if (needUpdate) {
       hrInfo.setUpdatedAt(new Date());
       updateById(hrInfo);
+      // HR姓名冗余在其发布的岗位卡片中
+      if (StringUtils.hasText(updateDTO.getRealName())) {
+        jobCardCacheService.invalidateByHrUser(userId);
+      }
     }
   }
 }
\ No newline at end of file
@@ -0,0 +1,327 @@
+package com.SmartHire.hrService.service.impl;
+
+import static com.SmartHire.common.utils.TransactionUtils.runAfterCommit;
+
+import com.SmartHire.common.config.RabbitMQConfig;
+import com.SmartHire.common.dto.hrDto.JobCardDTO;
+import com.SmartHire.common.event.JobCardInvalidatedEvent;
+import com.SmartHire.common.event.JobInfoChangedEvent;
+import com.SmartHire.common.event.UserAvatarChangedEvent;
+import com.SmartHire.hrService.mapper.JobInfoMapper;
+import com.SmartHire.hrService.service.JobCardCacheService;
+import com.SmartHire.hrService.service.JobSkillLoader;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 岗位卡片两级缓存实现类
+ *
+ * <p>Redis 结构：
+ *
+ * <ul>
+ *   <li>{@code job:card:{jobId}}：岗位卡片 JSON
+ *   <li>{@code job:card:version:{jobId}}：每次失效时递增；回填前先读版本号，回填时版本号已变化说明期间有更新，放弃写入，避免旧快照覆盖
+ * </ul>
+ *
+ * <p>本地缓存过期时间较短，作为 RabbitMQ 失效广播丢失时的兜底。Redis 不可用时直接查库
+ */
+@Slf4j
+@Service
+public class JobCardCacheServiceImpl implements JobCardCacheService {
+
+  private static final String CARD_KEY_PREFIX = "job:card:";
+  private static final String VERSION_KEY_PREFIX = "job:card:version:";
+
+  /** KEYS 为 (卡片, 版本号) 成对排列；ARGV[1] 为过期时间，其后为 (读取时的版本号, 卡片JSON) 成对排列；版本号未变化才写入 */
+  private static final DefaultRedisScript<Long> FILL_SCRIPT =
+      new DefaultRedisScript<>(
+          "local n = 0 "
+              + "for i = 1, #KEYS, 2 do "
+              + "  local v = redis.call('GET', KEYS[i + 1]) or '0' "
+              + "  if v == ARGV[i + 1] then "
+              + "    redis.call('SET', KEYS[i], ARGV[i + 2], 'PX', ARGV[1]) "
+              + "    n = n + 1 "
+              + "  end "
+              + "end "
+              + "return n",
+          Long.class);
+
+  /** 删除卡片并递增版本号，使正在进行的回填失效 */
+  private static final DefaultRedisScript<Long> EVICT_SCRIPT =
+      new DefaultRedisScript<>(
+          "for i = 1, #KEYS, 2 do "
+              + "  redis.call('DEL', KEYS[i]) "
+              + "  redis.call('INCR', KEYS[i + 1]) "
+              + "  redis.call('PEXPIRE', KEYS[i + 1], ARGV[1]) "
+              + "end "
+              + "return 1",
+          Long.class);
+
+  @Autowired private JobInfoMapper jobInfoMapper;
+
+  @Autowired private JobSkillLoader jobSkillLoader;
+
+  @Autowired private RedisTemplate<String, String> redisTemplate;
+
+  @Autowired private RabbitTemplate rabbitTemplate;
+
+  @Autowired private ObjectMapper objectMapper;
+
+  @Autowired private MeterRegistry meterRegistry;
+
+  /** 本地缓存的卡片数上限 */
+  @Value("${hr.cache.job-card.local-maximum-size:20000}")
+  private long localMaximumSize;
+
+  /** 本地缓存写入后过期时间，也是失效广播丢失时的最长不一致时间 */
+  @Value("${hr.cache.job-card.local-ttl-seconds:60}")
+  private long localTtlSeconds;
+
+  /** Redis 中卡片的过期时间 */
+  @Value("${hr.cache.job-card.redis-ttl-seconds:1800}")
+  private long redisTtlSeconds;
+
+  private Cache<Long, JobCardDTO> localCache;
+
+  @PostConstruct
+  public void init() {
+    localCache =
+        Caffeine.newBuilder()
+            .maximumSize(localMaximumSize)
+            .expireAfterWrite(Duration.ofSeconds(localTtlSeconds))
+            .recordStats()
+            .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, localCache, "job.card");
+  }
+
+  @Override
+  public JobCardDTO get(Long jobId) {
+    if (jobId == null) {
+      return null;
+    }
+    return getAll(List.of(jobId)).get(jobId);
+  }
+
+  @Override
+  public Map<Long, JobCardDTO> getAll(Collection<Long> jobIds) {
+    Map<Long, JobCardDTO> result = new HashMap<>();
+    if (jobIds == null || jobIds.isEmpty()) {
+      return result;
+    }
+    Set<Long> keys = new LinkedHashSet<>();
+    jobIds.stream().filter(Objects::nonNull).forEach(keys::add);
+    localCache.getAll(keys, this::loadShared).forEach((id, card) -> result.put(id, copy(card)));
+    return result;
+  }
+
+  @Override
+  public void invalidate(Collection<Long> jobIds) {
+    if (jobIds == null || jobIds.isEmpty()) {
+      return;
+    }
+    List<Long> ids = List.copyOf(jobIds);
+    // 提交后再失效，避免其他线程在提交前把旧值重新加载进缓存
+    runAfterCommit(() -> invalidateNow(ids));
+  }
+
+  @Override
+  public void invalidateByCompany(Long companyId) {
+    if (companyId != null) {
+      invalidate(jobInfoMapper.selectJobIdsByCompanyId(companyId));
+    }
+  }
+
+  @Override
+  public void invalidateByHrUser(Long userId) {
+    if (userId != null) {
+      invalidate(jobInfoMapper.selectJobIdsByHrUserId(userId));
+    }
+  }
+
+  /** 岗位变更：事件在事务提交后触发，直接失效 */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onJobInfoChanged(JobInfoChangedEvent event) {
+    if (event.getJobId() != null) {
+      invalidateNow(List.of(event.getJobId()));
+    }
+  }
+
+  /** 头像变更：HR 的头像冗余在其发布的岗位卡片中，求职者查不到岗位时不做任何事 */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onUserAvatarChanged(UserAvatarChangedEvent event) {
+    if (event.getUserId() == null) {
+      return;
+    }
+    List<Long> jobIds = jobInfoMapper.selectJobIdsByHrUserId(event.getUserId());
+    if (!jobIds.isEmpty()) {
+      invalidateNow(jobIds);
+    }
+  }
+
+  /** 其他节点（也包括本节点）广播的失效 */
+  @RabbitListener(queues = "#{jobCardInvalidateQueue.name}", concurrency = "1")
+  public void onJobCardInvalidated(JobCardInvalidatedEvent event) {
+    if (event.getJobIds() != null) {
+      localCache.invalidateAll(event.getJobIds());
+    }
+  }
+
+  private void invalidateNow(List<Long> jobIds) {
+    localCache.invalidateAll(jobIds);
+    try {
+      redisTemplate.execute(
+          EVICT_SCRIPT, pairedKeys(jobIds), String.valueOf(redisTtlSeconds * 1000));
+    } catch (Exception e) {
+      log.warn("清除岗位卡片 Redis 缓存失败，等待过期: jobIds={}", jobIds, e);
+    }
+    try {
+      rabbitTemplate.convertAndSend(
+          RabbitMQConfig.JOB_CARD_EXCHANGE,
+          RabbitMQConfig.ROUTING_KEY_JOB_CARD_INVALIDATED,
+          new JobCardInvalidatedEvent(jobIds));
+    } catch (Exception e) {
+      log.warn("广播岗位卡片失效失败，其他节点将在本地缓存过期后刷新: jobIds={}", jobIds, e);
+    }
+  }
+
+  /** 本地未命中：先查 Redis，仍未命中的一次查库并按读取时的版本号回填 */
+  private Map<Long, JobCardDTO> loadShared(Set<? extends Long> jobIds) {
+    List<Long> ids = List.copyOf(jobIds);
+    Map<Long, JobCardDTO> result = new HashMap<>();
+
+    // 卡片和版本号一次读取：前半为卡片，后半为版本号
+    List<String> keys = new ArrayList<>(ids.size() * 2);
+    ids.forEach(id -> keys.add(CARD_KEY_PREFIX + id));
+    ids.forEach(id -> keys.add(VERSION_KEY_PREFIX + id));
+    List<String> values = null;
+    try {
+      values = redisTemplate.opsForValue().multiGet(keys);
+    } catch (Exception e) {
+      log.warn("读取岗位卡片 Redis 缓存失败，退回数据库: jobIds={}", ids, e);
+    }
+
+    List<Long> missing = new ArrayList<>();
+    Map<Long, String> versions = new HashMap<>();
+    for (int i = 0; i < ids.size(); i++) {
+      JobCardDTO card = values == null ? null : fromJson(values.get(i));
+      if (card != null) {
+        result.put(ids.get(i), card);
+      } else {
+        missing.add(ids.get(i));
+        if (values != null) {
+          String version = values.get(ids.size() + i);
+          versions.put(ids.get(i), version == null ? "0" : version);
+        }
+      }
+    }
+    if (missing.isEmpty()) {
+      return result;
+    }
+
+    Map<Long, JobCardDTO> loaded = loadFromDatabase(missing);
+    result.putAll(loaded);
+    if (values != null && !loaded.isEmpty()) {
+      fill(loaded, versions);
+    }
+    return result;
+  }
+
+  private Map<Long, JobCardDTO> loadFromDatabase(List<Long> jobIds) {
+    Map<Long, JobCardDTO> cards = new HashMap<>();
+    for (JobCardDTO card : jobInfoMapper.selectJobCardsByIds(jobIds)) {
+      cards.put(card.getJobId(), card);
+    }
+    if (!cards.isEmpty()) {
+      Map<Long, List<String>> skills = jobSkillLoader.loadAll(cards.keySet());
+      cards.forEach((id, card) -> card.setSkills(skills.getOrDefault(id, new ArrayList<>())));
+    }
+    return cards;
+  }
+
+  private void fill(Map<Long, JobCardDTO> cards, Map<Long, String> versions) {
+    List<String> keys = new ArrayList<>(cards.size() * 2);
+    List<String> args = new ArrayList<>(cards.size() * 2 + 1);
+    args.add(String.valueOf(redisTtlSeconds * 1000));
+    cards.forEach(
+        (id, card) -> {
+          String json = toJson(card);
+          if (json == null) {
+            return;
+          }
+          keys.add(CARD_KEY_PREFIX + id);
+          keys.add(VERSION_KEY_PREFIX + id);
+          args.add(versions.get(id));
+          args.add(json);
+        });
+    if (keys.isEmpty()) {
+      return;
+    }
+    try {
+      redisTemplate.execute(FILL_SCRIPT, keys, args.toArray());
+    } catch (Exception e) {
+      log.warn("回填岗位卡片 Redis 缓存失败: jobIds={}", cards.keySet(), e);
+    }
+  }
+
+  private static List<String> pairedKeys(List<Long> jobIds) {
+    List<String> keys = new ArrayList<>(jobIds.size() * 2);
+    for (Long jobId : jobIds) {
+      keys.add(CARD_KEY_PREFIX + jobId);
+      keys.add(VERSION_KEY_PREFIX + jobId);
+    }
+    return keys;
+  }
+
+  /** 缓存中的对象被多个请求共享，返回副本 */
+  private static JobCardDTO copy(JobCardDTO card) {
+    JobCardDTO copy = new JobCardDTO();
+    BeanUtils.copyProperties(card, copy);
+    copy.setSkills(card.getSkills() == null ? null : new ArrayList<>(card.getSkills()));
+    return copy;
+  }
+
+  private String toJson(JobCardDTO card) {
+    try {
+      return objectMapper.writeValueAsString(card);
+    } catch (JsonProcessingException e) {
+      log.error("序列化岗位卡片失败: jobId={}", card.getJobId(), e);
+      return null;
+    }
+  }
+
+  private JobCardDTO fromJson(String json) {
+    if (json == null) {
+      return null;
+    }
+    try {
+      return objectMapper.readValue(json, JobCardDTO.class);
+    } catch (JsonProcessingException e) {
+      log.error("反序列化岗位卡片缓存失败: {}", json, e);
+      return null;
+    }
+  }
+}
@@ -0,0 +1,155 @@
+package com.SmartHire.hrService.service.impl;
+
+import com.SmartHire.common.dto.hrDto.JobInfoDTO;
+import com.SmartHire.hrService.mapper.JobInfoMapper;
+import com.SmartHire.hrService.service.JobCounterService;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * 岗位计数服务实现类
+ *
+ * <p>每个岗位一个 {@link LongAdder}，浏览、投递只做内存累加；定时取出增量按岗位ID升序分批执行 {@code UPDATE ... CASE}，
+ * 写入失败的增量放回下次重试，停机时再写一次。多节点各自累加、各自写入增量，互不覆盖
+ *
+ * <p>累加器取出增量后不删除（删除会与拿到旧累加器的并发累加竞争），条目数以岗位总数为上限
+ */
+@Slf4j
+@Service
+public class JobCounterServiceImpl implements JobCounterService {
+
+  @Autowired private JobInfoMapper jobInfoMapper;
+
+  /** 每条 UPDATE 涉及的岗位数上限 */
+  @Value("${hr.counter.flush-batch-size:500}")
+  private int flushBatchSize;
+
+  private final Map<Long, LongAdder> pendingViews = new ConcurrentHashMap<>();
+
+  private final Map<Long, LongAdder> pendingApplications = new ConcurrentHashMap<>();
+
+  /** 已从累加器取出、正在写入数据库的增量，写入期间读计数时同样计入 */
+  private volatile Map<Long, Long> inFlightViews = Map.of();
+
+  private volatile Map<Long, Long> inFlightApplications = Map.of();
+
+  @Override
+  public void incrementViews(Long jobId) {
+    if (jobId != null) {
+      pendingViews.computeIfAbsent(jobId, k -> new LongAdder()).increment();
+    }
+  }
+
+  @Override
+  public void incrementApplications(Long jobId) {
+    if (jobId != null) {
+      pendingApplications.computeIfAbsent(jobId, k -> new LongAdder()).increment();
+    }
+  }
+
+  @Override
+  public void applyPending(JobInfoDTO jobInfo) {
+    if (jobInfo == null || jobInfo.getId() == null) {
+      return;
+    }
+    Long jobId = jobInfo.getId();
+    jobInfo.setViewCount(
+        withPending(jobInfo.getViewCount(), pendingViews, inFlightViews, jobId));
+    jobInfo.setApplicationCount(
+        withPending(
+            jobInfo.getApplicationCount(), pendingApplications, inFlightApplications, jobId));
+  }
+
+  /** 定时写入累积的增量 */
+  @Scheduled(fixedDelayString = "${hr.counter.flush-interval-ms:5000}")
+  public void scheduledFlush() {
+    flush();
+  }
+
+  /** 停机前写入剩余增量 */
+  @PreDestroy
+  public void flushOnShutdown() {
+    flush();
+  }
+
+  @Override
+  public synchronized void flush() {
+    Map<Long, Long> views = drain(pendingViews);
+    Map<Long, Long> applications = drain(pendingApplications);
+    if (views.isEmpty() && applications.isEmpty()) {
+      return;
+    }
+    inFlightViews = views;
+    inFlightApplications = applications;
+    try {
+      // 按ID升序加锁，多节点同时写入时不会互相死锁
+      TreeSet<Long> sorted = new TreeSet<>(views.keySet());
+      sorted.addAll(applications.keySet());
+      List<Long> jobIds = new ArrayList<>(sorted);
+      for (int from = 0; from < jobIds.size(); from += flushBatchSize) {
+        List<Long> batch = jobIds.subList(from, Math.min(from + flushBatchSize, jobIds.size()));
+        Map<Long, Long> batchViews = slice(views, batch);
+        Map<Long, Long> batchApplications = slice(applications, batch);
+        try {
+          jobInfoMapper.addCounts(batchViews, batchApplications, batch);
+        } catch (Exception e) {
+          log.error("写入岗位计数失败，增量保留到下次写入: jobs={}", batch.size(), e);
+          restore(batchViews, pendingViews);
+          restore(batchApplications, pendingApplications);
+        }
+      }
+    } finally {
+      inFlightViews = Map.of();
+      inFlightApplications = Map.of();
+    }
+  }
+
+  private static Integer withPending(
+      Integer persisted, Map<Long, LongAdder> pending, Map<Long, Long> inFlight, Long jobId) {
+    LongAdder adder = pending.get(jobId);
+    long delta = (adder == null ? 0 : adder.sum()) + inFlight.getOrDefault(jobId, 0L);
+    if (delta == 0) {
+      return persisted;
+    }
+    return (int) ((persisted == null ? 0 : persisted) + delta);
+  }
+
+  private static Map<Long, Long> drain(Map<Long, LongAdder> pending) {
+    Map<Long, Long> deltas = new HashMap<>();
+    pending.forEach(
+        (jobId, adder) -> {
+          long delta = adder.sumThenReset();
+          if (delta != 0) {
+            deltas.put(jobId, delta);
+          }
+        });
+    return deltas;
+  }
+
+  private static Map<Long, Long> slice(Map<Long, Long> deltas, List<Long> jobIds) {
+    Map<Long, Long> slice = new HashMap<>();
+    for (Long jobId : jobIds) {
+      Long delta = deltas.get(jobId);
+      if (delta != null) {
+        slice.put(jobId, delta);
+      }
+    }
+    return slice;
+  }
+
+  private static void restore(Map<Long, Long> deltas, Map<Long, LongAdder> pending) {
+    deltas.forEach(
+        (jobId, delta) -> pending.computeIfAbsent(jobId, k -> new LongAdder()).add(delta));
+  }
+}
@@ -1,12 +1,17 @@
 package com.SmartHire.hrService.service.impl;
 
+import com.SmartHire.common.api.SearchApi;
 import com.SmartHire.common.auth.UserContext;
+import com.SmartHire.common.event.JobInfoChangedEvent;
+import com.SmartHire.common.event.JobSkillsChangedEvent;
 import com.SmartHire.common.exception.enums.ErrorCode;
 import com.SmartHire.common.exception.exception.BusinessException;
 import com.SmartHire.hrService.dto.JobInfoCreateDTO;
 import com.SmartHire.hrService.dto.JobInfoUpdateDTO;
+import com.SmartHire.hrService.dto.JobSkillDTO;
 import com.SmartHire.common.dto.hrDto.JobInfoDTO;
 import com.SmartHire.common.dto.hrDto.JobCardDTO;
+import com.SmartHire.common.dto.hrDto.JobFeedDTO;
 import com.SmartHire.common.dto.hrDto.JobSearchDTO;
 import com.SmartHire.hrService.mapper.CompanyMapper;
 import com.SmartHire.hrService.mapper.HrInfoMapper;
@@ -17,17 +22,24 @@ import com.SmartHire.hrService.model.HrInfo;
 import com.SmartHire.hrService.model.JobInfo;
 import com.SmartHire.hrService.model.JobSkillRequirement;
 import com.SmartHire.hrService.service.HrInfoService;
+import com.SmartHire.hrService.service.JobCounterService;
 import com.SmartHire.hrService.service.JobInfoService;
+import com.SmartHire.hrService.service.JobSkillLoader;
 import com.SmartHire.adminService.mapper.JobAuditMapper;
 import com.SmartHire.adminService.model.JobAuditRecord;
 import com.SmartHire.adminService.enums.AuditStatus;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
@@ -37,6 +49,9 @@ import org.springframework.util.StringUtils;
 public class JobInfoServiceImpl extends ServiceImpl<JobInfoMapper, JobInfo>
     implements JobInfoService {
 
+  /** 技能索引返回的候选岗位数超过该值时，数据库查询仍关联技能表筛选，避免过长的 IN 列表 */
+  private static final int MAX_SKILL_CANDIDATE_JOBS = 5000;
+
   @Autowired
   private HrInfoMapper hrInfoMapper;
 
@@ -58,6 +73,18 @@ public class JobInfoServiceImpl extends ServiceImpl<JobInfoMapper, JobInfo>
   @Autowired
   private HrInfoService hrInfoService;
 
+  @Autowired
+  private SearchApi searchApi;
+
+  @Autowired
+  private JobSkillLoader jobSkillLoader;
+
+  @Autowired
+  private ApplicationEventPublisher eventPublisher;
+
+  @Autowired
+  private JobCounterService jobCounterService;
+
   /** 验证岗位是否属于当前HR */
   private void validateJobOwnership(Long jobId) {
     JobInfo jobInfo = getById(jobId);
@@ -134,27 +161,34 @@ public class JobInfoServiceImpl extends ServiceImpl<JobInfoMapper, JobInfo>
 
     // 保存技能要求
     if (createDTO.getSkills() != null && !createDTO.getSkills().isEmpty()) {
-      List<JobSkillRequirement> skillRequirements = createDTO.getSkills().stream()
-          .map(
-              skill -> {
-                JobSkillRequirement requirement = new JobSkillRequirement();
-                requirement.setJobId(jobInfo.getId());
-                requirement.setSkillName(skill.getSkillName());
-                requirement.setIsRequired(
-                    skill.getIsRequired() != null ? skill.getIsRequired() : 1);
-                requirement.setCreatedAt(now);
-                return requirement;
-              })
-          .toList();
-
-      for (JobSkillRequirement requirement : skillRequirements) {
-        jobSkillRequirementMapper.insert(requirement);
-      }
+      saveSkillRequirements(jobInfo.getId(), createDTO.getSkills(), now);
+      eventPublisher.publishEvent(new JobSkillsChangedEvent(jobInfo.getId()));
     }
 
+    eventPublisher.publishEvent(new JobInfoChangedEvent(jobInfo.getId()));
     return jobInfo.getId();
   }
 
+  /** 保存岗位技能要求 */
+  private void saveSkillRequirements(Long jobId, List<JobSkillDTO> skills, Date now) {
+    List<JobSkillRequirement> skillRequirements = skills.stream()
+        .map(
+            skill -> {
+              JobSkillRequirement requirement = new JobSkillRequirement();
+              requirement.setJobId(jobId);
+              requirement.setSkillName(skill.getSkillName());
+              requirement.setIsRequired(
+                  skill.getIsRequired() != null ? skill.getIsRequired() : 1);
+              requirement.setCreatedAt(now);
+              return requirement;
+            })
+        .toList();
+
+    for (JobSkillRequirement requirement : skillRequirements) {
+      jobSkillRequirementMapper.insert(requirement);
+    }
+  }
+
   @Override
   @Transactional
   public void updateJobInfo(Long jobId, JobInfoUpdateDTO updateDTO) {
@@ -250,8 +284,19 @@ public class JobInfoServiceImpl extends ServiceImpl<JobInfoMapper, JobInfo>
       }
     }
 
-    jobInfo.setUpdatedAt(new Date());
+    Date now = new Date();
+    jobInfo.setUpdatedAt(now);
     updateById(jobInfo);
+
+    // 整体替换技能要求
+    if (updateDTO.getSkills() != null) {
+      jobSkillRequirementMapper.deleteByJobId(jobId);
+      if (!updateDTO.getSkills().isEmpty()) {
+        saveSkillRequirements(jobId, updateDTO.getSkills(), now);
+      }
+      eventPublisher.publishEvent(new JobSkillsChangedEvent(jobId));
+    }
+    eventPublisher.publishEvent(new JobInfoChangedEvent(jobId));
   }
 
   @Override
@@ -276,17 +321,18 @@ public class JobInfoServiceImpl extends ServiceImpl<JobInfoMapper, JobInfo>
       jobInfos = lambdaQuery().eq(JobInfo::getHrId, currentHrId).orderByDesc(JobInfo::getCreatedAt).list();
     }
 
+    // 一次批量查询所有岗位的技能要求
+    Map<Long, List<String>> skillsByJob =
+        jobSkillLoader.loadAll(jobInfos.stream().map(JobInfo::getId).toList());
+
     // 转换为DTO并填充技能要求
     return jobInfos.stream()
         .map(
             job -> {
               JobInfoDTO dto = new JobInfoDTO();
               BeanUtils.copyProperties(job, dto);
-
-              // 查询技能要求
-              List<String> skills = jobSkillRequirementMapper.selectSkillNamesByJobId(job.getId());
-              dto.setSkills(skills);
-
+              dto.setSkills(skillsByJob.get(job.getId()));
+              jobCounterService.applyPending(dto);
               return dto;
             })
         .collect(Collectors.toList());
@@ -310,6 +356,7 @@ public class JobInfoServiceImpl extends ServiceImpl<JobInfoMapper, JobInfo>
 
     jobInfo.setUpdatedAt(new Date());
     updateById(jobInfo);
+    eventPublisher.publishEvent(new JobInfoChangedEvent(jobId));
   }
 
   @Override
@@ -325,18 +372,29 @@ public class JobInfoServiceImpl extends ServiceImpl<JobInfoMapper, JobInfo>
     BeanUtils.copyProperties(jobInfo, dto);
 
     // 查询技能要求
-    List<String> skills = jobSkillRequirementMapper.selectSkillNamesByJobId(jobId);
-    dto.setSkills(skills);
+    dto.setSkills(jobSkillLoader.load(jobId));
+    jobCounterService.applyPending(dto);
 
     return dto;
   }
 
   @Override
   public List<JobCardDTO> searchPublicJobs(JobSearchDTO searchDTO) {
+    // 优先走内存索引（已含技能），索引未就绪或关键词含单个汉字时回退到数据库
+    List<JobCardDTO> indexed = searchApi.searchJobs(searchDTO);
+    if (indexed != null) {
+      return indexed;
+    }
+
     int page = searchDTO.getPage() == null ? 1 : searchDTO.getPage();
     int size = searchDTO.getSize() == null ? 20 : searchDTO.getSize();
     int offset = (page - 1) * size;
 
+    SkillFilter skillFilter = resolveSkillFilter(searchDTO.getSkills());
+    if (skillFilter.noMatch()) {
+      return new ArrayList<>();
+    }
+
     List<JobCardDTO> jobCards = jobInfoMapper.searchPublicJobCards(
         searchDTO.getCity(),
         searchDTO.getJobType(),
@@ -344,22 +402,122 @@ public class JobInfoServiceImpl extends ServiceImpl<JobInfoMapper, JobInfo>
         searchDTO.getMinSalary(),
         searchDTO.getMaxSalary(),
         searchDTO.getKeyword(),
-        searchDTO.getSkills(),
+        skillFilter.skills(),
+        skillFilter.jobIds(),
         searchDTO.getCompanyId(),
         offset,
         size);
 
-    // 为每个岗位卡片填充技能要求
-    if (jobCards != null) {
-      for (JobCardDTO jobCard : jobCards) {
-        if (jobCard != null && jobCard.getJobId() != null) {
-          List<String> skills = jobSkillRequirementMapper.selectSkillNamesByJobId(jobCard.getJobId());
-          jobCard.setSkills(skills);
-        }
+    fillSkills(jobCards);
+    return jobCards;
+  }
+
+  @Override
+  public JobFeedDTO feedPublicJobs(JobSearchDTO searchDTO) {
+    int size = searchDTO.getSize() == null ? 20 : searchDTO.getSize();
+    FeedCursor cursor = parseFeedCursor(searchDTO.getCursor());
+
+    JobFeedDTO feed = new JobFeedDTO();
+    SkillFilter skillFilter = resolveSkillFilter(searchDTO.getSkills());
+    if (skillFilter.noMatch()) {
+      feed.setList(new ArrayList<>());
+      feed.setHasMore(false);
+      return feed;
+    }
+
+    // 多取一条判断是否还有下一页
+    List<JobCardDTO> jobCards = jobInfoMapper.selectPublicJobFeed(
+        searchDTO.getCity(),
+        searchDTO.getJobType(),
+        searchDTO.getEducationRequired(),
+        searchDTO.getMinSalary(),
+        searchDTO.getMaxSalary(),
+        searchDTO.getKeyword(),
+        skillFilter.skills(),
+        skillFilter.jobIds(),
+        searchDTO.getCompanyId(),
+        cursor == null ? null : cursor.publishedAt(),
+        cursor == null ? null : cursor.jobId(),
+        size + 1);
+
+    boolean hasMore = jobCards.size() > size;
+    if (hasMore) {
+      jobCards = new ArrayList<>(jobCards.subList(0, size));
+    }
+    fillSkills(jobCards);
+
+    feed.setList(jobCards);
+    feed.setHasMore(hasMore);
+    feed.setNextCursor(hasMore ? buildFeedCursor(jobCards.get(jobCards.size() - 1)) : null);
+    return feed;
+  }
+
+  /**
+   * 技能筛选条件
+   *
+   * @param skills 仍需数据库关联技能表筛选的技能，候选岗位已由技能索引给出时为 null
+   * @param jobIds 技能索引筛出的候选岗位ID，索引不可用或候选过多时为 null
+   * @param noMatch 技能索引确认没有任何岗位命中
+   */
+  private record SkillFilter(List<String> skills, List<Long> jobIds, boolean noMatch) {}
+
+  /** 技能筛选先从技能索引取候选岗位，数据库查询不再关联 job_skill_requirement 再 GROUP BY */
+  private SkillFilter resolveSkillFilter(List<String> skills) {
+    if (skills == null || skills.isEmpty()) {
+      return new SkillFilter(null, null, false);
+    }
+    List<Long> matched = searchApi.matchJobsBySkills(skills, 1);
+    if (matched != null && matched.isEmpty()) {
+      return new SkillFilter(null, null, true);
+    }
+    if (matched != null && matched.size() <= MAX_SKILL_CANDIDATE_JOBS) {
+      return new SkillFilter(null, matched, false);
+    }
+    return new SkillFilter(skills, null, false);
+  }
+
+  /** 为每个岗位卡片填充技能要求，整页一次查询 */
+  private void fillSkills(List<JobCardDTO> jobCards) {
+    if (jobCards == null) {
+      return;
+    }
+    Map<Long, List<String>> skillsByJob =
+        jobSkillLoader.loadAll(
+            jobCards.stream()
+                .filter(card -> card != null && card.getJobId() != null)
+                .map(JobCardDTO::getJobId)
+                .toList());
+    for (JobCardDTO jobCard : jobCards) {
+      if (jobCard != null && jobCard.getJobId() != null) {
+        jobCard.setSkills(skillsByJob.get(jobCard.getJobId()));
       }
     }
+  }
 
-    return jobCards;
+  private record FeedCursor(Date publishedAt, Long jobId) {}
+
+  /** 游标格式：{发布时间毫秒}_{岗位ID}，Base64 编码后对客户端不透明 */
+  private static String buildFeedCursor(JobCardDTO last) {
+    String raw = last.getPublishedAt().getTime() + "_" + last.getJobId();
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static FeedCursor parseFeedCursor(String cursor) {
+    if (cursor == null || cursor.isBlank()) {
+      return null;
+    }
+    try {
+      String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+      String[] parts = raw.split("_");
+      if (parts.length == 2) {
+        return new FeedCursor(new Date(Long.parseLong(parts[0])), Long.valueOf(parts[1]));
+      }
+    } catch (IllegalArgumentException e) {
+      // 非法 Base64 或数字，统一按参数错误处理
+    }
+    throw new BusinessException(ErrorCode.VALIDATION_ERROR);
   }
 
   @Override
@@ -441,11 +599,11 @@ public class JobInfoServiceImpl extends ServiceImpl<JobInfoMapper, JobInfo>
 
   @Override
   public void incrementViewCount(Long jobId) {
-    jobInfoMapper.incrementViewCount(jobId);
+    jobCounterService.incrementViews(jobId);
   }
 
   @Override
   public void incrementApplicationCount(Long jobId) {
-    jobInfoMapper.incrementApplicationCount(jobId);
+    jobCounterService.incrementApplications(jobId);
   }
 }
@@ -0,0 +1,98 @@
+package com.SmartHire.hrService.service.impl;
+
+import com.SmartHire.hrService.mapper.JobSkillRequirementMapper;
+import com.SmartHire.hrService.service.JobSkillLoader;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * 岗位技能批量加载器实现类
+ *
+ * <p>待查询和已加载的岗位保存在请求属性中，随请求结束释放；返回的列表都是副本，调用方修改不影响请求内缓存
+ */
+@Service
+public class JobSkillLoaderImpl implements JobSkillLoader {
+
+  private static final String STATE_ATTRIBUTE = JobSkillLoaderImpl.class.getName() + ".STATE";
+
+  @Autowired private JobSkillRequirementMapper jobSkillRequirementMapper;
+
+  @Override
+  public void prime(Collection<Long> jobIds) {
+    State state = currentState();
+    if (state == null || jobIds == null) {
+      return;
+    }
+    for (Long jobId : jobIds) {
+      if (jobId != null && !state.loaded.containsKey(jobId)) {
+        state.pending.add(jobId);
+      }
+    }
+  }
+
+  @Override
+  public List<String> load(Long jobId) {
+    if (jobId == null) {
+      return new ArrayList<>();
+    }
+    return loadAll(List.of(jobId)).get(jobId);
+  }
+
+  @Override
+  public Map<Long, List<String>> loadAll(Collection<Long> jobIds) {
+    Map<Long, List<String>> result = new HashMap<>();
+    if (jobIds == null || jobIds.isEmpty()) {
+      return result;
+    }
+    State state = currentState();
+    if (state == null) {
+      List<Long> ids = jobIds.stream().filter(Objects::nonNull).distinct().toList();
+      Map<Long, List<String>> skills = jobSkillRequirementMapper.selectSkillNamesByJobIds(ids);
+      ids.forEach(id -> result.put(id, skills.getOrDefault(id, new ArrayList<>())));
+      return result;
+    }
+
+    prime(jobIds);
+    if (!state.pending.isEmpty()) {
+      List<Long> batch = new ArrayList<>(state.pending);
+      state.pending.clear();
+      Map<Long, List<String>> skills = jobSkillRequirementMapper.selectSkillNamesByJobIds(batch);
+      batch.forEach(id -> state.loaded.put(id, skills.getOrDefault(id, List.of())));
+    }
+    for (Long jobId : jobIds) {
+      if (jobId != null) {
+        result.put(jobId, new ArrayList<>(state.loaded.get(jobId)));
+      }
+    }
+    return result;
+  }
+
+  private static State currentState() {
+    RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+    if (attributes == null) {
+      return null;
+    }
+    State state = (State) attributes.getAttribute(STATE_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+    if (state == null) {
+      state = new State();
+      attributes.setAttribute(STATE_ATTRIBUTE, state, RequestAttributes.SCOPE_REQUEST);
+    }
+    return state;
+  }
+
+  /** 请求内的加载状态 */
+  private static final class State {
+    private final Set<Long> pending = new LinkedHashSet<>();
+    private final Map<Long, List<String>> loaded = new HashMap<>();
+  }
+}
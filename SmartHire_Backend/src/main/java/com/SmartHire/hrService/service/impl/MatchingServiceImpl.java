@@ -1,34 +1,62 @@
 package com.SmartHire.hrService.service.impl;
 
 import com.SmartHire.common.api.HrApi;
+import com.SmartHire.common.event.ApplicationSubmittedEvent;
+import com.SmartHire.common.event.JobSkillsChangedEvent;
+import com.SmartHire.common.event.SeekerSkillChangedEvent;
 import com.SmartHire.common.exception.enums.ErrorCode;
 import com.SmartHire.common.exception.exception.BusinessException;
 import com.SmartHire.hrService.mapper.HrApplicationMapper;
 import com.SmartHire.hrService.mapper.JobInfoMapper;
 import com.SmartHire.hrService.mapper.JobSeekerSkillMapper;
 import com.SmartHire.hrService.mapper.JobSkillRequirementMapper;
+import com.SmartHire.hrService.mapper.MatchRescorePendingMapper;
 import com.SmartHire.hrService.model.JobInfo;
+import com.SmartHire.hrService.model.MatchRescoreTask;
 import com.SmartHire.hrService.service.MatchingService;
 import com.SmartHire.recruitmentService.dto.ApplicationListDTO;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.BitSet;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
 
-/** 匹配服务实现类 */
+/**
+ * 匹配服务实现类
+ *
+ * <p>求职者技能变更、岗位技能要求变更、新增投递时，在同一事务中把岗位/求职者/投递ID登记到 {@code match_rescore_pending}，
+ * 由定时任务取出后只重算受影响的投递：
+ * 技能与技能要求各一次 IN 查询载入，技能名称映射为编号后用位图求交集，投递较多时并行打分，结果与库中不同的才分批写回。
+ * HR 查看匹配结果时直接按 {@code match_score} 读取，不在请求中计算
+ *
+ * <p>登记随业务事务提交，重启不会丢失；重算完成后只删除期间未再次登记（版本号未变）的标记，重算失败的按指数退避推迟重试。
+ * 多个节点可能同时重算同一批，写回结果相同，重复无害。发现未计算匹配分的投递（如历史数据）时登记该岗位补算
+ */
+@Slf4j
 @Service
 public class MatchingServiceImpl implements MatchingService {
+  /** 待打分的投递数达到该值时并行计算 */
+  private static final int PARALLEL_THRESHOLD = 256;
+
   @Autowired
   private JobInfoMapper jobInfoMapper;
 
@@ -44,6 +72,25 @@ public class MatchingServiceImpl implements MatchingService {
   @Autowired
   private HrApi hrApi;
 
+  @Autowired
+  private MatchRescorePendingMapper pendingMapper;
+
+  /** 每轮取出的待重算标记数上限 */
+  @Value("${hr.matching.refresh-batch-size:200}")
+  private int refreshBatchSize;
+
+  /** 每条批量 UPDATE 包含的投递数 */
+  @Value("${hr.matching.update-batch-size:500}")
+  private int updateBatchSize;
+
+  /** 首次失败后的重试间隔（毫秒），之后每次翻倍 */
+  @Value("${hr.matching.retry-base-delay-ms:5000}")
+  private long retryBaseDelayMs;
+
+  /** 重试间隔上限（毫秒） */
+  @Value("${hr.matching.retry-max-delay-ms:600000}")
+  private long retryMaxDelayMs;
+
   /** 校验岗位归属 */
   private void validateJobOwnership(Long jobId, Long hrId) {
     JobInfo jobInfo = jobInfoMapper.selectById(jobId);
@@ -56,61 +103,188 @@ public class MatchingServiceImpl implements MatchingService {
   }
 
   @Override
-  @Transactional
   public List<ApplicationListDTO> matchApplicationsForJob(Long jobId) {
     Long hrId = hrApi.getCurrentHrId();
     validateJobOwnership(jobId, hrId);
 
-    List<String> requiredSkills = jobSkillRequirementMapper.selectSkillNamesByJobId(jobId);
-    Set<String> requiredSkillSet = requiredSkills == null
-        ? new LinkedHashSet<>()
-        : requiredSkills.stream()
-            .filter(StringUtils::hasText)
-            .map(this::normalizeSkill)
-            .collect(Collectors.toCollection(LinkedHashSet::new));
-
     List<ApplicationListDTO> applications = hrApplicationMapper.selectApplicationsByJob(hrId, jobId);
     if (CollectionUtils.isEmpty(applications)) {
       return new ArrayList<>();
     }
+    if (applications.stream().anyMatch(application -> application.getMatchScore() == null)) {
+      mark(MatchRescoreTask.TYPE_JOB, jobId);
+    }
+    return applications;
+  }
 
-    Date now = new Date();
-    for (ApplicationListDTO application : applications) {
-      List<String> seekerSkills = jobSeekerSkillMapper.selectSkillNamesByJobSeekerId(application.getJobSeekerId());
-      Set<String> seekerSkillSet = seekerSkills == null
-          ? new LinkedHashSet<>()
-          : seekerSkills.stream()
-              .filter(StringUtils::hasText)
-              .map(this::normalizeSkill)
-              .collect(Collectors.toCollection(LinkedHashSet::new));
+  /** 求职者技能变更：重算该求职者的全部投递，标记在提交前写入，与技能变更同时生效 */
+  @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+  public void onSeekerSkillChanged(SeekerSkillChangedEvent event) {
+    mark(MatchRescoreTask.TYPE_SEEKER, event.getJobSeekerId());
+  }
 
-      Set<String> matchedSkills = new LinkedHashSet<>();
-      for (String req : requiredSkillSet) {
-        if (seekerSkillSet.contains(req)) {
-          matchedSkills.add(req);
-        }
+  /** 岗位技能要求变更：重算该岗位下的全部投递 */
+  @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+  public void onJobSkillsChanged(JobSkillsChangedEvent event) {
+    mark(MatchRescoreTask.TYPE_JOB, event.getJobId());
+  }
+
+  /** 新增投递：计算该投递的匹配分 */
+  @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+  public void onApplicationSubmitted(ApplicationSubmittedEvent event) {
+    mark(MatchRescoreTask.TYPE_APPLICATION, event.getApplicationId());
+  }
+
+  /** 登记待重算对象 */
+  private void mark(String targetType, Long targetId) {
+    if (targetId != null) {
+      pendingMapper.mark(targetType, List.of(targetId), new Date());
+    }
+  }
+
+  /** 定时重算待处理的匹配分 */
+  @Scheduled(fixedDelayString = "${hr.matching.refresh-interval-ms:2000}")
+  public void scheduledRefresh() {
+    refreshPending();
+  }
+
+  @Override
+  public synchronized void refreshPending() {
+    while (true) {
+      List<MatchRescoreTask> tasks = pendingMapper.selectDue(new Date(), refreshBatchSize);
+      if (tasks.isEmpty()) {
+        return;
+      }
+      List<Long> jobIds = targetIds(tasks, MatchRescoreTask.TYPE_JOB);
+      List<Long> seekerIds = targetIds(tasks, MatchRescoreTask.TYPE_SEEKER);
+      List<Long> applicationIds = targetIds(tasks, MatchRescoreTask.TYPE_APPLICATION);
+      try {
+        List<ApplicationListDTO> targets =
+            hrApplicationMapper.selectMatchTargets(jobIds, seekerIds, applicationIds);
+        int written = rescore(targets);
+        pendingMapper.deleteProcessed(tasks);
+        log.debug("匹配分重算完成, 岗位数={}, 求职者数={}, 投递数={}, 重算={}, 写回={}",
+            jobIds.size(), seekerIds.size(), applicationIds.size(), targets.size(), written);
+      } catch (Exception e) {
+        markFailed(tasks, e);
+        return;
       }
+      if (tasks.size() < refreshBatchSize) {
+        return;
+      }
+    }
+  }
 
-      BigDecimal score = calculateScore(requiredSkillSet.size(), matchedSkills.size(), seekerSkillSet.size());
-      String analysis = buildMatchAnalysis(requiredSkills, seekerSkills, matchedSkills);
+  /** 取出某类标记的ID */
+  private static List<Long> targetIds(List<MatchRescoreTask> tasks, String targetType) {
+    return tasks.stream()
+        .filter(task -> targetType.equals(task.getTargetType()))
+        .map(MatchRescoreTask::getTargetId)
+        .toList();
+  }
 
-      hrApplicationMapper.updateMatchResult(application.getId(), score, analysis, now);
-      application.setMatchScore(score);
-      application.setMatchAnalysis(analysis);
+  /** 记录重算失败，按失败次数指数退避 */
+  private void markFailed(List<MatchRescoreTask> tasks, Exception e) {
+    int attempts = tasks.stream()
+        .map(MatchRescoreTask::getAttempts)
+        .filter(Objects::nonNull)
+        .max(Integer::compare)
+        .orElse(0);
+    long delay = Math.min(retryBaseDelayMs << Math.min(attempts, 20), retryMaxDelayMs);
+    log.error("匹配分重算失败，{}ms 后重试, 标记数={}, 已失败次数={}", delay, tasks.size(), attempts + 1, e);
+    try {
+      pendingMapper.markFailed(tasks, new Date(System.currentTimeMillis() + delay));
+    } catch (Exception ex) {
+      log.warn("记录匹配分重算失败出错，下次调度立即重试, 标记数={}", tasks.size(), ex);
     }
+  }
 
-    Comparator<BigDecimal> scoreComparator = Comparator.nullsLast(Comparator.reverseOrder());
-    Comparator<Date> dateComparator = Comparator.nullsLast(Comparator.reverseOrder());
+  /**
+   * 重算投递的匹配分，结果与库中不同的分批写回
+   *
+   * @return 写回的投递数
+   */
+  private int rescore(List<ApplicationListDTO> targets) {
+    if (CollectionUtils.isEmpty(targets)) {
+      return 0;
+    }
+    Map<Long, List<String>> requirements = jobSkillRequirementMapper.selectSkillNamesByJobIds(
+        targets.stream().map(ApplicationListDTO::getJobId).distinct().toList());
+    Map<Long, List<String>> seekerSkills = jobSeekerSkillMapper.selectSkillNamesByJobSeekerIds(
+        targets.stream().map(ApplicationListDTO::getJobSeekerId).distinct().toList());
 
-    applications.sort(
-        Comparator.comparing(ApplicationListDTO::getMatchScore, scoreComparator)
-            .thenComparing(ApplicationListDTO::getCreatedAt, dateComparator));
+    // 技能名称编号在单线程中完成，并行阶段只读
+    SkillDictionary dictionary = new SkillDictionary();
+    Map<Long, RequiredSkills> jobs = new HashMap<>();
+    Map<Long, SeekerSkills> seekers = new HashMap<>();
+    for (ApplicationListDTO target : targets) {
+      jobs.computeIfAbsent(
+          target.getJobId(), id -> dictionary.encodeRequired(requirements.get(id)));
+      seekers.computeIfAbsent(
+          target.getJobSeekerId(), id -> dictionary.encodeSeeker(seekerSkills.get(id)));
+    }
 
-    return applications;
+    Stream<ApplicationListDTO> stream =
+        targets.size() >= PARALLEL_THRESHOLD ? targets.parallelStream() : targets.stream();
+    Map<Long, MatchResult> results = stream.collect(Collectors.toMap(
+        ApplicationListDTO::getId,
+        target -> match(
+            dictionary, jobs.get(target.getJobId()), seekers.get(target.getJobSeekerId()))));
+
+    Map<Long, BigDecimal> changedScores = new LinkedHashMap<>();
+    Map<Long, String> changedAnalyses = new LinkedHashMap<>();
+    for (ApplicationListDTO target : targets) {
+      MatchResult result = results.get(target.getId());
+      boolean unchanged = target.getMatchScore() != null
+          && target.getMatchScore().compareTo(result.score()) == 0
+          && result.analysis().equals(target.getMatchAnalysis());
+      if (!unchanged) {
+        changedScores.put(target.getId(), result.score());
+        changedAnalyses.put(target.getId(), result.analysis());
+      }
+    }
+    writeMatchResults(changedScores, changedAnalyses);
+    return changedScores.size();
+  }
+
+  /** 分批写回有变化的匹配结果 */
+  private void writeMatchResults(Map<Long, BigDecimal> scores, Map<Long, String> analyses) {
+    if (scores.isEmpty()) {
+      return;
+    }
+    Date now = new Date();
+    List<Long> ids = new ArrayList<>(scores.keySet());
+    for (int from = 0; from < ids.size(); from += updateBatchSize) {
+      Map<Long, BigDecimal> batchScores = new LinkedHashMap<>();
+      Map<Long, String> batchAnalyses = new LinkedHashMap<>();
+      for (Long id : ids.subList(from, Math.min(from + updateBatchSize, ids.size()))) {
+        batchScores.put(id, scores.get(id));
+        batchAnalyses.put(id, analyses.get(id));
+      }
+      hrApplicationMapper.updateMatchResults(batchScores, batchAnalyses, now);
+    }
+  }
+
+  /** 计算单个投递的匹配结果 */
+  private MatchResult match(SkillDictionary dictionary, RequiredSkills job, SeekerSkills seeker) {
+    BitSet matched = (BitSet) seeker.bits().clone();
+    matched.and(job.bits());
+    // 按岗位技能要求的顺序列出命中的技能
+    Set<String> matchedSkills = new LinkedHashSet<>();
+    for (int id : job.ids()) {
+      if (matched.get(id)) {
+        matchedSkills.add(dictionary.name(id));
+      }
+    }
+
+    BigDecimal score =
+        calculateScore(job.ids().length, matchedSkills.size(), seeker.bits().cardinality());
+    String analysis = buildMatchAnalysis(job.rawCount(), seeker.rawCount(), matchedSkills);
+    return new MatchResult(score, analysis);
   }
 
   /** 规范化技能名称 */
-  private String normalizeSkill(String skill) {
+  private static String normalizeSkill(String skill) {
     return skill == null ? "" : skill.trim().toLowerCase(Locale.ROOT);
   }
 
@@ -129,10 +303,7 @@ public class MatchingServiceImpl implements MatchingService {
   }
 
   /** 构建匹配分析说明 */
-  private String buildMatchAnalysis(
-      List<String> requiredSkills, List<String> seekerSkills, Set<String> matchedSkills) {
-    int requiredSize = requiredSkills == null ? 0 : requiredSkills.size();
-    int seekerSize = seekerSkills == null ? 0 : seekerSkills.size();
+  private String buildMatchAnalysis(int requiredSize, int seekerSize, Set<String> matchedSkills) {
     int matchedSize = matchedSkills == null ? 0 : matchedSkills.size();
 
     String matchedStr = matchedSkills == null || matchedSkills.isEmpty()
@@ -145,4 +316,61 @@ public class MatchingServiceImpl implements MatchingService {
         "{\"required\":%d,\"seeker\":%d,\"matched\":%d,\"matchedSkills\":%s}",
         requiredSize, seekerSize, matchedSize, matchedStr);
   }
-}
\ No newline at end of file
+
+  /** 一轮重算内的技能编号表，规范化后的技能名称映射为连续编号 */
+  private static final class SkillDictionary {
+
+    private final Map<String, Integer> ids = new HashMap<>();
+
+    private final List<String> names = new ArrayList<>();
+
+    RequiredSkills encodeRequired(List<String> skills) {
+      BitSet bits = encode(skills);
+      // 保留技能要求的原始顺序，去重
+      int[] ordered = skills == null
+          ? new int[0]
+          : skills.stream()
+              .filter(StringUtils::hasText)
+              .mapToInt(skill -> ids.get(normalizeSkill(skill)))
+              .distinct()
+              .toArray();
+      return new RequiredSkills(ordered, bits, skills == null ? 0 : skills.size());
+    }
+
+    SeekerSkills encodeSeeker(List<String> skills) {
+      return new SeekerSkills(encode(skills), skills == null ? 0 : skills.size());
+    }
+
+    String name(int id) {
+      return names.get(id);
+    }
+
+    private BitSet encode(List<String> skills) {
+      BitSet bits = new BitSet();
+      if (skills != null) {
+        for (String skill : skills) {
+          if (StringUtils.hasText(skill)) {
+            bits.set(intern(normalizeSkill(skill)));
+          }
+        }
+      }
+      return bits;
+    }
+
+    private int intern(String skill) {
+      return ids.computeIfAbsent(skill, k -> {
+        names.add(k);
+        return names.size() - 1;
+      });
+    }
+  }
+
+  /** 岗位技能要求：按原始顺序去重的编号、编号位图及未去重的条数 */
+  private record RequiredSkills(int[] ids, BitSet bits, int rawCount) {}
+
+  /** 求职者技能：编号位图及未去重的条数 */
+  private record SeekerSkills(BitSet bits, int rawCount) {}
+
+  /** 匹配结果 */
+  private record MatchResult(BigDecimal score, String analysis) {}
+}
@@ -2,6 +2,10 @@ package com.SmartHire.messageService.controller;
 
 import com.SmartHire.common.auth.UserContext;
 import com.SmartHire.common.entity.Result;
+import com.SmartHire.common.storage.DirectUploadService;
+import com.SmartHire.common.storage.UploadPurpose;
+import com.SmartHire.common.storage.dto.UploadTicketDTO;
+import com.SmartHire.common.storage.dto.UploadTicketRequest;
 import com.SmartHire.messageService.dto.ConversationDTO;
 import com.SmartHire.messageService.dto.MessageDTO;
 import com.SmartHire.messageService.dto.SendMessageDTO;
@@ -10,6 +14,7 @@ import com.SmartHire.messageService.service.ConversationService;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
+import java.util.Date;
 import java.util.List;
 
 import jakarta.validation.constraints.Min;
@@ -38,11 +43,23 @@ public class MessageController {
   @Autowired
   private UserContext userContext;
 
-  /** 获取会话列表 */
+  @Autowired
+  private DirectUploadService directUploadService;
+
+  /**
+   * 获取会话列表（游标分页）
+   *
+   * <p>cursorTime 为上一页最后一条会话的 lastMessageTime（毫秒时间戳），cursorId 为其会话ID；均不传时返回第一页
+   */
   @GetMapping("/get-conversations")
-  public Result<List<ConversationDTO>> getConversations() {
+  public Result<List<ConversationDTO>> getConversations(
+      @RequestParam(required = false) Long cursorTime,
+      @RequestParam(required = false) Long cursorId,
+      @RequestParam(defaultValue = "50") Integer size) {
     Long userId = userContext.getCurrentUserId();
-    List<ConversationDTO> conversations = conversationService.getConversationList(userId);
+    List<ConversationDTO> conversations =
+        conversationService.getConversationList(
+            userId, cursorTime == null ? null : new Date(cursorTime), cursorId, size);
     return Result.success("获取会话列表成功", conversations);
   }
 
@@ -81,14 +98,31 @@ public class MessageController {
     return Result.success("消息发送成功", messageDTO);
   }
 
+  /**
+   * 申请媒体消息附件直传凭证
+   *
+   * <p>客户端把返回的 formFields 和文件以表单 POST 到 uploadUrl（类型、大小须与申请时一致），再以 fileKey 调用 /send-text 发送媒体消息
+   */
+  @PostMapping("/media-upload-url")
+  public Result<UploadTicketDTO> createMediaUploadUrl(@Valid @RequestBody UploadTicketRequest request) {
+    Long userId = userContext.getCurrentUserId();
+    UploadTicketDTO ticket = directUploadService.createTicket(UploadPurpose.CHAT_MEDIA, userId, request);
+    return Result.success("获取上传地址成功", ticket);
+  }
+
   /** 获取聊天记录 */
   @GetMapping("/get-chat-history")
   public Result<List<MessageDTO>> getChatHistory(
       @RequestParam @NotNull @Min(value = 1, message = "会话ID不能小于1") Long conversationId,
       @RequestParam(defaultValue = "1") Integer page,
-      @RequestParam(defaultValue = "20") Integer size) {
+      @RequestParam(defaultValue = "20") Integer size,
+      @RequestParam(required = false) Long beforeMessageId) {
     Long userId = userContext.getCurrentUserId();
-    List<MessageDTO> messages = chatMessageService.getChatHistory(conversationId, userId, page, size);
+    // 传入 beforeMessageId 时按消息游标向上翻页，忽略 page
+    List<MessageDTO> messages =
+        beforeMessageId != null
+            ? chatMessageService.getChatHistoryBefore(conversationId, userId, beforeMessageId, size)
+            : chatMessageService.getChatHistory(conversationId, userId, page, size);
     return Result.success("获取聊天记录成功", messages);
   }
 
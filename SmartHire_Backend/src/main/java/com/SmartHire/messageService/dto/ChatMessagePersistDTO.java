@@ -0,0 +1,18 @@
+package com.SmartHire.messageService.dto;
+
+import com.SmartHire.messageService.model.ChatMessage;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** 待落库的聊天消息 写后落库模式下经 RabbitMQ 持久化，批量写入 chat_message 并合并更新 conversation */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatMessagePersistDTO {
+  /** 消息（已分配ID和发送时间） */
+  private ChatMessage message;
+
+  /** 会话列表中展示的消息预览 */
+  private String preview;
+}
@@ -0,0 +1,20 @@
+package com.SmartHire.messageService.dto;
+
+import java.util.List;
+import lombok.Data;
+
+/** 离线消息补偿批次 批量回放模式下，每一帧携带一页未读消息及可供客户端确认的游标 */
+@Data
+public class OfflineBatchDTO {
+  /** 帧类型，固定为 OFFLINE_BATCH，便于客户端与普通消息帧区分 */
+  private String type = "OFFLINE_BATCH";
+
+  /** 本页消息（按发送时间升序） */
+  private List<MessageDTO> messages;
+
+  /** 本批的确认游标，客户端处理完后发送 "ack:{cursor}" 确认并拉取下一页；本页为空时为 null */
+  private String cursor;
+
+  /** 是否还有更多未读消息 */
+  private Boolean hasMore;
+}
@@ -22,6 +22,9 @@ public class SendMessageDTO {
   /** 文件URL（图片、文件、语音、视频时使用） */
   private String fileUrl;
 
+  /** 直传文件的对象键（先通过 /message/media-upload-url 申请凭证并上传，未提供 fileUrl 时使用） */
+  private String fileKey;
+
   /** 引用的消息ID（回复消息时使用） */
   private Long replyTo;
 
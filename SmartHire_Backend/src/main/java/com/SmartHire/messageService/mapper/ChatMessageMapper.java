@@ -2,7 +2,11 @@ package com.SmartHire.messageService.mapper;
 
 import com.SmartHire.messageService.model.ChatMessage;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
 
 /**
  * 聊天消息表 Mapper 接口
@@ -11,4 +15,64 @@ import org.apache.ibatis.annotations.Mapper;
  * @since 2025-11-30
  */
 @Mapper
-public interface ChatMessageMapper extends BaseMapper<ChatMessage> {}
+public interface ChatMessageMapper extends BaseMapper<ChatMessage> {
+
+  /**
+   * 按 (created_at, id) 游标分页查询用户的未读消息，命中 idx_receiver_read_created 索引
+   *
+   * @param receiverId 接收者ID
+   * @param cursorTime 游标：上一页最后一条消息的发送时间，为空时从头开始
+   * @param cursorId 游标：上一页最后一条消息的ID
+   * @param limit 每页条数
+   * @return 未读消息（按发送时间升序）
+   */
+  List<ChatMessage> selectUnreadPage(
+      @Param("receiverId") Long receiverId,
+      @Param("cursorTime") Date cursorTime,
+      @Param("cursorId") Long cursorId,
+      @Param("limit") int limit);
+
+  /**
+   * 查询用户最早的一页未读且未确认送达的消息，命中 idx_receiver_undelivered 索引
+   *
+   * <p>不按位置游标翻页：晚于其他消息提交、发送时间却更早的消息仍未确认送达，会出现在下一页中
+   *
+   * @param receiverId 接收者ID
+   * @param limit 每页条数
+   * @return 未读消息（按发送时间升序）
+   */
+  List<ChatMessage> selectUndeliveredPage(
+      @Param("receiverId") Long receiverId, @Param("limit") int limit);
+
+  /**
+   * 把客户端已确认的离线补偿消息标记为已送达
+   *
+   * @param receiverId 接收者ID
+   * @param ids 消息ID，不能为空
+   * @return 影响行数
+   */
+  int markDelivered(@Param("receiverId") Long receiverId, @Param("ids") Collection<Long> ids);
+
+  /**
+   * 按 (created_at, id) 游标倒序查询会话消息，命中 idx_conversation_created 索引，不做 COUNT
+   *
+   * @param conversationId 会话ID
+   * @param cursorTime 游标：当前最早一条消息的发送时间，为空时从最新一条开始
+   * @param cursorId 游标：当前最早一条消息的ID
+   * @param limit 条数
+   * @return 会话消息（按发送时间降序）
+   */
+  List<ChatMessage> selectHistoryBefore(
+      @Param("conversationId") Long conversationId,
+      @Param("cursorTime") Date cursorTime,
+      @Param("cursorId") Long cursorId,
+      @Param("limit") int limit);
+
+  /**
+   * 批量插入已分配ID的消息，主键冲突时抛出异常，调用方需先排除已落库的重复投递
+   *
+   * @param messages 消息列表
+   * @return 影响行数
+   */
+  int insertBatch(@Param("messages") List<ChatMessage> messages);
+}
@@ -1,7 +1,11 @@
 package com.SmartHire.messageService.mapper;
 
+import com.SmartHire.messageService.dto.ConversationDTO;
 import com.SmartHire.messageService.model.Conversation;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
@@ -15,38 +19,88 @@ import org.apache.ibatis.annotations.Param;
 public interface ConversationMapper extends BaseMapper<Conversation> {
 
     /**
-     * 获取对方用户名
+     * 批量获取会话列表卡片（一次 JOIN 查询返回完整的 ConversationDTO 投影）
+     *
+     * <p>按 last_message_time DESC, id DESC 排序，支持基于 (last_message_time, id) 的游标分页：
+     * 传入上一页最后一条记录的 cursorTime/cursorId 即可获取下一页；cursorTime 为空而 cursorId 不为空时，
+     * 表示上一页已进入 last_message_time 为空的尾部区间
+     *
+     * @param userId     当前用户ID
+     * @param pinned     置顶状态过滤：1-仅置顶，0-仅非置顶
+     * @param cursorTime 游标：上一页最后一条的最后消息时间
+     * @param cursorId   游标：上一页最后一条的会话ID
+     * @param limit      返回条数，为空时不限制
+     * @return 会话列表
      */
-    String getOtherUserName(
-            @Param("conversationId") Long conversationId, @Param("currentUserId") Long currentUserId);
+    List<ConversationDTO> selectConversationCards(
+            @Param("userId") Long userId,
+            @Param("pinned") Integer pinned,
+            @Param("cursorTime") Date cursorTime,
+            @Param("cursorId") Long cursorId,
+            @Param("limit") Integer limit);
 
     /**
-     * 获取对方用户头像
+     * 汇总用户所有会话的未读数（未读计数未就绪时的兜底查询）
+     *
+     * @param userId 用户ID
+     * @return 未读总数
      */
-    String getOtherUserAvatar(
-            @Param("conversationId") Long conversationId, @Param("currentUserId") Long currentUserId);
+    Integer sumUnreadCount(@Param("userId") Long userId);
 
     /**
-     * 获取对方公司ID
+     * 回写用户在某会话中的未读数（根据用户是 user1 还是 user2 更新对应列）
+     *
+     * @param conversationId 会话ID
+     * @param userId         用户ID
+     * @param count          未读数
      */
-    Long getOtherCompanyId(
-            @Param("conversationId") Long conversationId, @Param("currentUserId") Long currentUserId);
+    void updateUnreadCount(
+            @Param("conversationId") Long conversationId,
+            @Param("userId") Long userId,
+            @Param("count") Integer count);
 
     /**
-     * 获取对方公司名称
+     * 用户在某会话中的未读数 +1（未读计数未就绪期间直接写库）
+     *
+     * @param conversationId 会话ID
+     * @param userId         用户ID
      */
-    String getOtherCompanyName(
-            @Param("conversationId") Long conversationId, @Param("currentUserId") Long currentUserId);
+    void incrementUnreadCount(
+            @Param("conversationId") Long conversationId,
+            @Param("userId") Long userId);
 
     /**
-     * 获取对方公司Logo
+     * 合并更新会话的最后消息：仅当消息比当前记录更新时覆盖预览和时间，并为接收者打上新通知标记
+     *
+     * @param conversationId  会话ID
+     * @param lastMessage     最后一条消息预览
+     * @param lastMessageTime 最后一条消息时间
+     * @param receiverIds     本批仍为未读的消息的接收者，为空时不改通知标记
      */
-    String getOtherCompanyLogo(
-            @Param("conversationId") Long conversationId, @Param("currentUserId") Long currentUserId);
+    void updateLastMessageIfNewer(
+            @Param("conversationId") Long conversationId,
+            @Param("lastMessage") String lastMessage,
+            @Param("lastMessageTime") Date lastMessageTime,
+            @Param("receiverIds") Collection<Long> receiverIds);
 
     /**
-     * 获取投递记录ID
+     * 锁定会话行并读取双方的已读水位（需在事务中调用），与标记已读互斥
+     *
+     * @param conversationIds 会话ID，不能为空
+     * @return 会话的ID、双方用户ID和已读水位
      */
-    Long getApplicationIdByConversationId(
-            @Param("conversationId") Long conversationId);
+    List<Conversation> selectReadWatermarksForUpdate(
+            @Param("conversationIds") Collection<Long> conversationIds);
+
+    /**
+     * 推进用户在某会话中的已读水位，只前进不后退
+     *
+     * @param conversationId 会话ID
+     * @param userId         用户ID
+     * @param readAt         标记已读的时间
+     */
+    void updateReadWatermark(
+            @Param("conversationId") Long conversationId,
+            @Param("userId") Long userId,
+            @Param("readAt") Date readAt);
 }
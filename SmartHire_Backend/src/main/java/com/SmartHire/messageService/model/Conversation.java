@@ -49,6 +49,12 @@ public class Conversation implements Serializable {
   /** 用户2是否有未读通知 */
   private Byte hasNotificationUser2;
 
+  /** 用户1最近一次标记已读的时间 */
+  private Date lastReadAtUser1;
+
+  /** 用户2最近一次标记已读的时间 */
+  private Date lastReadAtUser2;
+
   private Date createdAt;
 
   private Byte deletedByUser1;
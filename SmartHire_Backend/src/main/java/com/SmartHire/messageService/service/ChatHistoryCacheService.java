@@ -0,0 +1,78 @@
+package com.SmartHire.messageService.service;
+
+import com.SmartHire.messageService.dto.MessageDTO;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 会话热窗口缓存
+ *
+ * <p>每个活跃会话在 Redis 中缓存最新的 N 条消息（新消息在前）。缓存始终是该会话最新的 min(N, 消息总数) 条连续消息，
+ * 因此打开会话以及在窗口内向上翻页都不需要访问 MySQL
+ */
+public interface ChatHistoryCacheService {
+
+  /**
+   * 从热窗口读取 beforeMessageId 之前的 limit 条消息
+   *
+   * @param conversationId 会话ID
+   * @param beforeMessageId 游标消息ID，为空时从最新一条开始
+   * @param limit 条数
+   * @return 消息列表（新消息在前）；窗口不存在或无法完整覆盖本次请求时返回 null
+   */
+  List<MessageDTO> getBefore(Long conversationId, Long beforeMessageId, int limit);
+
+  /**
+   * 读取缓存填充前的版本号，配合 {@link #fill} 防止并发写入的新消息被旧数据覆盖
+   *
+   * @param conversationId 会话ID
+   * @return 当前版本号
+   */
+  String currentVersion(Long conversationId);
+
+  /**
+   * 用数据库中最新的消息填充热窗口；版本号已变化（期间有新消息或失效）时放弃填充
+   *
+   * @param conversationId 会话ID
+   * @param version 查询数据库前读取的版本号
+   * @param newest 最新的消息（新消息在前），最多取窗口大小条
+   */
+  void fill(Long conversationId, String version, List<MessageDTO> newest);
+
+  /**
+   * 追加一条新消息到热窗口（事务提交后执行），窗口不存在时只递增版本号
+   *
+   * @param message 新消息
+   */
+  void append(MessageDTO message);
+
+  /**
+   * 将热窗口中发给该用户的消息标记为已读（事务提交后执行），更新冲突时直接使窗口失效
+   *
+   * @param conversationId 会话ID
+   * @param receiverId 接收者用户ID
+   */
+  void markRead(Long conversationId, Long receiverId);
+
+  /**
+   * 写后落库完成后校验热窗口：窗口在消息落库前从数据库填充时可能漏掉这些消息，此时使窗口失效
+   *
+   * @param conversationId 会话ID
+   * @param messageIds 本次落库的消息ID
+   */
+  void evictIfMissing(Long conversationId, Collection<Long> messageIds);
+
+  /**
+   * 使会话的热窗口失效（事务提交后执行），如会话消息被删除后
+   *
+   * @param conversationId 会话ID
+   */
+  void evict(Long conversationId);
+
+  /**
+   * 热窗口大小
+   *
+   * @return 每个会话缓存的消息条数上限
+   */
+  int getWindowSize();
+}
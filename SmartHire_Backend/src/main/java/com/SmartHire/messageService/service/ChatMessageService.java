@@ -35,7 +35,7 @@ public interface ChatMessageService extends IService<ChatMessage> {
   }
 
   /**
-   * 获取聊天记录
+   * 获取聊天记录（页码分页，第一页走热窗口缓存；翻页请优先使用 {@link #getChatHistoryBefore}）
    *
    * @param conversationId 会话ID
    * @param userId         用户ID
@@ -45,6 +45,18 @@ public interface ChatMessageService extends IService<ChatMessage> {
    */
   List<MessageDTO> getChatHistory(Long conversationId, Long userId, Integer page, Integer size);
 
+  /**
+   * 按消息游标获取聊天记录，不做 COUNT 查询
+   *
+   * @param conversationId  会话ID
+   * @param userId          用户ID
+   * @param beforeMessageId 游标：当前已加载的最早一条消息ID，为空时返回最新的消息
+   * @param limit           条数
+   * @return 聊天记录（新消息在前）
+   */
+  List<MessageDTO> getChatHistoryBefore(
+      Long conversationId, Long userId, Long beforeMessageId, Integer limit);
+
   /**
    * 获取未读消息数量
    *
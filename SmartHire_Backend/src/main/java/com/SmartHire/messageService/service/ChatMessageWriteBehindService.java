@@ -0,0 +1,25 @@
+package com.SmartHire.messageService.service;
+
+import com.SmartHire.messageService.model.ChatMessage;
+
+/**
+ * 聊天消息写后落库服务
+ *
+ * <p>开启后，发送消息时只分配本地生成的消息ID，发送事务提交后把消息持久化投递到 RabbitMQ 落库队列，broker 确认后即返回；后台批量消费队列，
+ * 用多行 INSERT 写入 chat_message，并在每个批次内按会话合并 conversation 的最后消息更新。消息在 broker 确认或直接写库前不会返回给调用方，
+ * 因此进程崩溃不会丢失已返回的消息
+ */
+public interface ChatMessageWriteBehindService {
+
+  /**
+   * 为消息分配ID，并登记在当前事务提交后投递到落库队列；不在事务中时立即投递
+   *
+   * <p>投递未获 broker 确认时以同一个消息ID直接写库
+   *
+   * @param message 待保存的消息（ID 由本方法分配）
+   * @param preview 会话列表中展示的消息预览
+   * @return 是否已交由后台落库；未开启或机器号不可用时返回 false，调用方应同步落库
+   * @throws com.SmartHire.common.exception.exception.BusinessException 投递和直接写库均失败
+   */
+  boolean submit(ChatMessage message, String preview);
+}
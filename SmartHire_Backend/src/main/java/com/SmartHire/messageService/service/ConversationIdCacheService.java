@@ -0,0 +1,43 @@
+package com.SmartHire.messageService.service;
+
+/**
+ * 会话ID近端缓存
+ *
+ * <p>以 (较小用户ID, 较大用户ID) 为键缓存会话ID，发消息时无需查询 conversation 表即可定位会话。只缓存双方都未删除的会话，
+ * 因此命中缓存时不需要任何"恢复会话"的处理；会话被删除时显式失效，并通过 Redis 频道通知其他节点
+ */
+public interface ConversationIdCacheService {
+
+  /**
+   * 查询缓存的会话ID
+   *
+   * @param userA 用户ID
+   * @param userB 用户ID（与 userA 顺序无关）
+   * @return 会话ID，未缓存时返回 null
+   */
+  Long get(Long userA, Long userB);
+
+  /**
+   * 缓存会话ID（当前事务提交后执行，避免缓存回滚的会话）
+   *
+   * @param userA 用户ID
+   * @param userB 用户ID
+   * @param conversationId 会话ID
+   */
+  void put(Long userA, Long userB, Long conversationId);
+
+  /**
+   * 使一对用户的会话缓存失效（当前事务提交后执行，并广播到其他节点）
+   *
+   * @param userA 用户ID
+   * @param userB 用户ID
+   */
+  void evict(Long userA, Long userB);
+
+  /**
+   * 使某个用户参与的所有会话缓存失效，用于删除用户
+   *
+   * @param userId 用户ID
+   */
+  void evictUser(Long userId);
+}
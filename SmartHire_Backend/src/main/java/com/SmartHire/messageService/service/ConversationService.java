@@ -3,6 +3,7 @@ package com.SmartHire.messageService.service;
 import com.SmartHire.messageService.dto.ConversationDTO;
 import com.SmartHire.messageService.model.Conversation;
 import com.baomidou.mybatisplus.extension.service.IService;
+import java.util.Date;
 import java.util.List;
 
 /**
@@ -24,12 +25,19 @@ public interface ConversationService extends IService<Conversation> {
   Conversation getOrCreateConversation(Long user1Id, Long user2Id);
 
   /**
-   * 获取用户的会话列表
+   * 获取用户的会话列表（游标分页）
+   *
+   * <p>第一页（cursorTime、cursorId 均为空）返回全部置顶会话 + 第一页非置顶会话；后续页传入上一页最后一条非置顶会话的
+   * lastMessageTime 和 id 作为游标继续翻页
    *
    * @param userId 用户ID
-   * @return 会话列表（按最后消息时间降序，置顶优先）
+   * @param cursorTime 游标：上一页最后一条的最后消息时间
+   * @param cursorId 游标：上一页最后一条的会话ID
+   * @param size 每页数量
+   * @return 会话列表（置顶优先，然后按最后消息时间降序）
    */
-  List<ConversationDTO> getConversationList(Long userId);
+  List<ConversationDTO> getConversationList(
+      Long userId, Date cursorTime, Long cursorId, Integer size);
 
   /**
    * 置顶/取消置顶会话
@@ -3,6 +3,7 @@ package com.SmartHire.messageService.service;
 import com.SmartHire.common.config.RabbitMQConfig;
 import com.SmartHire.messageService.dto.MessageDTO;
 import com.SmartHire.messageService.dto.MessageQueueDTO;
+import java.util.Set;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,23 +15,65 @@ import org.springframework.stereotype.Service;
 public class MessageEventProducer {
   @Autowired private RabbitTemplate rabbitTemplate;
 
+  @Autowired private PresenceService presenceService;
+
   /**
    * 发送聊天消息到队列
    *
+   * <p>根据集群在线注册表直接投递到接收者连接所在节点的专属队列；接收者不在线时不推送（消息已落库，上线后补偿）。
+   * 查询注册表失败时退回共享聊天队列，由消费节点再转发
+   *
    * @param receiverId 接收者用户ID
    * @param messageDTO 消息内容
    */
   public void sendChatMessage(Long receiverId, MessageDTO messageDTO) {
+    MessageQueueDTO queueMessage = MessageQueueDTO.createChatMessage(receiverId, messageDTO);
+    Set<String> nodes;
+    try {
+      nodes = presenceService.getUserNodes(receiverId);
+    } catch (Exception e) {
+      log.warn("查询接收者所在节点失败，退回共享队列: receiverId={}", receiverId, e);
+      sendToSharedQueue(queueMessage);
+      return;
+    }
+
+    if (nodes.isEmpty()) {
+      log.debug("接收者不在线，跳过实时推送: receiverId={}, messageId={}", receiverId, messageDTO.getId());
+      return;
+    }
+    for (String nodeId : nodes) {
+      sendToNode(nodeId, queueMessage);
+    }
+  }
+
+  /**
+   * 发送聊天消息到指定节点的专属队列
+   *
+   * @param nodeId 节点ID
+   * @param queueMessage 队列消息
+   */
+  public void sendToNode(String nodeId, MessageQueueDTO queueMessage) {
+    try {
+      // 参数：交换机名称、路由键（节点ID）、消息对象
+      rabbitTemplate.convertAndSend(RabbitMQConfig.CHAT_NODE_EXCHANGE, nodeId, queueMessage);
+      log.info(
+          "聊天消息已路由到节点: nodeId={}, receiverId={}, messageId={}",
+          nodeId,
+          queueMessage.getReceiverId(),
+          queueMessage.getChatMessage().getId());
+    } catch (Exception e) {
+      log.error(
+          "发送聊天消息到节点队列失败: nodeId={}, receiverId={}", nodeId, queueMessage.getReceiverId(), e);
+    }
+  }
+
+  private void sendToSharedQueue(MessageQueueDTO queueMessage) {
     try {
-      MessageQueueDTO queueMessage = MessageQueueDTO.createChatMessage(receiverId, messageDTO);
-      // 发送到队列
-      // 参数：交换机名称、路由键、消息对象
       rabbitTemplate.convertAndSend(
           RabbitMQConfig.MESSAGE_EXCHANGE, RabbitMQConfig.ROUTING_KEY_CHAT, queueMessage);
-
-      log.info("聊天消息已发送到队列: receiverId={}, messageId={}", receiverId, messageDTO.getId());
+      log.info("聊天消息已发送到共享队列: receiverId={}", queueMessage.getReceiverId());
     } catch (Exception e) {
-      log.error("发送聊天消息到队列失败: receiverId={}, messageId={}", receiverId, messageDTO.getId(), e);
+      log.error("发送聊天消息到队列失败: receiverId={}", queueMessage.getReceiverId(), e);
     }
   }
 }
@@ -3,5 +3,23 @@ package com.SmartHire.messageService.service;
 import jakarta.websocket.Session;
 
 public interface OfflineMessageService {
+  /**
+   * 用户上线后补偿推送未读消息 在后台线程中分页执行，不阻塞 WebSocket 握手线程
+   *
+   * <p>批量回放模式（握手参数 replay=batch）下每页打包为一帧 {@code OFFLINE_BATCH}，客户端确认后再推送下一页；
+   * 普通模式下逐条推送，受会话出站队列容量限制
+   *
+   * @param userId 用户ID
+   * @param session 新建立的会话
+   */
   void pushUnreadMessages(Long userId, Session session);
+
+  /**
+   * 批量回放模式下客户端确认已处理 cursor 所在的批次：把该批消息标记为已送达（断线重连后不再重发）并推送下一页
+   *
+   * @param userId 用户ID
+   * @param session 会话
+   * @param cursor 客户端确认的游标
+   */
+  void acknowledge(Long userId, Session session, String cursor);
 }
@@ -0,0 +1,48 @@
+package com.SmartHire.messageService.service;
+
+import java.util.Set;
+
+/**
+ * 集群在线状态注册表
+ *
+ * <p>在 Redis 中记录 userId -> 持有其 WebSocket 连接的节点ID，并通过心跳 TTL 自动清理已下线节点的记录
+ */
+public interface PresenceService {
+
+  /**
+   * 当前节点ID
+   *
+   * @return 节点ID
+   */
+  String getNodeId();
+
+  /**
+   * 用户在当前节点建立了第一个连接
+   *
+   * @param userId 用户ID
+   */
+  void online(Long userId);
+
+  /**
+   * 用户在当前节点的最后一个连接已断开
+   *
+   * @param userId 用户ID
+   */
+  void offline(Long userId);
+
+  /**
+   * 查询持有该用户连接的存活节点
+   *
+   * @param userId 用户ID
+   * @return 节点ID集合，用户不在线时为空集合
+   */
+  Set<String> getUserNodes(Long userId);
+
+  /**
+   * 用户是否在集群中任一节点在线
+   *
+   * @param userId 用户ID
+   * @return 是否在线
+   */
+  boolean isOnline(Long userId);
+}
@@ -0,0 +1,45 @@
+package com.SmartHire.messageService.service;
+
+import java.util.Map;
+
+/**
+ * 未读消息计数服务
+ *
+ * <p>未读数以 Redis Hash 为准：每个用户一个 Hash，field 为会话ID，另有 total 字段保存该用户的未读总数。所有增减都在 Redis
+ * 中原子完成，conversation 表中的 unread_count_user1/2 由后台任务异步回写。Redis 计数未就绪（数据丢失、重建中）时增减直接写库，
+ * 查询以库中的值为准，直到重建完成
+ */
+public interface UnreadCountService {
+
+  /**
+   * 接收者在某会话中的未读数 +1
+   *
+   * @param receiverId 接收者用户ID
+   * @param conversationId 会话ID
+   */
+  void increment(Long receiverId, Long conversationId);
+
+  /**
+   * 清零用户在某会话中的未读数
+   *
+   * @param userId 用户ID
+   * @param conversationId 会话ID
+   */
+  void reset(Long userId, Long conversationId);
+
+  /**
+   * 获取用户的未读消息总数
+   *
+   * @param userId 用户ID
+   * @return 未读总数
+   */
+  int getTotal(Long userId);
+
+  /**
+   * 获取用户各会话的未读数
+   *
+   * @param userId 用户ID
+   * @return 会话ID -> 未读数，计数尚未就绪时返回 null
+   */
+  Map<Long, Integer> getConversationCounts(Long userId);
+}
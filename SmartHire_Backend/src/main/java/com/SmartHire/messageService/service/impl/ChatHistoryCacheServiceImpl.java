@@ -0,0 +1,308 @@
+package com.SmartHire.messageService.service.impl;
+
+import static com.SmartHire.common.utils.TransactionUtils.runAfterCommit;
+
+import com.SmartHire.messageService.dto.MessageDTO;
+import com.SmartHire.messageService.service.ChatHistoryCacheService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Service;
+
+/**
+ * 会话热窗口缓存实现类
+ *
+ * <p>Redis 结构：
+ *
+ * <ul>
+ *   <li>{@code message:history:{conversationId}}：List，消息 JSON，新消息在前，长度不超过窗口大小
+ *   <li>{@code message:history:version:{conversationId}}：每次追加或失效时递增，填充时比对，避免并发发送的消息被旧快照覆盖
+ * </ul>
+ *
+ * <p>Redis 不可用时所有操作降级为直接查库，不影响收发消息
+ *
+ * @author SmartHire Team
+ */
+@Slf4j
+@Service
+public class ChatHistoryCacheServiceImpl implements ChatHistoryCacheService {
+
+  private static final String HISTORY_KEY_PREFIX = "message:history:";
+  private static final String VERSION_KEY_PREFIX = "message:history:version:";
+
+  /** 递增版本号；窗口存在时头插新消息并裁剪到窗口大小 */
+  private static final DefaultRedisScript<Long> APPEND_SCRIPT =
+      new DefaultRedisScript<>(
+          "redis.call('INCR', KEYS[2]) "
+              + "redis.call('PEXPIRE', KEYS[2], ARGV[3]) "
+              + "if redis.call('EXISTS', KEYS[1]) == 1 then "
+              + "  redis.call('LPUSH', KEYS[1], ARGV[1]) "
+              + "  redis.call('LTRIM', KEYS[1], 0, tonumber(ARGV[2]) - 1) "
+              + "  redis.call('PEXPIRE', KEYS[1], ARGV[3]) "
+              + "  return 1 "
+              + "end "
+              + "return 0",
+          Long.class);
+
+  /** 版本号未变化时整体替换窗口内容；ARGV[1] 为版本号，ARGV[2] 为过期时间，其余为消息 */
+  private static final DefaultRedisScript<Long> FILL_SCRIPT =
+      new DefaultRedisScript<>(
+          "local v = redis.call('GET', KEYS[2]) or '0' "
+              + "if v ~= ARGV[1] then return 0 end "
+              + "redis.call('DEL', KEYS[1]) "
+              + "for i = 3, #ARGV do redis.call('RPUSH', KEYS[1], ARGV[i]) end "
+              + "redis.call('PEXPIRE', KEYS[1], ARGV[2]) "
+              + "return 1",
+          Long.class);
+
+  /** 删除窗口并递增版本号，使正在进行的填充失效 */
+  private static final DefaultRedisScript<Long> EVICT_SCRIPT =
+      new DefaultRedisScript<>(
+          "redis.call('DEL', KEYS[1]) "
+              + "redis.call('INCR', KEYS[2]) "
+              + "redis.call('PEXPIRE', KEYS[2], ARGV[1]) "
+              + "return 1",
+          Long.class);
+
+  @Autowired private RedisTemplate<String, String> redisTemplate;
+
+  @Autowired private ObjectMapper objectMapper;
+
+  /** 每个会话缓存的最新消息条数 */
+  @Value("${message.history.window-size:50}")
+  private int windowSize;
+
+  /** 会话无新消息、无读取后窗口保留的时间 */
+  @Value("${message.history.ttl-ms:86400000}")
+  private long ttlMillis;
+
+  @Override
+  public List<MessageDTO> getBefore(Long conversationId, Long beforeMessageId, int limit) {
+    List<String> window;
+    try {
+      window = redisTemplate.opsForList().range(historyKey(conversationId), 0, -1);
+    } catch (Exception e) {
+      log.warn("读取会话热窗口失败，退回数据库: conversationId={}", conversationId, e);
+      return null;
+    }
+    if (window == null || window.isEmpty()) {
+      return null;
+    }
+    List<MessageDTO> messages = new ArrayList<>(window.size());
+    for (String json : window) {
+      MessageDTO message = fromJson(json);
+      if (message == null) {
+        return null;
+      }
+      messages.add(message);
+    }
+
+    int start = 0;
+    if (beforeMessageId != null) {
+      start = indexOf(messages, beforeMessageId);
+      if (start < 0) {
+        // 游标不在窗口内，说明已翻出热窗口
+        return null;
+      }
+      start++;
+    }
+    int end = start + limit;
+    // 窗口未满说明已包含会话全部消息；窗口已满且请求越过窗口末尾时需要查库
+    boolean complete = messages.size() < windowSize;
+    if (end > messages.size() && !complete) {
+      return null;
+    }
+    return new ArrayList<>(messages.subList(start, Math.min(end, messages.size())));
+  }
+
+  @Override
+  public String currentVersion(Long conversationId) {
+    try {
+      String version = redisTemplate.opsForValue().get(versionKey(conversationId));
+      return version == null ? "0" : version;
+    } catch (Exception e) {
+      log.warn("读取会话热窗口版本失败: conversationId={}", conversationId, e);
+      return null;
+    }
+  }
+
+  @Override
+  public void fill(Long conversationId, String version, List<MessageDTO> newest) {
+    tryFill(conversationId, version, newest);
+  }
+
+  /** 版本号未变化时替换窗口内容，返回是否写入 */
+  private boolean tryFill(Long conversationId, String version, List<MessageDTO> newest) {
+    if (version == null || newest.isEmpty()) {
+      return false;
+    }
+    List<String> args = new ArrayList<>(newest.size() + 2);
+    args.add(version);
+    args.add(String.valueOf(ttlMillis));
+    for (MessageDTO message : newest.subList(0, Math.min(newest.size(), windowSize))) {
+      String json = toJson(message);
+      if (json == null) {
+        return false;
+      }
+      args.add(json);
+    }
+    try {
+      Long filled =
+          redisTemplate.execute(
+              FILL_SCRIPT,
+              List.of(historyKey(conversationId), versionKey(conversationId)),
+              args.toArray());
+      return Long.valueOf(1L).equals(filled);
+    } catch (Exception e) {
+      log.warn("填充会话热窗口失败: conversationId={}", conversationId, e);
+      return false;
+    }
+  }
+
+  @Override
+  public void append(MessageDTO message) {
+    Long conversationId = message.getConversationId();
+    String json = toJson(message);
+    runAfterCommit(
+        () -> {
+          try {
+            if (json == null) {
+              evictNow(conversationId);
+              return;
+            }
+            redisTemplate.execute(
+                APPEND_SCRIPT,
+                List.of(historyKey(conversationId), versionKey(conversationId)),
+                json,
+                String.valueOf(windowSize),
+                String.valueOf(ttlMillis));
+          } catch (Exception e) {
+            log.warn("追加会话热窗口失败: conversationId={}", conversationId, e);
+          }
+        });
+  }
+
+  @Override
+  public void markRead(Long conversationId, Long receiverId) {
+    runAfterCommit(
+        () -> {
+          try {
+            String version = currentVersion(conversationId);
+            List<MessageDTO> window = getBefore(conversationId, null, windowSize);
+            if (window == null) {
+              return;
+            }
+            boolean changed = false;
+            for (MessageDTO message : window) {
+              if (receiverId.equals(message.getReceiverId())
+                  && !Byte.valueOf((byte) 1).equals(message.getIsRead())) {
+                message.setIsRead((byte) 1);
+                changed = true;
+              }
+            }
+            // 读取期间有新消息写入时放弃改写，直接失效，下次读取重新加载
+            if (changed && !tryFill(conversationId, version, window)) {
+              evictNow(conversationId);
+            }
+          } catch (Exception e) {
+            log.warn("更新会话热窗口已读状态失败: conversationId={}", conversationId, e);
+          }
+        });
+  }
+
+  @Override
+  public void evictIfMissing(Long conversationId, Collection<Long> messageIds) {
+    runAfterCommit(
+        () -> {
+          try {
+            List<MessageDTO> window = getBefore(conversationId, null, windowSize);
+            if (window == null || window.isEmpty()) {
+              return;
+            }
+            Set<Long> cached = new HashSet<>();
+            for (MessageDTO message : window) {
+              cached.add(message.getId());
+            }
+            // 窗口已满时，比窗口中最早一条更早的消息本就不在窗口内
+            Long oldest = window.get(window.size() - 1).getId();
+            boolean full = window.size() >= windowSize;
+            for (Long messageId : messageIds) {
+              if (!cached.contains(messageId) && (!full || messageId > oldest)) {
+                evictNow(conversationId);
+                return;
+              }
+            }
+          } catch (Exception e) {
+            log.warn("校验会话热窗口失败: conversationId={}", conversationId, e);
+          }
+        });
+  }
+
+  @Override
+  public void evict(Long conversationId) {
+    runAfterCommit(
+        () -> {
+          try {
+            evictNow(conversationId);
+          } catch (Exception e) {
+            log.warn("清除会话热窗口失败: conversationId={}", conversationId, e);
+          }
+        });
+  }
+
+  @Override
+  public int getWindowSize() {
+    return windowSize;
+  }
+
+  private void evictNow(Long conversationId) {
+    redisTemplate.execute(
+        EVICT_SCRIPT,
+        List.of(historyKey(conversationId), versionKey(conversationId)),
+        String.valueOf(ttlMillis));
+  }
+
+  private static int indexOf(List<MessageDTO> messages, Long messageId) {
+    for (int i = 0; i < messages.size(); i++) {
+      if (messageId.equals(messages.get(i).getId())) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private String toJson(MessageDTO message) {
+    try {
+      return objectMapper.writeValueAsString(message);
+    } catch (JsonProcessingException e) {
+      log.error("序列化消息失败: messageId={}", message.getId(), e);
+      return null;
+    }
+  }
+
+  private MessageDTO fromJson(String json) {
+    try {
+      return objectMapper.readValue(json, MessageDTO.class);
+    } catch (JsonProcessingException e) {
+      log.error("反序列化会话热窗口消息失败: {}", json, e);
+      return null;
+    }
+  }
+
+  private static String historyKey(Long conversationId) {
+    return HISTORY_KEY_PREFIX + conversationId;
+  }
+
+  private static String versionKey(Long conversationId) {
+    return VERSION_KEY_PREFIX + conversationId;
+  }
+}
@@ -2,21 +2,30 @@ package com.SmartHire.messageService.service.impl;
 
 import com.SmartHire.common.api.UserAuthApi;
 import com.SmartHire.common.auth.UserType;
+import com.SmartHire.common.dto.userDto.UserBriefDTO;
 import com.SmartHire.common.exception.enums.ErrorCode;
 import com.SmartHire.common.exception.exception.BusinessException;
+import com.SmartHire.common.storage.DirectUploadService;
+import com.SmartHire.common.storage.UploadPurpose;
 import com.SmartHire.common.utils.AliOssUtil;
 import com.SmartHire.messageService.dto.MessageDTO;
 import com.SmartHire.messageService.dto.SendMessageDTO;
 import com.SmartHire.messageService.mapper.ChatMessageMapper;
+import com.SmartHire.messageService.mapper.ConversationMapper;
 import com.SmartHire.messageService.model.ChatMessage;
 import com.SmartHire.messageService.model.Conversation;
+import com.SmartHire.messageService.service.ChatHistoryCacheService;
 import com.SmartHire.messageService.service.ChatMessageService;
+import com.SmartHire.messageService.service.ChatMessageWriteBehindService;
 import com.SmartHire.messageService.service.ConversationService;
 import com.SmartHire.messageService.service.MessageEventProducer;
+import com.SmartHire.messageService.service.UnreadCountService;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -36,9 +45,17 @@ import org.springframework.transaction.annotation.Transactional;
 @Service
 public class ChatMessageServiceImpl extends ServiceImpl<ChatMessageMapper, ChatMessage>
     implements ChatMessageService {
+  /** 单次拉取聊天记录的默认及最大条数 */
+  private static final int DEFAULT_HISTORY_LIMIT = 20;
+
+  private static final int MAX_HISTORY_LIMIT = 100;
+
   @Autowired
   private ConversationService conversationService;
 
+  @Autowired
+  private ConversationMapper conversationMapper;
+
   @Autowired
   private MessageEventProducer mqProducerService;
 
@@ -48,17 +65,30 @@ public class ChatMessageServiceImpl extends ServiceImpl<ChatMessageMapper, ChatM
   @Autowired
   private AliOssUtil aliOssUtil;
 
+  @Autowired
+  private DirectUploadService directUploadService;
+
+  @Autowired
+  private UnreadCountService unreadCountService;
+
+  @Autowired
+  private ChatHistoryCacheService chatHistoryCacheService;
+
+  @Autowired
+  private ChatMessageWriteBehindService chatMessageWriteBehindService;
+
   @Override
   @Transactional(rollbackFor = Exception.class)
   public MessageDTO sendMessage(Long senderId, SendMessageDTO dto, boolean skipApplicationValidation) {
 
-    // 检查receiverId对应的用户是否存在
-    if (!userAuthApi.existsUser(dto.getReceiverId())) {
+    // 检查receiverId对应的用户是否存在（用户类型和存在性走近端缓存，不再每条消息查询 user 表）
+    UserBriefDTO receiver = userAuthApi.getUserBrief(dto.getReceiverId());
+    if (receiver == null) {
       throw new BusinessException(ErrorCode.USER_ID_NOT_EXIST);
     }
 
     // 验证用户类型：求职者只能和HR发消息，HR只能和求职者发消息
-    validateUserTypeForMessage(senderId, dto.getReceiverId());
+    validateUserTypeForMessage(senderId, receiver);
 
     // 验证消息类型
     Integer messageType = dto.getMessageType();
@@ -71,13 +101,19 @@ public class ChatMessageServiceImpl extends ServiceImpl<ChatMessageMapper, ChatM
 
     if (isMedia) {
       // 如果没有提供fileUrl，则需要上传文件
+      if ((dto.getFileUrl() == null || dto.getFileUrl().isBlank())
+          && dto.getFileKey() != null && !dto.getFileKey().isBlank()) {
+        // 客户端已直传到存储，核对对象后使用其访问地址
+        dto.setFileUrl(
+            directUploadService.commit(UploadPurpose.CHAT_MEDIA, senderId, dto.getFileKey()).url());
+      }
       if (dto.getFileUrl() == null || dto.getFileUrl().isBlank()) {
         if (dto.getFile() == null || dto.getFile().isEmpty()) {
           throw new BusinessException(ErrorCode.MEDIA_URL_IS_EMPTY);
         }
         try {
           String objectName = aliOssUtil.generateFileUrl(dto.getFile().getOriginalFilename());
-          String url = aliOssUtil.uploadFile("chat", objectName, dto.getFile().getInputStream());
+          String url = aliOssUtil.uploadFile("chat", objectName, dto.getFile());
           dto.setFileUrl(url);
         } catch (Exception e) {
           log.error("上传消息附件失败", e);
@@ -104,36 +140,31 @@ public class ChatMessageServiceImpl extends ServiceImpl<ChatMessageMapper, ChatM
     // 2. 创建消息对象
     ChatMessage message = getChatMessage(senderId, dto, conversation);
 
-    // 3. 保存消息到数据库
-    this.save(message);
-
-    // 4. 更新会话的最后消息和时间
-    Conversation updateConv = new Conversation();
-    updateConv.setId(conversation.getId());
-    // 生成消息预览（文本消息取前 50 字符，其他类型显示类型描述）
+    // 3. 保存消息：写后落库模式下投递到落库队列即返回，由后台批量写库并合并更新会话；否则同步写库
     String preview = generateMessagePreview(dto.getMessageType(), dto.getContent());
-    updateConv.setLastMessage(preview);
-    updateConv.setLastMessageTime(new Date());
-
-    // 5. 更新未读数（接收者的未读数+1）
-    // 判断接收者是 user1 还是 user2
-    if (conversation.getUser1Id().equals(dto.getReceiverId())) {
-      // 接收者是 user1，更新 unread_count_user1
-      updateConv.setUnreadCountUser1(
-          (conversation.getUnreadCountUser1() == null ? 0 : conversation.getUnreadCountUser1())
-              + 1);
-      updateConv.setHasNotificationUser1((byte) 1);
-    } else {
-      // 接收者是 user2，更新 unread_count_user2
-      updateConv.setUnreadCountUser2(
-          (conversation.getUnreadCountUser2() == null ? 0 : conversation.getUnreadCountUser2())
-              + 1);
-      updateConv.setHasNotificationUser2((byte) 1);
+    if (!chatMessageWriteBehindService.submit(message, preview)) {
+      // 4. 更新会话的最后消息和时间（文本消息取前 50 字符，其他类型显示类型描述）
+      // 先更新会话再写消息，与标记已读、后台落库保持“先会话后消息”的加锁顺序
+      Conversation updateConv = new Conversation();
+      updateConv.setId(conversation.getId());
+      updateConv.setLastMessage(preview);
+      updateConv.setLastMessageTime(message.getCreatedAt());
+
+      // 5. 标记接收者有新通知
+      if (conversation.getUser1Id().equals(dto.getReceiverId())) {
+        updateConv.setHasNotificationUser1((byte) 1);
+      } else {
+        updateConv.setHasNotificationUser2((byte) 1);
+      }
+      conversationService.updateById(updateConv);
+      this.save(message);
     }
-    conversationService.updateById(updateConv);
+    // 未读数由 UnreadCountService 在 Redis 中原子累加，避免并发发送丢失计数
+    unreadCountService.increment(dto.getReceiverId(), conversation.getId());
 
-    // 6. 返回消息数据
+    // 6. 返回消息数据，并在事务提交后追加到会话热窗口
     MessageDTO messageDTO = convertToMessageDTO(message);
+    chatHistoryCacheService.append(messageDTO);
 
     // 7. 通过消息队列异步推送消息
     mqProducerService.sendChatMessage(dto.getReceiverId(), messageDTO);
@@ -162,27 +193,74 @@ public class ChatMessageServiceImpl extends ServiceImpl<ChatMessageMapper, ChatM
   @Override
   public List<MessageDTO> getChatHistory(
       Long conversationId, Long userId, Integer page, Integer size) {
-    // 1. 构建分页对象
-    Page<ChatMessage> pageObj = new Page<>(page, size);
+    // 第一页即最新的消息，与游标查询等价，可直接命中热窗口
+    if (page == null || page <= 1) {
+      return getChatHistoryBefore(conversationId, userId, null, size);
+    }
 
-    // 2. 构建查询条件
+    // 兼容旧的页码翻页：不查询总数，避免每次翻页都对整段会话做 COUNT
+    Page<ChatMessage> pageObj = new Page<>(page, normalizeLimit(size), false);
     LambdaQueryWrapper<ChatMessage> wrapper = new LambdaQueryWrapper<>();
     wrapper
         .eq(ChatMessage::getConversationId, conversationId)
         .eq(ChatMessage::getIsDeleted, 0) // 过滤已删除的消息
-        .orderByDesc(ChatMessage::getCreatedAt); // 按时间降序（最新的在前）
-
-    // 3. 分页查询
+        .orderByDesc(ChatMessage::getCreatedAt) // 按时间降序（最新的在前）
+        .orderByDesc(ChatMessage::getId);
     Page<ChatMessage> result = this.page(pageObj, wrapper);
-
-    // 4. 转换为 VO
     return result.getRecords().stream().map(this::convertToMessageDTO).collect(Collectors.toList());
   }
 
+  @Override
+  public List<MessageDTO> getChatHistoryBefore(
+      Long conversationId, Long userId, Long beforeMessageId, Integer limit) {
+    int size = normalizeLimit(limit);
+
+    // 1. 优先从会话热窗口读取
+    List<MessageDTO> cached = chatHistoryCacheService.getBefore(conversationId, beforeMessageId, size);
+    if (cached != null) {
+      return cached;
+    }
+
+    // 2. 翻出热窗口后按 (created_at, id) 游标查库
+    if (beforeMessageId != null) {
+      ChatMessage cursor = this.getById(beforeMessageId);
+      if (cursor == null || !conversationId.equals(cursor.getConversationId())) {
+        return Collections.emptyList();
+      }
+      return baseMapper
+          .selectHistoryBefore(conversationId, cursor.getCreatedAt(), cursor.getId(), size)
+          .stream()
+          .map(this::convertToMessageDTO)
+          .collect(Collectors.toList());
+    }
+
+    // 3. 最新一页未命中缓存：多取到窗口大小，顺带填充热窗口
+    String version = chatHistoryCacheService.currentVersion(conversationId);
+    List<MessageDTO> newest =
+        baseMapper
+            .selectHistoryBefore(
+                conversationId, null, null, Math.max(size, chatHistoryCacheService.getWindowSize()))
+            .stream()
+            .map(this::convertToMessageDTO)
+            .collect(Collectors.toList());
+    chatHistoryCacheService.fill(conversationId, version, newest);
+    return new ArrayList<>(newest.subList(0, Math.min(size, newest.size())));
+  }
+
+  private static int normalizeLimit(Integer limit) {
+    if (limit == null || limit < 1) {
+      return DEFAULT_HISTORY_LIMIT;
+    }
+    return Math.min(limit, MAX_HISTORY_LIMIT);
+  }
+
   @Override
   @Transactional(rollbackFor = Exception.class)
   public void markAsRead(Long conversationId, Long userId) {
-    // 1. 批量更新消息为已读
+    // 1. 推进已读水位并锁定会话行，尚在落库队列中的消息落库时据此直接记为已读
+    conversationMapper.updateReadWatermark(conversationId, userId, new Date());
+
+    // 2. 批量更新消息为已读
     LambdaUpdateWrapper<ChatMessage> updateWrapper = new LambdaUpdateWrapper<>();
     updateWrapper
         .eq(ChatMessage::getConversationId, conversationId)
@@ -191,7 +269,7 @@ public class ChatMessageServiceImpl extends ServiceImpl<ChatMessageMapper, ChatM
         .set(ChatMessage::getIsRead, 1);
     this.update(updateWrapper);
 
-    // 2. 更新会话的未读数
+    // 3. 更新会话的未读数
     Conversation conversation = conversationService.getById(conversationId);
     if (conversation != null) {
       Conversation updateConv = new Conversation();
@@ -205,29 +283,16 @@ public class ChatMessageServiceImpl extends ServiceImpl<ChatMessageMapper, ChatM
         updateConv.setHasNotificationUser2((byte) 0);
       }
       conversationService.updateById(updateConv);
+      unreadCountService.reset(userId, conversationId);
     }
+
+    // 4. 同步热窗口中消息的已读状态
+    chatHistoryCacheService.markRead(conversationId, userId);
   }
 
   @Override
   public Integer getUnreadCount(Long userId) {
-    List<Conversation> conversations = conversationService.list(
-        new LambdaQueryWrapper<Conversation>()
-            .and(
-                wrapper -> wrapper
-                    .eq(Conversation::getUser1Id, userId)
-                    .or()
-                    .eq(Conversation::getUser2Id, userId)));
-
-    int total = 0;
-    for (Conversation conv : conversations) {
-      if (conv.getUser1Id().equals(userId)) {
-        total += (conv.getUnreadCountUser1() == null ? 0 : conv.getUnreadCountUser1());
-      } else {
-        total += (conv.getUnreadCountUser2() == null ? 0 : conv.getUnreadCountUser2());
-      }
-    }
-
-    return total;
+    return unreadCountService.getTotal(userId);
   }
 
   /** 生成消息预览 */
@@ -253,14 +318,17 @@ public class ChatMessageServiceImpl extends ServiceImpl<ChatMessageMapper, ChatM
   /**
    * 验证用户类型：求职者只能和HR发消息，HR只能和求职者发消息
    *
-   * @param senderId   发送者ID
-   * @param receiverId 接收者ID
+   * @param senderId 发送者ID
+   * @param receiver 接收者简要信息
    * @throws BusinessException 如果用户类型不匹配
    */
-  private void validateUserTypeForMessage(Long senderId, Long receiverId) {
-    // 获取发送者和接收者的用户信息
-    var sender = userAuthApi.getUserById(senderId);
-    var receiver = userAuthApi.getUserById(receiverId);
+  private void validateUserTypeForMessage(Long senderId, UserBriefDTO receiver) {
+    // 获取发送者的用户信息
+    UserBriefDTO sender = userAuthApi.getUserBrief(senderId);
+    if (sender == null) {
+      throw new BusinessException(ErrorCode.USER_ID_NOT_EXIST);
+    }
+    Long receiverId = receiver.getId();
 
     Integer senderType = sender.getUserType();
     Integer receiverType = receiver.getUserType();
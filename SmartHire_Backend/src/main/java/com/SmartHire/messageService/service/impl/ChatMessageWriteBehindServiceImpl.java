@@ -0,0 +1,420 @@
+package com.SmartHire.messageService.service.impl;
+
+import com.SmartHire.common.config.RabbitMQConfig;
+import com.SmartHire.common.exception.enums.ErrorCode;
+import com.SmartHire.common.exception.exception.BusinessException;
+import com.SmartHire.common.mq.RabbitConsumerAdvice;
+import com.SmartHire.common.utils.TransactionUtils;
+import com.SmartHire.common.utils.SnowflakeIdGenerator;
+import com.SmartHire.messageService.dto.ChatMessagePersistDTO;
+import com.SmartHire.messageService.mapper.ChatMessageMapper;
+import com.SmartHire.messageService.mapper.ConversationMapper;
+import com.SmartHire.messageService.model.ChatMessage;
+import com.SmartHire.messageService.model.Conversation;
+import com.SmartHire.messageService.service.ChatHistoryCacheService;
+import com.SmartHire.messageService.service.ChatMessageWriteBehindService;
+import com.SmartHire.messageService.service.PresenceService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.ExchangeTypes;
+import org.springframework.amqp.rabbit.annotation.Exchange;
+import org.springframework.amqp.rabbit.annotation.Queue;
+import org.springframework.amqp.rabbit.annotation.QueueBinding;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.NonTransientDataAccessException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 聊天消息写后落库服务实现类
+ *
+ * <p>消息ID由 {@link SnowflakeIdGenerator} 生成，机器号通过 Redis 租约 {@code message:idgen:worker:{n}} 在节点间互斥分配，
+ * 租约丢失时自动退回同步落库。落库队列为持久化队列，消息以持久化模式投递并等待 publisher confirm，需开启
+ * {@code spring.rabbitmq.publisher-confirm-type: correlated}
+ *
+ * <p>投递在发送事务提交后进行：事务回滚的消息不会进入落库队列，新建会话也已先于落库消费提交。投递失败、被拒收或确认超时时
+ * 以同一个消息ID直接写库，与可能已到达 broker 的副本按主键去重。落库时按会话的已读水位（last_read_at_user1/2）修正已读状态，
+ * 落库前已被标记已读的消息不会重新变为未读。
+ *
+ * <p>落库队列须配置为受管队列（rabbit.consumer.queues），批次中的暂时性失败经延迟队列退避重试，重试耗尽或数据本身有问题的消息转入死信队列
+ *
+ * <p>注意：同一集群的所有节点应使用相同的落库模式。两种模式混用时，自增ID可能落入其他节点的 Snowflake 号段
+ *
+ * @author SmartHire Team
+ */
+@Slf4j
+@Service
+public class ChatMessageWriteBehindServiceImpl implements ChatMessageWriteBehindService {
+
+  private static final String WORKER_KEY_PREFIX = "message:idgen:worker:";
+
+  /** 续期租约：仍由本节点持有则续期，已过期则重新占用，被其他节点占用返回 0 */
+  private static final DefaultRedisScript<Long> RENEW_SCRIPT =
+      new DefaultRedisScript<>(
+          "local v = redis.call('GET', KEYS[1]) "
+              + "if v == ARGV[1] then "
+              + "  redis.call('PEXPIRE', KEYS[1], ARGV[2]) "
+              + "  return 1 "
+              + "elseif not v then "
+              + "  redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[2]) "
+              + "  return 1 "
+              + "end "
+              + "return 0",
+          Long.class);
+
+  /** 仅当租约仍由本节点持有时释放 */
+  private static final DefaultRedisScript<Long> RELEASE_SCRIPT =
+      new DefaultRedisScript<>(
+          "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('DEL', KEYS[1]) end "
+              + "return 0",
+          Long.class);
+
+  @Autowired private RabbitTemplate rabbitTemplate;
+
+  @Autowired private RedisTemplate<String, String> redisTemplate;
+
+  @Autowired private ChatMessageMapper chatMessageMapper;
+
+  @Autowired private ConversationMapper conversationMapper;
+
+  @Autowired private ChatHistoryCacheService chatHistoryCacheService;
+
+  @Autowired private PresenceService presenceService;
+
+  @Autowired private TransactionTemplate transactionTemplate;
+
+  @Autowired private MessageConverter messageConverter;
+
+  @Autowired private RabbitConsumerAdvice consumerAdvice;
+
+  /** 发送事务提交后直接落库时使用的独立事务 */
+  private TransactionTemplate requiresNewTemplate;
+
+  /** 是否开启写后落库，默认关闭（同步写库） */
+  @Value("${message.write-behind.enabled:false}")
+  private boolean enabled;
+
+  /** 等待 broker 确认的超时时间 */
+  @Value("${message.write-behind.confirm-timeout-ms:3000}")
+  private long confirmTimeoutMs;
+
+  /** 机器号租约时长，续期间隔应明显小于该值 */
+  @Value("${message.write-behind.worker-lease-ms:60000}")
+  private long workerLeaseMs;
+
+  /** 为空表示写后落库当前不可用 */
+  private volatile SnowflakeIdGenerator idGenerator;
+
+  @PostConstruct
+  public void initTransactionTemplate() {
+    requiresNewTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager());
+    requiresNewTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+  }
+
+  @Override
+  public boolean submit(ChatMessage message, String preview) {
+    SnowflakeIdGenerator generator = idGenerator;
+    if (generator == null) {
+      return false;
+    }
+    message.setId(generator.nextId());
+    ChatMessagePersistDTO item = new ChatMessagePersistDTO(message, preview);
+    TransactionUtils.runAfterCommit(() -> publish(item));
+    return true;
+  }
+
+  /** 投递到落库队列并等待 broker 确认；未能确认时以同一个消息ID直接写库 */
+  private void publish(ChatMessagePersistDTO item) {
+    Long messageId = item.getMessage().getId();
+    CorrelationData correlation = new CorrelationData(String.valueOf(messageId));
+    try {
+      rabbitTemplate.convertAndSend(
+          RabbitMQConfig.MESSAGE_EXCHANGE,
+          RabbitMQConfig.ROUTING_KEY_CHAT_PERSIST,
+          item,
+          correlation);
+      CorrelationData.Confirm confirm =
+          correlation.getFuture().get(confirmTimeoutMs, TimeUnit.MILLISECONDS);
+      if (confirm.isAck()) {
+        return;
+      }
+      log.warn("broker 拒收落库消息，改为直接落库: messageId={}, cause={}", messageId, confirm.getReason());
+    } catch (AmqpException | TimeoutException | ExecutionException e) {
+      // 确认超时时 broker 可能已经持久化，直接写库与后台落库按主键识别重复投递
+      log.warn("投递落库队列未确认，改为直接落库: messageId={}", messageId, e);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      log.warn("等待落库消息确认被中断，改为直接落库: messageId={}", messageId);
+    }
+    try {
+      try {
+        requiresNewTemplate.executeWithoutResult(status -> persist(List.of(item)));
+      } catch (DuplicateKeyException e) {
+        // 后台消费者同时写入了同一条消息，重做一次即可识别为重复投递
+        requiresNewTemplate.executeWithoutResult(status -> persist(List.of(item)));
+      }
+    } catch (RuntimeException e) {
+      log.error("消息投递和直接落库均失败: messageId={}", messageId, e);
+      throw new BusinessException(ErrorCode.MESSAGE_SEND_FAILED);
+    }
+  }
+
+  /**
+   * 批量消费落库队列 整批在一个事务内写入；批次因数据问题失败时逐条写入，无法写入的消息转入死信队列；
+   * 数据库不可用等暂时性错误时整批经延迟队列退避重试，不立即重新入队
+   *
+   * <p>无论是否开启写后落库都会消费，保证切回同步模式后队列中的存量消息仍能落库
+   */
+  @RabbitListener(
+      bindings =
+          @QueueBinding(
+              value = @Queue(value = RabbitMQConfig.CHAT_PERSIST_QUEUE, durable = "true"),
+              exchange =
+                  @Exchange(
+                      value = RabbitMQConfig.MESSAGE_EXCHANGE,
+                      type = ExchangeTypes.TOPIC,
+                      durable = "true"),
+              key = RabbitMQConfig.ROUTING_KEY_CHAT_PERSIST),
+      containerFactory = "batchRabbitListenerContainerFactory")
+  public void flush(List<Message> batch) throws Exception {
+    List<ChatMessagePersistDTO> valid = new ArrayList<>(batch.size());
+    List<Message> sources = new ArrayList<>(batch.size());
+    for (Message raw : batch) {
+      ChatMessagePersistDTO item;
+      try {
+        item = (ChatMessagePersistDTO) messageConverter.fromMessage(raw);
+      } catch (MessageConversionException | ClassCastException e) {
+        consumerAdvice.deadLetter(RabbitMQConfig.CHAT_PERSIST_QUEUE, raw, e);
+        continue;
+      }
+      if (item == null || item.getMessage() == null || item.getMessage().getId() == null) {
+        log.error("丢弃不完整的落库消息: {}", item);
+      } else {
+        valid.add(item);
+        sources.add(raw);
+      }
+    }
+    if (valid.isEmpty()) {
+      return;
+    }
+
+    long start = System.currentTimeMillis();
+    try {
+      transactionTemplate.executeWithoutResult(status -> persist(valid));
+      log.debug("批量落库聊天消息: size={}, cost={}ms", valid.size(), System.currentTimeMillis() - start);
+    } catch (NonTransientDataAccessException e) {
+      log.warn("批量落库失败，逐条重试: size={}", valid.size(), e);
+      for (int i = 0; i < valid.size(); i++) {
+        ChatMessagePersistDTO item = valid.get(i);
+        try {
+          transactionTemplate.executeWithoutResult(status -> persist(List.of(item)));
+        } catch (NonTransientDataAccessException ex) {
+          consumerAdvice.deadLetter(RabbitMQConfig.CHAT_PERSIST_QUEUE, sources.get(i), ex);
+        } catch (RuntimeException ex) {
+          consumerAdvice.retryOrDeadLetter(RabbitMQConfig.CHAT_PERSIST_QUEUE, sources.get(i), ex);
+        }
+      }
+    } catch (RuntimeException e) {
+      log.warn("批量落库暂时失败，整批延迟重试: size={}", valid.size(), e);
+      for (Message raw : sources) {
+        consumerAdvice.retryOrDeadLetter(RabbitMQConfig.CHAT_PERSIST_QUEUE, raw, e);
+      }
+    }
+  }
+
+  /**
+   * 多行插入消息，并按会话合并最后消息和新通知标记
+   *
+   * <p>先锁定涉及的会话行读取接收者的已读水位：发送时间不晚于水位的消息在落库前已被标记已读，直接以已读写入且不再点亮通知。
+   * 已存在的消息ID视为重复投递跳过；ID相同但内容不同说明与其他节点或自增ID冲突，抛出异常转入死信，不静默丢弃
+   */
+  private void persist(List<ChatMessagePersistDTO> items) {
+    Map<Long, ChatMessagePersistDTO> byId = new LinkedHashMap<>();
+    for (ChatMessagePersistDTO item : items) {
+      byId.putIfAbsent(item.getMessage().getId(), item);
+    }
+    for (ChatMessage existing : chatMessageMapper.selectBatchIds(byId.keySet())) {
+      ChatMessage incoming = byId.remove(existing.getId()).getMessage();
+      if (!isSameMessage(existing, incoming)) {
+        throw new DataIntegrityViolationException("消息ID与已有消息冲突: messageId=" + existing.getId());
+      }
+    }
+    if (byId.isEmpty()) {
+      return;
+    }
+
+    Map<Long, Conversation> watermarks = new HashMap<>();
+    Set<Long> conversationIds = new TreeSet<>();
+    byId.values().forEach(item -> conversationIds.add(item.getMessage().getConversationId()));
+    for (Conversation conversation : conversationMapper.selectReadWatermarksForUpdate(conversationIds)) {
+      watermarks.put(conversation.getId(), conversation);
+    }
+
+    List<ChatMessage> messages = new ArrayList<>(byId.size());
+    Map<Long, ChatMessagePersistDTO> latest = new LinkedHashMap<>();
+    Map<Long, Set<Long>> receivers = new LinkedHashMap<>();
+    Map<Long, List<Long>> messageIds = new LinkedHashMap<>();
+    Comparator<ChatMessagePersistDTO> order =
+        Comparator.comparing((ChatMessagePersistDTO i) -> i.getMessage().getCreatedAt())
+            .thenComparing(i -> i.getMessage().getId());
+    for (ChatMessagePersistDTO item : byId.values()) {
+      ChatMessage message = item.getMessage();
+      Long conversationId = message.getConversationId();
+      Set<Long> unreadReceivers = receivers.computeIfAbsent(conversationId, k -> new HashSet<>());
+      if (readBeforeFlush(watermarks.get(conversationId), message)) {
+        message.setIsRead((byte) 1);
+      } else {
+        unreadReceivers.add(message.getReceiverId());
+      }
+      messages.add(message);
+      latest.merge(conversationId, item, (a, b) -> order.compare(a, b) >= 0 ? a : b);
+      messageIds.computeIfAbsent(conversationId, k -> new ArrayList<>()).add(message.getId());
+    }
+
+    chatMessageMapper.insertBatch(messages);
+    latest.forEach(
+        (conversationId, item) -> {
+          conversationMapper.updateLastMessageIfNewer(
+              conversationId,
+              item.getPreview(),
+              item.getMessage().getCreatedAt(),
+              receivers.get(conversationId));
+          chatHistoryCacheService.evictIfMissing(conversationId, messageIds.get(conversationId));
+        });
+  }
+
+  /** 接收者在消息落库前已标记会话已读，且标记时间不早于消息发送时间 */
+  private static boolean readBeforeFlush(Conversation conversation, ChatMessage message) {
+    if (conversation == null) {
+      return false;
+    }
+    Date watermark =
+        message.getReceiverId().equals(conversation.getUser1Id())
+            ? conversation.getLastReadAtUser1()
+            : message.getReceiverId().equals(conversation.getUser2Id())
+                ? conversation.getLastReadAtUser2()
+                : null;
+    return watermark != null && !message.getCreatedAt().after(watermark);
+  }
+
+  /** 同一条消息的重复投递：会话、收发双方、类型和内容一致 */
+  private static boolean isSameMessage(ChatMessage existing, ChatMessage incoming) {
+    return Objects.equals(existing.getConversationId(), incoming.getConversationId())
+        && Objects.equals(existing.getSenderId(), incoming.getSenderId())
+        && Objects.equals(existing.getReceiverId(), incoming.getReceiverId())
+        && Objects.equals(existing.getMessageType(), incoming.getMessageType())
+        && Objects.equals(existing.getContent(), incoming.getContent());
+  }
+
+  /** 启动时申请机器号；未开启或 broker 未启用发布确认时保持同步落库 */
+  @EventListener(ApplicationReadyEvent.class)
+  public void init() {
+    if (!enabled) {
+      return;
+    }
+    if (!rabbitTemplate.getConnectionFactory().isPublisherConfirms()) {
+      log.error("未开启 publisher confirm（spring.rabbitmq.publisher-confirm-type: correlated），写后落库不生效");
+      enabled = false;
+      return;
+    }
+    acquireWorker();
+  }
+
+  /** 定时续期机器号租约；租约被其他节点占用时停止生成ID，退回同步落库 */
+  @Scheduled(fixedDelayString = "${message.write-behind.worker-renew-ms:20000}")
+  public void renewWorker() {
+    if (!enabled) {
+      return;
+    }
+    SnowflakeIdGenerator generator = idGenerator;
+    if (generator == null) {
+      acquireWorker();
+      return;
+    }
+    try {
+      Long renewed =
+          redisTemplate.execute(
+              RENEW_SCRIPT,
+              List.of(WORKER_KEY_PREFIX + generator.getWorkerId()),
+              presenceService.getNodeId(),
+              String.valueOf(workerLeaseMs));
+      if (!Long.valueOf(1L).equals(renewed)) {
+        log.error("机器号租约已被其他节点占用，写后落库暂停: workerId={}", generator.getWorkerId());
+        idGenerator = null;
+      }
+    } catch (Exception e) {
+      log.warn("续期机器号租约失败: workerId={}", generator.getWorkerId(), e);
+    }
+  }
+
+  @PreDestroy
+  public void releaseWorker() {
+    SnowflakeIdGenerator generator = idGenerator;
+    if (generator == null) {
+      return;
+    }
+    idGenerator = null;
+    try {
+      redisTemplate.execute(
+          RELEASE_SCRIPT,
+          List.of(WORKER_KEY_PREFIX + generator.getWorkerId()),
+          presenceService.getNodeId());
+    } catch (Exception e) {
+      log.warn("释放机器号租约失败: workerId={}", generator.getWorkerId(), e);
+    }
+  }
+
+  private void acquireWorker() {
+    try {
+      for (int workerId = 0; workerId < SnowflakeIdGenerator.MAX_WORKERS; workerId++) {
+        Boolean acquired =
+            redisTemplate
+                .opsForValue()
+                .setIfAbsent(
+                    WORKER_KEY_PREFIX + workerId,
+                    presenceService.getNodeId(),
+                    workerLeaseMs,
+                    TimeUnit.MILLISECONDS);
+        if (Boolean.TRUE.equals(acquired)) {
+          idGenerator = new SnowflakeIdGenerator(workerId);
+          log.info("写后落库已启用: workerId={}", workerId);
+          return;
+        }
+      }
+      log.error("没有可用的机器号，写后落库暂不生效");
+    } catch (Exception e) {
+      log.error("申请机器号失败，写后落库暂不生效", e);
+    }
+  }
+}
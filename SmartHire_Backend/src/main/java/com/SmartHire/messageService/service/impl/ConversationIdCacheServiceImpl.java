@@ -0,0 +1,118 @@
+package com.SmartHire.messageService.service.impl;
+
+import static com.SmartHire.common.utils.TransactionUtils.runAfterCommit;
+
+import com.SmartHire.messageService.service.ConversationIdCacheService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+
+/**
+ * 会话ID近端缓存实现类
+ *
+ * <p>键为 "较小用户ID:较大用户ID"。跨节点失效通过 Redis 频道 {@code message:conversation:invalidate} 广播，消息内容为
+ * "pair:{键}" 或 "user:{用户ID}"；广播丢失时由过期时间兜底
+ *
+ * @author SmartHire Team
+ */
+@Slf4j
+@Service
+public class ConversationIdCacheServiceImpl implements ConversationIdCacheService {
+
+  private static final String INVALIDATE_CHANNEL = "message:conversation:invalidate";
+  private static final String PAIR_PREFIX = "pair:";
+  private static final String USER_PREFIX = "user:";
+
+  @Autowired private RedisTemplate<String, String> redisTemplate;
+
+  @Autowired private RedisMessageListenerContainer redisMessageListenerContainer;
+
+  @Autowired private MeterRegistry meterRegistry;
+
+  /** 缓存的会话数上限 */
+  @Value("${message.conversation-cache.maximum-size:200000}")
+  private long maximumSize;
+
+  /** 最近一次访问后的过期时间 */
+  @Value("${message.conversation-cache.ttl-seconds:3600}")
+  private long ttlSeconds;
+
+  private Cache<String, Long> cache;
+
+  @PostConstruct
+  public void init() {
+    cache =
+        Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterAccess(Duration.ofSeconds(ttlSeconds))
+            .recordStats()
+            .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, "message.conversation.id");
+    redisMessageListenerContainer.addMessageListener(
+        (message, pattern) ->
+            invalidateLocal(new String(message.getBody(), StandardCharsets.UTF_8)),
+        new ChannelTopic(INVALIDATE_CHANNEL));
+  }
+
+  @Override
+  public Long get(Long userA, Long userB) {
+    return cache.getIfPresent(pairKey(userA, userB));
+  }
+
+  @Override
+  public void put(Long userA, Long userB, Long conversationId) {
+    String key = pairKey(userA, userB);
+    runAfterCommit(() -> cache.put(key, conversationId));
+  }
+
+  @Override
+  public void evict(Long userA, Long userB) {
+    String key = pairKey(userA, userB);
+    // 提交前先移除，避免并发发送在提交前命中旧缓存；提交后再次移除并广播
+    cache.invalidate(key);
+    runAfterCommit(() -> broadcast(PAIR_PREFIX + key));
+  }
+
+  @Override
+  public void evictUser(Long userId) {
+    String event = USER_PREFIX + userId;
+    invalidateLocal(event);
+    runAfterCommit(() -> broadcast(event));
+  }
+
+  private void broadcast(String event) {
+    invalidateLocal(event);
+    try {
+      redisTemplate.convertAndSend(INVALIDATE_CHANNEL, event);
+    } catch (Exception e) {
+      log.warn("广播会话缓存失效失败，其他节点将在过期后刷新: {}", event, e);
+    }
+  }
+
+  private void invalidateLocal(String event) {
+    if (event.startsWith(PAIR_PREFIX)) {
+      cache.invalidate(event.substring(PAIR_PREFIX.length()));
+    } else if (event.startsWith(USER_PREFIX)) {
+      String userId = event.substring(USER_PREFIX.length());
+      cache
+          .asMap()
+          .keySet()
+          .removeIf(key -> key.startsWith(userId + ":") || key.endsWith(":" + userId));
+    }
+  }
+
+  private static String pairKey(Long userA, Long userB) {
+    return Math.min(userA, userB) + ":" + Math.max(userA, userB);
+  }
+}
@@ -7,16 +7,19 @@ import com.SmartHire.messageService.dto.ConversationDTO;
 import com.SmartHire.messageService.mapper.ConversationMapper;
 import com.SmartHire.messageService.model.Conversation;
 import com.SmartHire.messageService.service.ConversationEventProducer;
+import com.SmartHire.messageService.service.ConversationIdCacheService;
 import com.SmartHire.messageService.service.ConversationService;
+import com.SmartHire.messageService.service.UnreadCountService;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import java.util.ArrayList;
 import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import java.util.Date;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -31,9 +34,21 @@ import org.springframework.transaction.annotation.Transactional;
 public class ConversationServiceImpl extends ServiceImpl<ConversationMapper, Conversation>
     implements ConversationService {
 
+  /** 会话列表默认每页条数 */
+  private static final int DEFAULT_PAGE_SIZE = 50;
+
+  /** 会话列表每页最大条数 */
+  private static final int MAX_PAGE_SIZE = 100;
+
   @Autowired
   private ConversationEventProducer conversationEventProducer;
 
+  @Autowired
+  private UnreadCountService unreadCountService;
+
+  @Autowired
+  private ConversationIdCacheService conversationIdCacheService;
+
   /**
    * 获取或创建会话
    *
@@ -48,10 +63,20 @@ public class ConversationServiceImpl extends ServiceImpl<ConversationMapper, Con
     Long minId = Math.min(user1Id, user2Id);
     Long maxId = Math.max(user1Id, user2Id);
 
+    // 命中缓存说明会话存在且双方都未删除，无需查表
+    Long cachedId = conversationIdCacheService.get(minId, maxId);
+    if (cachedId != null) {
+      Conversation cached = new Conversation();
+      cached.setId(cachedId);
+      cached.setUser1Id(minId);
+      cached.setUser2Id(maxId);
+      cached.setDeletedByUser1((byte) 0);
+      cached.setDeletedByUser2((byte) 0);
+      return cached;
+    }
+
     // 查询是否存在
-    LambdaQueryWrapper<Conversation> wrapper = new LambdaQueryWrapper<>();
-    wrapper.eq(Conversation::getUser1Id, minId).eq(Conversation::getUser2Id, maxId);
-    Conversation conversation = this.getOne(wrapper);
+    Conversation conversation = this.getOne(pairQuery(minId, maxId));
 
     if (conversation == null) {
       conversation = new Conversation();
@@ -66,8 +91,20 @@ public class ConversationServiceImpl extends ServiceImpl<ConversationMapper, Con
       conversation.setCreatedAt(new Date());
       conversation.setDeletedByUser1((byte) 0);
       conversation.setDeletedByUser2((byte) 0);
-      this.save(conversation);
+      try {
+        this.getBaseMapper().insert(conversation);
+      } catch (DuplicateKeyException e) {
+        // 并发的首条消息已经创建了会话（uniq_conversation_pair）；当前读绕过事务快照，读到对方刚提交的记录
+        log.info("会话已被并发创建，改为读取：user1Id={}, user2Id={}", minId, maxId);
+        conversation = this.getOne(pairQuery(minId, maxId).last("LOCK IN SHARE MODE"));
+        if (conversation == null) {
+          throw e;
+        }
+        conversationIdCacheService.put(minId, maxId, conversation.getId());
+        return conversation;
+      }
       log.info("创建会话成功：{}, user1Id={}, user2Id={}", conversation, minId, maxId);
+      conversationIdCacheService.put(minId, maxId, conversation.getId());
 
       // 发送会话创建事件，通知recruitmentService更新Application记录
       ConversationCreatedEvent event = new ConversationCreatedEvent();
@@ -107,6 +144,8 @@ public class ConversationServiceImpl extends ServiceImpl<ConversationMapper, Con
         conversation.setHasNotificationUser2((byte) 0);
         conversation.setLastMessage(null);
         conversation.setLastMessageTime(null);
+        unreadCountService.reset(minId, conversation.getId());
+        unreadCountService.reset(maxId, conversation.getId());
         log.info("复活已双方删除的会话：id={}, user1Id={}, user2Id={}", conversation.getId(), minId, maxId);
       } else {
         // 若仅当前请求方曾删除，则取消其删除标记
@@ -132,50 +171,38 @@ public class ConversationServiceImpl extends ServiceImpl<ConversationMapper, Con
         }
       }
     }
+    if (conversation.getDeletedByUser1() == 0 && conversation.getDeletedByUser2() == 0) {
+      conversationIdCacheService.put(minId, maxId, conversation.getId());
+    }
     return conversation;
   }
 
-  @Override
-  public List<ConversationDTO> getConversationList(Long userId) {
-    // 查询条件：user1_id 或 user2_id 等于当前用户，且未被当前用户删除
-    LambdaQueryWrapper<Conversation> wrapper = new LambdaQueryWrapper<>();
-    wrapper.and(
-        w -> w.eq(Conversation::getUser1Id, userId)
-            .eq(Conversation::getDeletedByUser1, (byte) 0)
-            .or()
-            .eq(Conversation::getUser2Id, userId)
-            .eq(Conversation::getDeletedByUser2, (byte) 0));
-
-    // 先按最后消息时间降序查询
-    wrapper.orderByDesc(Conversation::getLastMessageTime);
+  private static LambdaQueryWrapper<Conversation> pairQuery(Long minId, Long maxId) {
+    return new LambdaQueryWrapper<Conversation>()
+        .eq(Conversation::getUser1Id, minId)
+        .eq(Conversation::getUser2Id, maxId);
+  }
 
-    List<Conversation> conversations = this.list(wrapper);
+  @Override
+  public List<ConversationDTO> getConversationList(
+      Long userId, Date cursorTime, Long cursorId, Integer size) {
+    int limit = size == null || size <= 0 ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+    boolean firstPage = cursorTime == null && cursorId == null;
+
+    List<ConversationDTO> result = new ArrayList<>();
+    // 置顶会话数量很少，只在第一页整体返回，后续页仅按游标翻非置顶会话
+    if (firstPage) {
+      result.addAll(this.getBaseMapper().selectConversationCards(userId, 1, null, null, null));
+    }
+    result.addAll(
+        this.getBaseMapper().selectConversationCards(userId, 0, cursorTime, cursorId, limit));
 
-    // 转换为 DTO 并排序：置顶优先，然后按最后消息时间降序
-    return conversations.stream()
-        .map(conv -> convertToConversationDTO(conv, userId))
-        .sorted(
-            (dto1, dto2) -> {
-              // 先按置顶状态排序（置顶的在前，1 > 0）
-              int pinnedCompare = Byte.compare(
-                  dto2.getPinned() != null ? dto2.getPinned() : 0,
-                  dto1.getPinned() != null ? dto1.getPinned() : 0);
-              if (pinnedCompare != 0) {
-                return pinnedCompare;
-              }
-              // 置顶状态相同时，按最后消息时间降序
-              if (dto1.getLastMessageTime() == null && dto2.getLastMessageTime() == null) {
-                return 0;
-              }
-              if (dto1.getLastMessageTime() == null) {
-                return 1;
-              }
-              if (dto2.getLastMessageTime() == null) {
-                return -1;
-              }
-              return dto2.getLastMessageTime().compareTo(dto1.getLastMessageTime());
-            })
-        .collect(Collectors.toList());
+    // 未读数以 Redis 计数为准，conversation 表中的值为异步回写，可能略有滞后
+    Map<Long, Integer> unreadCounts = unreadCountService.getConversationCounts(userId);
+    if (unreadCounts != null) {
+      result.forEach(dto -> dto.setUnreadCount(unreadCounts.getOrDefault(dto.getId(), 0)));
+    }
+    return result;
   }
 
   // 置顶/取消置顶
@@ -222,53 +249,7 @@ public class ConversationServiceImpl extends ServiceImpl<ConversationMapper, Con
     }
 
     this.update(updateWrapper);
-  }
-
-  // 转换会话为DTO
-  private ConversationDTO convertToConversationDTO(Conversation conversation, Long currentUserId) {
-    ConversationDTO dto = new ConversationDTO();
-    dto.setId(conversation.getId());
-
-    // 确定对方用户ID
-    Long otherUserId = conversation.getUser1Id().equals(currentUserId)
-        ? conversation.getUser2Id()
-        : conversation.getUser1Id();
-    dto.setOtherUserId(otherUserId);
-
-    // 获取未读消息数和置顶状态
-    if (conversation.getUser1Id().equals(currentUserId)) {
-      dto.setUnreadCount(conversation.getUnreadCountUser1());
-      dto.setPinned(conversation.getPinnedByUser1());
-      dto.setHasNotification(conversation.getHasNotificationUser1());
-    } else {
-      dto.setUnreadCount(conversation.getUnreadCountUser2());
-      dto.setPinned(conversation.getPinnedByUser2());
-      dto.setHasNotification(conversation.getHasNotificationUser2());
-    }
-
-    dto.setLastMessage(conversation.getLastMessage());
-    dto.setLastMessageTime(conversation.getLastMessageTime());
-
-    // 获取对方用户名和用户头像
-    String otherUserName = this.getBaseMapper().getOtherUserName(conversation.getId(), currentUserId);
-    String otherUserAvatar = this.getBaseMapper().getOtherUserAvatar(conversation.getId(), currentUserId);
-    dto.setOtherUserName(otherUserName);
-    dto.setOtherUserAvatar(otherUserAvatar);
-
-    // 对方公司信息（若对方为HR，否则可能为null）
-    Long otherCompanyId = this.getBaseMapper().getOtherCompanyId(conversation.getId(), currentUserId);
-    dto.setOtherCompanyId(otherCompanyId);
-    if (otherCompanyId != null) {
-      dto.setOtherCompanyName(
-          this.getBaseMapper().getOtherCompanyName(conversation.getId(), currentUserId));
-      dto.setOtherCompanyLogo(
-          this.getBaseMapper().getOtherCompanyLogo(conversation.getId(), currentUserId));
-    }
-
-    // 获取投递记录ID
-    Long applicationId = this.getBaseMapper().getApplicationIdByConversationId(conversation.getId());
-    dto.setApplicationId(applicationId);
-
-    return dto;
+    // 会话不再是"双方都未删除"，下次发消息需要走恢复流程
+    conversationIdCacheService.evict(conversation.getUser1Id(), conversation.getUser2Id());
   }
 }
@@ -9,8 +9,11 @@ import com.SmartHire.messageService.mapper.ChatMessageMapper;
 import com.SmartHire.messageService.mapper.ConversationMapper;
 import com.SmartHire.messageService.model.ChatMessage;
 import com.SmartHire.messageService.model.Conversation;
+import com.SmartHire.messageService.service.ChatHistoryCacheService;
 import com.SmartHire.messageService.service.ChatMessageService;
+import com.SmartHire.messageService.service.ConversationIdCacheService;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import java.util.List;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -34,11 +37,28 @@ public class MessageApiImpl implements MessageApi {
     @Autowired
     private ChatMessageService chatMessageService;
 
+    @Autowired
+    private ConversationIdCacheService conversationIdCacheService;
+
+    @Autowired
+    private ChatHistoryCacheService chatHistoryCacheService;
+
     @Override
     @Transactional(rollbackFor = Exception.class)
     public void deleteUserMessages(Long userId) {
         log.info("开始删除用户相关的消息和会话，用户ID：{}", userId);
 
+        // 先记下相关会话，删除后清除这些会话的热窗口
+        List<Long> conversationIds = conversationMapper.selectList(
+                new LambdaQueryWrapper<Conversation>()
+                        .select(Conversation::getId)
+                        .eq(Conversation::getUser1Id, userId)
+                        .or()
+                        .eq(Conversation::getUser2Id, userId))
+                .stream()
+                .map(Conversation::getId)
+                .toList();
+
         // 1. 删除用户发送或接收的所有消息
         LambdaQueryWrapper<ChatMessage> messageWrapper = new LambdaQueryWrapper<>();
         messageWrapper.eq(ChatMessage::getSenderId, userId).or().eq(ChatMessage::getReceiverId, userId);
@@ -52,6 +72,9 @@ public class MessageApiImpl implements MessageApi {
                 .or()
                 .eq(Conversation::getUser2Id, userId);
         int deletedConversations = conversationMapper.delete(conversationWrapper);
+        conversationIdCacheService.evictUser(userId);
+        // 事务提交后执行，避免回滚时窗口已被清空
+        conversationIds.forEach(chatHistoryCacheService::evict);
         log.info("删除用户会话记录数：{}", deletedConversations);
 
         log.info("删除用户消息和会话完成，用户ID：{}", userId);
@@ -1,45 +1,216 @@
 package com.SmartHire.messageService.service.impl;
 
 import com.SmartHire.messageService.dto.MessageDTO;
+import com.SmartHire.messageService.dto.OfflineBatchDTO;
 import com.SmartHire.messageService.mapper.ChatMessageMapper;
 import com.SmartHire.messageService.model.ChatMessage;
 import com.SmartHire.messageService.service.OfflineMessageService;
-import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.SmartHire.messageService.websocket.MessageWebSocket;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
 import jakarta.websocket.Session;
+import java.util.Arrays;
+import java.util.Date;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
 
 @Slf4j
 @Service
 public class OfflineMessageServiceImpl implements OfflineMessageService {
+
+  /** 批量回放模式在握手参数中的取值 */
+  public static final String REPLAY_MODE_BATCH = "batch";
+
+  /** 已推送、等待客户端确认的批次：key 为 {用户ID}:{游标}，值为本批消息ID（逗号分隔） */
+  private static final String BATCH_KEY_PREFIX = "message:replay:batch:";
+
+  private static final long BATCH_EXPIRE_DAYS = 7;
+
   @Autowired private ChatMessageMapper chatMessageMapper;
 
   @Autowired private ObjectMapper objectMapper;
 
+  @Autowired private RedisTemplate<String, String> redisTemplate;
+
+  /** 每页（每帧）消息条数 */
+  @Value("${message.offline.page-size:100}")
+  private int pageSize;
+
+  /** 补偿推送线程池：线程数与排队数都有上限，部署后的重连风暴不会无限占用内存和数据库连接 */
+  private final ThreadPoolExecutor replayExecutor =
+      new ThreadPoolExecutor(
+          2,
+          8,
+          60,
+          TimeUnit.SECONDS,
+          new ArrayBlockingQueue<>(1000),
+          r -> {
+            Thread t = new Thread(r, "offline-replay");
+            t.setDaemon(true);
+            return t;
+          });
+
   @Override
   public void pushUnreadMessages(Long userId, Session session) {
-    List<ChatMessage> unreadList =
-        chatMessageMapper.selectList(
-            new LambdaQueryWrapper<ChatMessage>()
-                .eq(ChatMessage::getReceiverId, userId)
-                .eq(ChatMessage::getIsRead, false)
-                .orderByAsc(ChatMessage::getCreatedAt));
-
-    if (unreadList.isEmpty()) return;
-
-    for (ChatMessage msg : unreadList) {
-      try {
-        MessageDTO dto = convertToDTO(msg);
-
-        // 推送给当前新建立的 session
-        session.getBasicRemote().sendText(objectMapper.writeValueAsString(dto));
-      } catch (Exception e) {
-        log.error("补偿离线消息失败 userId={}, msgId={}", userId, msg.getId(), e);
+    boolean batchMode = REPLAY_MODE_BATCH.equals(session.getUserProperties().get("replayMode"));
+    submit(
+        userId,
+        () -> {
+          if (batchMode) {
+            sendBatch(userId, session);
+          } else {
+            replayOneByOne(userId, session);
+          }
+        });
+  }
+
+  @Override
+  public void acknowledge(Long userId, Session session, String cursor) {
+    if (parseCursor(cursor) == null) {
+      log.warn("无效的离线消息回放游标: userId={}, cursor={}", userId, cursor);
+      return;
+    }
+    submit(
+        userId,
+        () -> {
+          // 批次记录已过期或已被其他会话确认时直接推送下一页，未确认的消息会重发，客户端按消息ID去重
+          String ids = redisTemplate.opsForValue().getAndDelete(batchKey(userId, cursor));
+          if (ids != null && !ids.isEmpty()) {
+            chatMessageMapper.markDelivered(
+                userId, Arrays.stream(ids.split(",")).map(Long::valueOf).toList());
+          }
+          sendBatch(userId, session);
+        });
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    replayExecutor.shutdownNow();
+  }
+
+  private void submit(Long userId, Runnable task) {
+    try {
+      replayExecutor.execute(
+          () -> {
+            try {
+              task.run();
+            } catch (Exception e) {
+              log.error("补偿离线消息失败 userId={}", userId, e);
+            }
+          });
+    } catch (RejectedExecutionException e) {
+      // 线程池已满：放弃本次补偿，消息仍为未读，客户端可通过会话列表和聊天记录拉取
+      log.warn("补偿离线消息任务过多，跳过 userId={}", userId);
+    }
+  }
+
+  /**
+   * 批量回放：推送最早的一页未读且未确认送达的消息，记下本批消息ID，等待客户端确认后标记送达并推送下一页
+   *
+   * <p>按送达状态而不是发送时间游标翻页：写后落库或并发发送时，发送时间更早的消息可能晚于已推送的消息才提交，
+   * 位置游标会永久跳过它们
+   */
+  private void sendBatch(Long userId, Session session) {
+    if (!session.isOpen()) {
+      return;
+    }
+    List<ChatMessage> page = chatMessageMapper.selectUndeliveredPage(userId, pageSize + 1);
+    boolean hasMore = page.size() > pageSize;
+    if (hasMore) {
+      page = page.subList(0, pageSize);
+    }
+
+    OfflineBatchDTO batch = new OfflineBatchDTO();
+    batch.setMessages(page.stream().map(this::convertToDTO).toList());
+    batch.setHasMore(hasMore);
+    if (!page.isEmpty()) {
+      String cursor = buildCursor(page.get(page.size() - 1));
+      redisTemplate
+          .opsForValue()
+          .set(
+              batchKey(userId, cursor),
+              page.stream().map(m -> String.valueOf(m.getId())).collect(Collectors.joining(",")),
+              BATCH_EXPIRE_DAYS,
+              TimeUnit.DAYS);
+      batch.setCursor(cursor);
+    }
+    MessageWebSocket.send(session, toJson(batch));
+  }
+
+  /** 逐条回放：分页读取，每页只在出站队列有空间时推送，队列满时停止 */
+  private void replayOneByOne(Long userId, Session session) {
+    Cursor position = null;
+    while (session.isOpen()) {
+      List<ChatMessage> page = loadPage(userId, position);
+      for (int i = 0; i < Math.min(page.size(), pageSize); i++) {
+        ChatMessage msg = page.get(i);
+        if (MessageWebSocket.remainingCapacity(session) == 0
+            || !MessageWebSocket.send(session, toJson(convertToDTO(msg)))) {
+          log.warn("出站队列已满，停止补偿离线消息 userId={}, msgId={}", userId, msg.getId());
+          return;
+        }
+      }
+      if (page.size() <= pageSize) {
+        return;
       }
+      ChatMessage last = page.get(pageSize - 1);
+      position = new Cursor(last.getCreatedAt(), last.getId());
+    }
+  }
+
+  /** 多取一条用于判断是否还有下一页 */
+  private List<ChatMessage> loadPage(Long userId, Cursor position) {
+    return chatMessageMapper.selectUnreadPage(
+        userId,
+        position == null ? null : position.time(),
+        position == null ? null : position.id(),
+        pageSize + 1);
+  }
+
+  private static String batchKey(Long userId, String cursor) {
+    return BATCH_KEY_PREFIX + userId + ":" + cursor;
+  }
+
+  /** 回放位置：已推送的最后一条消息的 (发送时间, ID) */
+  private record Cursor(Date time, Long id) {}
+
+  /** 游标格式：{发送时间毫秒}_{消息ID} */
+  private static String buildCursor(ChatMessage message) {
+    long time = message.getCreatedAt() == null ? 0L : message.getCreatedAt().getTime();
+    return time + "_" + message.getId();
+  }
+
+  private static Cursor parseCursor(String cursor) {
+    if (cursor == null || cursor.isBlank()) {
+      return null;
+    }
+    String[] parts = cursor.split("_");
+    if (parts.length != 2) {
+      return null;
+    }
+    try {
+      return new Cursor(new Date(Long.parseLong(parts[0])), Long.valueOf(parts[1]));
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+
+  private String toJson(Object value) {
+    try {
+      return objectMapper.writeValueAsString(value);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("序列化离线消息失败", e);
     }
   }
 
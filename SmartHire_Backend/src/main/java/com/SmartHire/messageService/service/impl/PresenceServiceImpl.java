@@ -0,0 +1,150 @@
+package com.SmartHire.messageService.service.impl;
+
+import com.SmartHire.common.config.ChatClusterConfig;
+import com.SmartHire.messageService.service.PresenceService;
+import com.SmartHire.messageService.websocket.MessageWebSocket;
+import jakarta.annotation.PreDestroy;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * 集群在线状态注册表实现类
+ *
+ * <p>Redis 结构：
+ *
+ * <ul>
+ *   <li>{@code message:presence:user:{userId}}：Set，持有该用户连接的节点ID，随心跳续期
+ *   <li>{@code message:presence:node:{nodeId}}：节点存活标记，随心跳续期；节点宕机后过期，其在用户 Set 中的记录被视为无效
+ * </ul>
+ */
+@Slf4j
+@Service
+public class PresenceServiceImpl implements PresenceService {
+
+  private static final String USER_KEY_PREFIX = "message:presence:user:";
+  private static final String NODE_KEY_PREFIX = "message:presence:node:";
+
+  @Autowired private RedisTemplate<String, String> redisTemplate;
+
+  @Autowired private ChatClusterConfig chatClusterConfig;
+
+  /** 节点存活标记 TTL（毫秒），应大于心跳间隔的两倍 */
+  @Value("${message.presence.node-ttl-ms:30000}")
+  private long nodeTtlMs;
+
+  /** 用户在线记录 TTL（毫秒） */
+  @Value("${message.presence.user-ttl-ms:60000}")
+  private long userTtlMs;
+
+  @Override
+  public String getNodeId() {
+    return chatClusterConfig.getNodeId();
+  }
+
+  @Override
+  public void online(Long userId) {
+    try {
+      String key = USER_KEY_PREFIX + userId;
+      redisTemplate.opsForSet().add(key, getNodeId());
+      redisTemplate.expire(key, userTtlMs, TimeUnit.MILLISECONDS);
+      refreshNode();
+    } catch (Exception e) {
+      log.error("登记用户在线状态失败: userId={}", userId, e);
+    }
+  }
+
+  @Override
+  public void offline(Long userId) {
+    try {
+      redisTemplate.opsForSet().remove(USER_KEY_PREFIX + userId, getNodeId());
+    } catch (Exception e) {
+      log.error("移除用户在线状态失败: userId={}", userId, e);
+    }
+  }
+
+  @Override
+  public Set<String> getUserNodes(Long userId) {
+    Set<String> nodes = redisTemplate.opsForSet().members(USER_KEY_PREFIX + userId);
+    if (nodes == null || nodes.isEmpty()) {
+      return Collections.emptySet();
+    }
+    List<String> nodeList = new ArrayList<>(nodes);
+    List<String> nodeKeys = nodeList.stream().map(node -> NODE_KEY_PREFIX + node).toList();
+    // 过滤掉已停止心跳的节点
+    List<String> alive = redisTemplate.opsForValue().multiGet(nodeKeys);
+    Set<String> result = new HashSet<>();
+    for (int i = 0; i < nodeList.size(); i++) {
+      if (alive != null && alive.get(i) != null) {
+        result.add(nodeList.get(i));
+      }
+    }
+    return result;
+  }
+
+  @Override
+  public boolean isOnline(Long userId) {
+    if (MessageWebSocket.hasLocalSession(userId)) {
+      return true;
+    }
+    try {
+      return !getUserNodes(userId).isEmpty();
+    } catch (Exception e) {
+      log.error("查询集群在线状态失败: userId={}", userId, e);
+      return false;
+    }
+  }
+
+  /** 心跳：续期节点存活标记以及本节点所有在线用户的记录 */
+  @Scheduled(fixedDelayString = "${message.presence.heartbeat-ms:10000}")
+  public void heartbeat() {
+    try {
+      refreshNode();
+      Set<Long> localUsers = MessageWebSocket.getLocalUserIds();
+      if (localUsers.isEmpty()) {
+        return;
+      }
+      byte[] nodeId = getNodeId().getBytes(StandardCharsets.UTF_8);
+      long ttlSeconds = TimeUnit.MILLISECONDS.toSeconds(userTtlMs);
+      redisTemplate.executePipelined(
+          (RedisCallback<Object>)
+              connection -> {
+                for (Long userId : localUsers) {
+                  byte[] key = (USER_KEY_PREFIX + userId).getBytes(StandardCharsets.UTF_8);
+                  connection.setCommands().sAdd(key, nodeId);
+                  connection.keyCommands().expire(key, ttlSeconds);
+                }
+                return null;
+              });
+    } catch (Exception e) {
+      log.error("在线状态心跳失败: nodeId={}", getNodeId(), e);
+    }
+  }
+
+  /** 节点正常停机时立即移除存活标记，其他节点不再向本节点路由消息 */
+  @PreDestroy
+  public void shutdown() {
+    try {
+      redisTemplate.delete(NODE_KEY_PREFIX + getNodeId());
+    } catch (Exception e) {
+      log.warn("移除节点存活标记失败: nodeId={}", getNodeId(), e);
+    }
+  }
+
+  private void refreshNode() {
+    redisTemplate
+        .opsForValue()
+        .set(NODE_KEY_PREFIX + getNodeId(), "1", nodeTtlMs, TimeUnit.MILLISECONDS);
+  }
+}
@@ -0,0 +1,504 @@
+package com.SmartHire.messageService.service.impl;
+
+import static com.SmartHire.common.utils.TransactionUtils.runAfterCommit;
+
+import com.SmartHire.messageService.mapper.ConversationMapper;
+import com.SmartHire.messageService.model.Conversation;
+import com.SmartHire.messageService.service.UnreadCountService;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * 未读消息计数服务实现类
+ *
+ * <p>Redis 结构：
+ *
+ * <ul>
+ *   <li>{@code message:unread:{userId}}：Hash，field 为会话ID，值为该会话未读数；field {@code total} 为未读总数
+ *   <li>{@code message:unread:dirty}：Set，待回写到 conversation 表的 "会话ID:用户ID"
+ *   <li>{@code message:unread:ready}：计数已从 MySQL 重建完成的标记，Redis 数据丢失后标记随之消失
+ *   <li>{@code message:unread:rebuild:inflight}、{@code message:unread:rebuild:touched}：标记缺失期间正在写库的请求数，
+ *       及写过库的 "会话ID:用户ID"
+ * </ul>
+ *
+ * <p>标记缺失时（首次部署或 Redis 数据丢失）计数以 conversation 表为准：增减脚本检查到标记不存在就不改 Redis，改为直接写库，
+ * 查询退回数据库汇总。后台定时检查标记，缺失时抢锁重建：先删除残留的用户计数，再按库中的值覆盖写入 Redis，
+ * 然后把重建期间写过库的会话按库中最新值重新覆盖，确认没有正在写库的请求、也没有待覆盖的会话后才原子地写入标记，此后计数回到 Redis
+ *
+ * @author SmartHire Team
+ */
+@Slf4j
+@Service
+public class UnreadCountServiceImpl implements UnreadCountService {
+
+  private static final String UNREAD_KEY_PREFIX = "message:unread:";
+  private static final String DIRTY_KEY = "message:unread:dirty";
+  private static final String READY_KEY = "message:unread:ready";
+  private static final String REBUILD_LOCK_KEY = "message:unread:rebuilding";
+  private static final String INFLIGHT_KEY = "message:unread:rebuild:inflight";
+  private static final String TOUCHED_KEY = "message:unread:rebuild:touched";
+  private static final String TOTAL_FIELD = "total";
+
+  /** 用户计数 key：message:unread:{userId} */
+  private static final Pattern USER_KEY_PATTERN = Pattern.compile("message:unread:\\d+");
+
+  /** 重建时每次从 conversation 表读取的行数 */
+  private static final int REBUILD_BATCH_SIZE = 1000;
+
+  /** 每次从脏集合中弹出的条数 */
+  private static final int FLUSH_BATCH_SIZE = 500;
+
+  /** 重建收尾时等待写库请求结束的最多轮数，每轮间隔 100ms */
+  private static final int FINISH_ATTEMPTS = 50;
+
+  /** 脚本返回该值表示计数未就绪，调用方需直接写库 */
+  private static final long NOT_READY = -1L;
+
+  /**
+   * 计数未就绪时登记写库请求：KEYS[3] 为就绪标记，KEYS[4]、KEYS[5] 为写库请求数和写过库的会话，ARGV[2] 为 "会话ID:用户ID"，
+   * ARGV[3] 为写库请求数的过期秒数（写库的节点宕机时计数自动失效）
+   */
+  private static final String REGISTER_FALLBACK =
+      "if redis.call('EXISTS', KEYS[3]) == 0 then "
+          + "  redis.call('INCR', KEYS[4]) "
+          + "  redis.call('EXPIRE', KEYS[4], ARGV[3]) "
+          + "  redis.call('SADD', KEYS[5], ARGV[2]) "
+          + "  return "
+          + NOT_READY
+          + " "
+          + "end ";
+
+  /** 会话未读数与总数同时 +1，并标记待回写；未就绪时只登记写库请求 */
+  private static final DefaultRedisScript<Long> INCREMENT_SCRIPT =
+      new DefaultRedisScript<>(
+          REGISTER_FALLBACK
+              + "redis.call('HINCRBY', KEYS[1], ARGV[1], 1) "
+              + "redis.call('HINCRBY', KEYS[1], 'total', 1) "
+              + "redis.call('SADD', KEYS[2], ARGV[2]) "
+              + "return 1",
+          Long.class);
+
+  /** 清零会话未读数并从总数中扣除，返回清零前的值；未就绪时只登记写库请求 */
+  private static final DefaultRedisScript<Long> RESET_SCRIPT =
+      new DefaultRedisScript<>(
+          REGISTER_FALLBACK
+              + "local c = tonumber(redis.call('HGET', KEYS[1], ARGV[1]) or '0') "
+              + "if c > 0 then "
+              + "  redis.call('HDEL', KEYS[1], ARGV[1]) "
+              + "  if redis.call('HINCRBY', KEYS[1], 'total', -c) < 0 then "
+              + "    redis.call('HSET', KEYS[1], 'total', 0) "
+              + "  end "
+              + "end "
+              + "redis.call('SADD', KEYS[2], ARGV[2]) "
+              + "return c",
+          Long.class);
+
+  /** 写库结束：写库请求数 -1，再次登记会话，保证重建在写库完成后重新覆盖 */
+  private static final DefaultRedisScript<Long> FINISH_FALLBACK_SCRIPT =
+      new DefaultRedisScript<>(
+          "if redis.call('DECR', KEYS[1]) <= 0 then redis.call('DEL', KEYS[1]) end "
+              + "redis.call('SADD', KEYS[2], ARGV[1]) "
+              + "return 1",
+          Long.class);
+
+  /** 没有正在写库的请求、也没有待覆盖的会话时写入就绪标记，返回 1；否则返回 0 */
+  private static final DefaultRedisScript<Long> MARK_READY_SCRIPT =
+      new DefaultRedisScript<>(
+          "if tonumber(redis.call('GET', KEYS[1]) or '0') > 0 "
+              + "  or redis.call('SCARD', KEYS[2]) > 0 then return 0 end "
+              + "redis.call('SET', KEYS[3], ARGV[1]) "
+              + "return 1",
+          Long.class);
+
+  /** 按库中的值覆盖会话未读数（0 则删除 field），总数按差值调整：KEYS[1] 为用户计数，ARGV[1] 为会话ID，ARGV[2] 为未读数 */
+  private static final byte[] OVERWRITE_SCRIPT =
+      ("local old = tonumber(redis.call('HGET', KEYS[1], ARGV[1]) or '0') "
+              + "local new = tonumber(ARGV[2]) "
+              + "if new > 0 then redis.call('HSET', KEYS[1], ARGV[1], new) "
+              + "else redis.call('HDEL', KEYS[1], ARGV[1]) end "
+              + "if new ~= old and redis.call('HINCRBY', KEYS[1], 'total', new - old) < 0 then "
+              + "  redis.call('HSET', KEYS[1], 'total', 0) "
+              + "end "
+              + "return new - old")
+          .getBytes(StandardCharsets.UTF_8);
+
+  @Autowired private RedisTemplate<String, String> redisTemplate;
+
+  @Autowired private ConversationMapper conversationMapper;
+
+  /** 写库请求数的过期时间（秒），应长于单次写库的耗时 */
+  @Value("${message.unread.fallback-inflight-ttl-seconds:60}")
+  private long inflightTtlSeconds;
+
+  private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+
+  private ExecutorService rebuildExecutor;
+
+  @PostConstruct
+  public void initRebuildExecutor() {
+    rebuildExecutor =
+        Executors.newSingleThreadExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, "unread-rebuild");
+              thread.setDaemon(true);
+              return thread;
+            });
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    rebuildExecutor.shutdownNow();
+  }
+
+  @Override
+  public void increment(Long receiverId, Long conversationId) {
+    runAfterCommit(
+        () ->
+            apply(
+                INCREMENT_SCRIPT,
+                receiverId,
+                conversationId,
+                () -> conversationMapper.incrementUnreadCount(conversationId, receiverId)));
+  }
+
+  @Override
+  public void reset(Long userId, Long conversationId) {
+    runAfterCommit(
+        () ->
+            apply(
+                RESET_SCRIPT,
+                userId,
+                conversationId,
+                () -> conversationMapper.updateUnreadCount(conversationId, userId, 0)));
+  }
+
+  /** 在 Redis 中增减计数；计数未就绪时改为写库，并在写库结束后登记待重建覆盖 */
+  private void apply(
+      DefaultRedisScript<Long> script, Long userId, Long conversationId, Runnable fallback) {
+    String member = dirtyMember(conversationId, userId);
+    Long result =
+        redisTemplate.execute(
+            script,
+            List.of(unreadKey(userId), DIRTY_KEY, READY_KEY, INFLIGHT_KEY, TOUCHED_KEY),
+            String.valueOf(conversationId),
+            member,
+            String.valueOf(inflightTtlSeconds));
+    if (result == null || result != NOT_READY) {
+      return;
+    }
+    try {
+      fallback.run();
+    } finally {
+      redisTemplate.execute(FINISH_FALLBACK_SCRIPT, List.of(INFLIGHT_KEY, TOUCHED_KEY), member);
+    }
+    requestRebuild();
+  }
+
+  @Override
+  public int getTotal(Long userId) {
+    if (!isReady()) {
+      // 计数尚未重建完成，退回数据库汇总；未就绪期间的增减都直接写库，库中的值是准确的
+      requestRebuild();
+      Integer total = conversationMapper.sumUnreadCount(userId);
+      return total == null ? 0 : total;
+    }
+    Object total = redisTemplate.opsForHash().get(unreadKey(userId), TOTAL_FIELD);
+    return total == null ? 0 : Math.max(Integer.parseInt(total.toString()), 0);
+  }
+
+  @Override
+  public Map<Long, Integer> getConversationCounts(Long userId) {
+    if (!isReady()) {
+      requestRebuild();
+      return null;
+    }
+    Map<Object, Object> entries = redisTemplate.opsForHash().entries(unreadKey(userId));
+    Map<Long, Integer> counts = new HashMap<>();
+    entries.forEach(
+        (field, value) -> {
+          if (!TOTAL_FIELD.equals(field)) {
+            counts.put(Long.valueOf(field.toString()), Integer.valueOf(value.toString()));
+          }
+        });
+    return counts;
+  }
+
+  /** 定时将变更过的未读数回写到 conversation 表 */
+  @Scheduled(fixedDelayString = "${message.unread.flush-interval-ms:2000}")
+  public void flushDirtyCounts() {
+    // 重建期间不回写，避免把部分重建的计数写回数据库
+    if (!isReady()) {
+      return;
+    }
+    List<String> members;
+    while ((members = redisTemplate.opsForSet().pop(DIRTY_KEY, FLUSH_BATCH_SIZE)) != null
+        && !members.isEmpty()) {
+      for (String member : members) {
+        try {
+          String[] parts = member.split(":");
+          Long conversationId = Long.valueOf(parts[0]);
+          Long userId = Long.valueOf(parts[1]);
+          Object count = redisTemplate.opsForHash().get(unreadKey(userId), parts[0]);
+          conversationMapper.updateUnreadCount(
+              conversationId, userId, count == null ? 0 : Integer.parseInt(count.toString()));
+        } catch (Exception e) {
+          log.error("回写未读数失败，稍后重试: {}", member, e);
+          redisTemplate.opsForSet().add(DIRTY_KEY, member);
+          return;
+        }
+      }
+    }
+  }
+
+  /** 启动后检查一次计数是否就绪 */
+  @EventListener(ApplicationReadyEvent.class)
+  public void onApplicationReady() {
+    requestRebuild();
+  }
+
+  /** 定时检查就绪标记，运行中 Redis 数据丢失时也能及时重建 */
+  @Scheduled(fixedDelayString = "${message.unread.rebuild-check-interval-ms:10000}")
+  public void scheduledRebuildCheck() {
+    requestRebuild();
+  }
+
+  /** 标记缺失时交给重建线程，同一时刻本节点最多排队一次 */
+  private void requestRebuild() {
+    try {
+      if (isReady() || !rebuildScheduled.compareAndSet(false, true)) {
+        return;
+      }
+    } catch (Exception e) {
+      log.warn("检查未读计数就绪标记失败", e);
+      return;
+    }
+    try {
+      rebuildExecutor.execute(
+          () -> {
+            try {
+              rebuildIfNecessary();
+            } finally {
+              rebuildScheduled.set(false);
+            }
+          });
+    } catch (Exception e) {
+      rebuildScheduled.set(false);
+      log.warn("提交未读计数重建失败", e);
+    }
+  }
+
+  /** Redis 中没有计数时（首次部署或 Redis 数据丢失）抢锁从 conversation 表重建 */
+  public void rebuildIfNecessary() {
+    try {
+      if (isReady()) {
+        return;
+      }
+      Boolean locked =
+          redisTemplate.opsForValue().setIfAbsent(REBUILD_LOCK_KEY, "1", 10, TimeUnit.MINUTES);
+      if (!Boolean.TRUE.equals(locked)) {
+        log.debug("其他节点正在重建未读计数，跳过");
+        return;
+      }
+      try {
+        rebuild();
+        if (!overwriteTouchedAndMarkReady()) {
+          log.warn("重建期间持续有写库请求，未写入就绪标记，等待下次检查");
+        }
+      } finally {
+        redisTemplate.delete(REBUILD_LOCK_KEY);
+      }
+    } catch (Exception e) {
+      log.error("重建未读计数失败，未读数继续以数据库为准，等待下次检查", e);
+    }
+  }
+
+  private void rebuild() {
+    int cleared = clearUserCounts();
+    long lastId = 0L;
+    int conversations = 0;
+    while (true) {
+      List<Conversation> batch =
+          conversationMapper.selectList(
+              unreadColumns()
+                  .gt(Conversation::getId, lastId)
+                  .and(
+                      w ->
+                          w.gt(Conversation::getUnreadCountUser1, 0)
+                              .or()
+                              .gt(Conversation::getUnreadCountUser2, 0))
+                  .orderByAsc(Conversation::getId)
+                  .last("LIMIT " + REBUILD_BATCH_SIZE));
+      if (batch.isEmpty()) {
+        break;
+      }
+      overwrite(batch);
+      conversations += batch.size();
+      lastId = batch.get(batch.size() - 1).getId();
+    }
+    log.info("未读计数重建完成: 清除旧计数={}, 会话数={}", cleared, conversations);
+  }
+
+  /**
+   * 删除残留的用户计数：就绪标记丢失而计数 Hash 还在时（如标记被误删、部分数据淘汰），库中已清零的会话不会被重建覆盖，
+   * 旧的非零 field 和 total 会一直留在 Redis 中。未就绪期间增减只写库、查询走库，删除不会丢失计数
+   *
+   * @return 删除的 key 数
+   */
+  private int clearUserCounts() {
+    List<String> keys = new ArrayList<>();
+    int cleared = 0;
+    ScanOptions options =
+        ScanOptions.scanOptions().match(UNREAD_KEY_PREFIX + "*").count(1000).build();
+    try (Cursor<String> cursor = redisTemplate.scan(options)) {
+      while (cursor.hasNext()) {
+        String key = cursor.next();
+        // 只删 message:unread:{userId}，dirty、ready 等同前缀的管理 key 保留
+        if (USER_KEY_PATTERN.matcher(key).matches()) {
+          keys.add(key);
+        }
+        if (keys.size() >= FLUSH_BATCH_SIZE) {
+          redisTemplate.delete(keys);
+          cleared += keys.size();
+          keys.clear();
+        }
+      }
+    }
+    if (!keys.isEmpty()) {
+      redisTemplate.delete(keys);
+      cleared += keys.size();
+    }
+    return cleared;
+  }
+
+  /**
+   * 重建期间写过库的会话按库中最新值重新覆盖，直到没有正在写库的请求、也没有待覆盖的会话，再原子地写入就绪标记
+   *
+   * @return 是否已写入就绪标记
+   */
+  private boolean overwriteTouchedAndMarkReady() throws InterruptedException {
+    for (int attempt = 0; attempt < FINISH_ATTEMPTS; attempt++) {
+      List<String> members;
+      while ((members = redisTemplate.opsForSet().pop(TOUCHED_KEY, FLUSH_BATCH_SIZE)) != null
+          && !members.isEmpty()) {
+        overwriteMembers(members);
+      }
+      Long ready =
+          redisTemplate.execute(
+              MARK_READY_SCRIPT,
+              List.of(INFLIGHT_KEY, TOUCHED_KEY, READY_KEY),
+              String.valueOf(System.currentTimeMillis()));
+      if (Long.valueOf(1L).equals(ready)) {
+        return true;
+      }
+      Thread.sleep(100);
+    }
+    return false;
+  }
+
+  /** 按库中最新值覆盖 "会话ID:用户ID" 对应的计数，会话已删除的记为 0 */
+  private void overwriteMembers(List<String> members) {
+    List<Long> ids =
+        members.stream().map(member -> Long.valueOf(member.split(":")[0])).distinct().toList();
+    Map<Long, Conversation> conversations =
+        conversationMapper.selectList(unreadColumns().in(Conversation::getId, ids)).stream()
+            .collect(Collectors.toMap(Conversation::getId, Function.identity()));
+    redisTemplate.executePipelined(
+        (RedisCallback<Object>)
+            connection -> {
+              for (String member : members) {
+                String[] parts = member.split(":");
+                Long userId = Long.valueOf(parts[1]);
+                Conversation conv = conversations.get(Long.valueOf(parts[0]));
+                Integer count = null;
+                if (conv != null) {
+                  count =
+                      userId.equals(conv.getUser1Id())
+                          ? conv.getUnreadCountUser1()
+                          : conv.getUnreadCountUser2();
+                }
+                overwriteOne(connection, userId, parts[0], count);
+              }
+              return null;
+            });
+  }
+
+  /** 按库中的值覆盖一批会话双方的计数 */
+  private void overwrite(List<Conversation> batch) {
+    redisTemplate.executePipelined(
+        (RedisCallback<Object>)
+            connection -> {
+              for (Conversation conv : batch) {
+                String field = String.valueOf(conv.getId());
+                overwriteOne(connection, conv.getUser1Id(), field, conv.getUnreadCountUser1());
+                overwriteOne(connection, conv.getUser2Id(), field, conv.getUnreadCountUser2());
+              }
+              return null;
+            });
+  }
+
+  private static void overwriteOne(
+      RedisConnection connection,
+      Long userId,
+      String conversationId,
+      Integer count) {
+    connection
+        .scriptingCommands()
+        .eval(
+            OVERWRITE_SCRIPT,
+            ReturnType.INTEGER,
+            1,
+            unreadKey(userId).getBytes(StandardCharsets.UTF_8),
+            conversationId.getBytes(StandardCharsets.UTF_8),
+            String.valueOf(count == null ? 0 : Math.max(count, 0))
+                .getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static LambdaQueryWrapper<Conversation> unreadColumns() {
+    return new LambdaQueryWrapper<Conversation>()
+        .select(
+            Conversation::getId,
+            Conversation::getUser1Id,
+            Conversation::getUser2Id,
+            Conversation::getUnreadCountUser1,
+            Conversation::getUnreadCountUser2);
+  }
+
+  private boolean isReady() {
+    return Boolean.TRUE.equals(redisTemplate.hasKey(READY_KEY));
+  }
+
+  private static String unreadKey(Long userId) {
+    return UNREAD_KEY_PREFIX + userId;
+  }
+
+  private static String dirtyMember(Long conversationId, Long userId) {
+    return conversationId + ":" + userId;
+  }
+}
@@ -2,9 +2,11 @@ package com.SmartHire.messageService.websocket;
 
 import com.SmartHire.common.utils.JwtUtil;
 import com.SmartHire.messageService.service.OfflineMessageService;
+import com.SmartHire.messageService.service.PresenceService;
 import jakarta.websocket.*;
 import jakarta.websocket.server.ServerEndpoint;
 import java.io.IOException;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -28,8 +30,19 @@ public class MessageWebSocket {
   // 用于快速获取用户ID
   private static final ConcurrentHashMap<Session, Long> sessionToUserId = new ConcurrentHashMap<>();
 
+  // 会话 -> 出站发送器
+  private static final ConcurrentHashMap<Session, SessionSender> sessionSenders =
+      new ConcurrentHashMap<>();
+
   private static JwtUtil jwtUtil;
 
+  private static SessionSenderFactory sessionSenderFactory;
+
+  @Autowired
+  public void setSessionSenderFactory(SessionSenderFactory factory) {
+    sessionSenderFactory = factory;
+  }
+
   @Autowired
   public void setJwtUtil(JwtUtil jwtUtil) {
     MessageWebSocket.jwtUtil = jwtUtil;
@@ -37,6 +50,13 @@ public class MessageWebSocket {
 
   private static OfflineMessageService offlineMessageService;
 
+  private static PresenceService presenceService;
+
+  @Autowired
+  public void setPresenceService(PresenceService service) {
+    presenceService = service;
+  }
+
   @Autowired
   public void setOfflineMessageService(OfflineMessageService service) {
     offlineMessageService = service;
@@ -69,12 +89,21 @@ public class MessageWebSocket {
 
       // 3. 建立映射关系
       session.getUserProperties().put("userId", userId);
+      sessionSenders.put(session, sessionSenderFactory.create(session));
 
       // 4. 添加会话
-      userSessions.computeIfAbsent(userId, k -> ConcurrentHashMap.newKeySet()).add(session);
+      Set<Session> sessions =
+          userSessions.computeIfAbsent(userId, k -> ConcurrentHashMap.newKeySet());
+      boolean firstSession = sessions.isEmpty();
+      sessions.add(session);
 
       sessionToUserId.put(session, userId);
 
+      // 该用户在本节点的第一个连接：登记到集群在线注册表
+      if (firstSession) {
+        presenceService.online(userId);
+      }
+
       // 用户上线后推送未读消息
       offlineMessageService.pushUnreadMessages(userId, session);
 
@@ -100,6 +129,11 @@ public class MessageWebSocket {
    */
   @OnClose
   public void onClose(Session session) {
+    SessionSender sender = sessionSenders.remove(session);
+    if (sender != null) {
+      sender.close();
+      log.debug("WebSocket 会话发送统计: {}", sender.getStats());
+    }
     Long userId = (Long) session.getUserProperties().get("userId");
     if (userId != null) {
       // 移除会话
@@ -108,6 +142,7 @@ public class MessageWebSocket {
         sessions.remove(session);
         if (sessions.isEmpty()) {
           userSessions.remove(userId);
+          presenceService.offline(userId);
         }
       }
       sessionToUserId.remove(session);
@@ -132,11 +167,13 @@ public class MessageWebSocket {
 
     // 心跳处理：客户端发送 "ping"，服务端回复 "pong"
     if ("ping".equals(message)) {
-      try {
-        session.getBasicRemote().sendText("pong");
-      } catch (IOException e) {
-        log.error("发送心跳回复失败", e);
-      }
+      send(session, "pong");
+      return;
+    }
+
+    // 批量回放模式：客户端确认已处理的离线消息批次，"ack:{cursor}"
+    if (userId != null && message != null && message.startsWith("ack:")) {
+      offlineMessageService.acknowledge(userId, session, message.substring(4));
     }
   }
 
@@ -165,25 +202,67 @@ public class MessageWebSocket {
       return false; // 用户不在线，消息已保存，下次上线可拉取
     }
 
+    // 只入队，不在调用线程（如 Rabbit 消费线程）上阻塞等待 Socket 写出
     boolean success = false;
     for (Session session : sessions) {
-      try {
-        session.getBasicRemote().sendText(message);
+      if (send(session, message)) {
         success = true;
-      } catch (IOException e) {
-        log.error("向用户 {} 推送消息失败: {}", userId, e.getMessage());
+      } else {
+        log.warn("向用户 {} 推送消息失败: sessionId={}", userId, session.getId());
       }
     }
     return success;
   }
 
   /**
-   * 检查用户是否在线
+   * 向指定会话异步发送消息
+   *
+   * @param session 会话
+   * @param message 消息内容
+   * @return 是否成功入队
+   */
+  public static boolean send(Session session, String message) {
+    SessionSender sender = sessionSenders.get(session);
+    return sender != null && sender.send(message);
+  }
+
+  /**
+   * 指定会话出站队列的剩余容量
+   *
+   * @param session 会话
+   * @return 剩余容量，会话不存在时为 0
+   */
+  public static int remainingCapacity(Session session) {
+    SessionSender sender = sessionSenders.get(session);
+    return sender == null ? 0 : sender.remainingCapacity();
+  }
+
+  /** 当前节点所有会话的发送统计 */
+  public static List<SessionSender.SendStats> getSessionStats() {
+    return sessionSenders.values().stream().map(SessionSender::getStats).toList();
+  }
+
+  /**
+   * 检查用户是否在线（集群范围：任一节点持有该用户连接即视为在线）
    *
    * @param userId
    */
   public static boolean isUserOnline(Long userId) {
+    return presenceService.isOnline(userId);
+  }
+
+  /**
+   * 检查用户是否在当前节点有连接
+   *
+   * @param userId
+   */
+  public static boolean hasLocalSession(Long userId) {
     Set<Session> sessions = userSessions.get(userId);
     return sessions != null && !sessions.isEmpty();
   }
+
+  /** 当前节点上所有在线用户ID（用于在线状态心跳续期） */
+  public static Set<Long> getLocalUserIds() {
+    return Set.copyOf(userSessions.keySet());
+  }
 }
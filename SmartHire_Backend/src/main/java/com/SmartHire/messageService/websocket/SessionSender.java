@@ -0,0 +1,196 @@
+package com.SmartHire.messageService.websocket;
+
+import jakarta.websocket.CloseReason;
+import jakarta.websocket.Session;
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 单个 WebSocket 会话的出站发送器
+ *
+ * <p>调用方只把消息放入有界队列即返回，不在调用线程上做任何 Socket I/O；队列由 {@code getAsyncRemote()} 逐条异步排空，同一时刻每个会话最多一条在途发送。
+ * 队列写满说明客户端消费过慢，按 {@link OverflowPolicy} 丢弃最旧消息或关闭连接（客户端重连后由离线补偿重新推送未读消息）
+ */
+@Slf4j
+public class SessionSender {
+
+  /** 队列溢出策略 */
+  public enum OverflowPolicy {
+    /** 丢弃队列中最旧的一条消息 */
+    DROP_OLDEST,
+    /** 关闭慢连接 */
+    CLOSE
+  }
+
+  /** 待发送帧，记录入队时间用于统计发送延迟 */
+  private record Frame(String text, long enqueuedAt) {}
+
+  private final Session session;
+  private final BlockingQueue<Frame> queue;
+  private final int capacity;
+  private final OverflowPolicy overflowPolicy;
+  private final WebSocketSendMetrics metrics;
+
+  /** 是否有一条异步发送在途 */
+  private final AtomicBoolean sending = new AtomicBoolean(false);
+
+  private volatile boolean closed;
+
+  private final AtomicLong sentCount = new AtomicLong();
+  private final AtomicLong droppedCount = new AtomicLong();
+  private final AtomicLong maxLatencyNanos = new AtomicLong();
+  private volatile long lastLatencyNanos;
+
+  SessionSender(
+      Session session, int capacity, OverflowPolicy overflowPolicy, WebSocketSendMetrics metrics) {
+    this.session = session;
+    this.capacity = capacity;
+    this.queue = new ArrayBlockingQueue<>(capacity);
+    this.overflowPolicy = overflowPolicy;
+    this.metrics = metrics;
+  }
+
+  /**
+   * 异步发送文本消息，立即返回
+   *
+   * @param text 消息内容
+   * @return 是否成功入队
+   */
+  public boolean send(String text) {
+    if (closed || !session.isOpen()) {
+      return false;
+    }
+    Frame frame = new Frame(text, System.nanoTime());
+    if (!queue.offer(frame)) {
+      if (!handleOverflow(frame)) {
+        return false;
+      }
+    }
+    metrics.recordQueueDepth(queue.size());
+    drain();
+    return true;
+  }
+
+  /**
+   * 当前队列剩余容量
+   *
+   * @return 剩余可入队条数
+   */
+  public int remainingCapacity() {
+    return queue.remainingCapacity();
+  }
+
+  /** 停止发送并清空队列 */
+  public void close() {
+    closed = true;
+    queue.clear();
+  }
+
+  /** 当前会话的发送统计 */
+  public SendStats getStats() {
+    return new SendStats(
+        session.getId(),
+        queue.size(),
+        capacity,
+        sentCount.get(),
+        droppedCount.get(),
+        lastLatencyNanos / 1_000_000,
+        maxLatencyNanos.get() / 1_000_000);
+  }
+
+  /**
+   * 会话发送统计
+   *
+   * @param sessionId 会话ID
+   * @param queueDepth 当前排队条数
+   * @param capacity 队列容量
+   * @param sent 已发送条数
+   * @param dropped 丢弃条数
+   * @param lastLatencyMs 最近一次发送延迟（入队到发送完成，毫秒）
+   * @param maxLatencyMs 最大发送延迟（毫秒）
+   */
+  public record SendStats(
+      String sessionId,
+      int queueDepth,
+      int capacity,
+      long sent,
+      long dropped,
+      long lastLatencyMs,
+      long maxLatencyMs) {}
+
+  private boolean handleOverflow(Frame frame) {
+    droppedCount.incrementAndGet();
+    metrics.recordDropped();
+    if (overflowPolicy == OverflowPolicy.DROP_OLDEST) {
+      queue.poll();
+      log.warn("WebSocket 发送队列已满，丢弃最旧消息: sessionId={}", session.getId());
+      return queue.offer(frame);
+    }
+    log.warn("WebSocket 发送队列已满，关闭慢连接: sessionId={}, capacity={}", session.getId(), capacity);
+    close();
+    try {
+      session.close(
+          new CloseReason(CloseReason.CloseCodes.TRY_AGAIN_LATER, "outbound queue overflow"));
+    } catch (IOException e) {
+      log.warn("关闭慢连接失败: sessionId={}", session.getId(), e);
+    }
+    return false;
+  }
+
+  /** 若当前没有在途发送，取出队首消息异步发送；发送完成回调中继续排空，发送时同步抛出异常的跳过该条继续 */
+  private void drain() {
+    while (!closed && sending.compareAndSet(false, true)) {
+      Frame frame = queue.poll();
+      if (frame == null) {
+        sending.set(false);
+        // 释放标记后再次检查，避免与并发入队产生竞争导致消息滞留
+        if (queue.isEmpty()) {
+          return;
+        }
+        continue;
+      }
+      try {
+        session
+            .getAsyncRemote()
+            .sendText(
+                frame.text(),
+                result -> {
+                  onComplete(frame, result.isOK(), result.getException());
+                  sending.set(false);
+                  drain();
+                });
+      } catch (RuntimeException e) {
+        onComplete(frame, false, e);
+        sending.set(false);
+        if (!session.isOpen()) {
+          // 会话已断开，剩余消息也无法送达
+          close();
+          return;
+        }
+        // 同步抛出的异常只影响这一条，继续排空，否则剩余消息要等到下次入队才会发送
+        continue;
+      }
+      return;
+    }
+  }
+
+  private void onComplete(Frame frame, boolean ok, Throwable error) {
+    long latency = System.nanoTime() - frame.enqueuedAt();
+    lastLatencyNanos = latency;
+    maxLatencyNanos.accumulateAndGet(latency, Math::max);
+    metrics.recordSend(latency, ok);
+    if (ok) {
+      sentCount.incrementAndGet();
+    } else {
+      droppedCount.incrementAndGet();
+      log.warn(
+          "WebSocket 异步发送失败: sessionId={}, error={}",
+          session.getId(),
+          error == null ? null : error.getMessage());
+    }
+  }
+}
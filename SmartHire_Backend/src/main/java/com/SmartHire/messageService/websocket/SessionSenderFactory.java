@@ -0,0 +1,23 @@
+package com.SmartHire.messageService.websocket;
+
+import jakarta.websocket.Session;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/** 创建 {@link SessionSender}，统一读取出站队列容量与溢出策略配置 */
+@Component
+public class SessionSenderFactory {
+
+  @Value("${message.websocket.send-queue-capacity:256}")
+  private int capacity;
+
+  @Value("${message.websocket.overflow-policy:CLOSE}")
+  private SessionSender.OverflowPolicy overflowPolicy;
+
+  @Autowired private WebSocketSendMetrics metrics;
+
+  public SessionSender create(Session session) {
+    return new SessionSender(session, capacity, overflowPolicy, metrics);
+  }
+}
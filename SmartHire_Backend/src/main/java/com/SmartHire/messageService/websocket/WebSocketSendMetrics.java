@@ -0,0 +1,49 @@
+package com.SmartHire.messageService.websocket;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.TimeUnit;
+import org.springframework.stereotype.Component;
+
+/** WebSocket 出站发送指标 汇总所有会话的发送延迟、排队深度、失败与丢弃次数 */
+@Component
+public class WebSocketSendMetrics {
+
+  private final Timer sendLatency;
+  private final DistributionSummary queueDepth;
+  private final Counter sendFailed;
+  private final Counter dropped;
+
+  public WebSocketSendMetrics(MeterRegistry registry) {
+    this.sendLatency =
+        Timer.builder("websocket.send.latency")
+            .description("消息从入队到异步发送完成的耗时")
+            .publishPercentiles(0.5, 0.99)
+            .register(registry);
+    this.queueDepth =
+        DistributionSummary.builder("websocket.send.queue.depth")
+            .description("入队时的会话出站队列深度")
+            .register(registry);
+    this.sendFailed =
+        Counter.builder("websocket.send.failed").description("异步发送失败次数").register(registry);
+    this.dropped =
+        Counter.builder("websocket.send.dropped").description("因队列溢出丢弃的消息数").register(registry);
+  }
+
+  void recordSend(long latencyNanos, boolean ok) {
+    sendLatency.record(latencyNanos, TimeUnit.NANOSECONDS);
+    if (!ok) {
+      sendFailed.increment();
+    }
+  }
+
+  void recordQueueDepth(int depth) {
+    queueDepth.record(depth);
+  }
+
+  void recordDropped() {
+    dropped.increment();
+  }
+}
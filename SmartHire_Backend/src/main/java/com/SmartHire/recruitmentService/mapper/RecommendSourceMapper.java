@@ -0,0 +1,59 @@
+package com.SmartHire.recruitmentService.mapper;
+
+import com.SmartHire.recruitmentService.model.RecommendExpectationRow;
+import com.SmartHire.recruitmentService.model.RecommendJobRow;
+import com.SmartHire.recruitmentService.model.RecommendSeekerRow;
+import java.util.Collection;
+import java.util.List;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+/** 岗位推荐数据源 Mapper 接口，只读 */
+@Mapper
+public interface RecommendSourceMapper {
+
+    /**
+     * 按岗位ID升序分批读取招聘中的岗位
+     *
+     * @param afterJobId 上一批最后一个岗位ID，首批传 null
+     * @param limit      每批条数
+     * @return 岗位特征行
+     */
+    List<RecommendJobRow> selectActiveJobs(
+            @Param("afterJobId") Long afterJobId, @Param("limit") Integer limit);
+
+    /**
+     * 读取单个岗位，不限状态，用于增量更新
+     *
+     * @param jobId 岗位ID
+     * @return 岗位特征行，岗位或其公司不存在时返回 null
+     */
+    RecommendJobRow selectJobById(@Param("jobId") Long jobId);
+
+    /**
+     * 按求职者ID升序分批读取求职者画像
+     *
+     * @param afterSeekerId 上一批最后一个求职者ID，首批传 null
+     * @param limit         每批条数
+     * @return 求职者画像行
+     */
+    List<RecommendSeekerRow> selectSeekers(
+            @Param("afterSeekerId") Long afterSeekerId, @Param("limit") Integer limit);
+
+    /**
+     * 读取单个求职者画像
+     *
+     * @param jobSeekerId 求职者ID
+     * @return 求职者画像行，求职者不存在时返回 null
+     */
+    RecommendSeekerRow selectSeekerById(@Param("jobSeekerId") Long jobSeekerId);
+
+    /**
+     * 批量读取求职期望
+     *
+     * @param jobSeekerIds 求职者ID集合
+     * @return 求职期望行
+     */
+    List<RecommendExpectationRow> selectExpectations(
+            @Param("jobSeekerIds") Collection<Long> jobSeekerIds);
+}
@@ -0,0 +1,24 @@
+package com.SmartHire.recruitmentService.model;
+
+import java.math.BigDecimal;
+import lombok.Data;
+
+/** 岗位推荐的求职期望行 只读 */
+@Data
+public class RecommendExpectationRow {
+
+  /** 求职者ID */
+  private Long jobSeekerId;
+
+  /** 期望职位 */
+  private String expectedPosition;
+
+  /** 期望工作城市 */
+  private String workCity;
+
+  /** 期望薪资最低 */
+  private BigDecimal salaryMin;
+
+  /** 期望薪资最高 */
+  private BigDecimal salaryMax;
+}
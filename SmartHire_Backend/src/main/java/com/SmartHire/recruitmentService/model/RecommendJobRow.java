@@ -0,0 +1,40 @@
+package com.SmartHire.recruitmentService.model;
+
+import java.math.BigDecimal;
+import java.util.Date;
+import lombok.Data;
+
+/** 岗位推荐的岗位特征行 只读，按岗位ID分批读取 */
+@Data
+public class RecommendJobRow {
+
+  /** 岗位ID */
+  private Long jobId;
+
+  /** 状态：0-已下线 1-招聘中 2-已暂停 */
+  private Integer status;
+
+  /** 职位类型：0-全职 1-实习 */
+  private Integer jobType;
+
+  /** 岗位名称 */
+  private String jobTitle;
+
+  /** 公司名称 */
+  private String companyName;
+
+  /** 工作城市 */
+  private String city;
+
+  /** 学历要求：0-不限 1-专科 2-本科 3-硕士 4-博士 */
+  private Integer educationRequired;
+
+  /** 薪资最低 */
+  private BigDecimal salaryMin;
+
+  /** 薪资最高 */
+  private BigDecimal salaryMax;
+
+  /** 发布时间 */
+  private Date publishedAt;
+}
@@ -0,0 +1,20 @@
+package com.SmartHire.recruitmentService.model;
+
+import lombok.Data;
+
+/** 岗位推荐的求职者画像行 只读，按求职者ID分批读取 */
+@Data
+public class RecommendSeekerRow {
+
+  /** 求职者ID */
+  private Long jobSeekerId;
+
+  /** 当前城市 */
+  private String currentCity;
+
+  /** 最高学历 0-高中及以下 1-专科 2-本科 3-硕士 4-博士 */
+  private Integer education;
+
+  /** 最高学历对应的专业 */
+  private String major;
+}
@@ -0,0 +1,283 @@
+package com.SmartHire.recruitmentService.recommend;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.roaringbitmap.RoaringBitmap;
+
+/**
+ * 一类岗位（全职或实习）的推荐候选索引
+ *
+ * <p>按城市、学历要求维护岗位ID位图，为求职者先取学历满足且位于其城市的岗位作为候选，候选不足 K 个时依次放宽到学历满足的岗位、
+ * 全部岗位，再用 {@link MatchFeatureModel} 打分取前 K。岗位ID按无符号 32 位存入位图
+ */
+public class JobCandidateIndex {
+
+  /** 学历要求取值上限：4-博士 */
+  private static final int MAX_EDUCATION = 4;
+
+  /** 同分时新发布的排前，再按岗位ID倒序 */
+  private static final Comparator<Scored> BETTER_FIRST =
+      Comparator.comparingInt(Scored::score)
+          .thenComparingLong(s -> s.job().publishedAt())
+          .thenComparingLong(s -> s.job().jobId())
+          .reversed();
+
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+  private final Map<Long, JobFeatures> jobs = new HashMap<>();
+
+  private final RoaringBitmap all = new RoaringBitmap();
+
+  private final Map<String, RoaringBitmap> byCity = new HashMap<>();
+
+  /** 下标为学历要求（不限记为 0） */
+  private final RoaringBitmap[] byEducation = new RoaringBitmap[MAX_EDUCATION + 1];
+
+  public JobCandidateIndex() {
+    for (int i = 0; i <= MAX_EDUCATION; i++) {
+      byEducation[i] = new RoaringBitmap();
+    }
+  }
+
+  /** 岗位ID能否放入 32 位位图 */
+  public static boolean isIndexable(long jobId) {
+    return jobId >= 0 && jobId <= 0xFFFFFFFFL;
+  }
+
+  /** 新增或替换岗位 */
+  public void put(JobFeatures job) {
+    if (!isIndexable(job.jobId())) {
+      throw new IllegalArgumentException("岗位ID超出索引范围: " + job.jobId());
+    }
+    lock.writeLock().lock();
+    try {
+      removeLocked(job.jobId());
+      int bit = (int) job.jobId();
+      jobs.put(job.jobId(), job);
+      all.add(bit);
+      if (job.city() != null) {
+        byCity.computeIfAbsent(job.city(), k -> new RoaringBitmap()).add(bit);
+      }
+      byEducation[educationSlot(job)].add(bit);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * 移除岗位
+   *
+   * @return 移除前的岗位特征，不存在时返回 null
+   */
+  public JobFeatures remove(long jobId) {
+    lock.writeLock().lock();
+    try {
+      return removeLocked(jobId);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  public JobFeatures get(long jobId) {
+    lock.readLock().lock();
+    try {
+      return jobs.get(jobId);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  public int size() {
+    lock.readLock().lock();
+    try {
+      return jobs.size();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * 为求职者取匹配分最高的 K 个岗位
+   *
+   * @param seeker 求职者画像
+   * @param k 个数
+   * @return 按匹配分降序的岗位
+   */
+  public List<RecommendedJob> topK(SeekerProfile seeker, int k) {
+    List<JobFeatures> candidates;
+    lock.readLock().lock();
+    try {
+      RoaringBitmap pool = candidates(seeker, k);
+      candidates = new ArrayList<>(pool.getCardinality());
+      pool.forEach((int bit) -> candidates.add(jobs.get(Integer.toUnsignedLong(bit))));
+    } finally {
+      lock.readLock().unlock();
+    }
+
+    // 小顶堆保留最好的 K 个，堆顶为其中最差的
+    PriorityQueue<Scored> top = new PriorityQueue<>(k + 1, BETTER_FIRST.reversed());
+    float[] features = new float[MatchFeatureModel.DIMENSIONS];
+    for (JobFeatures job : candidates) {
+      MatchFeatureModel.extract(seeker, job, features);
+      top.offer(new Scored(job, MatchFeatureModel.score(features)));
+      if (top.size() > k) {
+        top.poll();
+      }
+    }
+    List<Scored> ranked = new ArrayList<>(top);
+    ranked.sort(BETTER_FIRST);
+    return ranked.stream().map(s -> new RecommendedJob(s.job().jobId(), s.score())).toList();
+  }
+
+  /**
+   * 求职者当前的候选范围，与 {@link #topK} 的放宽规则一致
+   *
+   * @param seeker 求职者画像
+   * @param k 个数
+   */
+  public Pool pool(SeekerProfile seeker, int k) {
+    return poolChange(seeker, k, null, null).after();
+  }
+
+  /**
+   * 一次岗位变更前后求职者的候选范围，用于增量更新：变更后的范围按当前索引计算，变更前的范围在计数中扣除新版本、
+   * 加回旧版本后套用同样的放宽规则。调用时索引应已替换为新版本
+   *
+   * @param seeker 求职者画像
+   * @param k 个数
+   * @param previous 本索引中的旧版本，不存在时为 null
+   * @param current 本索引中的新版本，已移除时为 null
+   */
+  public PoolChange poolChange(
+      SeekerProfile seeker, int k, JobFeatures previous, JobFeatures current) {
+    int eligible;
+    int preferred;
+    lock.readLock().lock();
+    try {
+      RoaringBitmap eligibleJobs = eligible(seeker);
+      eligible = eligibleJobs.getCardinality();
+      preferred =
+          seeker.cities().isEmpty()
+              ? 0
+              : RoaringBitmap.andCardinality(eligibleJobs, inCities(seeker));
+    } finally {
+      lock.readLock().unlock();
+    }
+    int preferredBefore =
+        preferred - bit(Pool.PREFERRED, seeker, current) + bit(Pool.PREFERRED, seeker, previous);
+    int eligibleBefore =
+        eligible - bit(Pool.ELIGIBLE, seeker, current) + bit(Pool.ELIGIBLE, seeker, previous);
+    return new PoolChange(
+        choose(seeker, k, preferredBefore, eligibleBefore), choose(seeker, k, preferred, eligible));
+  }
+
+  /** 岗位是否落在求职者的某一级候选范围内，判断方式与建立候选位图一致 */
+  public static boolean inPool(Pool pool, SeekerProfile seeker, JobFeatures job) {
+    if (job == null) {
+      return false;
+    }
+    boolean eligible =
+        seeker.education() == null
+            || educationSlot(job) <= Math.min(seeker.education(), MAX_EDUCATION);
+    return switch (pool) {
+      case ALL -> true;
+      case ELIGIBLE -> eligible;
+      case PREFERRED -> eligible && job.city() != null && seeker.cities().contains(job.city());
+    };
+  }
+
+  private RoaringBitmap candidates(SeekerProfile seeker, int k) {
+    RoaringBitmap eligible = eligible(seeker);
+    if (!seeker.cities().isEmpty()) {
+      RoaringBitmap preferred = RoaringBitmap.and(eligible, inCities(seeker));
+      if (preferred.getCardinality() >= k) {
+        return preferred;
+      }
+    }
+    return eligible.getCardinality() >= k ? eligible : all;
+  }
+
+  private RoaringBitmap eligible(SeekerProfile seeker) {
+    if (seeker.education() == null) {
+      return all;
+    }
+    RoaringBitmap eligible = new RoaringBitmap();
+    for (int i = 0; i <= Math.min(seeker.education(), MAX_EDUCATION); i++) {
+      eligible.or(byEducation[i]);
+    }
+    return eligible;
+  }
+
+  private RoaringBitmap inCities(SeekerProfile seeker) {
+    RoaringBitmap inCities = new RoaringBitmap();
+    for (String city : seeker.cities()) {
+      RoaringBitmap cityJobs = byCity.get(city);
+      if (cityJobs != null) {
+        inCities.or(cityJobs);
+      }
+    }
+    return inCities;
+  }
+
+  private static Pool choose(SeekerProfile seeker, int k, int preferred, int eligible) {
+    if (!seeker.cities().isEmpty() && preferred >= k) {
+      return Pool.PREFERRED;
+    }
+    return eligible >= k ? Pool.ELIGIBLE : Pool.ALL;
+  }
+
+  private static int bit(Pool pool, SeekerProfile seeker, JobFeatures job) {
+    return inPool(pool, seeker, job) ? 1 : 0;
+  }
+
+  private JobFeatures removeLocked(long jobId) {
+    JobFeatures old = jobs.remove(jobId);
+    if (old == null) {
+      return null;
+    }
+    int bit = (int) jobId;
+    all.remove(bit);
+    if (old.city() != null) {
+      RoaringBitmap cityJobs = byCity.get(old.city());
+      cityJobs.remove(bit);
+      if (cityJobs.isEmpty()) {
+        byCity.remove(old.city());
+      }
+    }
+    byEducation[educationSlot(old)].remove(bit);
+    return old;
+  }
+
+  private static int educationSlot(JobFeatures job) {
+    return Math.max(0, Math.min(job.educationRequired(), MAX_EDUCATION));
+  }
+
+  private record Scored(JobFeatures job, int score) {}
+
+  /** 候选范围，由窄到宽：学历满足且位于求职者城市、学历满足、全部岗位 */
+  public enum Pool {
+    PREFERRED,
+    ELIGIBLE,
+    ALL
+  }
+
+  /**
+   * 岗位变更前后的候选范围
+   *
+   * @param before 变更前
+   * @param after 变更后
+   */
+  public record PoolChange(Pool before, Pool after) {
+
+    /** 候选范围变了，推荐需按新范围整体重算 */
+    public boolean changed() {
+      return before != after;
+    }
+  }
+}
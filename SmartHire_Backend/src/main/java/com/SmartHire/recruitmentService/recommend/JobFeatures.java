@@ -0,0 +1,52 @@
+package com.SmartHire.recruitmentService.recommend;
+
+import com.SmartHire.recruitmentService.model.RecommendJobRow;
+import java.util.Locale;
+
+/**
+ * 岗位推荐特征 由岗位行归一化而来：城市、文本统一小写，缺失的薪资记为 NaN
+ *
+ * @param jobId 岗位ID
+ * @param jobType 职位类型：0-全职 1-实习
+ * @param city 归一化后的工作城市，可能为 null
+ * @param educationRequired 学历要求，不限或缺失记为 0
+ * @param salaryMin 薪资最低
+ * @param salaryMax 薪资最高
+ * @param text 岗位名称 + 公司名称，小写，用于关键词匹配
+ * @param publishedAt 发布时间毫秒，同分时新发布的排前
+ */
+public record JobFeatures(
+    long jobId,
+    int jobType,
+    String city,
+    int educationRequired,
+    double salaryMin,
+    double salaryMax,
+    String text,
+    long publishedAt) {
+
+  public static JobFeatures of(RecommendJobRow row) {
+    String text =
+        ((row.getJobTitle() == null ? "" : row.getJobTitle())
+                + " "
+                + (row.getCompanyName() == null ? "" : row.getCompanyName()))
+            .toLowerCase(Locale.ROOT);
+    return new JobFeatures(
+        row.getJobId(),
+        row.getJobType() == null ? 0 : row.getJobType(),
+        normalizeCity(row.getCity()),
+        row.getEducationRequired() == null ? 0 : row.getEducationRequired(),
+        row.getSalaryMin() == null ? Double.NaN : row.getSalaryMin().doubleValue(),
+        row.getSalaryMax() == null ? Double.NaN : row.getSalaryMax().doubleValue(),
+        text,
+        row.getPublishedAt() == null ? 0L : row.getPublishedAt().getTime());
+  }
+
+  /** 城市统一去空白、小写，空串记为 null */
+  public static String normalizeCity(String city) {
+    if (city == null || city.isBlank()) {
+      return null;
+    }
+    return city.trim().toLowerCase(Locale.ROOT);
+  }
+}
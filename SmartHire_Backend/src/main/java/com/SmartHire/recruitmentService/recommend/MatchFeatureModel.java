@@ -0,0 +1,81 @@
+package com.SmartHire.recruitmentService.recommend;
+
+/**
+ * 岗位匹配特征模型
+ *
+ * <p>每对 (求职者, 岗位) 抽取定长特征向量，各分量取值 0~1，匹配分 = 基础分 + 权重向量 · 特征向量，截断到 0~100。
+ * 特征依次为：关键词命中（专业/期望职位出现在岗位名称或公司名称中，命中 {@value #KEYWORD_SATURATION} 个即满分）、
+ * 学历满足要求、城市为当前城市或期望城市、薪资区间与任一期望区间重叠
+ */
+public final class MatchFeatureModel {
+
+  public static final int KEYWORD = 0;
+
+  public static final int EDUCATION = 1;
+
+  public static final int CITY = 2;
+
+  public static final int SALARY = 3;
+
+  /** 特征维数 */
+  public static final int DIMENSIONS = 4;
+
+  private static final float[] WEIGHTS = {30f, 10f, 5f, 5f};
+
+  private static final int BASE_SCORE = 50;
+
+  /** 关键词命中个数达到该值即记满分 */
+  private static final int KEYWORD_SATURATION = 3;
+
+  private MatchFeatureModel() {}
+
+  /**
+   * 抽取特征，写入调用方复用的数组
+   *
+   * @param seeker 求职者画像
+   * @param job 岗位特征
+   * @param out 长度为 {@link #DIMENSIONS} 的输出数组
+   */
+  public static void extract(SeekerProfile seeker, JobFeatures job, float[] out) {
+    int hits = 0;
+    for (String keyword : seeker.keywords()) {
+      if (job.text().contains(keyword) && ++hits == KEYWORD_SATURATION) {
+        break;
+      }
+    }
+    out[KEYWORD] = (float) hits / KEYWORD_SATURATION;
+    out[EDUCATION] = meetsEducation(seeker, job) ? 1f : 0f;
+    out[CITY] = job.city() != null && seeker.cities().contains(job.city()) ? 1f : 0f;
+    out[SALARY] = salaryOverlaps(seeker, job) ? 1f : 0f;
+  }
+
+  /** 匹配分数（0-100） */
+  public static int score(float[] features) {
+    float score = BASE_SCORE;
+    for (int i = 0; i < DIMENSIONS; i++) {
+      score += WEIGHTS[i] * features[i];
+    }
+    return Math.max(0, Math.min(100, Math.round(score)));
+  }
+
+  /** 岗位不限学历、求职者学历未知或不低于要求 */
+  public static boolean meetsEducation(SeekerProfile seeker, JobFeatures job) {
+    return job.educationRequired() <= 0
+        || seeker.education() == null
+        || seeker.education() >= job.educationRequired();
+  }
+
+  private static boolean salaryOverlaps(SeekerProfile seeker, JobFeatures job) {
+    for (double[] range : seeker.salaryRanges()) {
+      // 缺失的一端视为不设限
+      boolean aboveMin =
+          Double.isNaN(range[0]) || Double.isNaN(job.salaryMax()) || job.salaryMax() >= range[0];
+      boolean belowMax =
+          Double.isNaN(range[1]) || Double.isNaN(job.salaryMin()) || job.salaryMin() <= range[1];
+      if (aboveMin && belowMax) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
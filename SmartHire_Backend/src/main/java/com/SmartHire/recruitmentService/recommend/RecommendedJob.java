@@ -0,0 +1,9 @@
+package com.SmartHire.recruitmentService.recommend;
+
+/**
+ * 推荐结果中的一个岗位
+ *
+ * @param jobId 岗位ID
+ * @param matchScore 匹配分数（0-100）
+ */
+public record RecommendedJob(long jobId, int matchScore) {}
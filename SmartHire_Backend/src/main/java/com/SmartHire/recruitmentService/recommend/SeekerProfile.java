@@ -0,0 +1,80 @@
+package com.SmartHire.recruitmentService.recommend;
+
+import com.SmartHire.recruitmentService.model.RecommendExpectationRow;
+import com.SmartHire.recruitmentService.model.RecommendSeekerRow;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 求职者推荐画像 由求职者行和求职期望归一化而来
+ *
+ * @param jobSeekerId 求职者ID
+ * @param education 最高学历，未知为 null
+ * @param cities 当前城市及各期望工作城市（归一化）
+ * @param keywords 专业、期望职位切出的关键词（小写）
+ * @param salaryRanges 各求职期望的薪资区间 {min, max}，缺失一端记为 NaN
+ */
+public record SeekerProfile(
+    long jobSeekerId,
+    Integer education,
+    Set<String> cities,
+    List<String> keywords,
+    List<double[]> salaryRanges) {
+
+  /** 关键词最多保留个数 */
+  private static final int MAX_KEYWORDS = 8;
+
+  /** 单字关键词区分度太低，不参与匹配 */
+  private static final int MIN_KEYWORD_LENGTH = 2;
+
+  public static SeekerProfile of(
+      RecommendSeekerRow row, List<RecommendExpectationRow> expectations) {
+    Set<String> cities = new LinkedHashSet<>();
+    Set<String> keywords = new LinkedHashSet<>();
+    List<double[]> salaryRanges = new ArrayList<>();
+    addCity(cities, row.getCurrentCity());
+    addKeywords(keywords, row.getMajor());
+    for (RecommendExpectationRow expectation : expectations) {
+      addCity(cities, expectation.getWorkCity());
+      addKeywords(keywords, expectation.getExpectedPosition());
+      if (expectation.getSalaryMin() != null || expectation.getSalaryMax() != null) {
+        salaryRanges.add(
+            new double[] {
+              expectation.getSalaryMin() == null
+                  ? Double.NaN
+                  : expectation.getSalaryMin().doubleValue(),
+              expectation.getSalaryMax() == null
+                  ? Double.NaN
+                  : expectation.getSalaryMax().doubleValue()
+            });
+      }
+    }
+    return new SeekerProfile(
+        row.getJobSeekerId(),
+        row.getEducation(),
+        Set.copyOf(cities),
+        List.copyOf(keywords),
+        List.copyOf(salaryRanges));
+  }
+
+  private static void addCity(Set<String> cities, String city) {
+    String normalized = JobFeatures.normalizeCity(city);
+    if (normalized != null) {
+      cities.add(normalized);
+    }
+  }
+
+  private static void addKeywords(Set<String> keywords, String text) {
+    if (text == null) {
+      return;
+    }
+    for (String token : text.toLowerCase(Locale.ROOT).split("[\\s,，/、;；|()（）]+")) {
+      if (token.length() >= MIN_KEYWORD_LENGTH && keywords.size() < MAX_KEYWORDS) {
+        keywords.add(token);
+      }
+    }
+  }
+}
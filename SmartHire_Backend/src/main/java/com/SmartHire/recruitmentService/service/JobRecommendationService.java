@@ -0,0 +1,39 @@
+package com.SmartHire.recruitmentService.service;
+
+import com.SmartHire.recruitmentService.recommend.RecommendedJob;
+import java.util.List;
+
+/**
+ * 岗位推荐服务
+ *
+ * <p>为每个求职者预先计算全职、实习两类岗位的前 K 个推荐，存入 Redis 有序集合；岗位或求职者画像变更时增量刷新受影响的部分
+ */
+public interface JobRecommendationService {
+
+  /**
+   * 读取求职者的推荐岗位
+   *
+   * @param jobSeekerId 求职者ID
+   * @param jobType 职位类型：0-全职 1-实习
+   * @param limit 条数
+   * @return 按匹配分降序的岗位；推荐数据尚未就绪时返回 null
+   */
+  List<RecommendedJob> getRecommendations(Long jobSeekerId, Integer jobType, int limit);
+
+  /**
+   * 按数据库中的最新状态刷新单个岗位，并更新受影响求职者的推荐
+   *
+   * @param jobId 岗位ID
+   */
+  void refreshJob(Long jobId);
+
+  /**
+   * 按数据库中的最新状态刷新单个求职者画像，并重算其推荐
+   *
+   * @param jobSeekerId 求职者ID
+   */
+  void refreshSeeker(Long jobSeekerId);
+
+  /** 全量重新加载岗位和求职者画像，并重算全部推荐 */
+  void rebuild();
+}
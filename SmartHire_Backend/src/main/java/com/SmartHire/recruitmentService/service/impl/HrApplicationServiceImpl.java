@@ -6,6 +6,7 @@ import com.SmartHire.common.auth.UserContext;
 import com.SmartHire.common.dto.seekerDto.SeekerCardDTO;
 import com.SmartHire.common.event.ApplicationCreatedEvent;
 import com.SmartHire.common.event.ApplicationRejectedEvent;
+import com.SmartHire.common.event.ApplicationSubmittedEvent;
 import com.SmartHire.common.exception.enums.ErrorCode;
 import com.SmartHire.common.exception.exception.BusinessException;
 import com.SmartHire.recruitmentService.dto.ApplicationListDTO;
@@ -20,6 +21,7 @@ import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
@@ -52,6 +54,9 @@ public class HrApplicationServiceImpl extends ServiceImpl<ApplicationMapper, App
     @Autowired
     private ApplicationRejectedEventProducer applicationRejectedEventProducer;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Override
     @Transactional(rollbackFor = Exception.class)
     public Long recommend(RecommendRequest request) {
@@ -95,6 +100,7 @@ public class HrApplicationServiceImpl extends ServiceImpl<ApplicationMapper, App
         if (!this.save(application)) {
             throw new BusinessException(ErrorCode.SYSTEM_ERROR);
         }
+        eventPublisher.publishEvent(new ApplicationSubmittedEvent(application.getId()));
 
         Long targetHrId = hrApi.getHrIdByJobId(jobId);
         Long targetHrUserId = hrApi.getHrUserIdByHrId(targetHrId);
@@ -0,0 +1,665 @@
+package com.SmartHire.recruitmentService.service.impl;
+
+import com.SmartHire.common.event.JobInfoChangedEvent;
+import com.SmartHire.common.event.SeekerProfileChangedEvent;
+import com.SmartHire.recruitmentService.mapper.RecommendSourceMapper;
+import com.SmartHire.recruitmentService.model.RecommendExpectationRow;
+import com.SmartHire.recruitmentService.model.RecommendJobRow;
+import com.SmartHire.recruitmentService.model.RecommendSeekerRow;
+import com.SmartHire.recruitmentService.recommend.JobCandidateIndex;
+import com.SmartHire.recruitmentService.recommend.JobCandidateIndex.PoolChange;
+import com.SmartHire.recruitmentService.recommend.JobFeatures;
+import com.SmartHire.recruitmentService.recommend.MatchFeatureModel;
+import com.SmartHire.recruitmentService.recommend.RecommendedJob;
+import com.SmartHire.recruitmentService.recommend.SeekerProfile;
+import com.SmartHire.recruitmentService.service.JobRecommendationService;
+import java.nio.charset.StandardCharsets;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 岗位推荐服务实现类
+ *
+ * <p>各节点在内存中维护全职、实习两个 {@link JobCandidateIndex} 及全部求职者画像；推荐结果存于 Redis 有序集合
+ * {@code recommend:job:{jobType}:{jobSeekerId}}（成员为岗位ID，分数为 匹配分 + 发布时间/1e13，同分时新岗位靠前）。
+ *
+ * <p>启动及定时全量重建时各节点都重新加载内存数据，但只有抢到锁的节点重写全部推荐。岗位、求职者画像变更时由处理事件的节点增量更新
+ * Redis，并经频道 {@code recruitment:recommend:changed} 通知其他节点刷新内存数据。读取时发现推荐尚未生成（新求职者、已过期）
+ * 则现算并写回
+ *
+ * <p>增量更新在事务提交后交给单线程队列按顺序执行，不占用请求线程；队列在本节点内存中，满了或停机时丢弃的变更由定时全量重建补齐。
+ * 岗位变更只处理新旧版本落在其当前候选范围内（与 topK 的放宽规则一致）或候选范围因此变化的求职者，每条命令只涉及一个 key
+ */
+@Slf4j
+@Service
+public class JobRecommendationServiceImpl implements JobRecommendationService {
+
+  private static final String RANKING_KEY_PREFIX = "recommend:job:";
+
+  private static final String REBUILD_LOCK_KEY = "recommend:job:rebuild:lock";
+
+  private static final String CHANGED_CHANNEL = "recruitment:recommend:changed";
+
+  /** 0-全职 1-实习 */
+  private static final List<Integer> JOB_TYPES = List.of(0, 1);
+
+  /** 全量写入、增量更新时每个管道包含的求职者数 */
+  private static final int WRITE_BATCH_SIZE = 200;
+
+  /**
+   * 把岗位写入一个求职者的推荐并只保留前 K 个：KEYS[1] 为推荐 key，ARGV[1] 为分数，ARGV[2] 为岗位ID，ARGV[3] 为 K。
+   * 推荐已过期则不创建，留给读取时现算
+   */
+  private static final byte[] ADD_SCRIPT =
+      ("if redis.call('EXISTS', KEYS[1]) == 0 then return 0 end "
+              + "redis.call('ZADD', KEYS[1], ARGV[1], ARGV[2]) "
+              + "redis.call('ZREMRANGEBYRANK', KEYS[1], 0, -(tonumber(ARGV[3]) + 1)) "
+              + "return 1")
+          .getBytes(StandardCharsets.UTF_8);
+
+  @Autowired private RecommendSourceMapper recommendSourceMapper;
+
+  @Autowired private RedisTemplate<String, String> redisTemplate;
+
+  @Autowired private RedisMessageListenerContainer redisMessageListenerContainer;
+
+  /** 是否启用预计算推荐，关闭时推荐接口退回最新岗位列表 */
+  @Value("${recruitment.recommend.enabled:true}")
+  private boolean enabled;
+
+  /** 每个求职者每类岗位保留的推荐数 */
+  @Value("${recruitment.recommend.top-k:100}")
+  private int topK;
+
+  /** 全量加载时每批读取的行数 */
+  @Value("${recruitment.recommend.load-batch-size:1000}")
+  private int loadBatchSize;
+
+  /** 推荐的过期时间，应长于全量重建间隔 */
+  @Value("${recruitment.recommend.ranking-ttl-seconds:86400}")
+  private long rankingTtlSeconds;
+
+  @Value("${recruitment.recommend.rebuild-interval-ms:3600000}")
+  private long rebuildIntervalMs;
+
+  /** 增量更新队列容量，超出的变更等待定时全量重建 */
+  @Value("${recruitment.recommend.update-queue-capacity:10000}")
+  private int updateQueueCapacity;
+
+  private ThreadPoolExecutor updateExecutor;
+
+  /** 区分本实例发出的广播 */
+  private final String instanceId = UUID.randomUUID().toString();
+
+  private volatile Snapshot snapshot;
+
+  private volatile boolean rebuilding;
+
+  /** 全量加载期间发生变更的岗位/求职者，新数据替换后补刷 */
+  private final Set<Long> jobsChangedDuringRebuild = ConcurrentHashMap.newKeySet();
+
+  private final Set<Long> seekersChangedDuringRebuild = ConcurrentHashMap.newKeySet();
+
+  @PostConstruct
+  public void initUpdateExecutor() {
+    updateExecutor =
+        new ThreadPoolExecutor(
+            1,
+            1,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(Math.max(1, updateQueueCapacity)),
+            runnable -> {
+              Thread thread = new Thread(runnable, "recommend-update");
+              thread.setDaemon(true);
+              return thread;
+            });
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    if (updateExecutor != null) {
+      updateExecutor.shutdownNow();
+    }
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void init() {
+    if (!enabled) {
+      return;
+    }
+    redisMessageListenerContainer.addMessageListener(
+        (message, pattern) -> {
+          String body = new String(message.getBody(), StandardCharsets.UTF_8);
+          String[] parts = body.split(":");
+          if (parts.length != 3 || parts[0].equals(instanceId)) {
+            return;
+          }
+          try {
+            Long id = Long.valueOf(parts[2]);
+            if ("job".equals(parts[1])) {
+              refreshJob(id, false);
+            } else if ("seeker".equals(parts[1])) {
+              refreshSeeker(id, false);
+            }
+          } catch (Exception e) {
+            log.warn("刷新推荐数据失败: message={}", body, e);
+          }
+        },
+        new ChannelTopic(CHANGED_CHANNEL));
+    rebuild();
+  }
+
+  @Override
+  public List<RecommendedJob> getRecommendations(Long jobSeekerId, Integer jobType, int limit) {
+    Snapshot snap = snapshot;
+    if (!enabled || snap == null || jobSeekerId == null || jobType == null) {
+      return null;
+    }
+    JobCandidateIndex index = snap.indexes.get(jobType);
+    if (index == null) {
+      return null;
+    }
+    String key = rankingKey(jobType, jobSeekerId);
+    try {
+      List<RecommendedJob> ranked = readRanking(key, index, limit);
+      if (ranked != null) {
+        return ranked;
+      }
+    } catch (Exception e) {
+      log.warn("读取推荐失败，改为现算: key={}", key, e);
+    }
+
+    SeekerProfile seeker = snap.seekers.get(jobSeekerId);
+    if (seeker == null) {
+      seeker = loadSeeker(jobSeekerId);
+      if (seeker == null) {
+        return List.of();
+      }
+      snap.seekers.put(jobSeekerId, seeker);
+    }
+    List<RecommendedJob> computed = index.topK(seeker, topK);
+    try {
+      writeRankings(Map.of(key, toRankScores(index, computed)));
+    } catch (Exception e) {
+      log.warn("写入推荐失败: key={}", key, e);
+    }
+    return computed.subList(0, Math.min(limit, computed.size()));
+  }
+
+  @Override
+  public void refreshJob(Long jobId) {
+    refreshJob(jobId, true);
+  }
+
+  @Override
+  public void refreshSeeker(Long jobSeekerId) {
+    refreshSeeker(jobSeekerId, true);
+  }
+
+  @Override
+  public void rebuild() {
+    if (!enabled) {
+      return;
+    }
+    Snapshot fresh = load();
+    if (fresh == null) {
+      return;
+    }
+    try {
+      // 锁不主动释放：一个重建周期内只由一个节点重写
+      Boolean locked =
+          redisTemplate
+              .opsForValue()
+              .setIfAbsent(
+                  REBUILD_LOCK_KEY, instanceId, rebuildIntervalMs * 9 / 10, TimeUnit.MILLISECONDS);
+      if (!Boolean.TRUE.equals(locked)) {
+        log.info("其他节点已在本周期重写推荐，跳过");
+        return;
+      }
+      writeAll(fresh);
+    } catch (Exception e) {
+      log.error("重写推荐失败，等待增量更新和下次重建", e);
+    }
+  }
+
+  /** 定时全量重建：同步公司名称等关联数据，补齐丢失的广播和增量更新 */
+  @Scheduled(
+      initialDelayString = "${recruitment.recommend.rebuild-interval-ms:3600000}",
+      fixedDelayString = "${recruitment.recommend.rebuild-interval-ms:3600000}")
+  public void scheduledRebuild() {
+    rebuild();
+  }
+
+  /** 岗位变更：事务提交后排队刷新本节点数据、更新受影响的推荐并通知其他节点 */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onJobInfoChanged(JobInfoChangedEvent event) {
+    submitChange("job", event.getJobId(), this::refreshJob);
+  }
+
+  /** 求职者画像变更：事务提交后排队刷新本节点数据、重算其推荐并通知其他节点 */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onSeekerProfileChanged(SeekerProfileChangedEvent event) {
+    submitChange("seeker", event.getJobSeekerId(), this::refreshSeeker);
+  }
+
+  private void submitChange(String type, Long id, BiConsumer<Long, Boolean> refresher) {
+    if (!enabled || id == null) {
+      return;
+    }
+    try {
+      updateExecutor.execute(() -> onChanged(type, id, refresher));
+    } catch (RejectedExecutionException e) {
+      log.warn("推荐增量更新队列已满，等待定期重建: type={}, id={}", type, id);
+    }
+  }
+
+  private void onChanged(String type, Long id, BiConsumer<Long, Boolean> refresher) {
+    try {
+      refresher.accept(id, true);
+    } catch (Exception e) {
+      log.warn("增量更新推荐失败，等待定期重建: type={}, id={}", type, id, e);
+    }
+    try {
+      redisTemplate.convertAndSend(CHANGED_CHANNEL, instanceId + ":" + type + ":" + id);
+    } catch (Exception e) {
+      log.warn("广播推荐数据变更失败，其他节点将在定期重建后更新: type={}, id={}", type, id, e);
+    }
+  }
+
+  private void refreshJob(Long jobId, boolean updateRankings) {
+    if (rebuilding) {
+      jobsChangedDuringRebuild.add(jobId);
+    }
+    Snapshot snap = snapshot;
+    if (snap == null) {
+      return;
+    }
+    RecommendJobRow row = recommendSourceMapper.selectJobById(jobId);
+    JobFeatures job =
+        row != null
+                && Integer.valueOf(1).equals(row.getStatus())
+                && JobCandidateIndex.isIndexable(jobId)
+                && snap.indexes.containsKey(row.getJobType())
+            ? JobFeatures.of(row)
+            : null;
+    JobFeatures previous =
+        snap.indexes.values().stream()
+            .map(index -> index.get(jobId))
+            .filter(Objects::nonNull)
+            .findFirst()
+            .orElse(null);
+    snap.indexes.values().forEach(index -> index.remove(jobId));
+    if (job != null) {
+      snap.indexes.get(job.jobType()).put(job);
+    }
+    if (updateRankings) {
+      upsertJob(snap, jobId, previous, job);
+    }
+  }
+
+  private void refreshSeeker(Long jobSeekerId, boolean updateRankings) {
+    if (rebuilding) {
+      seekersChangedDuringRebuild.add(jobSeekerId);
+    }
+    Snapshot snap = snapshot;
+    if (snap == null) {
+      return;
+    }
+    SeekerProfile seeker = loadSeeker(jobSeekerId);
+    if (seeker == null) {
+      snap.seekers.remove(jobSeekerId);
+      if (updateRankings) {
+        redisTemplate.delete(
+            JOB_TYPES.stream().map(type -> rankingKey(type, jobSeekerId)).toList());
+      }
+      return;
+    }
+    snap.seekers.put(jobSeekerId, seeker);
+    if (updateRankings) {
+      Map<String, Map<String, Double>> rankings = new LinkedHashMap<>();
+      snap.indexes.forEach(
+          (type, index) ->
+              rankings.put(
+                  rankingKey(type, jobSeekerId), toRankScores(index, index.topK(seeker, topK))));
+      writeRankings(rankings);
+    }
+  }
+
+  /**
+   * 岗位变更后更新受影响的推荐：按与 topK 相同的放宽规则确定每个求职者的候选范围，只处理新旧版本落在该范围内、
+   * 或因本次变更导致候选范围放宽/收紧的求职者。先读出岗位在其推荐中的分数和推荐末位，新进入前 K 的写入并截断，
+   * 仍在推荐中且分数不降的原地更新，分数下降、移出或候选范围变化的按最新数据重算该求职者的推荐，立即补足 K 个
+   */
+  private void upsertJob(Snapshot snap, Long jobId, JobFeatures previous, JobFeatures job) {
+    List<Target> affected = new ArrayList<>();
+    for (Integer type : JOB_TYPES) {
+      JobFeatures previousOfType =
+          previous != null && previous.jobType() == type ? previous : null;
+      JobFeatures jobOfType = job != null && job.jobType() == type ? job : null;
+      if (previousOfType == null && jobOfType == null) {
+        continue;
+      }
+      JobCandidateIndex index = snap.indexes.get(type);
+      // 候选范围只取决于学历和城市，画像相同的求职者共用一次位图计算
+      Map<List<Object>, PoolChange> pools = new HashMap<>();
+      for (SeekerProfile seeker : snap.seekers.values()) {
+        PoolChange pool =
+            pools.computeIfAbsent(
+                Arrays.asList(seeker.education(), seeker.cities()),
+                key -> index.poolChange(seeker, topK, previousOfType, jobOfType));
+        if (pool.changed()
+            || JobCandidateIndex.inPool(pool.after(), seeker, previousOfType)
+            || JobCandidateIndex.inPool(pool.after(), seeker, jobOfType)) {
+          affected.add(new Target(seeker, type, pool));
+        }
+      }
+    }
+    int updated = 0;
+    for (int from = 0; from < affected.size(); from += WRITE_BATCH_SIZE) {
+      updated +=
+          upsertJob(
+              snap,
+              jobId,
+              job,
+              affected.subList(from, Math.min(from + WRITE_BATCH_SIZE, affected.size())));
+    }
+    log.debug("岗位推荐增量更新: jobId={}, 受影响推荐={}, 更新推荐={}", jobId, affected.size(), updated);
+  }
+
+  /** 处理一批推荐：一个管道读出现状，一个管道写入变化 */
+  @SuppressWarnings("unchecked")
+  private int upsertJob(Snapshot snap, Long jobId, JobFeatures job, List<Target> targets) {
+    byte[] member = String.valueOf(jobId).getBytes(StandardCharsets.UTF_8);
+    List<String> keys =
+        targets.stream().map(t -> rankingKey(t.type(), t.seeker().jobSeekerId())).toList();
+    List<Object> replies =
+        redisTemplate.executePipelined(
+            (RedisCallback<Object>)
+                connection -> {
+                  for (String key : keys) {
+                    byte[] raw = key.getBytes(StandardCharsets.UTF_8);
+                    connection.zSetCommands().zScore(raw, member);
+                    connection.zSetCommands().zCard(raw);
+                    connection.zSetCommands().zRangeWithScores(raw, 0, 0);
+                  }
+                  return null;
+                });
+
+    Map<String, Double> additions = new LinkedHashMap<>();
+    Map<String, Map<String, Double>> refills = new LinkedHashMap<>();
+    float[] features = new float[MatchFeatureModel.DIMENSIONS];
+    for (int i = 0; i < keys.size(); i++) {
+      Double current = (Double) replies.get(i * 3);
+      Long size = (Long) replies.get(i * 3 + 1);
+      if (size == null || size == 0) {
+        // 推荐尚未生成或已过期，留给读取时现算
+        continue;
+      }
+      SeekerProfile seeker = targets.get(i).seeker();
+      Integer type = targets.get(i).type();
+      PoolChange pool = targets.get(i).pool();
+      if (pool.changed()) {
+        JobCandidateIndex index = snap.indexes.get(type);
+        refills.put(keys.get(i), toRankScores(index, index.topK(seeker, topK)));
+        continue;
+      }
+      Double score = null;
+      if (job != null
+          && job.jobType() == type
+          && JobCandidateIndex.inPool(pool.after(), seeker, job)) {
+        MatchFeatureModel.extract(seeker, job, features);
+        score = rankScore(MatchFeatureModel.score(features), job.publishedAt());
+      }
+      if (current != null) {
+        if (score == null || score < current) {
+          JobCandidateIndex index = snap.indexes.get(type);
+          refills.put(keys.get(i), toRankScores(index, index.topK(seeker, topK)));
+        } else if (score > current) {
+          additions.put(keys.get(i), score);
+        }
+      } else if (score != null) {
+        Set<TypedTuple<String>> lowest = (Set<TypedTuple<String>>) replies.get(i * 3 + 2);
+        Double cutoff =
+            lowest == null || lowest.isEmpty() ? null : lowest.iterator().next().getScore();
+        if (size < topK || cutoff == null || score > cutoff) {
+          additions.put(keys.get(i), score);
+        }
+      }
+    }
+
+    if (!additions.isEmpty()) {
+      byte[] k = String.valueOf(topK).getBytes(StandardCharsets.UTF_8);
+      redisTemplate.executePipelined(
+          (RedisCallback<Object>)
+              connection -> {
+                additions.forEach(
+                    (key, score) ->
+                        connection
+                            .scriptingCommands()
+                            .eval(
+                                ADD_SCRIPT,
+                                ReturnType.INTEGER,
+                                1,
+                                key.getBytes(StandardCharsets.UTF_8),
+                                String.valueOf(score).getBytes(StandardCharsets.UTF_8),
+                                member,
+                                k));
+                return null;
+              });
+    }
+    if (!refills.isEmpty()) {
+      writeRankings(refills);
+    }
+    return additions.size() + refills.size();
+  }
+
+  /**
+   * 读取推荐
+   *
+   * @return 推荐尚未生成，或其中有本节点已知下线的岗位（增量更新丢失）时返回 null，由调用方现算补足
+   */
+  private List<RecommendedJob> readRanking(String key, JobCandidateIndex index, int limit) {
+    Set<TypedTuple<String>> tuples =
+        redisTemplate.opsForZSet().reverseRangeWithScores(key, 0, limit - 1L);
+    if (tuples == null || tuples.isEmpty()) {
+      return null;
+    }
+    List<RecommendedJob> ranked = new ArrayList<>(limit);
+    for (TypedTuple<String> tuple : tuples) {
+      long jobId = Long.parseLong(tuple.getValue());
+      if (tuple.getScore() == null || index.get(jobId) == null) {
+        log.debug("推荐中有已下线的岗位，重新计算: key={}, jobId={}", key, jobId);
+        return null;
+      }
+      ranked.add(new RecommendedJob(jobId, (int) Math.floor(tuple.getScore())));
+    }
+    return ranked;
+  }
+
+  /** 用新的推荐整体替换：先写临时 key 再 RENAME，读取方不会看到写了一半的推荐 */
+  private void writeRankings(Map<String, Map<String, Double>> rankings) {
+    redisTemplate.executePipelined(
+        (RedisCallback<Object>)
+            connection -> {
+              for (Map.Entry<String, Map<String, Double>> entry : rankings.entrySet()) {
+                writeRanking(connection, entry.getKey(), entry.getValue());
+              }
+              return null;
+            });
+  }
+
+  private void writeRanking(RedisConnection connection, String key, Map<String, Double> members) {
+    byte[] target = key.getBytes(StandardCharsets.UTF_8);
+    if (members.isEmpty()) {
+      connection.keyCommands().del(target);
+      return;
+    }
+    byte[] tmp = (key + ":tmp").getBytes(StandardCharsets.UTF_8);
+    connection.keyCommands().del(tmp);
+    members.forEach(
+        (member, score) ->
+            connection.zSetCommands().zAdd(tmp, score, member.getBytes(StandardCharsets.UTF_8)));
+    connection.keyCommands().expire(tmp, rankingTtlSeconds);
+    connection.keyCommands().rename(tmp, target);
+  }
+
+  private void writeAll(Snapshot snap) {
+    long start = System.currentTimeMillis();
+    List<SeekerProfile> seekers = new ArrayList<>(snap.seekers.values());
+    for (int from = 0; from < seekers.size(); from += WRITE_BATCH_SIZE) {
+      Map<String, Map<String, Double>> rankings = new LinkedHashMap<>();
+      int to = Math.min(from + WRITE_BATCH_SIZE, seekers.size());
+      for (SeekerProfile seeker : seekers.subList(from, to)) {
+        snap.indexes.forEach(
+            (type, index) ->
+                rankings.put(
+                    rankingKey(type, seeker.jobSeekerId()),
+                    toRankScores(index, index.topK(seeker, topK))));
+      }
+      writeRankings(rankings);
+    }
+    log.info(
+        "推荐重写完成: seekers={}, 耗时={}ms", seekers.size(), System.currentTimeMillis() - start);
+  }
+
+  private synchronized Snapshot load() {
+    long start = System.currentTimeMillis();
+    Snapshot fresh = new Snapshot();
+    JOB_TYPES.forEach(type -> fresh.indexes.put(type, new JobCandidateIndex()));
+    rebuilding = true;
+    try {
+      Long afterJobId = null;
+      while (true) {
+        List<RecommendJobRow> batch =
+            recommendSourceMapper.selectActiveJobs(afterJobId, loadBatchSize);
+        for (RecommendJobRow row : batch) {
+          JobCandidateIndex index = fresh.indexes.get(row.getJobType());
+          if (index != null && JobCandidateIndex.isIndexable(row.getJobId())) {
+            index.put(JobFeatures.of(row));
+          }
+        }
+        if (batch.size() < loadBatchSize) {
+          break;
+        }
+        afterJobId = batch.get(batch.size() - 1).getJobId();
+      }
+
+      Long afterSeekerId = null;
+      while (true) {
+        List<RecommendSeekerRow> batch =
+            recommendSourceMapper.selectSeekers(afterSeekerId, loadBatchSize);
+        if (batch.isEmpty()) {
+          break;
+        }
+        Map<Long, List<RecommendExpectationRow>> expectations =
+            recommendSourceMapper
+                .selectExpectations(
+                    batch.stream().map(RecommendSeekerRow::getJobSeekerId).toList())
+                .stream()
+                .collect(Collectors.groupingBy(RecommendExpectationRow::getJobSeekerId));
+        for (RecommendSeekerRow row : batch) {
+          fresh.seekers.put(
+              row.getJobSeekerId(),
+              SeekerProfile.of(row, expectations.getOrDefault(row.getJobSeekerId(), List.of())));
+        }
+        if (batch.size() < loadBatchSize) {
+          break;
+        }
+        afterSeekerId = batch.get(batch.size() - 1).getJobSeekerId();
+      }
+      snapshot = fresh;
+    } catch (Exception e) {
+      log.error("加载推荐数据失败，继续使用旧数据", e);
+      return null;
+    } finally {
+      rebuilding = false;
+    }
+    // 加载期间读到的可能是旧版本，替换后按最新数据补刷本节点（推荐已由处理变更的节点更新）
+    List<Long> changedJobs = new ArrayList<>(jobsChangedDuringRebuild);
+    jobsChangedDuringRebuild.removeAll(changedJobs);
+    changedJobs.forEach(id -> refreshJob(id, false));
+    List<Long> changedSeekers = new ArrayList<>(seekersChangedDuringRebuild);
+    seekersChangedDuringRebuild.removeAll(changedSeekers);
+    changedSeekers.forEach(id -> refreshSeeker(id, false));
+    log.info(
+        "推荐数据加载完成: fullTime={}, intern={}, seekers={}, 补刷={}, 耗时={}ms",
+        fresh.indexes.get(0).size(),
+        fresh.indexes.get(1).size(),
+        fresh.seekers.size(),
+        changedJobs.size() + changedSeekers.size(),
+        System.currentTimeMillis() - start);
+    return fresh;
+  }
+
+  private SeekerProfile loadSeeker(Long jobSeekerId) {
+    RecommendSeekerRow row = recommendSourceMapper.selectSeekerById(jobSeekerId);
+    if (row == null) {
+      return null;
+    }
+    return SeekerProfile.of(row, recommendSourceMapper.selectExpectations(List.of(jobSeekerId)));
+  }
+
+  private static Map<String, Double> toRankScores(
+      JobCandidateIndex index, List<RecommendedJob> ranked) {
+    Map<String, Double> scores = new LinkedHashMap<>();
+    for (RecommendedJob job : ranked) {
+      JobFeatures features = index.get(job.jobId());
+      scores.put(
+          String.valueOf(job.jobId()),
+          rankScore(job.matchScore(), features == null ? 0L : features.publishedAt()));
+    }
+    return scores;
+  }
+
+  /** 整数部分为匹配分，小数部分为发布时间（毫秒 / 1e13，小于 1），同分时新岗位靠前 */
+  private static double rankScore(int matchScore, long publishedAt) {
+    return matchScore + publishedAt / 1e13;
+  }
+
+  private static String rankingKey(Integer jobType, Long jobSeekerId) {
+    return RANKING_KEY_PREFIX + jobType + ":" + jobSeekerId;
+  }
+
+  /** 一个受岗位变更影响的推荐 */
+  private record Target(SeekerProfile seeker, Integer type, PoolChange pool) {}
+
+  /** 一次全量加载的内存数据，增量更新直接修改其中的索引和画像 */
+  private static final class Snapshot {
+
+    private final Map<Integer, JobCandidateIndex> indexes = new LinkedHashMap<>();
+
+    private final Map<Long, SeekerProfile> seekers = new ConcurrentHashMap<>();
+  }
+}
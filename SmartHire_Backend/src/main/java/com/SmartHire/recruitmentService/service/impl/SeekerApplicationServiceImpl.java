@@ -11,31 +11,31 @@ import com.SmartHire.common.dto.hrDto.JobCardDTO;
 import com.SmartHire.common.dto.hrDto.JobFullDetailDTO;
 import com.SmartHire.common.dto.hrDto.JobInfoDTO;
 import com.SmartHire.common.dto.hrDto.JobSearchDTO;
-import com.SmartHire.common.dto.seekerDto.SeekerCardDTO;
-import com.SmartHire.common.dto.seekerDto.SeekerCommonDTO;
 import com.SmartHire.common.dto.userDto.UserCommonDTO;
 import com.SmartHire.common.dto.messageDto.MessageCommonDTO;
 import com.SmartHire.common.dto.messageDto.SendMessageCommonDTO;
+import com.SmartHire.common.event.ApplicationSubmittedEvent;
 import com.SmartHire.common.exception.enums.ErrorCode;
 import com.SmartHire.common.exception.exception.BusinessException;
 import com.SmartHire.recruitmentService.dto.*;
 import com.SmartHire.recruitmentService.mapper.ApplicationMapper;
 import com.SmartHire.recruitmentService.model.Application;
+import com.SmartHire.recruitmentService.recommend.RecommendedJob;
 import com.SmartHire.recruitmentService.service.InterviewService;
+import com.SmartHire.recruitmentService.service.JobRecommendationService;
 import com.SmartHire.recruitmentService.service.SeekerApplicationService;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.Date;
 import java.util.List;
-import java.util.Locale;
-import java.util.Objects;
+import java.util.Map;
 
 /**
  * 求职者侧投递服务实现类
@@ -45,6 +45,12 @@ import java.util.Objects;
 public class SeekerApplicationServiceImpl extends ServiceImpl<ApplicationMapper, Application>
         implements SeekerApplicationService {
 
+    /** 推荐接口返回的岗位数 */
+    private static final int RECOMMENDATION_SIZE = 20;
+
+    /** 推荐未就绪时退回最新岗位，匹配分记为基础分 */
+    private static final int FALLBACK_MATCH_SCORE = 50;
+
     @Autowired
     private SeekerApi seekerApi;
 
@@ -66,6 +72,12 @@ public class SeekerApplicationServiceImpl extends ServiceImpl<ApplicationMapper,
     @Autowired
     private InterviewService interviewService;
 
+    @Autowired
+    private JobRecommendationService jobRecommendationService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Override
     @Transactional(rollbackFor = Exception.class)
     public SubmitResumeResponseDTO submitResume(SubmitResumeDTO request) {
@@ -106,6 +118,7 @@ public class SeekerApplicationServiceImpl extends ServiceImpl<ApplicationMapper,
             log.error("保存投递记录失败, jobId={}, seekerId={}, resumeId={}", jobId, seekerId, resumeId);
             throw new BusinessException(ErrorCode.SYSTEM_ERROR);
         }
+        eventPublisher.publishEvent(new ApplicationSubmittedEvent(application.getId()));
 
         String resumeType = resumeId != null ? "附件简历" : "在线简历";
 
@@ -206,93 +219,39 @@ public class SeekerApplicationServiceImpl extends ServiceImpl<ApplicationMapper,
     }
 
     /**
-     * 获取岗位推荐并计算匹配分数的公共逻辑
+     * 获取岗位推荐的公共逻辑：读取预计算的推荐；非求职者或推荐尚未就绪时退回最新岗位，匹配分记为基础分
      *
      * @param jobType 岗位类型：0-全职，1-实习
      * @return 带匹配分数的岗位卡片列表，按匹配分数降序排序
      */
     private List<JobCardWithScore> getJobRecommendationsWithScore(Integer jobType) {
-        JobSearchDTO searchDTO = new JobSearchDTO();
-        searchDTO.setJobType(jobType);
-        searchDTO.setPage(1);
-        searchDTO.setSize(20);
-
-        List<JobCardDTO> jobCards = hrApi.searchPublicJobs(searchDTO);
-
-        Long targetUserId = userContext.getCurrentUserId();
-        Long jobSeekerId = seekerApi.getJobSeekerIdByUserId(targetUserId);
-        SeekerCommonDTO seeker = null;
-        SeekerCardDTO seekerCard = null;
-
-        if (jobSeekerId != null) {
-            seeker = seekerApi.getJobSeekerById(jobSeekerId);
-            seekerCard = seekerApi.getSeekerCard(targetUserId);
-        }
-
-        StringBuilder kw = new StringBuilder();
-        if (seekerCard != null) {
-            if (seekerCard.getMajor() != null)
-                kw.append(seekerCard.getMajor()).append(" ");
-            if (seekerCard.getHighestEducation() != null)
-                kw.append(seekerCard.getHighestEducation()).append(" ");
-            if (seekerCard.getUniversity() != null)
-                kw.append(seekerCard.getUniversity()).append(" ");
-        }
-        String keyword = kw.toString().trim();
-        String lowerKeyword = keyword.toLowerCase(Locale.ROOT);
+        Long jobSeekerId = seekerApi.getJobSeekerIdByUserId(userContext.getCurrentUserId());
+        List<RecommendedJob> ranked = jobSeekerId == null
+                ? null
+                : jobRecommendationService.getRecommendations(
+                        jobSeekerId, jobType, RECOMMENDATION_SIZE);
 
         List<JobCardWithScore> jobCardsWithScore = new ArrayList<>();
-        for (JobCardDTO jc : jobCards) {
-            int score = calculateMatchScore(jc, seeker, lowerKeyword);
-            jobCardsWithScore.add(new JobCardWithScore(jc, score));
-        }
-
-        jobCardsWithScore.sort(
-                Comparator.comparing(JobCardWithScore::getMatchScore, Comparator.nullsLast(Comparator.naturalOrder()))
-                        .reversed());
-
-        return jobCardsWithScore;
-    }
-
-    /**
-     * 计算岗位匹配分数
-     *
-     * @param jobCard      岗位卡片
-     * @param seeker       求职者信息
-     * @param lowerKeyword 小写关键词
-     * @return 匹配分数（0-100）
-     */
-    private int calculateMatchScore(JobCardDTO jobCard, SeekerCommonDTO seeker, String lowerKeyword) {
-        int score = 50;
-        String combined = (Objects.toString(jobCard.getJobTitle(), "") + " "
-                + Objects.toString(jobCard.getCompanyName(), "")
-                + " "
-                + Objects.toString(jobCard.getCity(), "")).toLowerCase(Locale.ROOT);
-        if (!lowerKeyword.isEmpty()) {
-            if (combined.contains(lowerKeyword)) {
-                score += 30;
-            } else {
-                String[] toks = lowerKeyword.split("\\s+");
-                for (String t : toks) {
-                    if (!t.isEmpty() && combined.contains(t)) {
-                        score += 10;
-                    }
+        if (ranked != null) {
+            Map<Long, JobCardDTO> cards =
+                    hrApi.getJobCards(ranked.stream().map(RecommendedJob::jobId).toList());
+            for (RecommendedJob job : ranked) {
+                JobCardDTO card = cards.get(job.jobId());
+                if (card != null) {
+                    jobCardsWithScore.add(new JobCardWithScore(card, job.matchScore()));
                 }
             }
+            return jobCardsWithScore;
         }
-        if (seeker != null && seeker.getEducation() != null && jobCard.getEducationRequired() != null
-                && seeker.getEducation().equals(jobCard.getEducationRequired())) {
-            score += 10;
-        }
-        if (seeker != null && seeker.getCurrentCity() != null
-                && seeker.getCurrentCity().equalsIgnoreCase(jobCard.getCity())) {
-            score += 5;
+
+        JobSearchDTO searchDTO = new JobSearchDTO();
+        searchDTO.setJobType(jobType);
+        searchDTO.setPage(1);
+        searchDTO.setSize(RECOMMENDATION_SIZE);
+        for (JobCardDTO jc : hrApi.searchPublicJobs(searchDTO)) {
+            jobCardsWithScore.add(new JobCardWithScore(jc, FALLBACK_MATCH_SCORE));
         }
-        if (score > 100)
-            score = 100;
-        if (score < 0)
-            score = 0;
-        return score;
+        return jobCardsWithScore;
     }
 
     @Override
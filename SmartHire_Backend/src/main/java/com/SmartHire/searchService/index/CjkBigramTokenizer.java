@@ -0,0 +1,93 @@
+package com.SmartHire.searchService.index;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 中日韩二元分词器
+ *
+ * <p>连续的中日韩字符切分为相邻两字的二元词（"软件开发" -> 软件、件开、开发），单独出现的一个字作为一元词；连续的字母数字切分为一个小写单词，
+ * 保留词内的 {@code + # .}（c++、c#、node.js）；其他字符作为分隔符
+ */
+public final class CjkBigramTokenizer {
+
+  private CjkBigramTokenizer() {}
+
+  /**
+   * 切分文本
+   *
+   * @param text 文本，可为 null
+   * @return 按出现顺序排列的词，可能重复
+   */
+  public static List<String> tokenize(String text) {
+    List<String> tokens = new ArrayList<>();
+    if (text == null || text.isEmpty()) {
+      return tokens;
+    }
+    int length = text.length();
+    int i = 0;
+    while (i < length) {
+      int cp = text.codePointAt(i);
+      if (isCjk(cp)) {
+        int start = i;
+        int count = 0;
+        int prev = -1;
+        while (i < length && isCjk(text.codePointAt(i))) {
+          int current = i;
+          i += Character.charCount(text.codePointAt(i));
+          if (prev >= 0) {
+            tokens.add(text.substring(prev, i));
+          }
+          prev = current;
+          count++;
+        }
+        if (count == 1) {
+          tokens.add(text.substring(start, i));
+        }
+      } else if (Character.isLetterOrDigit(cp)) {
+        int start = i;
+        while (i < length) {
+          int c = text.codePointAt(i);
+          if (!(Character.isLetterOrDigit(c) && !isCjk(c)) && !isWordJoiner(text, i)) {
+            break;
+          }
+          i += Character.charCount(c);
+        }
+        tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+      } else {
+        i += Character.charCount(cp);
+      }
+    }
+    return tokens;
+  }
+
+  /**
+   * 是否为单个中日韩字符组成的一元词
+   *
+   * <p>连续的中日韩文本只切出二元词，一元词只能命中同样单独出现的字，无法命中位于长词中间的字
+   */
+  public static boolean isCjkUnigram(String token) {
+    return token.codePointCount(0, token.length()) == 1 && isCjk(token.codePointAt(0));
+  }
+
+  /** 词内连接符：c++ / c# 的尾部符号，以及 node.js 这类两侧都是字母数字的点号 */
+  private static boolean isWordJoiner(String text, int index) {
+    char c = text.charAt(index);
+    if (c == '+' || c == '#') {
+      return true;
+    }
+    return c == '.'
+        && index + 1 < text.length()
+        && Character.isLetterOrDigit(text.charAt(index + 1))
+        && !isCjk(text.charAt(index + 1));
+  }
+
+  private static boolean isCjk(int codePoint) {
+    Character.UnicodeScript script = Character.UnicodeScript.of(codePoint);
+    return script == Character.UnicodeScript.HAN
+        || script == Character.UnicodeScript.HIRAGANA
+        || script == Character.UnicodeScript.KATAKANA
+        || script == Character.UnicodeScript.HANGUL;
+  }
+}
@@ -0,0 +1,470 @@
+package com.SmartHire.searchService.index;
+
+import com.SmartHire.common.dto.hrDto.JobCardDTO;
+import com.SmartHire.common.dto.hrDto.JobSearchDTO;
+import com.SmartHire.searchService.model.JobSearchDoc;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.springframework.beans.BeanUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * 岗位内存倒排索引
+ *
+ * <p>每个岗位分配一个递增的文档序号：
+ *
+ * <ul>
+ *   <li>全文检索：岗位名称、描述、任职要求经 {@link CjkBigramTokenizer} 分词后建立倒排表，按 BM25 打分，岗位名称中的词按 titleBoost 加权
+ *   <li>筛选：城市、职位类型、学历、公司、技能各自维护 值 -> 文档位图，查询时按位与；薪资区间在位图结果上逐个比较
+ *   <li>无关键词时按 发布时间、创建时间 倒序返回，与原 SQL 的排序一致
+ * </ul>
+ *
+ * <p>更新岗位时旧序号只做删除标记、新版本追加到末尾，倒排表始终按序号有序；删除标记由定期全量重建清理。读写锁保护，查询之间互不阻塞
+ */
+public class JobSearchIndex {
+
+  private final float k1;
+  private final float b;
+  private final float titleBoost;
+
+  private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+  /** 文档序号 -> 文档，已删除的为 null */
+  private final List<Entry> entries = new ArrayList<>();
+
+  private final Map<Long, Integer> ordByJobId = new HashMap<>();
+
+  /** 未删除的文档 */
+  private final BitSet live = new BitSet();
+
+  private final Map<String, BitSet> byCity = new HashMap<>();
+  private final Map<Integer, BitSet> byJobType = new HashMap<>();
+  private final Map<Integer, BitSet> byEducation = new HashMap<>();
+  /** 学历要求为空的文档，任何学历筛选都命中 */
+  private final BitSet educationUnset = new BitSet();
+  private final Map<Long, BitSet> byCompany = new HashMap<>();
+  private final Map<String, BitSet> bySkill = new HashMap<>();
+
+  private final Map<String, Postings> postings = new HashMap<>();
+
+  /** 未删除文档的加权总词数，用于计算平均文档长度 */
+  private double totalLength;
+
+  private int liveCount;
+
+  /** 按发布时间倒序排列的文档序号及每个序号的名次，写入后置空，查询时懒计算 */
+  private volatile int[] recencyOrder;
+  private volatile int[] recencyRank;
+  private final Object recencyMonitor = new Object();
+
+  public JobSearchIndex(float k1, float b, float titleBoost) {
+    this.k1 = k1;
+    this.b = b;
+    this.titleBoost = titleBoost;
+  }
+
+  /** 写入或替换岗位 */
+  public void upsert(JobSearchDoc doc) {
+    lock.writeLock().lock();
+    try {
+      removeLocked(doc.getJobId());
+      addLocked(doc);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /** 删除岗位，不存在时忽略 */
+  public void remove(Long jobId) {
+    lock.writeLock().lock();
+    try {
+      removeLocked(jobId);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /** 未删除的岗位数 */
+  public int size() {
+    lock.readLock().lock();
+    try {
+      return liveCount;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /** 已删除但仍占用序号的文档占比，过高时应全量重建 */
+  public double deletedRatio() {
+    lock.readLock().lock();
+    try {
+      return entries.isEmpty() ? 0 : 1.0 - (double) liveCount / entries.size();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * 关键词能否由索引检索：含单个中日韩字符的词时不能（如"京"需要命中"北京"），应改用数据库的模糊匹配
+   *
+   * @param keyword 关键词，可为 null
+   */
+  public static boolean supportsKeyword(String keyword) {
+    return CjkBigramTokenizer.tokenize(keyword).stream()
+        .noneMatch(CjkBigramTokenizer::isCjkUnigram);
+  }
+
+  /**
+   * 按筛选条件和关键词查询一页岗位卡片
+   *
+   * <p>筛选语义与 {@code JobInfoMapper.searchPublicJobCards} 一致；关键词的所有词都须出现在岗位名称、描述或任职要求中。
+   * 调用前应先用 {@link #supportsKeyword} 判断关键词能否由索引检索
+   *
+   * @param query 查询条件
+   * @return 岗位卡片副本，调用方可修改
+   */
+  public List<JobCardDTO> search(JobSearchDTO query) {
+    int page = query.getPage() == null || query.getPage() < 1 ? 1 : query.getPage();
+    int size = query.getSize() == null || query.getSize() < 1 ? 20 : query.getSize();
+    int offset = (page - 1) * size;
+
+    lock.readLock().lock();
+    try {
+      BitSet filter = buildFilter(query);
+      if (filter.isEmpty()) {
+        return new ArrayList<>();
+      }
+      ensureRecency();
+      List<String> terms =
+          new ArrayList<>(new LinkedHashSet<>(CjkBigramTokenizer.tokenize(query.getKeyword())));
+      int[] ords =
+          terms.isEmpty()
+              ? byRecency(filter, offset, size)
+              : byRelevance(filter, terms, offset, size);
+      List<JobCardDTO> result = new ArrayList<>(ords.length);
+      for (int ord : ords) {
+        result.add(copyCard(entries.get(ord).card()));
+      }
+      return result;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  // ========== 写入 ==========
+
+  private void addLocked(JobSearchDoc doc) {
+    int ord = entries.size();
+
+    Map<String, Float> termFreqs = new HashMap<>();
+    float length = 0;
+    length += accumulate(termFreqs, doc.getJobTitle(), titleBoost);
+    length += accumulate(termFreqs, doc.getDescription(), 1f);
+    length += accumulate(termFreqs, doc.getRequirements(), 1f);
+    for (Map.Entry<String, Float> e : termFreqs.entrySet()) {
+      postings.computeIfAbsent(e.getKey(), t -> new Postings()).add(ord, e.getValue());
+    }
+
+    entries.add(
+        new Entry(
+            doc.getJobId(),
+            toCard(doc),
+            termFreqs.keySet().toArray(new String[0]),
+            length,
+            toDouble(doc.getSalaryMin()),
+            toDouble(doc.getSalaryMax()),
+            doc.getPublishedAt() == null ? Long.MIN_VALUE : doc.getPublishedAt().getTime(),
+            doc.getCreatedAt() == null ? Long.MIN_VALUE : doc.getCreatedAt().getTime()));
+    ordByJobId.put(doc.getJobId(), ord);
+    live.set(ord);
+
+    if (StringUtils.hasText(doc.getCity())) {
+      byCity.computeIfAbsent(normalize(doc.getCity()), k -> new BitSet()).set(ord);
+    }
+    if (doc.getJobType() != null) {
+      byJobType.computeIfAbsent(doc.getJobType(), k -> new BitSet()).set(ord);
+    }
+    if (doc.getEducationRequired() != null) {
+      byEducation.computeIfAbsent(doc.getEducationRequired(), k -> new BitSet()).set(ord);
+    } else {
+      educationUnset.set(ord);
+    }
+    if (doc.getCompanyId() != null) {
+      byCompany.computeIfAbsent(doc.getCompanyId(), k -> new BitSet()).set(ord);
+    }
+    if (doc.getSkills() != null) {
+      for (String skill : doc.getSkills()) {
+        if (StringUtils.hasText(skill)) {
+          bySkill.computeIfAbsent(normalize(skill), k -> new BitSet()).set(ord);
+        }
+      }
+    }
+
+    totalLength += length;
+    liveCount++;
+    recencyOrder = null;
+  }
+
+  private void removeLocked(Long jobId) {
+    Integer ord = ordByJobId.remove(jobId);
+    if (ord == null) {
+      return;
+    }
+    Entry entry = entries.get(ord);
+    // 筛选位图和倒排表中的旧序号保留，查询时与 live 相与即被排除；文档频率需要立即扣减，否则影响 idf
+    for (String term : entry.terms()) {
+      postings.get(term).df--;
+    }
+    live.clear(ord);
+    entries.set(ord, null);
+    totalLength -= entry.length();
+    liveCount--;
+    recencyOrder = null;
+  }
+
+  private static float accumulate(Map<String, Float> termFreqs, String text, float weight) {
+    List<String> tokens = CjkBigramTokenizer.tokenize(text);
+    for (String token : tokens) {
+      termFreqs.merge(token, weight, Float::sum);
+    }
+    return tokens.size() * weight;
+  }
+
+  // ========== 查询 ==========
+
+  private BitSet buildFilter(JobSearchDTO query) {
+    BitSet filter = (BitSet) live.clone();
+    if (StringUtils.hasText(query.getCity())) {
+      and(filter, byCity.get(normalize(query.getCity())));
+    }
+    if (query.getJobType() != null) {
+      and(filter, byJobType.get(query.getJobType()));
+    }
+    if (query.getEducationRequired() != null) {
+      BitSet education = (BitSet) educationUnset.clone();
+      BitSet matched = byEducation.get(query.getEducationRequired());
+      if (matched != null) {
+        education.or(matched);
+      }
+      filter.and(education);
+    }
+    if (query.getCompanyId() != null) {
+      and(filter, byCompany.get(query.getCompanyId()));
+    }
+    if (query.getSkills() != null && !query.getSkills().isEmpty()) {
+      BitSet anySkill = new BitSet();
+      for (String skill : query.getSkills()) {
+        BitSet matched = StringUtils.hasText(skill) ? bySkill.get(normalize(skill)) : null;
+        if (matched != null) {
+          anySkill.or(matched);
+        }
+      }
+      filter.and(anySkill);
+    }
+    // 薪资区间：岗位最高薪资 >= 期望最低薪资，岗位最低薪资 <= 期望最高薪资，未填写的一侧不限
+    double minSalary = toDouble(query.getMinSalary());
+    double maxSalary = toDouble(query.getMaxSalary());
+    if (!Double.isNaN(minSalary) || !Double.isNaN(maxSalary)) {
+      for (int ord = filter.nextSetBit(0); ord >= 0; ord = filter.nextSetBit(ord + 1)) {
+        Entry entry = entries.get(ord);
+        if ((!Double.isNaN(minSalary) && entry.salaryMax() < minSalary)
+            || (!Double.isNaN(maxSalary) && entry.salaryMin() > maxSalary)) {
+          filter.clear(ord);
+        }
+      }
+    }
+    return filter;
+  }
+
+  private static void and(BitSet filter, BitSet other) {
+    if (other == null) {
+      filter.clear();
+    } else {
+      filter.and(other);
+    }
+  }
+
+  private int[] byRecency(BitSet filter, int offset, int size) {
+    int[] order = recencyOrder;
+    int[] result = new int[size];
+    int skipped = 0;
+    int count = 0;
+    for (int i = 0; i < order.length && count < size; i++) {
+      if (filter.get(order[i])) {
+        if (skipped < offset) {
+          skipped++;
+        } else {
+          result[count++] = order[i];
+        }
+      }
+    }
+    return Arrays.copyOf(result, count);
+  }
+
+  private int[] byRelevance(BitSet filter, List<String> terms, int offset, int size) {
+    Postings[] lists = new Postings[terms.size()];
+    for (int i = 0; i < lists.length; i++) {
+      lists[i] = postings.get(terms.get(i));
+      if (lists[i] == null || lists[i].df <= 0) {
+        return new int[0];
+      }
+    }
+    // 从最短的倒排表出发求交集，其余词在各自倒排表中二分查找
+    Arrays.sort(lists, Comparator.comparingInt(p -> p.size));
+
+    double avgLength = liveCount == 0 ? 1 : Math.max(totalLength / liveCount, 1);
+    double[] idf = new double[lists.length];
+    for (int i = 0; i < lists.length; i++) {
+      int df = lists[i].df;
+      idf[i] = Math.log(1 + (liveCount - df + 0.5) / (df + 0.5));
+    }
+
+    int[] rank = recencyRank;
+    Comparator<Hit> worstFirst =
+        Comparator.comparingDouble(Hit::score)
+            .thenComparing(Hit::ord, (x, y) -> Integer.compare(rank[y], rank[x]));
+    // worstFirst 的逆序即结果顺序：得分高在前，同分时发布时间新的在前
+    int keep = offset + size;
+    PriorityQueue<Hit> top = new PriorityQueue<>(Math.min(keep, 1024), worstFirst);
+
+    Postings driver = lists[0];
+    for (int i = 0; i < driver.size; i++) {
+      int ord = driver.ords[i];
+      if (!filter.get(ord)) {
+        continue;
+      }
+      double norm = k1 * (1 - b + b * entries.get(ord).length() / avgLength);
+      double score = bm25(driver.freqs[i], norm, idf[0]);
+      boolean matchedAll = true;
+      for (int t = 1; t < lists.length; t++) {
+        int pos = Arrays.binarySearch(lists[t].ords, 0, lists[t].size, ord);
+        if (pos < 0) {
+          matchedAll = false;
+          break;
+        }
+        score += bm25(lists[t].freqs[pos], norm, idf[t]);
+      }
+      if (!matchedAll) {
+        continue;
+      }
+      Hit hit = new Hit(ord, score);
+      if (top.size() < keep) {
+        top.add(hit);
+      } else if (worstFirst.compare(hit, top.peek()) > 0) {
+        top.poll();
+        top.add(hit);
+      }
+    }
+
+    int count = Math.max(top.size() - offset, 0);
+    int[] result = new int[count];
+    // 堆中从差到好弹出，前 count 个倒序放入结果，剩下的 offset 个属于前面的页
+    for (int i = count - 1; i >= 0; i--) {
+      result[i] = top.poll().ord();
+    }
+    return result;
+  }
+
+  private double bm25(float tf, double norm, double idf) {
+    return idf * tf * (k1 + 1) / (tf + norm);
+  }
+
+  /** 懒计算发布时间顺序；在读锁下执行，写入被阻塞，多个查询线程只计算一次 */
+  private void ensureRecency() {
+    if (recencyOrder != null) {
+      return;
+    }
+    synchronized (recencyMonitor) {
+      if (recencyOrder != null) {
+        return;
+      }
+      Integer[] ords = live.stream().boxed().toArray(Integer[]::new);
+      Arrays.sort(
+          ords,
+          Comparator.<Integer>comparingLong(ord -> entries.get(ord).publishedAt())
+              .thenComparingLong(ord -> entries.get(ord).createdAt())
+              .thenComparingLong(ord -> entries.get(ord).jobId())
+              .reversed());
+      int[] order = new int[ords.length];
+      int[] rank = new int[entries.size()];
+      for (int i = 0; i < ords.length; i++) {
+        order[i] = ords[i];
+        rank[ords[i]] = i;
+      }
+      recencyRank = rank;
+      recencyOrder = order;
+    }
+  }
+
+  // ========== 辅助 ==========
+
+  private static String normalize(String value) {
+    return value.trim().toLowerCase(Locale.ROOT);
+  }
+
+  private static double toDouble(BigDecimal value) {
+    return value == null ? Double.NaN : value.doubleValue();
+  }
+
+  private static JobCardDTO toCard(JobSearchDoc doc) {
+    JobCardDTO card = new JobCardDTO();
+    BeanUtils.copyProperties(doc, card);
+    card.setSkills(doc.getSkills() == null ? new ArrayList<>() : List.copyOf(doc.getSkills()));
+    return card;
+  }
+
+  private static JobCardDTO copyCard(JobCardDTO card) {
+    JobCardDTO copy = new JobCardDTO();
+    BeanUtils.copyProperties(card, copy);
+    copy.setSkills(new ArrayList<>(card.getSkills()));
+    return copy;
+  }
+
+  /**
+   * 索引中的文档
+   *
+   * @param salaryMin 未填写时为 NaN，与任何值比较都为 false，即不限
+   * @param publishedAt 未发布时为 Long.MIN_VALUE，排在最后
+   */
+  private record Entry(
+      Long jobId,
+      JobCardDTO card,
+      String[] terms,
+      float length,
+      double salaryMin,
+      double salaryMax,
+      long publishedAt,
+      long createdAt) {}
+
+  private record Hit(int ord, double score) {}
+
+  /** 一个词的倒排表：按序号升序的 (序号, 加权词频)，含已删除文档 */
+  private static final class Postings {
+    private int[] ords = new int[4];
+    private float[] freqs = new float[4];
+    private int size;
+    /** 包含该词的未删除文档数 */
+    private int df;
+
+    private void add(int ord, float freq) {
+      if (size == ords.length) {
+        ords = Arrays.copyOf(ords, size * 2);
+        freqs = Arrays.copyOf(freqs, size * 2);
+      }
+      ords[size] = ord;
+      freqs[size] = freq;
+      size++;
+      df++;
+    }
+  }
+}
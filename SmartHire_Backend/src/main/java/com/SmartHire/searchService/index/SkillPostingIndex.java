@@ -0,0 +1,245 @@
+package com.SmartHire.searchService.index;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.util.StringUtils;
+
+/**
+ * 技能倒排索引：技能名称 -> 实体ID 压缩位图
+ *
+ * <p>岗位（job_skill_requirement）和求职者（skill）各用一个实例。技能名称按 去首尾空白、小写 归一化，与 MySQL 默认排序规则下 {@code
+ * skill_name IN (...)} 的匹配结果一致。实体ID直接作为位图中的值，须在 [0, 2^32) 范围内
+ *
+ * <p>支持三种查询：全部命中（AND）、任一命中（OR）、至少命中 k 个。读写锁保护，查询之间互不阻塞
+ */
+public class SkillPostingIndex {
+
+  /** 位图按无符号 32 位整数存储实体ID */
+  private static final long MAX_ENTITY_ID = 0xFFFFFFFFL;
+
+  private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+  private final Map<String, RoaringBitmap> postings = new HashMap<>();
+
+  /** 实体ID -> 已索引的技能，替换时据此清理旧的倒排项 */
+  private final Map<Long, Set<String>> skillsByEntity = new HashMap<>();
+
+  /**
+   * 追加实体的一个技能，用于全量构建
+   *
+   * @param entityId 实体ID
+   * @param skillName 技能名称，空白时忽略
+   */
+  public void add(Long entityId, String skillName) {
+    if (!StringUtils.hasText(skillName)) {
+      return;
+    }
+    int value = toValue(entityId);
+    String skill = normalize(skillName);
+    lock.writeLock().lock();
+    try {
+      if (skillsByEntity.computeIfAbsent(entityId, k -> new LinkedHashSet<>()).add(skill)) {
+        postings.computeIfAbsent(skill, k -> new RoaringBitmap()).add(value);
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * 用最新的技能列表替换实体的全部技能；列表为空时等同于删除
+   *
+   * @param entityId 实体ID
+   * @param skillNames 技能名称
+   */
+  public void replace(Long entityId, Collection<String> skillNames) {
+    int value = toValue(entityId);
+    Set<String> fresh = normalizeAll(skillNames);
+    lock.writeLock().lock();
+    try {
+      Set<String> old = skillsByEntity.remove(entityId);
+      if (old != null) {
+        for (String skill : old) {
+          if (!fresh.contains(skill)) {
+            unlink(skill, value);
+          }
+        }
+      }
+      if (fresh.isEmpty()) {
+        return;
+      }
+      for (String skill : fresh) {
+        if (old == null || !old.contains(skill)) {
+          postings.computeIfAbsent(skill, k -> new RoaringBitmap()).add(value);
+        }
+      }
+      skillsByEntity.put(entityId, fresh);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * 删除实体的全部技能
+   *
+   * @param entityId 实体ID
+   */
+  public void remove(Long entityId) {
+    replace(entityId, List.of());
+  }
+
+  /**
+   * 查询至少具备 minMatch 个指定技能的实体
+   *
+   * <p>minMatch 小于等于 1 时为任一命中，大于等于去重后的技能数时为全部命中
+   *
+   * @param skillNames 技能名称
+   * @param minMatch 最少命中的技能数
+   * @return 按ID升序的实体ID；没有有效技能时返回空列表
+   */
+  public List<Long> match(Collection<String> skillNames, int minMatch) {
+    Set<String> skills = normalizeAll(skillNames);
+    if (skills.isEmpty()) {
+      return new ArrayList<>();
+    }
+    int k = Math.max(1, minMatch);
+    if (k > skills.size()) {
+      return new ArrayList<>();
+    }
+    lock.readLock().lock();
+    try {
+      List<RoaringBitmap> bitmaps = new ArrayList<>(skills.size());
+      for (String skill : skills) {
+        RoaringBitmap bitmap = postings.get(skill);
+        if (bitmap == null) {
+          // 全部命中时任一技能没有实体即可提前返回；其他情况相当于少一个参与计数的位图
+          if (k == skills.size()) {
+            return new ArrayList<>();
+          }
+          continue;
+        }
+        bitmaps.add(bitmap);
+      }
+      if (bitmaps.size() < k) {
+        return new ArrayList<>();
+      }
+      return toIds(aggregate(bitmaps, k));
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /** 已索引的实体数 */
+  public int size() {
+    lock.readLock().lock();
+    try {
+      return skillsByEntity.size();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /** 不同技能数 */
+  public int skillCount() {
+    lock.readLock().lock();
+    try {
+      return postings.size();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /** 全量构建完成后压缩位图中的连续区间 */
+  public void optimize() {
+    lock.writeLock().lock();
+    try {
+      postings.values().forEach(RoaringBitmap::runOptimize);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * 判断实体ID能否写入索引
+   *
+   * @param entityId 实体ID
+   * @return 在 [0, 2^32) 范围内时返回 true
+   */
+  public static boolean isIndexable(Long entityId) {
+    return entityId != null && entityId >= 0 && entityId <= MAX_ENTITY_ID;
+  }
+
+  /**
+   * 至少出现在 k 个位图中的值
+   *
+   * <p>levels[i] 为至少出现在 i+1 个已处理位图中的值，逐个位图自高向低更新，共 O(n*k) 次位图运算
+   */
+  private static RoaringBitmap aggregate(List<RoaringBitmap> bitmaps, int k) {
+    if (k == 1) {
+      return FastAggregation.or(bitmaps.iterator());
+    }
+    if (k == bitmaps.size()) {
+      return FastAggregation.and(bitmaps.iterator());
+    }
+    RoaringBitmap[] levels = new RoaringBitmap[k];
+    for (int i = 0; i < k; i++) {
+      levels[i] = new RoaringBitmap();
+    }
+    for (RoaringBitmap bitmap : bitmaps) {
+      for (int i = k - 1; i > 0; i--) {
+        levels[i].or(RoaringBitmap.and(levels[i - 1], bitmap));
+      }
+      levels[0].or(bitmap);
+    }
+    return levels[k - 1];
+  }
+
+  private void unlink(String skill, int value) {
+    RoaringBitmap bitmap = postings.get(skill);
+    if (bitmap == null) {
+      return;
+    }
+    bitmap.remove(value);
+    if (bitmap.isEmpty()) {
+      postings.remove(skill);
+    }
+  }
+
+  private static List<Long> toIds(RoaringBitmap bitmap) {
+    List<Long> ids = new ArrayList<>(bitmap.getCardinality());
+    bitmap.forEach((int value) -> ids.add(Integer.toUnsignedLong(value)));
+    return ids;
+  }
+
+  private static int toValue(Long entityId) {
+    if (!isIndexable(entityId)) {
+      throw new IllegalArgumentException("实体ID超出技能索引范围: " + entityId);
+    }
+    return (int) entityId.longValue();
+  }
+
+  private static Set<String> normalizeAll(Collection<String> skillNames) {
+    Set<String> skills = new LinkedHashSet<>();
+    if (skillNames != null) {
+      for (String skillName : skillNames) {
+        if (StringUtils.hasText(skillName)) {
+          skills.add(normalize(skillName));
+        }
+      }
+    }
+    return skills;
+  }
+
+  private static String normalize(String value) {
+    return value.trim().toLowerCase(Locale.ROOT);
+  }
+}
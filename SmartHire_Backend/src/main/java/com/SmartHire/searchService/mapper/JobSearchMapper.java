@@ -0,0 +1,39 @@
+package com.SmartHire.searchService.mapper;
+
+import com.SmartHire.searchService.model.JobSearchDoc;
+import com.SmartHire.searchService.model.JobSearchSkill;
+import java.util.Collection;
+import java.util.List;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+/** 岗位搜索索引数据源 Mapper 接口，只读 */
+@Mapper
+public interface JobSearchMapper {
+
+    /**
+     * 按岗位ID升序分批读取招聘中的岗位，用于全量构建索引
+     *
+     * @param afterJobId 上一批最后一个岗位ID，首批传 null
+     * @param limit      每批条数
+     * @return 搜索文档（不含技能）
+     */
+    List<JobSearchDoc> selectActiveDocs(
+            @Param("afterJobId") Long afterJobId, @Param("limit") Integer limit);
+
+    /**
+     * 读取单个岗位，不限状态，用于增量更新
+     *
+     * @param jobId 岗位ID
+     * @return 搜索文档（不含技能），岗位不存在或关联的公司/HR不存在时返回 null
+     */
+    JobSearchDoc selectDocById(@Param("jobId") Long jobId);
+
+    /**
+     * 批量读取岗位技能要求
+     *
+     * @param jobIds 岗位ID集合
+     * @return (岗位ID, 技能名称) 列表
+     */
+    List<JobSearchSkill> selectSkillsByJobIds(@Param("jobIds") Collection<Long> jobIds);
+}
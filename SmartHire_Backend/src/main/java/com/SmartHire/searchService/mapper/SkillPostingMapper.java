@@ -0,0 +1,47 @@
+package com.SmartHire.searchService.mapper;
+
+import com.SmartHire.searchService.model.SkillPosting;
+import java.util.List;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+/** 技能倒排索引数据源 Mapper 接口，只读 */
+@Mapper
+public interface SkillPostingMapper {
+
+    /**
+     * 按行ID升序分批读取招聘中岗位的技能要求
+     *
+     * @param afterId 上一批最后一行的ID，首批传 null
+     * @param limit   每批条数
+     * @return (行ID, 岗位ID, 技能名称) 列表
+     */
+    List<SkillPosting> selectActiveJobSkills(
+            @Param("afterId") Long afterId, @Param("limit") Integer limit);
+
+    /**
+     * 按行ID升序分批读取求职者技能
+     *
+     * @param afterId 上一批最后一行的ID，首批传 null
+     * @param limit   每批条数
+     * @return (行ID, 求职者ID, 技能名称) 列表
+     */
+    List<SkillPosting> selectSeekerSkills(
+            @Param("afterId") Long afterId, @Param("limit") Integer limit);
+
+    /**
+     * 读取单个岗位的技能要求，岗位不在招聘中时返回空列表
+     *
+     * @param jobId 岗位ID
+     * @return 技能名称列表
+     */
+    List<String> selectActiveJobSkillNames(@Param("jobId") Long jobId);
+
+    /**
+     * 读取单个求职者的技能
+     *
+     * @param jobSeekerId 求职者ID
+     * @return 技能名称列表
+     */
+    List<String> selectSeekerSkillNames(@Param("jobSeekerId") Long jobSeekerId);
+}
@@ -0,0 +1,88 @@
+package com.SmartHire.searchService.model;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.List;
+import lombok.Data;
+
+/** 岗位搜索文档 一个岗位在索引中的全部字段：全文检索字段、筛选字段及展示用的卡片字段 */
+@Data
+public class JobSearchDoc implements Serializable {
+
+  @Serial
+  private static final long serialVersionUID = 1L;
+
+  /** 岗位ID */
+  private Long jobId;
+
+  /** 公司ID */
+  private Long companyId;
+
+  /** 状态：0-已下线 1-招聘中 2-已暂停 */
+  private Integer status;
+
+  /** 岗位名称 */
+  private String jobTitle;
+
+  /** 岗位描述 */
+  private String description;
+
+  /** 任职要求 */
+  private String requirements;
+
+  /** 工作城市 */
+  private String city;
+
+  /** 岗位地址 */
+  private String address;
+
+  /** 工作类型：0-全职 1-实习 */
+  private Integer jobType;
+
+  /** 学历要求：0-不限 1-专科 2-本科 3-硕士 4-博士 */
+  private Integer educationRequired;
+
+  /** 岗位薪资最低 */
+  private BigDecimal salaryMin;
+
+  /** 岗位薪资最高 */
+  private BigDecimal salaryMax;
+
+  /** 薪资月数 */
+  private Integer salaryMonths;
+
+  /** 经验要求 */
+  private Integer experienceRequired;
+
+  /** 每周实习天数 */
+  private Integer internshipDaysPerWeek;
+
+  /** 实习时长（月） */
+  private Integer internshipDurationMonths;
+
+  /** 公司名称 */
+  private String companyName;
+
+  /** 公司规模 */
+  private Integer companyScale;
+
+  /** 融资阶段 */
+  private Integer financingStage;
+
+  /** HR名称（真实姓名） */
+  private String hrName;
+
+  /** HR头像URL */
+  private String hrAvatarUrl;
+
+  /** 发布时间 */
+  private Date publishedAt;
+
+  /** 创建时间 */
+  private Date createdAt;
+
+  /** 技能要求列表 */
+  private List<String> skills;
+}
@@ -0,0 +1,14 @@
+package com.SmartHire.searchService.model;
+
+import lombok.Data;
+
+/** 岗位技能行 批量加载搜索文档的技能要求时使用 */
+@Data
+public class JobSearchSkill {
+
+  /** 岗位ID */
+  private Long jobId;
+
+  /** 技能名称 */
+  private String skillName;
+}
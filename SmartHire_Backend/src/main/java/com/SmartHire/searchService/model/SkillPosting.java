@@ -0,0 +1,17 @@
+package com.SmartHire.searchService.model;
+
+import lombok.Data;
+
+/** 技能行 全量构建技能倒排索引时按行ID分批读取 */
+@Data
+public class SkillPosting {
+
+  /** 技能行ID，分批读取的游标 */
+  private Long id;
+
+  /** 岗位ID或求职者ID */
+  private Long entityId;
+
+  /** 技能名称 */
+  private String skillName;
+}
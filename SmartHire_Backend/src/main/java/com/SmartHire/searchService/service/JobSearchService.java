@@ -0,0 +1,27 @@
+package com.SmartHire.searchService.service;
+
+import com.SmartHire.common.dto.hrDto.JobCardDTO;
+import com.SmartHire.common.dto.hrDto.JobSearchDTO;
+import java.util.List;
+
+/** 岗位搜索服务 维护招聘中岗位的内存倒排索引 */
+public interface JobSearchService {
+
+  /**
+   * 检索岗位
+   *
+   * @param searchDTO 筛选条件
+   * @return 岗位卡片列表；索引不可用或关键词含单个汉字等索引无法检索的词时返回 null，由调用方走数据库
+   */
+  List<JobCardDTO> search(JobSearchDTO searchDTO);
+
+  /**
+   * 按数据库中的最新状态刷新单个岗位：招聘中则写入索引，否则从索引删除
+   *
+   * @param jobId 岗位ID
+   */
+  void refresh(Long jobId);
+
+  /** 从数据库全量重建索引，完成后原子替换当前索引 */
+  void rebuild();
+}
@@ -0,0 +1,43 @@
+package com.SmartHire.searchService.service;
+
+import java.util.Collection;
+import java.util.List;
+
+/** 技能索引服务 维护招聘中岗位和求职者的 技能 -> ID 压缩位图倒排索引 */
+public interface SkillIndexService {
+
+  /**
+   * 按技能匹配招聘中的岗位
+   *
+   * @param skills 技能名称
+   * @param minMatch 最少命中的技能数：1 为任一命中，等于技能数为全部命中
+   * @return 按ID升序的岗位ID；索引不可用时返回 null
+   */
+  List<Long> matchJobs(Collection<String> skills, int minMatch);
+
+  /**
+   * 按技能匹配求职者
+   *
+   * @param skills 技能名称
+   * @param minMatch 最少命中的技能数：1 为任一命中，等于技能数为全部命中
+   * @return 按ID升序的求职者ID；索引不可用时返回 null
+   */
+  List<Long> matchSeekers(Collection<String> skills, int minMatch);
+
+  /**
+   * 按数据库中的最新状态刷新单个岗位的技能，岗位不在招聘中时从索引删除
+   *
+   * @param jobId 岗位ID
+   */
+  void refreshJob(Long jobId);
+
+  /**
+   * 按数据库中的最新状态刷新单个求职者的技能
+   *
+   * @param jobSeekerId 求职者ID
+   */
+  void refreshSeeker(Long jobSeekerId);
+
+  /** 从数据库全量重建两个索引，完成后原子替换 */
+  void rebuild();
+}
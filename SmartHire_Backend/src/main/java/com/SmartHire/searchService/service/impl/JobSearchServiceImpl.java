@@ -0,0 +1,244 @@
+package com.SmartHire.searchService.service.impl;
+
+import com.SmartHire.common.dto.hrDto.JobCardDTO;
+import com.SmartHire.common.dto.hrDto.JobSearchDTO;
+import com.SmartHire.common.event.JobInfoChangedEvent;
+import com.SmartHire.searchService.index.JobSearchIndex;
+import com.SmartHire.searchService.mapper.JobSearchMapper;
+import com.SmartHire.searchService.model.JobSearchDoc;
+import com.SmartHire.searchService.model.JobSearchSkill;
+import com.SmartHire.searchService.service.JobSearchService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 岗位搜索服务实现类
+ *
+ * <p>启动后全量构建索引，之后按 {@link JobInfoChangedEvent} 增量刷新单个岗位；其他节点的变更经 Redis 频道 {@code search:job:changed}
+ * 广播（消息为 实例ID:岗位ID）。公司名称、HR 头像等关联数据的变化以及丢失的广播由定期全量重建兜底
+ */
+@Slf4j
+@Service
+public class JobSearchServiceImpl implements JobSearchService {
+
+  private static final String CHANGED_CHANNEL = "search:job:changed";
+
+  /** 删除标记占比超过该值时提前全量重建 */
+  private static final double COMPACT_DELETED_RATIO = 0.3;
+
+  @Autowired private JobSearchMapper jobSearchMapper;
+
+  @Autowired private RedisTemplate<String, String> redisTemplate;
+
+  @Autowired private RedisMessageListenerContainer redisMessageListenerContainer;
+
+  @Autowired private MeterRegistry meterRegistry;
+
+  /** 是否启用内存索引，关闭时岗位筛选走数据库 */
+  @Value("${search.job.enabled:true}")
+  private boolean enabled;
+
+  /** 全量构建时每批读取的岗位数 */
+  @Value("${search.job.load-batch-size:1000}")
+  private int loadBatchSize;
+
+  @Value("${search.job.bm25-k1:1.2}")
+  private float k1;
+
+  @Value("${search.job.bm25-b:0.75}")
+  private float b;
+
+  /** 岗位名称中的词相对描述、任职要求的权重 */
+  @Value("${search.job.title-boost:2.0}")
+  private float titleBoost;
+
+  /** 区分本实例发出的广播 */
+  private final String instanceId = UUID.randomUUID().toString();
+
+  private volatile JobSearchIndex index;
+
+  /** 全量重建期间发生变更的岗位，新索引替换后补刷 */
+  private final Set<Long> changedDuringRebuild = ConcurrentHashMap.newKeySet();
+
+  private volatile boolean rebuilding;
+
+  private Timer queryTimer;
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void init() {
+    if (!enabled) {
+      return;
+    }
+    queryTimer =
+        Timer.builder("search.job.query")
+            .publishPercentiles(0.5, 0.99)
+            .register(meterRegistry);
+    Gauge.builder("search.job.index.size", this, s -> s.index == null ? 0 : s.index.size())
+        .register(meterRegistry);
+    redisMessageListenerContainer.addMessageListener(
+        (message, pattern) -> {
+          String body = new String(message.getBody(), StandardCharsets.UTF_8);
+          int separator = body.lastIndexOf(':');
+          if (separator < 0 || body.substring(0, separator).equals(instanceId)) {
+            return;
+          }
+          try {
+            refresh(Long.valueOf(body.substring(separator + 1)));
+          } catch (Exception e) {
+            log.warn("刷新岗位索引失败: message={}", body, e);
+          }
+        },
+        new ChannelTopic(CHANGED_CHANNEL));
+    try {
+      rebuild();
+    } catch (Exception e) {
+      log.error("构建岗位索引失败，岗位筛选暂时走数据库", e);
+    }
+  }
+
+  @Override
+  public List<JobCardDTO> search(JobSearchDTO searchDTO) {
+    JobSearchIndex current = index;
+    if (current == null || !JobSearchIndex.supportsKeyword(searchDTO.getKeyword())) {
+      return null;
+    }
+    return queryTimer.record(() -> current.search(searchDTO));
+  }
+
+  @Override
+  public void refresh(Long jobId) {
+    if (jobId == null) {
+      return;
+    }
+    if (rebuilding) {
+      changedDuringRebuild.add(jobId);
+    }
+    JobSearchIndex current = index;
+    if (current == null) {
+      return;
+    }
+    JobSearchDoc doc = jobSearchMapper.selectDocById(jobId);
+    if (doc == null || doc.getStatus() == null || doc.getStatus() != 1) {
+      current.remove(jobId);
+      return;
+    }
+    doc.setSkills(
+        jobSearchMapper.selectSkillsByJobIds(List.of(jobId)).stream()
+            .map(JobSearchSkill::getSkillName)
+            .toList());
+    current.upsert(doc);
+  }
+
+  @Override
+  public synchronized void rebuild() {
+    if (!enabled) {
+      return;
+    }
+    long start = System.currentTimeMillis();
+    rebuilding = true;
+    try {
+      JobSearchIndex fresh = new JobSearchIndex(k1, b, titleBoost);
+      Long afterJobId = null;
+      while (true) {
+        List<JobSearchDoc> batch = jobSearchMapper.selectActiveDocs(afterJobId, loadBatchSize);
+        if (batch.isEmpty()) {
+          break;
+        }
+        Map<Long, List<String>> skills =
+            jobSearchMapper
+                .selectSkillsByJobIds(batch.stream().map(JobSearchDoc::getJobId).toList())
+                .stream()
+                .collect(
+                    Collectors.groupingBy(
+                        JobSearchSkill::getJobId,
+                        Collectors.mapping(JobSearchSkill::getSkillName, Collectors.toList())));
+        for (JobSearchDoc doc : batch) {
+          doc.setSkills(skills.getOrDefault(doc.getJobId(), new ArrayList<>()));
+          fresh.upsert(doc);
+        }
+        if (batch.size() < loadBatchSize) {
+          break;
+        }
+        afterJobId = batch.get(batch.size() - 1).getJobId();
+      }
+      index = fresh;
+    } finally {
+      rebuilding = false;
+    }
+    // 构建期间读到的可能是旧版本，替换后按最新数据补刷
+    List<Long> changed = new ArrayList<>(changedDuringRebuild);
+    changedDuringRebuild.removeAll(changed);
+    changed.forEach(this::refresh);
+    log.info(
+        "岗位索引构建完成: jobs={}, 补刷={}, 耗时={}ms",
+        index.size(),
+        changed.size(),
+        System.currentTimeMillis() - start);
+  }
+
+  /** 定时全量重建，同步关联数据的变化并清理删除标记 */
+  @Scheduled(
+      initialDelayString = "${search.job.rebuild-interval-ms:600000}",
+      fixedDelayString = "${search.job.rebuild-interval-ms:600000}")
+  public void scheduledRebuild() {
+    rebuildQuietly();
+  }
+
+  /** 增量更新累积的删除标记过多时提前重建 */
+  @Scheduled(fixedDelay = 60000)
+  public void compactIfNeeded() {
+    JobSearchIndex current = index;
+    if (current != null && current.deletedRatio() > COMPACT_DELETED_RATIO) {
+      rebuildQuietly();
+    }
+  }
+
+  /** 岗位变更：事务提交后刷新本节点索引并通知其他节点 */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onJobInfoChanged(JobInfoChangedEvent event) {
+    if (!enabled || event.getJobId() == null) {
+      return;
+    }
+    try {
+      refresh(event.getJobId());
+    } catch (Exception e) {
+      log.warn("刷新岗位索引失败，等待定期重建: jobId={}", event.getJobId(), e);
+    }
+    try {
+      redisTemplate.convertAndSend(CHANGED_CHANNEL, instanceId + ":" + event.getJobId());
+    } catch (Exception e) {
+      log.warn("广播岗位变更失败，其他节点将在定期重建后更新: jobId={}", event.getJobId(), e);
+    }
+  }
+
+  private void rebuildQuietly() {
+    if (!enabled) {
+      return;
+    }
+    try {
+      rebuild();
+    } catch (Exception e) {
+      log.error("重建岗位索引失败，继续使用旧索引", e);
+    }
+  }
+}
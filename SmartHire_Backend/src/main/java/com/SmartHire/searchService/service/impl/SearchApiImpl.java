@@ -0,0 +1,38 @@
+package com.SmartHire.searchService.service.impl;
+
+import com.SmartHire.common.api.SearchApi;
+import com.SmartHire.common.dto.hrDto.JobCardDTO;
+import com.SmartHire.common.dto.hrDto.JobSearchDTO;
+import com.SmartHire.searchService.service.JobSearchService;
+import com.SmartHire.searchService.service.SkillIndexService;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+/** 搜索服务API实现类 用于模块间通信 */
+@Service
+public class SearchApiImpl implements SearchApi {
+
+  @Autowired private JobSearchService jobSearchService;
+
+  @Autowired private SkillIndexService skillIndexService;
+
+  @Override
+  public List<JobCardDTO> searchJobs(JobSearchDTO searchDTO) {
+    if (searchDTO == null) {
+      return null;
+    }
+    return jobSearchService.search(searchDTO);
+  }
+
+  @Override
+  public List<Long> matchJobsBySkills(Collection<String> skills, int minMatch) {
+    return skillIndexService.matchJobs(skills, minMatch);
+  }
+
+  @Override
+  public List<Long> matchSeekersBySkills(Collection<String> skills, int minMatch) {
+    return skillIndexService.matchSeekers(skills, minMatch);
+  }
+}
@@ -0,0 +1,243 @@
+package com.SmartHire.searchService.service.impl;
+
+import com.SmartHire.common.event.JobInfoChangedEvent;
+import com.SmartHire.common.event.SeekerSkillChangedEvent;
+import com.SmartHire.searchService.index.SkillPostingIndex;
+import com.SmartHire.searchService.mapper.SkillPostingMapper;
+import com.SmartHire.searchService.model.SkillPosting;
+import com.SmartHire.searchService.service.SkillIndexService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 技能索引服务实现类
+ *
+ * <p>启动后全量构建岗位、求职者两个索引，之后按 {@link JobInfoChangedEvent}、{@link SeekerSkillChangedEvent}
+ * 增量刷新；其他节点的变更经 Redis 频道 {@code search:skill:changed} 广播（消息为 实例ID:类型:ID）。丢失的广播由定期全量重建兜底
+ */
+@Slf4j
+@Service
+public class SkillIndexServiceImpl implements SkillIndexService {
+
+  private static final String CHANGED_CHANNEL = "search:skill:changed";
+
+  @Autowired private SkillPostingMapper skillPostingMapper;
+
+  @Autowired private RedisTemplate<String, String> redisTemplate;
+
+  @Autowired private RedisMessageListenerContainer redisMessageListenerContainer;
+
+  @Autowired private MeterRegistry meterRegistry;
+
+  /** 是否启用技能索引，关闭时技能筛选走数据库 */
+  @Value("${search.skill.enabled:true}")
+  private boolean enabled;
+
+  /** 全量构建时每批读取的技能行数 */
+  @Value("${search.skill.load-batch-size:5000}")
+  private int loadBatchSize;
+
+  /** 区分本实例发出的广播 */
+  private final String instanceId = UUID.randomUUID().toString();
+
+  private final Slot jobs = new Slot("job");
+
+  private final Slot seekers = new Slot("seeker");
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void init() {
+    if (!enabled) {
+      return;
+    }
+    for (Slot slot : List.of(jobs, seekers)) {
+      Gauge.builder("search.skill.index.size", slot, s -> s.index == null ? 0 : s.index.size())
+          .tag("type", slot.type)
+          .register(meterRegistry);
+    }
+    redisMessageListenerContainer.addMessageListener(
+        (message, pattern) -> {
+          String body = new String(message.getBody(), StandardCharsets.UTF_8);
+          String[] parts = body.split(":");
+          if (parts.length != 3 || parts[0].equals(instanceId)) {
+            return;
+          }
+          try {
+            Long id = Long.valueOf(parts[2]);
+            if (jobs.type.equals(parts[1])) {
+              refreshJob(id);
+            } else if (seekers.type.equals(parts[1])) {
+              refreshSeeker(id);
+            }
+          } catch (Exception e) {
+            log.warn("刷新技能索引失败: message={}", body, e);
+          }
+        },
+        new ChannelTopic(CHANGED_CHANNEL));
+    rebuild();
+  }
+
+  @Override
+  public List<Long> matchJobs(Collection<String> skills, int minMatch) {
+    SkillPostingIndex current = jobs.index;
+    return current == null ? null : current.match(skills, minMatch);
+  }
+
+  @Override
+  public List<Long> matchSeekers(Collection<String> skills, int minMatch) {
+    SkillPostingIndex current = seekers.index;
+    return current == null ? null : current.match(skills, minMatch);
+  }
+
+  @Override
+  public void refreshJob(Long jobId) {
+    refresh(jobs, jobId, skillPostingMapper::selectActiveJobSkillNames);
+  }
+
+  @Override
+  public void refreshSeeker(Long jobSeekerId) {
+    refresh(seekers, jobSeekerId, skillPostingMapper::selectSeekerSkillNames);
+  }
+
+  @Override
+  public void rebuild() {
+    if (!enabled) {
+      return;
+    }
+    rebuildQuietly(jobs, skillPostingMapper::selectActiveJobSkills, this::refreshJob);
+    rebuildQuietly(seekers, skillPostingMapper::selectSeekerSkills, this::refreshSeeker);
+  }
+
+  /** 定时全量重建，补齐丢失的广播 */
+  @Scheduled(
+      initialDelayString = "${search.skill.rebuild-interval-ms:600000}",
+      fixedDelayString = "${search.skill.rebuild-interval-ms:600000}")
+  public void scheduledRebuild() {
+    rebuild();
+  }
+
+  /** 岗位变更：事务提交后刷新本节点索引并通知其他节点 */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onJobInfoChanged(JobInfoChangedEvent event) {
+    onChanged(jobs, event.getJobId(), this::refreshJob);
+  }
+
+  /** 求职者技能变更：事务提交后刷新本节点索引并通知其他节点 */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onSeekerSkillChanged(SeekerSkillChangedEvent event) {
+    onChanged(seekers, event.getJobSeekerId(), this::refreshSeeker);
+  }
+
+  private void onChanged(Slot slot, Long id, Consumer<Long> refresher) {
+    if (!enabled || id == null) {
+      return;
+    }
+    try {
+      refresher.accept(id);
+    } catch (Exception e) {
+      log.warn("刷新技能索引失败，等待定期重建: type={}, id={}", slot.type, id, e);
+    }
+    try {
+      redisTemplate.convertAndSend(CHANGED_CHANNEL, instanceId + ":" + slot.type + ":" + id);
+    } catch (Exception e) {
+      log.warn("广播技能变更失败，其他节点将在定期重建后更新: type={}, id={}", slot.type, id, e);
+    }
+  }
+
+  private void refresh(Slot slot, Long id, Function<Long, List<String>> loader) {
+    if (id == null) {
+      return;
+    }
+    if (slot.rebuilding) {
+      slot.changedDuringRebuild.add(id);
+    }
+    SkillPostingIndex current = slot.index;
+    if (current == null) {
+      return;
+    }
+    if (!SkillPostingIndex.isIndexable(id)) {
+      // 位图放不下该ID，停用索引让查询回退到数据库
+      log.error("ID超出技能索引范围，停用索引: type={}, id={}", slot.type, id);
+      slot.index = null;
+      return;
+    }
+    current.replace(id, loader.apply(id));
+  }
+
+  private synchronized void rebuildQuietly(
+      Slot slot,
+      BiFunction<Long, Integer, List<SkillPosting>> batchLoader,
+      Consumer<Long> refresher) {
+    long start = System.currentTimeMillis();
+    SkillPostingIndex fresh = new SkillPostingIndex();
+    slot.rebuilding = true;
+    try {
+      Long afterId = null;
+      while (true) {
+        List<SkillPosting> batch = batchLoader.apply(afterId, loadBatchSize);
+        for (SkillPosting posting : batch) {
+          fresh.add(posting.getEntityId(), posting.getSkillName());
+        }
+        if (batch.size() < loadBatchSize) {
+          break;
+        }
+        afterId = batch.get(batch.size() - 1).getId();
+      }
+      fresh.optimize();
+      slot.index = fresh;
+    } catch (Exception e) {
+      log.error("构建技能索引失败，继续使用旧索引: type={}", slot.type, e);
+      return;
+    } finally {
+      slot.rebuilding = false;
+    }
+    // 构建期间读到的可能是旧版本，替换后按最新数据补刷
+    List<Long> changed = new ArrayList<>(slot.changedDuringRebuild);
+    slot.changedDuringRebuild.removeAll(changed);
+    changed.forEach(refresher);
+    log.info(
+        "技能索引构建完成: type={}, entities={}, skills={}, 补刷={}, 耗时={}ms",
+        slot.type,
+        fresh.size(),
+        fresh.skillCount(),
+        changed.size(),
+        System.currentTimeMillis() - start);
+  }
+
+  /** 一类实体的索引及其重建状态 */
+  private static final class Slot {
+
+    private final String type;
+
+    private volatile SkillPostingIndex index;
+
+    /** 全量重建期间发生变更的ID，新索引替换后补刷 */
+    private final Set<Long> changedDuringRebuild = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean rebuilding;
+
+    private Slot(String type) {
+      this.type = type;
+    }
+  }
+}
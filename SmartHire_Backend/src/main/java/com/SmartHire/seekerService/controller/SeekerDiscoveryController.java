@@ -53,7 +53,11 @@ public class SeekerDiscoveryController {
      * @param isInternship  是否实习（0-全职，1-实习）（可选）
      * @param jobStatus     求职状态（0-离校-尽快到岗，1-在校-尽快到岗，2-在校-考虑机会，3-在校-暂不考虑）（可选）
      * @param hasInternship 是否有实习经历（0-无，1-有）（可选）
-     * @return 求职者卡片信息列表
+     * @param skills        技能名称，可传多个（可选）
+     * @param minSkillMatch 至少具备的技能数（可选），默认须具备全部技能，传 1 表示具备任一技能
+     * @param cursor        上一页最后一张卡片的用户ID（可选），不传时查第一页
+     * @param pageSize      每页大小，默认为20，最大100
+     * @return 求职者卡片信息列表，按用户ID倒序
      */
     @GetMapping("/cards/filter")
     @RequireUserType({UserType.HR, UserType.SEEKER})
@@ -65,11 +69,16 @@ public class SeekerDiscoveryController {
             @RequestParam(value = "salaryMax", required = false) Double salaryMax,
             @RequestParam(value = "isInternship", required = false) Integer isInternship,
             @RequestParam(value = "jobStatus", required = false) Integer jobStatus,
-            @RequestParam(value = "hasInternship", required = false) Integer hasInternship) {
+            @RequestParam(value = "hasInternship", required = false) Integer hasInternship,
+            @RequestParam(value = "skills", required = false) List<String> skills,
+            @RequestParam(value = "minSkillMatch", required = false) Integer minSkillMatch,
+            @RequestParam(value = "cursor", required = false) Long cursor,
+            @RequestParam(value = "pageSize", defaultValue = "20") Integer pageSize) {
 
         // 调用综合筛选方法
         List<SeekerCardDTO> seekerCards = seekerCardService.getSeekersByMultipleConditions(
-                city, education, salaryMin, salaryMax, isInternship, jobStatus, hasInternship);
+                city, education, salaryMin, salaryMax, isInternship, jobStatus, hasInternship,
+                skills, minSkillMatch, cursor, pageSize);
 
         return Result.success("综合筛选求职者卡片成功", seekerCards);
     }
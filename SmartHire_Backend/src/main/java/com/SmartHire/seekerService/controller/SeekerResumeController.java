@@ -3,6 +3,8 @@ package com.SmartHire.seekerService.controller;
 import com.SmartHire.common.auth.RequireUserType;
 import com.SmartHire.common.entity.Result;
 import com.SmartHire.common.auth.UserType;
+import com.SmartHire.common.storage.dto.UploadCommitRequest;
+import com.SmartHire.common.storage.dto.UploadTicketRequest;
 import com.SmartHire.seekerService.dto.seekerTableDto.ResumeDTO;
 import com.SmartHire.seekerService.dto.seekerTableDto.SkillDTO;
 import com.SmartHire.seekerService.service.seekerTableService.SkillService;
@@ -82,6 +84,23 @@ public class SeekerResumeController {
         return Result.success("上传简历成功");
     }
 
+    /** 申请附件简历直传地址 */
+    @PostMapping("/resume-upload-url")
+    @RequireUserType({UserType.SEEKER})
+    @Operation(summary = "申请附件简历直传地址", description = "返回表单直传地址和签名字段，上传完成后调用提交接口保存简历")
+    public Result<?> createResumeUploadUrl(@Validated @RequestBody UploadTicketRequest request) {
+        return Result.success("获取上传地址成功", resumeService.createResumeUploadTicket(request));
+    }
+
+    /** 提交已直传的附件简历 */
+    @PostMapping("/commit-resume-upload")
+    @RequireUserType({UserType.SEEKER})
+    @Operation(summary = "提交已直传的附件简历", description = "核对文件大小和类型后保存简历，名称取申请时的文件名")
+    public Result<?> commitResumeUpload(@Validated @RequestBody UploadCommitRequest request) {
+        resumeService.commitResumeUpload(request.getObjectKey());
+        return Result.success("上传简历成功");
+    }
+
     /** 获取附件简历列表 */
     @GetMapping("/get-resumes")
     @RequireUserType({UserType.SEEKER})
@@ -76,25 +76,4 @@ public interface JobSeekerMapper extends BaseMapper<JobSeeker> {
          */
         List<SeekerCardDTO> getAllSeekerCardsByPage(@Param("offset") Integer offset,
                         @Param("pageSize") Integer pageSize);
-
-        /**
-         * 综合筛选求职者卡片信息
-         *
-         * @param city          城市名称（可选）
-         * @param education     学历级别（可选）
-         * @param salaryMin     最低期望薪资（可选）
-         * @param salaryMax     最高期望薪资（可选）
-         * @param isInternship  是否实习（可选）
-         * @param jobStatus     求职状态（可选）
-         * @param hasInternship 是否有实习经历（可选）
-         * @return 求职者卡片信息列表
-         */
-        List<SeekerCardDTO> getSeekerCardsByMultipleConditions(
-                        @Param("city") String city,
-                        @Param("education") Integer education,
-                        @Param("salaryMin") Double salaryMin,
-                        @Param("salaryMax") Double salaryMax,
-                        @Param("isInternship") Integer isInternship,
-                        @Param("jobStatus") Integer jobStatus,
-                        @Param("hasInternship") Integer hasInternship);
 }
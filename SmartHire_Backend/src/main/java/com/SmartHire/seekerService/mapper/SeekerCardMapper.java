@@ -0,0 +1,70 @@
+package com.SmartHire.seekerService.mapper;
+
+import com.SmartHire.common.dto.seekerDto.SeekerCardDTO;
+import java.util.List;
+import org.apache.ibatis.annotations.Param;
+
+/**
+ * 求职者卡片投影表 Mapper 接口
+ *
+ * <p>seeker_card 每个求职者一行，汇总最高学历、是否有实习、期望薪资范围等筛选字段，由求职者信息变更时逐个刷新
+ */
+public interface SeekerCardMapper {
+
+  /**
+   * 按源表重新汇总指定求职者的卡片，已存在的覆盖
+   *
+   * @param jobSeekerIds 求职者ID列表，不能为空
+   * @return 影响的行数
+   */
+  int upsertByJobSeekerIds(@Param("jobSeekerIds") List<Long> jobSeekerIds);
+
+  /**
+   * 删除求职者已不存在的卡片
+   *
+   * @param jobSeekerIds 求职者ID列表，不能为空
+   * @return 删除的行数
+   */
+  int deleteOrphans(@Param("jobSeekerIds") List<Long> jobSeekerIds);
+
+  /**
+   * 查询尚未生成卡片的求职者ID，按ID升序
+   *
+   * @param afterJobSeekerId 只查该ID之后的求职者
+   * @param limit 条数
+   * @return 求职者ID列表
+   */
+  List<Long> selectMissingJobSeekerIds(
+      @Param("afterJobSeekerId") Long afterJobSeekerId, @Param("limit") Integer limit);
+
+  /**
+   * 综合筛选求职者卡片，按用户ID倒序游标分页
+   *
+   * @param city          城市名称（可选）
+   * @param education     学历级别（可选）
+   * @param salaryMin     最低期望薪资（可选）
+   * @param salaryMax     最高期望薪资（可选）
+   * @param isInternship  是否实习（可选）
+   * @param jobStatus     求职状态（可选）
+   * @param hasInternship 是否有实习经历（可选）
+   * @param seekerIds     候选求职者ID（可选），由技能索引预先筛出
+   * @param skills        技能名称（可选），未经技能索引筛选时在数据库中按技能筛选
+   * @param minSkillMatch 至少具备的技能数，skills 不为空时必填
+   * @param cursorUserId  上一页最后一条的用户ID（可选），为空时查第一页
+   * @param limit         条数
+   * @return 求职者卡片列表
+   */
+  List<SeekerCardDTO> selectByConditions(
+      @Param("city") String city,
+      @Param("education") Integer education,
+      @Param("salaryMin") Double salaryMin,
+      @Param("salaryMax") Double salaryMax,
+      @Param("isInternship") Integer isInternship,
+      @Param("jobStatus") Integer jobStatus,
+      @Param("hasInternship") Integer hasInternship,
+      @Param("seekerIds") List<Long> seekerIds,
+      @Param("skills") List<String> skills,
+      @Param("minSkillMatch") Integer minSkillMatch,
+      @Param("cursorUserId") Long cursorUserId,
+      @Param("limit") Integer limit);
+}
@@ -0,0 +1,57 @@
+package com.SmartHire.seekerService.mapper;
+
+import com.SmartHire.seekerService.model.SeekerCardRefreshTask;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import org.apache.ibatis.annotations.Param;
+
+/** 求职者卡片待刷新标记 Mapper 接口 */
+public interface SeekerCardPendingMapper {
+
+  /**
+   * 登记待刷新的求职者，已有标记时递增版本号
+   *
+   * @param jobSeekerIds 求职者ID列表，不能为空
+   * @param now 当前时间
+   * @return 影响行数
+   */
+  int mark(@Param("jobSeekerIds") Collection<Long> jobSeekerIds, @Param("now") Date now);
+
+  /**
+   * 查询指定求职者的标记
+   *
+   * @param jobSeekerIds 求职者ID列表，不能为空
+   * @return 待刷新标记
+   */
+  List<SeekerCardRefreshTask> selectByJobSeekerIds(
+      @Param("jobSeekerIds") Collection<Long> jobSeekerIds);
+
+  /**
+   * 按下次尝试时间取出到期的标记
+   *
+   * @param now 当前时间
+   * @param limit 条数上限
+   * @return 待刷新标记
+   */
+  List<SeekerCardRefreshTask> selectDue(@Param("now") Date now, @Param("limit") int limit);
+
+  /**
+   * 删除已刷新的标记，刷新期间再次登记（版本号已变）的保留
+   *
+   * @param tasks 取出时的标记，不能为空
+   * @return 删除行数
+   */
+  int deleteProcessed(@Param("tasks") Collection<SeekerCardRefreshTask> tasks);
+
+  /**
+   * 记录一次失败并推迟下次尝试
+   *
+   * @param tasks 标记，不能为空
+   * @param nextAttemptAt 下次尝试时间
+   * @return 更新行数
+   */
+  int markFailed(
+      @Param("tasks") Collection<SeekerCardRefreshTask> tasks,
+      @Param("nextAttemptAt") Date nextAttemptAt);
+}
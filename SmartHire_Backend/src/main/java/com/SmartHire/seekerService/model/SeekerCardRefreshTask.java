@@ -0,0 +1,29 @@
+package com.SmartHire.seekerService.model;
+
+import com.baomidou.mybatisplus.annotation.TableName;
+import java.io.Serializable;
+import java.util.Date;
+import lombok.Data;
+
+/** 求职者卡片待刷新标记 */
+@Data
+@TableName("seeker_card_pending")
+public class SeekerCardRefreshTask implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  /** 求职者ID */
+  private Long jobSeekerId;
+
+  /** 登记次数 */
+  private Long version;
+
+  /** 已失败次数 */
+  private Integer attempts;
+
+  /** 下次尝试时间 */
+  private Date nextAttemptAt;
+
+  /** 首次登记时间 */
+  private Date createdAt;
+}
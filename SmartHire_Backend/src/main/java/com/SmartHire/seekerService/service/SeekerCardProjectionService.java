@@ -0,0 +1,25 @@
+package com.SmartHire.seekerService.service;
+
+import java.util.List;
+
+/**
+ * 求职者卡片投影维护服务
+ *
+ * <p>seeker_card 表按求职者汇总人才筛选用到的字段；求职者信息、教育经历、工作经历、求职期望变更后刷新对应的行，
+ * 刷新失败的由 {@code seeker_card_pending} 中的标记重试
+ */
+public interface SeekerCardProjectionService {
+
+  /**
+   * 按源表重新汇总指定求职者的卡片，求职者已不存在的删除卡片
+   *
+   * @param jobSeekerIds 求职者ID列表
+   */
+  void refresh(List<Long> jobSeekerIds);
+
+  /** 刷新已登记且到期的求职者卡片，刷新失败的推迟重试 */
+  void refreshPending();
+
+  /** 为尚未生成卡片的求职者补建卡片，已有卡片的不做比对 */
+  void backfill();
+}
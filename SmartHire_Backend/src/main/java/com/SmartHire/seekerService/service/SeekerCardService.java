@@ -33,9 +33,14 @@ public interface SeekerCardService {
    * @param isInternship  是否实习（0-全职，1-实习）（可选）
    * @param jobStatus     求职状态（0-离校-尽快到岗，1-在校-尽快到岗，2-在校-考虑机会，3-在校-暂不考虑）（可选）
    * @param hasInternship 是否有实习经历（0-无，1-有）（可选）
-   * @return 求职者卡片信息列表
+   * @param skills        技能名称（可选）
+   * @param minSkillMatch 至少具备的技能数（可选），默认须具备全部技能
+   * @param cursor        上一页最后一张卡片的用户ID（可选），为空时查第一页
+   * @param pageSize      每页大小
+   * @return 求职者卡片信息列表，按用户ID倒序
    */
   List<SeekerCardDTO> getSeekersByMultipleConditions(
       String city, Integer education, Double salaryMin, Double salaryMax,
-      Integer isInternship, Integer jobStatus, Integer hasInternship);
+      Integer isInternship, Integer jobStatus, Integer hasInternship,
+      List<String> skills, Integer minSkillMatch, Long cursor, Integer pageSize);
 }
@@ -12,6 +12,7 @@ import com.SmartHire.seekerService.service.JobSeekerService;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -97,11 +98,15 @@ public class JobFavoriteServiceImpl extends ServiceImpl<JobFavoriteMapper, JobFa
             .orderByDesc(JobFavorite::getCreatedAt)
             .list();
 
+    // 岗位卡片整页一次批量获取
+    Map<Long, JobCardDTO> jobCards =
+        hrApi.getJobCards(favorites.stream().map(JobFavorite::getJobId).toList());
+
     // 转换为DTO并填充岗位信息
     return favorites.stream()
         .map(
             favorite -> {
-              JobCardDTO jobCard = hrApi.getJobCardByJobId(favorite.getJobId());
+              JobCardDTO jobCard = jobCards.get(favorite.getJobId());
               if (jobCard == null) {
                 // 如果岗位不存在，跳过该记录
                 return null;
@@ -1,8 +1,11 @@
 package com.SmartHire.seekerService.service.impl;
 
 import com.SmartHire.common.auth.UserContext;
+import com.SmartHire.common.event.SeekerProfileChangedEvent;
+import com.SmartHire.common.event.SeekerSkillChangedEvent;
 import com.SmartHire.common.exception.enums.ErrorCode;
 import com.SmartHire.common.exception.exception.BusinessException;
+import com.SmartHire.common.storage.StorageDeletionOutbox;
 import com.SmartHire.common.utils.AliOssUtil;
 import com.SmartHire.seekerService.dto.SeekerDTO;
 import com.SmartHire.seekerService.dto.SeekerInfoDTO;
@@ -22,6 +25,7 @@ import java.util.Date;
 import java.util.List;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
@@ -63,6 +67,12 @@ public class JobSeekerServiceImpl extends ServiceImpl<JobSeekerMapper, JobSeeker
   @Autowired
   private AliOssUtil aliOssUtil;
 
+  @Autowired
+  private StorageDeletionOutbox storageDeletionOutbox;
+
+  @Autowired
+  private ApplicationEventPublisher eventPublisher;
+
   /**
    * 注册求职者
    *
@@ -91,6 +101,7 @@ public class JobSeekerServiceImpl extends ServiceImpl<JobSeekerMapper, JobSeeker
     jobSeeker.setUpdatedAt(new Date());
 
     jobSeekerMapper.insert(jobSeeker);
+    eventPublisher.publishEvent(new SeekerProfileChangedEvent(jobSeeker.getId()));
   }
 
   /**
@@ -204,6 +215,7 @@ public class JobSeekerServiceImpl extends ServiceImpl<JobSeekerMapper, JobSeeker
 
     jobSeeker.setUpdatedAt(new Date());
     jobSeekerMapper.updateById(jobSeeker);
+    eventPublisher.publishEvent(new SeekerProfileChangedEvent(jobSeeker.getId()));
     log.info("更新求职者信息成功，求职者ID：{}", jobSeeker.getId());
   }
 
@@ -276,7 +288,7 @@ public class JobSeekerServiceImpl extends ServiceImpl<JobSeekerMapper, JobSeeker
    * <p>
    * 效率分析： 1. 直接使用Mapper批量删除（当前实现）： - 每条表：1条SQL批量删除所有记录 - Resume特殊处理：1次查询获取fileUrl
    * + 1次批量删除SQL +
-   * N次OSS删除 - 总操作数：查询次数 + 删除SQL次数 + OSS删除次数
+   * 1次批量登记待删除的OSS文件（由后台按批删除，不占用请求时间） - 总操作数：查询次数 + 删除SQL次数 + 1
    *
    * <p>
    * 2. 复用Service接口（不推荐）： - 每条表：1次查询获取ID列表 + N次deleteById（N条SQL）+ N次权限验证 -
@@ -298,20 +310,9 @@ public class JobSeekerServiceImpl extends ServiceImpl<JobSeekerMapper, JobSeeker
             .eq(Resume::getJobSeekerId, jobSeekerId)
             .select(Resume::getFileUrl)); // 只查询fileUrl字段，提高效率
 
-    // 批量删除OSS文件
-    for (Resume resume : resumes) {
-      if (resume.getFileUrl() != null && !resume.getFileUrl().isBlank()) {
-        String objectName = aliOssUtil.extractObjectName(resume.getFileUrl());
-        if (objectName != null && !objectName.isBlank()) {
-          boolean deleted = aliOssUtil.deleteFile(objectName);
-          if (deleted) {
-            log.info("删除附件简历文件成功, objectName={}", objectName);
-          } else {
-            log.warn("删除附件简历文件失败, objectName={}", objectName);
-          }
-        }
-      }
-    }
+    // 登记待删除的OSS文件，与删除记录同一事务提交，由后台批量删除
+    storageDeletionOutbox.enqueue(
+        resumes.stream().map(resume -> aliOssUtil.extractObjectName(resume.getFileUrl())).toList());
 
     // 批量删除数据库记录
     resumeMapper.delete(new LambdaQueryWrapper<Resume>().eq(Resume::getJobSeekerId, jobSeekerId));
@@ -344,6 +345,8 @@ public class JobSeekerServiceImpl extends ServiceImpl<JobSeekerMapper, JobSeeker
     skillMapper.delete(
         new LambdaQueryWrapper<com.SmartHire.seekerService.model.Skill>()
             .eq(com.SmartHire.seekerService.model.Skill::getJobSeekerId, jobSeekerId));
+    eventPublisher.publishEvent(new SeekerSkillChangedEvent(jobSeekerId));
+    eventPublisher.publishEvent(new SeekerProfileChangedEvent(jobSeekerId));
 
     // 注意：certificate表的Mapper可能不存在，如果存在需要添加
     // 如果不存在，可以使用MyBatis Plus的通用删除方法
@@ -373,6 +376,7 @@ public class JobSeekerServiceImpl extends ServiceImpl<JobSeekerMapper, JobSeeker
         jobSeeker.setGraduationYear(null);
         jobSeeker.setUpdatedAt(new Date());
         jobSeekerMapper.updateById(jobSeeker);
+        eventPublisher.publishEvent(new SeekerProfileChangedEvent(jobSeekerId));
       }
       return;
     }
@@ -399,6 +403,7 @@ public class JobSeekerServiceImpl extends ServiceImpl<JobSeekerMapper, JobSeeker
       jobSeeker.setGraduationYear(latestGraduationYear);
       jobSeeker.setUpdatedAt(new Date());
       jobSeekerMapper.updateById(jobSeeker);
+      eventPublisher.publishEvent(new SeekerProfileChangedEvent(jobSeekerId));
       log.info(
           "自动更新求职者最高学历和毕业年份，求职者ID：{}，最高学历：{}，毕业年份：{}",
           jobSeekerId,
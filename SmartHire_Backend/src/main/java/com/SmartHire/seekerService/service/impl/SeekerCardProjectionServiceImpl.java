@@ -0,0 +1,163 @@
+package com.SmartHire.seekerService.service.impl;
+
+import com.SmartHire.common.event.SeekerProfileChangedEvent;
+import com.SmartHire.seekerService.mapper.SeekerCardMapper;
+import com.SmartHire.seekerService.mapper.SeekerCardPendingMapper;
+import com.SmartHire.seekerService.model.SeekerCardRefreshTask;
+import com.SmartHire.seekerService.service.SeekerCardProjectionService;
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.CollectionUtils;
+
+/**
+ * 求职者卡片投影维护服务实现类
+ *
+ * <p>求职者画像变更时在同一事务中把求职者ID登记到 {@code seeker_card_pending}，事务提交后立即刷新卡片并删除标记；
+ * 刷新失败或提交后进程退出而留下的标记由定时任务重试，失败的按指数退避推迟。标记随业务事务提交，重启不会丢失，
+ * 刷新完成后只删除期间未再次登记（版本号未变）的标记。启动时另为尚未生成卡片的求职者（历史数据）分批补建。
+ * 刷新语句为 INSERT ... SELECT ... ON DUPLICATE KEY UPDATE，多节点重复执行结果相同
+ */
+@Slf4j
+@Service
+public class SeekerCardProjectionServiceImpl implements SeekerCardProjectionService {
+
+  @Autowired private SeekerCardMapper seekerCardMapper;
+
+  @Autowired private SeekerCardPendingMapper pendingMapper;
+
+  /** 补建卡片时每批的求职者数 */
+  @Value("${seeker.card.backfill-batch-size:500}")
+  private int backfillBatchSize;
+
+  /** 重试刷新时每批取出的标记数 */
+  @Value("${seeker.card.refresh-batch-size:200}")
+  private int refreshBatchSize;
+
+  /** 刷新失败后首次重试的间隔（毫秒），之后每次翻倍 */
+  @Value("${seeker.card.retry-base-delay-ms:5000}")
+  private long retryBaseDelayMs;
+
+  /** 刷新失败后重试间隔的上限（毫秒） */
+  @Value("${seeker.card.retry-max-delay-ms:600000}")
+  private long retryMaxDelayMs;
+
+  @Override
+  public void refresh(List<Long> jobSeekerIds) {
+    if (CollectionUtils.isEmpty(jobSeekerIds)) {
+      return;
+    }
+    seekerCardMapper.upsertByJobSeekerIds(jobSeekerIds);
+    seekerCardMapper.deleteOrphans(jobSeekerIds);
+  }
+
+  @Override
+  public synchronized void refreshPending() {
+    while (true) {
+      List<SeekerCardRefreshTask> tasks = pendingMapper.selectDue(new Date(), refreshBatchSize);
+      if (tasks.isEmpty()) {
+        return;
+      }
+      try {
+        refresh(tasks.stream().map(SeekerCardRefreshTask::getJobSeekerId).toList());
+        pendingMapper.deleteProcessed(tasks);
+      } catch (Exception e) {
+        markFailed(tasks, e);
+        return;
+      }
+      if (tasks.size() < refreshBatchSize) {
+        return;
+      }
+    }
+  }
+
+  @Override
+  public void backfill() {
+    long afterId = 0L;
+    int total = 0;
+    while (true) {
+      List<Long> ids = seekerCardMapper.selectMissingJobSeekerIds(afterId, backfillBatchSize);
+      if (ids.isEmpty()) {
+        break;
+      }
+      seekerCardMapper.upsertByJobSeekerIds(ids);
+      total += ids.size();
+      afterId = ids.get(ids.size() - 1);
+    }
+    if (total > 0) {
+      log.info("求职者卡片补建完成, 数量={}", total);
+    }
+  }
+
+  /** 启动时补建缺失的卡片 */
+  @EventListener(ApplicationReadyEvent.class)
+  public void onApplicationReady() {
+    try {
+      backfill();
+    } catch (Exception e) {
+      log.error("求职者卡片补建失败", e);
+    }
+  }
+
+  /** 定时重试未完成的卡片刷新 */
+  @Scheduled(fixedDelayString = "${seeker.card.refresh-interval-ms:5000}")
+  public void scheduledRefresh() {
+    refreshPending();
+  }
+
+  /** 求职者画像变更：标记在提交前写入，与画像变更同时生效 */
+  @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+  public void markSeekerProfileChanged(SeekerProfileChangedEvent event) {
+    if (event.getJobSeekerId() != null) {
+      pendingMapper.mark(List.of(event.getJobSeekerId()), new Date());
+    }
+  }
+
+  /** 求职者画像变更：事务提交后立即刷新卡片，失败的留给定时任务重试 */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onSeekerProfileChanged(SeekerProfileChangedEvent event) {
+    if (event.getJobSeekerId() == null) {
+      return;
+    }
+    List<Long> ids = List.of(event.getJobSeekerId());
+    List<SeekerCardRefreshTask> tasks = List.of();
+    try {
+      tasks = pendingMapper.selectByJobSeekerIds(ids);
+      refresh(ids);
+      if (!tasks.isEmpty()) {
+        pendingMapper.deleteProcessed(tasks);
+      }
+    } catch (Exception e) {
+      if (tasks.isEmpty()) {
+        log.error("刷新求职者卡片失败，由定时任务重试, jobSeekerId={}", event.getJobSeekerId(), e);
+      } else {
+        markFailed(tasks, e);
+      }
+    }
+  }
+
+  /** 记录刷新失败，按失败次数指数退避 */
+  private void markFailed(List<SeekerCardRefreshTask> tasks, Exception e) {
+    int attempts = tasks.stream()
+        .map(SeekerCardRefreshTask::getAttempts)
+        .filter(Objects::nonNull)
+        .max(Integer::compare)
+        .orElse(0);
+    long delay = Math.min(retryBaseDelayMs << Math.min(attempts, 20), retryMaxDelayMs);
+    log.error("刷新求职者卡片失败，{}ms 后重试, 标记数={}, 已失败次数={}", delay, tasks.size(), attempts + 1, e);
+    try {
+      pendingMapper.markFailed(tasks, new Date(System.currentTimeMillis() + delay));
+    } catch (Exception ex) {
+      log.warn("记录求职者卡片刷新失败出错，下次调度立即重试, 标记数={}", tasks.size(), ex);
+    }
+  }
+}
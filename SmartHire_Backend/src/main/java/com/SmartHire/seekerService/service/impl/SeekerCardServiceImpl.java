@@ -1,5 +1,6 @@
 package com.SmartHire.seekerService.service.impl;
 
+import com.SmartHire.common.api.SearchApi;
 import com.SmartHire.common.api.UserAuthApi;
 import com.SmartHire.common.dto.userDto.UserCommonDTO;
 import com.SmartHire.common.dto.seekerDto.SeekerCardDTO;
@@ -7,6 +8,7 @@ import com.SmartHire.common.exception.enums.ErrorCode;
 import com.SmartHire.common.exception.exception.BusinessException;
 import com.SmartHire.seekerService.mapper.EducationExperienceMapper;
 import com.SmartHire.seekerService.mapper.JobSeekerMapper;
+import com.SmartHire.seekerService.mapper.SeekerCardMapper;
 import com.SmartHire.seekerService.model.EducationExperience;
 import com.SmartHire.seekerService.model.JobSeeker;
 import com.SmartHire.seekerService.service.SeekerCardService;
@@ -15,12 +17,15 @@ import java.time.Instant;
 import java.time.LocalDate;
 import java.time.Period;
 import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
 
 /** 求职卡片查询服务实现。 */
 @Slf4j
@@ -33,15 +38,30 @@ public class SeekerCardServiceImpl implements SeekerCardService {
       Map.entry(3, "硕士"),
       Map.entry(4, "博士"));
 
+  /** 技能索引返回的候选人数超过该值时改为在数据库中按技能筛选，避免过长的 IN 列表 */
+  private static final int MAX_SKILL_CANDIDATE_SEEKERS = 5000;
+
+  /** 综合筛选默认每页条数 */
+  private static final int DEFAULT_FILTER_PAGE_SIZE = 20;
+
+  /** 综合筛选每页条数上限 */
+  private static final int MAX_FILTER_PAGE_SIZE = 100;
+
   @Autowired
   private UserAuthApi userAuthApi;
 
   @Autowired
   private JobSeekerMapper jobSeekerMapper;
 
+  @Autowired
+  private SeekerCardMapper seekerCardMapper;
+
   @Autowired
   private EducationExperienceMapper educationExperienceMapper;
 
+  @Autowired
+  private SearchApi searchApi;
+
   @Override
   public SeekerCardDTO getJobCard(Long userId) {
     if (userId == null || userId <= 0) {
@@ -128,8 +148,37 @@ public class SeekerCardServiceImpl implements SeekerCardService {
   @Override
   public List<SeekerCardDTO> getSeekersByMultipleConditions(
       String city, Integer education, Double salaryMin, Double salaryMax,
-      Integer isInternship, Integer jobStatus, Integer hasInternship) {
-    return jobSeekerMapper.getSeekerCardsByMultipleConditions(
-        city, education, salaryMin, salaryMax, isInternship, jobStatus, hasInternship);
+      Integer isInternship, Integer jobStatus, Integer hasInternship,
+      List<String> skills, Integer minSkillMatch, Long cursor, Integer pageSize) {
+    int limit = pageSize == null
+        ? DEFAULT_FILTER_PAGE_SIZE
+        : Math.max(1, Math.min(pageSize, MAX_FILTER_PAGE_SIZE));
+    List<String> skillNames = skills == null ? List.of() : skills.stream()
+        .filter(StringUtils::hasText)
+        .map(skill -> skill.trim().toLowerCase(Locale.ROOT))
+        .distinct()
+        .toList();
+    if (skillNames.isEmpty()) {
+      return seekerCardMapper.selectByConditions(
+          city, education, salaryMin, salaryMax, isInternship, jobStatus, hasInternship,
+          null, null, null, cursor, limit);
+    }
+    int minMatch = minSkillMatch == null
+        ? skillNames.size()
+        : Math.max(1, Math.min(minSkillMatch, skillNames.size()));
+
+    // 先从技能索引取候选求职者，索引不可用或候选过多时由数据库按技能分组筛选
+    List<Long> seekerIds = searchApi.matchSeekersBySkills(skillNames, minMatch);
+    if (seekerIds != null && seekerIds.isEmpty()) {
+      return new ArrayList<>();
+    }
+    if (seekerIds != null && seekerIds.size() <= MAX_SKILL_CANDIDATE_SEEKERS) {
+      return seekerCardMapper.selectByConditions(
+          city, education, salaryMin, salaryMax, isInternship, jobStatus, hasInternship,
+          seekerIds, null, null, cursor, limit);
+    }
+    return seekerCardMapper.selectByConditions(
+        city, education, salaryMin, salaryMax, isInternship, jobStatus, hasInternship,
+        null, skillNames, minMatch, cursor, limit);
   }
 }
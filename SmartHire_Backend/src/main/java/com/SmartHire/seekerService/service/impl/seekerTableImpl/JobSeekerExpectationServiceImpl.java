@@ -1,5 +1,6 @@
 package com.SmartHire.seekerService.service.impl.seekerTableImpl;
 
+import com.SmartHire.common.event.SeekerProfileChangedEvent;
 import com.SmartHire.common.exception.enums.ErrorCode;
 import com.SmartHire.common.exception.exception.BusinessException;
 import com.SmartHire.seekerService.dto.seekerTableDto.JobSeekerExpectationDTO;
@@ -13,6 +14,7 @@ import java.util.List;
 import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
@@ -30,6 +32,8 @@ public class JobSeekerExpectationServiceImpl
 
   @Autowired private JobSeekerExpectationMapper jobSeekerExpectationMapper;
 
+  @Autowired private ApplicationEventPublisher eventPublisher;
+
   private static final int MAX_EXPECTATION_COUNT = 5;
   private static final BigDecimal MAX_SALARY = new BigDecimal("100000.00");
 
@@ -59,6 +63,7 @@ public class JobSeekerExpectationServiceImpl
     expectation.setUpdatedAt(new Date());
 
     jobSeekerExpectationMapper.insert(expectation);
+    eventPublisher.publishEvent(new SeekerProfileChangedEvent(jobSeekerId));
   }
 
   /**
@@ -92,6 +97,8 @@ public class JobSeekerExpectationServiceImpl
 
     // 执行更新
     jobSeekerExpectationMapper.updateById(existingExpectation);
+    eventPublisher.publishEvent(
+        new SeekerProfileChangedEvent(existingExpectation.getJobSeekerId()));
   }
 
   /**
@@ -138,9 +145,10 @@ public class JobSeekerExpectationServiceImpl
    */
   @Override
   public void deleteJobSeekerExpectation(Long id) {
-    getOwnedExpectation(id);
+    JobSeekerExpectation expectation = getOwnedExpectation(id);
 
     jobSeekerExpectationMapper.deleteById(id);
+    eventPublisher.publishEvent(new SeekerProfileChangedEvent(expectation.getJobSeekerId()));
   }
 
   /**
@@ -2,13 +2,17 @@ package com.SmartHire.seekerService.service.impl.seekerTableImpl;
 
 import com.SmartHire.common.exception.enums.ErrorCode;
 import com.SmartHire.common.exception.exception.BusinessException;
+import com.SmartHire.common.storage.DirectUploadService;
+import com.SmartHire.common.storage.StorageDeletionOutbox;
+import com.SmartHire.common.storage.UploadPurpose;
+import com.SmartHire.common.storage.dto.UploadTicketDTO;
+import com.SmartHire.common.storage.dto.UploadTicketRequest;
 import com.SmartHire.common.utils.AliOssUtil;
 import com.SmartHire.seekerService.dto.seekerTableDto.ResumeDTO;
 import com.SmartHire.seekerService.mapper.ResumeMapper;
 import com.SmartHire.seekerService.model.Resume;
 import com.SmartHire.seekerService.service.seekerTableService.ResumeService;
 import java.io.IOException;
-import java.io.InputStream;
 import java.util.Date;
 import java.util.List;
 import java.util.UUID;
@@ -16,6 +20,7 @@ import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -37,20 +42,50 @@ public class ResumeServiceImpl extends AbstractSeekerOwnedService<ResumeMapper,
 
   @Autowired private AliOssUtil aliOssUtil;
 
+  @Autowired private StorageDeletionOutbox storageDeletionOutbox;
+
+  @Autowired private DirectUploadService directUploadService;
+
   @Override
   public void uploadResume(MultipartFile resumeFile) {
     Long jobSeekerId = currentSeekerId();
+    ensureResumeQuota(jobSeekerId);
+
+    String resumeUrl = uploadResumeFile(resumeFile);
+    insertResume(jobSeekerId, extractFileDisplayName(resumeFile), resumeUrl);
+  }
+
+  @Override
+  public UploadTicketDTO createResumeUploadTicket(UploadTicketRequest request) {
+    Long jobSeekerId = currentSeekerId();
+    ensureResumeQuota(jobSeekerId);
+    return directUploadService.createTicket(UploadPurpose.RESUME, jobSeekerId, request);
+  }
+
+  @Override
+  @Transactional(rollbackFor = Exception.class)
+  public void commitResumeUpload(String objectKey) {
+    Long jobSeekerId = currentSeekerId();
+    ensureResumeQuota(jobSeekerId);
+
+    DirectUploadService.CommittedUpload upload =
+        directUploadService.commit(UploadPurpose.RESUME, jobSeekerId, objectKey);
+    String resumeName =
+        StringUtils.hasText(upload.fileName()) ? upload.fileName() : UUID.randomUUID() + ".resume";
+    insertResume(jobSeekerId, resumeName, upload.url());
+  }
 
+  private void ensureResumeQuota(Long jobSeekerId) {
     long currentCount = lambdaQuery().eq(Resume::getJobSeekerId, jobSeekerId).count();
     if (currentCount >= MAX_RESUME_COUNT) {
       throw new BusinessException(ErrorCode.RESUME_LIMIT_EXCEEDED);
     }
+  }
 
-    String resumeUrl = uploadResumeFile(resumeFile);
-
+  private void insertResume(Long jobSeekerId, String resumeName, String resumeUrl) {
     Resume resume = new Resume();
     resume.setJobSeekerId(jobSeekerId);
-    resume.setResumeName(extractFileDisplayName(resumeFile));
+    resume.setResumeName(resumeName);
     resume.setPrivacyLevel((byte) 2);
     resume.setFileUrl(resumeUrl);
     resume.setCompleteness(0);
@@ -113,6 +148,7 @@ public class ResumeServiceImpl extends AbstractSeekerOwnedService<ResumeMapper,
   }
 
   @Override
+  @Transactional(rollbackFor = Exception.class)
   public void deleteResume(Long id) {
     Resume resume = getOwnedResume(id);
     resumeMapper.deleteById(id);
@@ -140,8 +176,8 @@ public class ResumeServiceImpl extends AbstractSeekerOwnedService<ResumeMapper,
     }
     String fileName = UUID.randomUUID() + extension;
 
-    try (InputStream inputStream = resumeFile.getInputStream()) {
-      return aliOssUtil.uploadFile(RESUME_DIRECTORY_KEY, fileName, inputStream);
+    try {
+      return aliOssUtil.uploadFile(RESUME_DIRECTORY_KEY, fileName, resumeFile);
     } catch (IOException | RuntimeException ex) {
       log.error("上传简历文件失败, originalFileName={}, generatedName={}", originalFileName, fileName, ex);
       throw new BusinessException(ErrorCode.RESUME_UPLOAD_FAILED);
@@ -177,11 +213,6 @@ public class ResumeServiceImpl extends AbstractSeekerOwnedService<ResumeMapper,
     if (!StringUtils.hasText(objectName)) {
       return;
     }
-    boolean deleted = aliOssUtil.deleteFile(objectName);
-    if (deleted) {
-      log.info("删除附件简历文件成功, objectName={}", objectName);
-    } else {
-      log.warn("删除附件简历文件失败, objectName={}", objectName);
-    }
+    storageDeletionOutbox.enqueue(List.of(objectName));
   }
 }
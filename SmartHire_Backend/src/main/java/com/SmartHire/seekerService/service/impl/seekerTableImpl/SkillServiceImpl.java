@@ -1,5 +1,6 @@
 package com.SmartHire.seekerService.service.impl.seekerTableImpl;
 
+import com.SmartHire.common.event.SeekerSkillChangedEvent;
 import com.SmartHire.common.exception.enums.ErrorCode;
 import com.SmartHire.common.exception.exception.BusinessException;
 import com.SmartHire.seekerService.dto.seekerTableDto.SkillDTO;
@@ -12,6 +13,7 @@ import java.util.List;
 import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
@@ -24,6 +26,8 @@ public class SkillServiceImpl extends AbstractSeekerOwnedService<SkillMapper, Sk
 
   @Autowired private SkillMapper skillMapper;
 
+  @Autowired private ApplicationEventPublisher eventPublisher;
+
   @Override
   public void addSkill(@Valid SkillDTO request) {
     Long jobSeekerId = currentSeekerId();
@@ -44,6 +48,7 @@ public class SkillServiceImpl extends AbstractSeekerOwnedService<SkillMapper, Sk
     skill.setUpdatedAt(now);
 
     skillMapper.insert(skill);
+    eventPublisher.publishEvent(new SeekerSkillChangedEvent(jobSeekerId));
   }
 
   @Override
@@ -68,6 +73,7 @@ public class SkillServiceImpl extends AbstractSeekerOwnedService<SkillMapper, Sk
 
     existingSkill.setUpdatedAt(new Date());
     skillMapper.updateById(existingSkill);
+    eventPublisher.publishEvent(new SeekerSkillChangedEvent(jobSeekerId));
   }
 
   @Override
@@ -98,8 +104,9 @@ public class SkillServiceImpl extends AbstractSeekerOwnedService<SkillMapper, Sk
 
   @Override
   public void deleteSkill(Long id) {
-    getOwnedSkill(id);
+    Skill skill = getOwnedSkill(id);
     skillMapper.deleteById(id);
+    eventPublisher.publishEvent(new SeekerSkillChangedEvent(skill.getJobSeekerId()));
   }
 
   private Skill getOwnedSkill(Long id) {
@@ -1,5 +1,6 @@
 package com.SmartHire.seekerService.service.impl.seekerTableImpl;
 
+import com.SmartHire.common.event.SeekerProfileChangedEvent;
 import com.SmartHire.common.exception.enums.ErrorCode;
 import com.SmartHire.common.exception.exception.BusinessException;
 import com.SmartHire.seekerService.dto.seekerTableDto.WorkExperienceDTO;
@@ -24,6 +25,7 @@ import java.util.stream.Collectors;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
@@ -51,6 +53,9 @@ public class WorkExperienceServiceImpl extends ServiceImpl<WorkExperienceMapper,
     @Autowired
     private JobSeekerMapper jobSeekerMapper;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     /**
      * 添加工作/实习经历
      *
@@ -96,6 +101,7 @@ public class WorkExperienceServiceImpl extends ServiceImpl<WorkExperienceMapper,
                 }
             }
         }
+        eventPublisher.publishEvent(new SeekerProfileChangedEvent(jobSeekerId));
     }
 
     /**
@@ -117,6 +123,7 @@ public class WorkExperienceServiceImpl extends ServiceImpl<WorkExperienceMapper,
 
         existingExperience.setUpdatedAt(new Date());
         workExperienceMapper.updateById(existingExperience);
+        eventPublisher.publishEvent(new SeekerProfileChangedEvent(jobSeekerId));
     }
 
     @Override
@@ -156,6 +163,7 @@ public class WorkExperienceServiceImpl extends ServiceImpl<WorkExperienceMapper,
                 }
             }
         }
+        eventPublisher.publishEvent(new SeekerProfileChangedEvent(jobSeekerId));
     }
 
     private void populateForCreate(WorkExperience target, WorkExperienceDTO source) {
@@ -1,5 +1,7 @@
 package com.SmartHire.seekerService.service.seekerTableService;
 
+import com.SmartHire.common.storage.dto.UploadTicketDTO;
+import com.SmartHire.common.storage.dto.UploadTicketRequest;
 import com.SmartHire.seekerService.dto.seekerTableDto.ResumeDTO;
 import com.SmartHire.seekerService.model.Resume;
 import com.baomidou.mybatisplus.extension.service.IService;
@@ -21,6 +23,21 @@ public interface ResumeService extends IService<Resume> {
    */
   void uploadResume(MultipartFile resumeFile);
 
+  /**
+   * 申请附件简历直传凭证，同样受简历数量上限约束
+   *
+   * @param request 文件名、类型和大小
+   * @return 直传凭证
+   */
+  UploadTicketDTO createResumeUploadTicket(UploadTicketRequest request);
+
+  /**
+   * 提交已直传的附件简历，核对文件后保存，名称取自申请凭证时的文件名
+   *
+   * @param objectKey 对象键
+   */
+  void commitResumeUpload(String objectKey);
+
   /** 查询当前求职者的所有附件简历 */
   List<ResumeDTO> getResumes();
 
@@ -1,6 +1,9 @@
 package com.SmartHire.userAuthService.controller;
 
 import com.SmartHire.common.entity.Result;
+import com.SmartHire.common.storage.dto.UploadCommitRequest;
+import com.SmartHire.common.storage.dto.UploadTicketDTO;
+import com.SmartHire.common.storage.dto.UploadTicketRequest;
 import com.SmartHire.userAuthService.dto.*;
 import com.SmartHire.userAuthService.service.UserAuthService;
 import com.SmartHire.userAuthService.service.VerificationCodeService;
@@ -117,6 +120,20 @@ public class UserAuthController {
     return Result.success("更新用户头像成功", url);
   }
 
+  @PostMapping("/avatar-upload-url")
+  @Operation(summary = "申请头像直传地址", description = "返回表单直传地址和签名字段，上传完成后调用提交接口更新头像")
+  public Result<UploadTicketDTO> createAvatarUploadUrl(
+      @Valid @RequestBody UploadTicketRequest request) {
+    return Result.success("获取上传地址成功", userService.createAvatarUploadTicket(request));
+  }
+
+  @PostMapping("/commit-avatar-upload")
+  @Operation(summary = "提交已直传的头像", description = "核对文件大小和类型后更新用户头像")
+  public Result<?> commitAvatarUpload(@Valid @RequestBody UploadCommitRequest request) {
+    String url = userService.commitAvatarUpload(request.getObjectKey());
+    return Result.success("更新用户头像成功", url);
+  }
+
   @PostMapping("/logout")
   @Operation(summary = "用户登出", description = "用户登出接口")
   public Result<?> logout() {
@@ -1,5 +1,7 @@
 package com.SmartHire.userAuthService.service;
 
+import com.SmartHire.common.storage.dto.UploadTicketDTO;
+import com.SmartHire.common.storage.dto.UploadTicketRequest;
 import com.SmartHire.userAuthService.dto.*;
 import com.SmartHire.userAuthService.model.User;
 import com.baomidou.mybatisplus.extension.service.IService;
@@ -60,6 +62,22 @@ public interface UserAuthService extends IService<User> {
    */
   String updateUserAvatar(MultipartFile avatarFile) throws IOException;
 
+  /**
+   * 申请头像直传凭证
+   *
+   * @param request 文件名、类型和大小
+   * @return 直传凭证
+   */
+  UploadTicketDTO createAvatarUploadTicket(UploadTicketRequest request);
+
+  /**
+   * 提交已直传的头像，核对文件后替换当前头像
+   *
+   * @param objectKey 对象键
+   * @return 用户头像URL
+   */
+  String commitAvatarUpload(String objectKey);
+
   /** 登出 */
   void logout();
 
@@ -0,0 +1,37 @@
+package com.SmartHire.userAuthService.service;
+
+import com.SmartHire.common.dto.userDto.UserBriefDTO;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * 用户简要信息近端缓存
+ *
+ * <p>用户类型和状态几乎不变，却在每条聊天消息、每次通知发送时被校验。缓存放在进程内（Caffeine），按条数上限淘汰并设置过期时间；
+ * 用户信息变更后显式失效，并通过 Redis 频道通知其他节点
+ */
+public interface UserBriefCacheService {
+
+  /**
+   * 获取用户简要信息
+   *
+   * @param userId 用户ID
+   * @return 简要信息，用户不存在时返回 null（不存在的结果不缓存）
+   */
+  UserBriefDTO get(Long userId);
+
+  /**
+   * 批量获取用户简要信息
+   *
+   * @param userIds 用户ID列表
+   * @return 用户ID -> 简要信息，不存在的用户不在结果中
+   */
+  Map<Long, UserBriefDTO> getAll(Collection<Long> userIds);
+
+  /**
+   * 使用户的缓存失效（当前事务提交后执行，并广播到其他节点）
+   *
+   * @param userIds 用户ID列表
+   */
+  void invalidate(Collection<Long> userIds);
+}
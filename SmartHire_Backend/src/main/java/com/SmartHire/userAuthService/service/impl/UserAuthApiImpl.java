@@ -1,14 +1,18 @@
 package com.SmartHire.userAuthService.service.impl;
 
 import com.SmartHire.common.api.UserAuthApi;
+import com.SmartHire.common.dto.userDto.UserBriefDTO;
 import com.SmartHire.common.dto.userDto.UserCommonDTO;
 import com.SmartHire.common.dto.userDto.UserManagementDTO;
 import com.SmartHire.common.exception.enums.ErrorCode;
 import com.SmartHire.common.exception.exception.BusinessException;
 import com.SmartHire.userAuthService.mapper.UserAuthMapper;
 import com.SmartHire.userAuthService.model.User;
+import com.SmartHire.userAuthService.service.UserBriefCacheService;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -20,6 +24,9 @@ public class UserAuthApiImpl implements UserAuthApi {
   @Autowired
   private UserAuthMapper userAuthMapper;
 
+  @Autowired
+  private UserBriefCacheService userBriefCacheService;
+
   /**
    * 根据用户ID获取用户信息
    *
@@ -40,12 +47,19 @@ public class UserAuthApiImpl implements UserAuthApi {
     return dto;
   }
 
+  @Override
+  public UserBriefDTO getUserBrief(Long userId) {
+    return userBriefCacheService.get(userId);
+  }
+
+  @Override
+  public Map<Long, UserBriefDTO> getUserBriefs(Collection<Long> userIds) {
+    return userBriefCacheService.getAll(userIds);
+  }
+
   @Override
   public boolean existsUser(Long userId) {
-    if (userId == null) {
-      return false;
-    }
-    return userAuthMapper.selectById(userId) != null;
+    return userBriefCacheService.get(userId) != null;
   }
 
   @Override
@@ -53,7 +67,7 @@ public class UserAuthApiImpl implements UserAuthApi {
     if (userId == null || userType == null) {
       return false;
     }
-    User user = userAuthMapper.selectById(userId);
+    UserBriefDTO user = userBriefCacheService.get(userId);
     return user != null && userType.equals(user.getUserType());
   }
 
@@ -80,7 +94,9 @@ public class UserAuthApiImpl implements UserAuthApi {
     if (userIds == null || userIds.isEmpty() || status == null) {
       return 0;
     }
-    return userAuthMapper.batchUpdateStatus(userIds, status);
+    int affectedRows = userAuthMapper.batchUpdateStatus(userIds, status);
+    userBriefCacheService.invalidate(userIds);
+    return affectedRows;
   }
 
   @Override
@@ -95,6 +111,8 @@ public class UserAuthApiImpl implements UserAuthApi {
     }
     User user = new User();
     BeanUtils.copyProperties(userDto, user);
-    return userAuthMapper.updateById(user) > 0;
+    boolean updated = userAuthMapper.updateById(user) > 0;
+    userBriefCacheService.invalidate(List.of(userDto.getId()));
+    return updated;
   }
 }
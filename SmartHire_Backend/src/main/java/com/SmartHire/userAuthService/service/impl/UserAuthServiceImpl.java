@@ -4,25 +4,35 @@ import com.SmartHire.common.api.MessageApi;
 import com.SmartHire.common.api.SeekerApi;
 import com.SmartHire.common.auth.JwtTokenExtractor;
 import com.SmartHire.common.auth.UserContext;
+import com.SmartHire.common.event.UserAvatarChangedEvent;
 import com.SmartHire.common.exception.enums.ErrorCode;
 import com.SmartHire.common.exception.exception.BusinessException;
+import com.SmartHire.common.security.TokenRevocationService;
+import com.SmartHire.common.storage.DirectUploadService;
+import com.SmartHire.common.storage.StorageDeletionOutbox;
+import com.SmartHire.common.storage.UploadPurpose;
+import com.SmartHire.common.storage.dto.UploadTicketDTO;
+import com.SmartHire.common.storage.dto.UploadTicketRequest;
 import com.SmartHire.common.utils.AliOssUtil;
 import com.SmartHire.common.utils.JwtUtil;
 import com.SmartHire.userAuthService.dto.*;
 import com.SmartHire.userAuthService.mapper.UserAuthMapper;
 import com.SmartHire.userAuthService.model.User;
 import com.SmartHire.userAuthService.service.UserAuthService;
+import com.SmartHire.userAuthService.service.UserBriefCacheService;
 import com.SmartHire.userAuthService.service.VerificationCodeService;
 import com.auth0.jwt.interfaces.DecodedJWT;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import java.io.IOException;
 import java.util.Date;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -43,8 +53,6 @@ public class UserAuthServiceImpl extends ServiceImpl<UserAuthMapper, User>
   private static final String AVATAR_DIRECTORY_KEY = "avatar";
   private static final String DEFAULT_AVATAR_URL = "https://smart-hire.oss-cn-shanghai.aliyuncs.com/default-avatar.png";
 
-  private static final String ACCESS_BLACKLIST_PREFIX = "token:blacklist:access:";
-  private static final String REFRESH_BLACKLIST_PREFIX = "token:blacklist:refresh:";
   private static final String REFRESH_SINGLE_LOGIN_PREFIX = "token:refresh:single:";
 
   @Autowired
@@ -59,6 +67,12 @@ public class UserAuthServiceImpl extends ServiceImpl<UserAuthMapper, User>
   @Autowired
   private AliOssUtil aliOssUtil;
 
+  @Autowired
+  private StorageDeletionOutbox storageDeletionOutbox;
+
+  @Autowired
+  private DirectUploadService directUploadService;
+
   @Autowired
   private JwtUtil jwtUtil;
 
@@ -71,6 +85,15 @@ public class UserAuthServiceImpl extends ServiceImpl<UserAuthMapper, User>
   @Autowired
   private RedisTemplate<String, String> redisTemplate;
 
+  @Autowired
+  private TokenRevocationService tokenRevocationService;
+
+  @Autowired
+  private UserBriefCacheService userBriefCacheService;
+
+  @Autowired
+  private ApplicationEventPublisher eventPublisher;
+
   @Autowired(required = false)
   private SeekerApi seekerApi;
 
@@ -208,9 +231,8 @@ public class UserAuthServiceImpl extends ServiceImpl<UserAuthMapper, User>
 
     String fileName = aliOssUtil.generateFileUrl(avatarFile.getOriginalFilename());
     try {
-      String avatarUrl = aliOssUtil.uploadFile(AVATAR_DIRECTORY_KEY, fileName, avatarFile.getInputStream());
-      userMapper.updateUserAvator(avatarUrl, userId);
-      removeOldAvatar(oldAvatarUrl, avatarUrl);
+      String avatarUrl = aliOssUtil.uploadFile(AVATAR_DIRECTORY_KEY, fileName, avatarFile);
+      applyNewAvatar(userId, oldAvatarUrl, avatarUrl);
       return avatarUrl;
     } catch (RuntimeException ex) {
       log.error("用户头像上传失败, userId={}, fileName={}", userId, fileName, ex);
@@ -218,6 +240,43 @@ public class UserAuthServiceImpl extends ServiceImpl<UserAuthMapper, User>
     }
   }
 
+  /**
+   * 申请头像直传凭证
+   *
+   * @param request 文件名、类型和大小
+   * @return 直传凭证
+   */
+  @Override
+  public UploadTicketDTO createAvatarUploadTicket(UploadTicketRequest request) {
+    Long userId = userContext.getCurrentUserId();
+    return directUploadService.createTicket(UploadPurpose.AVATAR, userId, request);
+  }
+
+  /**
+   * 提交已直传的头像
+   *
+   * @param objectKey 对象键
+   * @return 用户头像URL
+   */
+  @Override
+  @Transactional(rollbackFor = Exception.class)
+  public String commitAvatarUpload(String objectKey) {
+    Long userId = userContext.getCurrentUserId();
+    User user = userMapper.selectById(userId);
+    if (user == null) {
+      throw new BusinessException(ErrorCode.USER_ID_NOT_EXIST);
+    }
+    String avatarUrl = directUploadService.commit(UploadPurpose.AVATAR, userId, objectKey).url();
+    applyNewAvatar(userId, user.getAvatarUrl(), avatarUrl);
+    return avatarUrl;
+  }
+
+  private void applyNewAvatar(Long userId, String oldAvatarUrl, String avatarUrl) {
+    userMapper.updateUserAvator(avatarUrl, userId);
+    eventPublisher.publishEvent(new UserAvatarChangedEvent(userId));
+    removeOldAvatar(oldAvatarUrl, avatarUrl);
+  }
+
   /**
    * 登出
    *
@@ -229,10 +288,8 @@ public class UserAuthServiceImpl extends ServiceImpl<UserAuthMapper, User>
     String accessToken = tokenExtractor.extractToken();
     String refreshToken = getCurrentRefreshToken(userId);
 
-    blacklistToken(accessToken, ACCESS_BLACKLIST_PREFIX, accessTokenValidTime);
-    if (refreshToken != null) {
-      blacklistToken(refreshToken, REFRESH_BLACKLIST_PREFIX, refreshTokenValidTime);
-    }
+    revokeToken(accessToken);
+    revokeToken(refreshToken);
     redisTemplate.delete(REFRESH_SINGLE_LOGIN_PREFIX + userId);
   }
 
@@ -252,8 +309,8 @@ public class UserAuthServiceImpl extends ServiceImpl<UserAuthMapper, User>
       throw new BusinessException(ErrorCode.TOKEN_IS_NOT_REFRESH_TOKEN);
     }
 
-    // 检查黑名单
-    ensureNotBlacklisted(refreshToken, REFRESH_BLACKLIST_PREFIX);
+    // 检查是否已吊销
+    ensureNotRevoked(decoded);
 
     // 提取 claims 信息
     Map<String, Object> claims = jwtUtil.getClaims(decoded);
@@ -262,11 +319,8 @@ public class UserAuthServiceImpl extends ServiceImpl<UserAuthMapper, User>
     // 确保单点登录
     ensureSingleLogin(refreshToken, userId);
 
-    // 旧 access token 加入黑名单，防止旧 token 继续使用
-    String oldAccessToken = tokenExtractor.extractTokenNullable();
-    if (oldAccessToken != null) {
-      blacklistToken(oldAccessToken, ACCESS_BLACKLIST_PREFIX, accessTokenValidTime);
-    }
+    // 吊销旧 access token，防止旧 token 继续使用
+    revokeToken(tokenExtractor.extractTokenNullable());
 
     long refreshExpiresInSeconds = jwtUtil.getExpiresInSeconds(decoded);
     boolean needRenewRefreshToken = TimeUnit.SECONDS.toMillis(refreshExpiresInSeconds) <= refreshTokenRenewThreshold;
@@ -275,10 +329,7 @@ public class UserAuthServiceImpl extends ServiceImpl<UserAuthMapper, User>
     if (needRenewRefreshToken) {
       String newRefreshToken = jwtUtil.generateRefreshToken(claims);
       cacheRefreshTokenForSingleLogin(userId, newRefreshToken);
-      blacklistToken(
-          refreshToken,
-          REFRESH_BLACKLIST_PREFIX,
-          TimeUnit.SECONDS.toMillis(refreshExpiresInSeconds));
+      tokenRevocationService.revoke(jwtUtil.getTokenId(decoded), decoded.getExpiresAt());
       effectiveRefreshToken = newRefreshToken;
     }
 
@@ -357,12 +408,7 @@ public class UserAuthServiceImpl extends ServiceImpl<UserAuthMapper, User>
     if (objectName == null || objectName.isBlank()) {
       return;
     }
-    boolean deleted = aliOssUtil.deleteFile(objectName);
-    if (deleted) {
-      log.info("旧头像删除成功, objectName={}", objectName);
-    } else {
-      log.warn("旧头像删除失败, objectName={}", objectName);
-    }
+    storageDeletionOutbox.enqueue(List.of(objectName));
   }
 
   /**
@@ -406,27 +452,31 @@ public class UserAuthServiceImpl extends ServiceImpl<UserAuthMapper, User>
   }
 
   /**
-   * 加入黑名单
+   * 按 jti 吊销令牌，无法解码的令牌本身无法通过认证，直接忽略
    *
    * @param token
-   * @param prefix
-   * @param ttl
    */
-  private void blacklistToken(String token, String prefix, long ttl) {
-    if (token == null) {
+  private void revokeToken(String token) {
+    if (token == null || token.isBlank()) {
       return;
     }
-    redisTemplate.opsForValue().set(prefix + token, "blacklisted", ttl, TimeUnit.MILLISECONDS);
+    DecodedJWT decoded;
+    try {
+      decoded = jwtUtil.decodeToken(token);
+    } catch (BusinessException e) {
+      log.debug("忽略无法解码的令牌: {}", e.getMessage());
+      return;
+    }
+    tokenRevocationService.revoke(jwtUtil.getTokenId(decoded), decoded.getExpiresAt());
   }
 
   /**
-   * 确保不在黑名单中
+   * 确保未被吊销
    *
-   * @param token
-   * @param prefix
+   * @param decoded
    */
-  private void ensureNotBlacklisted(String token, String prefix) {
-    if (Boolean.TRUE.equals(redisTemplate.hasKey(prefix + token))) {
+  private void ensureNotRevoked(DecodedJWT decoded) {
+    if (tokenRevocationService.isRevoked(jwtUtil.getTokenId(decoded))) {
       throw new BusinessException(ErrorCode.TOKEN_IS_IN_BLACKLIST);
     }
   }
@@ -484,6 +534,7 @@ public class UserAuthServiceImpl extends ServiceImpl<UserAuthMapper, User>
 
     // 6. 删除用户记录
     userMapper.deleteById(userId);
+    userBriefCacheService.invalidate(List.of(userId));
     log.info("删除用户成功，用户ID：{}", userId);
   }
 }
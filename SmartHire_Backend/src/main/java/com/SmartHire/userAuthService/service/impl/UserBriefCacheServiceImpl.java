@@ -0,0 +1,137 @@
+package com.SmartHire.userAuthService.service.impl;
+
+import static com.SmartHire.common.utils.TransactionUtils.runAfterCommit;
+
+import com.SmartHire.common.dto.userDto.UserBriefDTO;
+import com.SmartHire.userAuthService.mapper.UserAuthMapper;
+import com.SmartHire.userAuthService.model.User;
+import com.SmartHire.userAuthService.service.UserBriefCacheService;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+
+/**
+ * 用户简要信息近端缓存实现类
+ *
+ * <p>缓存未命中时只查询 id、user_type、status 三列。跨节点失效通过 Redis 频道 {@code user:brief:invalidate} 广播，
+ * 消息内容为逗号分隔的用户ID；广播丢失时由过期时间兜底
+ *
+ * @author SmartHire Team
+ */
+@Slf4j
+@Service
+public class UserBriefCacheServiceImpl implements UserBriefCacheService {
+
+  private static final String INVALIDATE_CHANNEL = "user:brief:invalidate";
+
+  @Autowired private UserAuthMapper userAuthMapper;
+
+  @Autowired private RedisTemplate<String, String> redisTemplate;
+
+  @Autowired private RedisMessageListenerContainer redisMessageListenerContainer;
+
+  @Autowired private MeterRegistry meterRegistry;
+
+  /** 缓存的用户数上限 */
+  @Value("${user.cache.brief.maximum-size:100000}")
+  private long maximumSize;
+
+  /** 写入后过期时间，也是跨节点广播丢失时的最长不一致时间 */
+  @Value("${user.cache.brief.ttl-seconds:300}")
+  private long ttlSeconds;
+
+  private Cache<Long, UserBriefDTO> cache;
+
+  @PostConstruct
+  public void init() {
+    cache =
+        Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+            .recordStats()
+            .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, "user.brief");
+    redisMessageListenerContainer.addMessageListener(
+        (message, pattern) -> {
+          List<Long> userIds =
+              Arrays.stream(new String(message.getBody(), StandardCharsets.UTF_8).split(","))
+                  .filter(s -> !s.isBlank())
+                  .map(Long::valueOf)
+                  .toList();
+          cache.invalidateAll(userIds);
+        },
+        new ChannelTopic(INVALIDATE_CHANNEL));
+  }
+
+  @Override
+  public UserBriefDTO get(Long userId) {
+    if (userId == null) {
+      return null;
+    }
+    return cache.get(userId, id -> toBrief(userAuthMapper.selectOne(briefQuery(List.of(id)))));
+  }
+
+  @Override
+  public Map<Long, UserBriefDTO> getAll(Collection<Long> userIds) {
+    if (userIds == null || userIds.isEmpty()) {
+      return new HashMap<>();
+    }
+    Set<Long> keys = userIds.stream().filter(Objects::nonNull).collect(Collectors.toSet());
+    return new HashMap<>(
+        cache.getAll(
+            keys,
+            missing ->
+                userAuthMapper.selectList(briefQuery(missing)).stream()
+                    .collect(Collectors.toMap(User::getId, UserBriefCacheServiceImpl::toBrief))));
+  }
+
+  @Override
+  public void invalidate(Collection<Long> userIds) {
+    if (userIds == null || userIds.isEmpty()) {
+      return;
+    }
+    List<Long> ids = List.copyOf(userIds);
+    // 提交后再失效，避免其他线程在提交前把旧值重新加载进缓存
+    runAfterCommit(
+        () -> {
+          cache.invalidateAll(ids);
+          try {
+            redisTemplate.convertAndSend(
+                INVALIDATE_CHANNEL,
+                ids.stream().map(String::valueOf).collect(Collectors.joining(",")));
+          } catch (Exception e) {
+            log.warn("广播用户缓存失效失败，其他节点将在过期后刷新: userIds={}", ids, e);
+          }
+        });
+  }
+
+  private static LambdaQueryWrapper<User> briefQuery(Collection<? extends Long> userIds) {
+    return new LambdaQueryWrapper<User>()
+        .select(User::getId, User::getUserType, User::getStatus)
+        .in(User::getId, userIds);
+  }
+
+  private static UserBriefDTO toBrief(User user) {
+    return user == null ? null : new UserBriefDTO(user.getId(), user.getUserType(), user.getStatus());
+  }
+}
@@ -0,0 +1,147 @@
+package com.SmartHire.common.mq;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.SmartHire.common.config.RabbitMQConfig;
+import com.SmartHire.common.exception.enums.ErrorCode;
+import com.SmartHire.common.exception.exception.BusinessException;
+import java.util.Map;
+import org.aopalliance.intercept.MethodInvocation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.support.ListenerExecutionFailedException;
+
+/**
+ * RabbitConsumerAdvice 单元测试
+ *
+ * <p>测试目标：验证受管队列消费失败时按退避重试、业务异常和重试耗尽转入死信队列，以及重复投递被跳过
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("RabbitMQ 消费通知单元测试")
+class RabbitConsumerAdviceTest {
+
+  private static final String QUEUE = RabbitMQConfig.APPLICATION_CREATED_QUEUE;
+
+  @Mock private RabbitTemplate rabbitTemplate;
+
+  @Mock private ConnectionFactory connectionFactory;
+
+  @Mock private RabbitIdempotencyStore idempotencyStore;
+
+  @Mock private RabbitConsumerMetrics metrics;
+
+  @Mock private MethodInvocation invocation;
+
+  @Spy private RabbitConsumerProperties properties = new RabbitConsumerProperties();
+
+  @InjectMocks private RabbitConsumerAdvice advice;
+
+  @BeforeEach
+  void setUp() {
+    properties.setQueues(Map.of(QUEUE, new RabbitConsumerProperties.QueueSettings()));
+    when(rabbitTemplate.getConnectionFactory()).thenReturn(connectionFactory);
+    when(connectionFactory.isPublisherConfirms()).thenReturn(false);
+    when(idempotencyStore.claim(anyString(), anyString()))
+        .thenReturn(RabbitIdempotencyStore.Claim.ACQUIRED);
+  }
+
+  private Message message(Integer retryCount) {
+    MessageProperties props = new MessageProperties();
+    props.setConsumerQueue(QUEUE);
+    props.setMessageId("m1");
+    if (retryCount != null) {
+      props.setHeader(RabbitConsumerAdvice.HEADER_RETRY_COUNT, retryCount);
+    }
+    Message message = new Message("{}".getBytes(), props);
+    when(invocation.getArguments()).thenReturn(new Object[] {null, message});
+    return message;
+  }
+
+  private Message capturePublished(String exchange, String routingKey) {
+    ArgumentCaptor<Message> captor = ArgumentCaptor.forClass(Message.class);
+    verify(rabbitTemplate)
+        .send(eq(exchange), eq(routingKey), captor.capture(), any(CorrelationData.class));
+    return captor.getValue();
+  }
+
+  @Test
+  @DisplayName("处理成功时记录幂等完成且不转投")
+  void invoke_SuccessCompletesIdempotency() throws Throwable {
+    message(null);
+
+    advice.invoke(invocation);
+
+    verify(idempotencyStore).complete(QUEUE, "m1");
+    verify(rabbitTemplate, never()).send(anyString(), anyString(), any(Message.class), any());
+  }
+
+  @Test
+  @DisplayName("临时故障时按第一档延迟投递到延迟队列并确认原消息")
+  void invoke_TransientFailureSchedulesRetry() throws Throwable {
+    message(null);
+    when(invocation.proceed())
+        .thenThrow(new ListenerExecutionFailedException("failed", new IllegalStateException("db down")));
+
+    assertNull(advice.invoke(invocation));
+
+    Message retry = capturePublished(RabbitMQConfig.RETRY_DELAY_EXCHANGE, "1000");
+    assertEquals(QUEUE, retry.getMessageProperties().getHeader(RabbitConsumerAdvice.HEADER_RETRY_TARGET));
+    assertEquals(1, (Integer) retry.getMessageProperties().getHeader(RabbitConsumerAdvice.HEADER_RETRY_COUNT));
+    verify(idempotencyStore).release(QUEUE, "m1");
+  }
+
+  @Test
+  @DisplayName("重试次数耗尽后转入死信队列")
+  void invoke_RetriesExhaustedGoesToDeadLetter() throws Throwable {
+    message(properties.getRetryDelaysMs().size());
+    when(invocation.proceed()).thenThrow(new IllegalStateException("db down"));
+
+    advice.invoke(invocation);
+
+    capturePublished(RabbitMQConfig.DEAD_LETTER_EXCHANGE, QUEUE);
+  }
+
+  @Test
+  @DisplayName("业务异常不重试，直接转入死信队列")
+  void invoke_BusinessExceptionGoesToDeadLetter() throws Throwable {
+    message(null);
+    when(invocation.proceed())
+        .thenThrow(
+            new ListenerExecutionFailedException(
+                "failed", new BusinessException(ErrorCode.USER_AUTH_USER_NOT_EXIST)));
+
+    advice.invoke(invocation);
+
+    Message dead = capturePublished(RabbitMQConfig.DEAD_LETTER_EXCHANGE, QUEUE);
+    assertEquals(
+        BusinessException.class.getName(), dead.getMessageProperties().getHeader("x-exception-class"));
+  }
+
+  @Test
+  @DisplayName("已处理过的消息重复投递时不再调用监听方法")
+  void invoke_DuplicateSkipsListener() throws Throwable {
+    message(null);
+    when(idempotencyStore.claim(QUEUE, "m1")).thenReturn(RabbitIdempotencyStore.Claim.DONE);
+
+    advice.invoke(invocation);
+
+    verify(invocation, never()).proceed();
+  }
+}
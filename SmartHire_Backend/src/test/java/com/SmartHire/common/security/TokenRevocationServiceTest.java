@@ -0,0 +1,113 @@
+package com.SmartHire.common.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.SmartHire.common.utils.JwtUtil;
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import java.util.Date;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * TokenRevocationService 单元测试
+ *
+ * <p>测试目标：验证本地布隆过滤器未命中时不访问 Redis、命中时以 Redis 为准，吊销后本节点立即生效，
+ * 以及旧版黑名单键迁入吊销集合
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("令牌吊销单元测试")
+class TokenRevocationServiceTest {
+
+  private static final String REVOKED_KEY = "token:revoked";
+
+  @Mock private RedisTemplate<String, String> redisTemplate;
+
+  @Mock private ZSetOperations<String, String> zSetOperations;
+
+  @Mock private RedisMessageListenerContainer redisMessageListenerContainer;
+
+  @Mock private Cursor<String> legacyKeys;
+
+  @InjectMocks private TokenRevocationService tokenRevocationService;
+
+  @BeforeEach
+  void setUp() {
+    ReflectionTestUtils.setField(tokenRevocationService, "bloomMinCapacity", 1000L);
+    ReflectionTestUtils.setField(tokenRevocationService, "bloomFpp", 0.01);
+    ReflectionTestUtils.setField(tokenRevocationService, "syncIntervalMs", 30000L);
+    ReflectionTestUtils.setField(tokenRevocationService, "refreshTokenValidTime", 3600000L);
+    ReflectionTestUtils.setField(
+        tokenRevocationService, "jwtUtil", new JwtUtil("secret", 3600000L, 600000L));
+    when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+    when(redisTemplate.scan(any())).thenReturn(legacyKeys);
+    when(zSetOperations.rangeByScore(eq(REVOKED_KEY), anyDouble(), anyDouble()))
+        .thenReturn(Set.of("revoked-jti"));
+    tokenRevocationService.init();
+  }
+
+  @Test
+  @DisplayName("未吊销的令牌由本地过滤器直接放行，不查询 Redis")
+  void isRevoked_BloomMissSkipsRedis() {
+    assertFalse(tokenRevocationService.isRevoked("active-jti"));
+
+    verify(zSetOperations, never()).score(anyString(), any());
+  }
+
+  @Test
+  @DisplayName("过滤器命中时查询 Redis 确认")
+  void isRevoked_BloomHitChecksRedis() {
+    when(zSetOperations.score(REVOKED_KEY, "revoked-jti"))
+        .thenReturn((double) System.currentTimeMillis() + 60000);
+
+    assertTrue(tokenRevocationService.isRevoked("revoked-jti"));
+  }
+
+  @Test
+  @DisplayName("吊销后写入 Redis、广播，并在本节点立即生效")
+  void revoke_WritesRedisAndMarksLocalFilter() {
+    Date expiresAt = new Date(System.currentTimeMillis() + 60000);
+    when(zSetOperations.score(REVOKED_KEY, "new-jti")).thenReturn((double) expiresAt.getTime());
+
+    tokenRevocationService.revoke("new-jti", expiresAt);
+
+    verify(zSetOperations).add(REVOKED_KEY, "new-jti", expiresAt.getTime());
+    verify(redisTemplate).convertAndSend("token:revoked:broadcast", "new-jti");
+    assertTrue(tokenRevocationService.isRevoked("new-jti"));
+  }
+
+  @Test
+  @DisplayName("旧版黑名单中没有 jti 的令牌以签名迁入吊销集合")
+  void sync_MigratesLegacyBlacklistBySignature() {
+    Date expiresAt = new Date(System.currentTimeMillis() + 60000);
+    String legacyToken =
+        JWT.create()
+            .withClaim("type", "access")
+            .withExpiresAt(expiresAt)
+            .sign(Algorithm.HMAC256("secret"));
+    String signature = JWT.decode(legacyToken).getSignature();
+    when(legacyKeys.hasNext()).thenReturn(true, false);
+    when(legacyKeys.next()).thenReturn("token:blacklist:access:" + legacyToken);
+    when(zSetOperations.score(REVOKED_KEY, signature))
+        .thenReturn(null, (double) expiresAt.getTime());
+
+    tokenRevocationService.sync();
+
+    verify(zSetOperations).add(REVOKED_KEY, signature, expiresAt.getTime() / 1000 * 1000);
+    verify(redisTemplate, never()).delete(anyString());
+    assertTrue(tokenRevocationService.isRevoked(signature));
+  }
+}
@@ -0,0 +1,100 @@
+package com.SmartHire.common.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.SmartHire.common.exception.enums.ErrorCode;
+import com.SmartHire.common.exception.exception.BusinessException;
+import com.SmartHire.common.security.VerifiedTokenCache.VerifiedToken;
+import com.SmartHire.common.utils.JwtUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * VerifiedTokenCache 单元测试
+ *
+ * <p>测试目标：验证同一令牌只验签一次、篡改载荷的令牌不会命中缓存、条目不会在令牌过期后继续返回，
+ * 以及 refresh token 不解析用户信息
+ */
+@DisplayName("已验签令牌缓存单元测试")
+class VerifiedTokenCacheTest {
+
+  /** access token 有效期（毫秒），足够短以便验证过期 */
+  private static final long ACCESS_TOKEN_VALID_TIME = 1500L;
+
+  private JwtUtil jwtUtil;
+
+  private VerifiedTokenCache verifiedTokenCache;
+
+  @BeforeEach
+  void setUp() {
+    jwtUtil = spy(new JwtUtil("test-secret", 60000L, ACCESS_TOKEN_VALID_TIME));
+    verifiedTokenCache = new VerifiedTokenCache();
+    ReflectionTestUtils.setField(verifiedTokenCache, "jwtUtil", jwtUtil);
+    ReflectionTestUtils.setField(verifiedTokenCache, "meterRegistry", new SimpleMeterRegistry());
+    ReflectionTestUtils.setField(verifiedTokenCache, "maximumSize", 100L);
+    verifiedTokenCache.init();
+  }
+
+  @Test
+  @DisplayName("同一令牌第二次验证命中缓存，不再验签")
+  void verify_CacheHitSkipsVerifyToken() {
+    String token = jwtUtil.generateAccessToken(claims(1));
+
+    VerifiedToken first = verifiedTokenCache.verify(token);
+    VerifiedToken second = verifiedTokenCache.verify(token);
+
+    assertSame(first, second);
+    assertEquals(1L, second.userInfo().getId());
+    verify(jwtUtil, times(1)).verifyToken(token);
+  }
+
+  @Test
+  @DisplayName("沿用原签名篡改载荷的令牌不命中缓存，验签失败")
+  void verify_TamperedPayloadMisses() {
+    String token = jwtUtil.generateAccessToken(claims(1));
+    verifiedTokenCache.verify(token);
+    String[] original = token.split("\\.");
+    String otherPayload = jwtUtil.generateAccessToken(claims(2)).split("\\.")[1];
+    String tampered = original[0] + "." + otherPayload + "." + original[2];
+
+    BusinessException ex =
+        assertThrows(BusinessException.class, () -> verifiedTokenCache.verify(tampered));
+
+    assertEquals(ErrorCode.TOKEN_IS_INVALID.getCode(), ex.getCode());
+    verify(jwtUtil).verifyToken(tampered);
+  }
+
+  @Test
+  @DisplayName("令牌过期后不再返回缓存条目，重新验签并被拒绝")
+  void verify_NoEntryServedPastExpiry() throws InterruptedException {
+    String token = jwtUtil.generateAccessToken(claims(1));
+    VerifiedToken verified = verifiedTokenCache.verify(token);
+
+    Thread.sleep(Math.max(verified.expiresAt() - System.currentTimeMillis(), 0) + 100);
+
+    assertThrows(BusinessException.class, () -> verifiedTokenCache.verify(token));
+    verify(jwtUtil, times(2)).verifyToken(token);
+  }
+
+  @Test
+  @DisplayName("refresh token 不解析用户信息")
+  void verify_RefreshTokenHasNoUserInfo() {
+    String token = jwtUtil.generateRefreshToken(claims(1));
+
+    VerifiedToken verified = verifiedTokenCache.verify(token);
+
+    assertFalse(verified.accessToken());
+    assertNull(verified.userInfo());
+    assertNotNull(verified.tokenId());
+  }
+
+  private static Map<String, Object> claims(int userId) {
+    return Map.of("id", userId, "username", "user" + userId, "userType", 1);
+  }
+}
@@ -0,0 +1,214 @@
+package com.SmartHire.common.storage;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.SmartHire.common.exception.enums.ErrorCode;
+import com.SmartHire.common.exception.exception.BusinessException;
+import com.SmartHire.common.storage.dto.UploadTicketDTO;
+import com.SmartHire.common.storage.dto.UploadTicketRequest;
+import com.SmartHire.common.utils.AliOssUtil;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * DirectUploadService 单元测试
+ *
+ * <p>测试目标：验证申请凭证时的类型和大小校验，提交时对凭证归属、对象大小和类型的核对，以及待清理登记先于业务事务提交移除
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("客户端直传服务单元测试")
+class DirectUploadServiceTest {
+
+  private static final String OBJECT_KEY = "avatars/a.png";
+
+  @Mock private ObjectStorage storage;
+
+  @Mock private AliOssUtil aliOssUtil;
+
+  @Mock private StorageDeletionOutbox storageDeletionOutbox;
+
+  @Mock private RedisTemplate<String, String> redisTemplate;
+
+  @Mock private HashOperations<String, Object, Object> hashOperations;
+
+  @Mock private ZSetOperations<String, String> zSetOperations;
+
+  @InjectMocks private DirectUploadService directUploadService;
+
+  @BeforeEach
+  void setUp() {
+    ReflectionTestUtils.setField(directUploadService, "urlTtlSeconds", 900L);
+    ReflectionTestUtils.setField(directUploadService, "cleanupGraceSeconds", 300L);
+  }
+
+  @Test
+  @DisplayName("申请凭证时拒绝不允许的类型和超限大小")
+  void createTicket_RejectsTypeAndSize() {
+    BusinessException typeError =
+        assertThrows(
+            BusinessException.class,
+            () ->
+                directUploadService.createTicket(
+                    UploadPurpose.AVATAR, 1L, request("a.pdf", "application/pdf", 100L)));
+    assertEquals(ErrorCode.UPLOAD_FILE_TYPE_NOT_ALLOWED.getCode(), typeError.getCode());
+
+    BusinessException sizeError =
+        assertThrows(
+            BusinessException.class,
+            () ->
+                directUploadService.createTicket(
+                    UploadPurpose.AVATAR, 1L, request("a.png", "image/png", 6L * 1024 * 1024)));
+    assertEquals(ErrorCode.UPLOAD_FILE_TOO_LARGE.getCode(), sizeError.getCode());
+    verifyNoInteractions(storage);
+  }
+
+  @Test
+  @DisplayName("申请凭证时签名策略绑定声明的类型和大小")
+  void createTicket_BindsDeclaredSize() {
+    when(aliOssUtil.generateFileUrl("a.png")).thenReturn("a.png");
+    when(aliOssUtil.buildObjectName(anyString(), eq("a.png"))).thenReturn(OBJECT_KEY);
+    when(storage.presignUpload(eq(OBJECT_KEY), eq("image/png"), eq(100L), any()))
+        .thenReturn(new PresignedUpload("https://bucket.oss", Map.of("key", OBJECT_KEY)));
+    when(redisTemplate.opsForHash()).thenReturn(hashOperations);
+    when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+
+    UploadTicketDTO ticket =
+        directUploadService.createTicket(
+            UploadPurpose.AVATAR, 1L, request("a.png", "image/png", 100L));
+
+    assertEquals("https://bucket.oss", ticket.getUploadUrl());
+    assertEquals(OBJECT_KEY, ticket.getFormFields().get("key"));
+    assertEquals(OBJECT_KEY, ticket.getObjectKey());
+  }
+
+  @Test
+  @DisplayName("提交时文件与凭证一致则作废凭证并返回访问地址")
+  void commit_Success() {
+    when(redisTemplate.opsForHash()).thenReturn(hashOperations);
+    when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+    when(hashOperations.entries("upload:ticket:" + OBJECT_KEY)).thenReturn(ticket("1"));
+    when(storage.getObjectInfo(OBJECT_KEY)).thenReturn(new StoredObject(100L, "image/png"));
+    when(redisTemplate.delete("upload:ticket:" + OBJECT_KEY)).thenReturn(true);
+    when(storage.getPublicUrl(OBJECT_KEY)).thenReturn("https://cdn/" + OBJECT_KEY);
+
+    DirectUploadService.CommittedUpload upload =
+        directUploadService.commit(UploadPurpose.AVATAR, 1L, OBJECT_KEY);
+
+    assertEquals("https://cdn/" + OBJECT_KEY, upload.url());
+    assertEquals("a.png", upload.fileName());
+    verify(zSetOperations).remove("upload:pending", OBJECT_KEY);
+    verifyNoInteractions(storageDeletionOutbox);
+  }
+
+  @Test
+  @DisplayName("待清理登记在业务事务提交前移除，回滚时恢复凭证和登记")
+  void commit_RollbackRestoresTicket() {
+    when(redisTemplate.opsForHash()).thenReturn(hashOperations);
+    when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+    Map<Object, Object> ticket = ticket("1");
+    when(hashOperations.entries("upload:ticket:" + OBJECT_KEY)).thenReturn(ticket);
+    when(storage.getObjectInfo(OBJECT_KEY)).thenReturn(new StoredObject(100L, "image/png"));
+    when(redisTemplate.delete("upload:ticket:" + OBJECT_KEY)).thenReturn(true);
+
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      directUploadService.commit(UploadPurpose.AVATAR, 1L, OBJECT_KEY);
+      verify(zSetOperations).remove("upload:pending", OBJECT_KEY);
+      TransactionSynchronizationManager.getSynchronizations()
+          .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    verify(hashOperations).putAll("upload:ticket:" + OBJECT_KEY, ticket);
+    verify(zSetOperations)
+        .add("upload:pending", OBJECT_KEY, Long.parseLong((String) ticket.get("expiresAt")));
+  }
+
+  @Test
+  @DisplayName("移除待清理登记失败时提交失败，不返回访问地址")
+  void commit_PendingRemovalFailureFailsCommit() {
+    when(redisTemplate.opsForHash()).thenReturn(hashOperations);
+    when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+    when(hashOperations.entries("upload:ticket:" + OBJECT_KEY)).thenReturn(ticket("1"));
+    when(storage.getObjectInfo(OBJECT_KEY)).thenReturn(new StoredObject(100L, "image/png"));
+    when(redisTemplate.delete("upload:ticket:" + OBJECT_KEY)).thenReturn(true);
+    when(zSetOperations.remove("upload:pending", OBJECT_KEY))
+        .thenThrow(new RedisConnectionFailureException("down"));
+
+    assertThrows(
+        RedisConnectionFailureException.class,
+        () -> directUploadService.commit(UploadPurpose.AVATAR, 1L, OBJECT_KEY));
+
+    verify(storage, never()).getPublicUrl(anyString());
+  }
+
+  @Test
+  @DisplayName("他人的凭证不能提交")
+  void commit_RejectsOtherUser() {
+    when(redisTemplate.opsForHash()).thenReturn(hashOperations);
+    when(hashOperations.entries("upload:ticket:" + OBJECT_KEY)).thenReturn(ticket("2"));
+
+    BusinessException ex =
+        assertThrows(
+            BusinessException.class,
+            () -> directUploadService.commit(UploadPurpose.AVATAR, 1L, OBJECT_KEY));
+
+    assertEquals(ErrorCode.UPLOAD_TICKET_INVALID.getCode(), ex.getCode());
+    verifyNoInteractions(storage);
+  }
+
+  @Test
+  @DisplayName("实际大小与声明不符时作废凭证并登记删除对象")
+  void commit_SizeMismatchDeletesObject() {
+    when(redisTemplate.opsForHash()).thenReturn(hashOperations);
+    when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+    when(hashOperations.entries("upload:ticket:" + OBJECT_KEY)).thenReturn(ticket("1"));
+    when(storage.getObjectInfo(OBJECT_KEY))
+        .thenReturn(new StoredObject(50L * 1024 * 1024, "image/png"));
+    when(redisTemplate.delete("upload:ticket:" + OBJECT_KEY)).thenReturn(true);
+
+    BusinessException ex =
+        assertThrows(
+            BusinessException.class,
+            () -> directUploadService.commit(UploadPurpose.AVATAR, 1L, OBJECT_KEY));
+
+    assertEquals(ErrorCode.UPLOAD_FILE_MISMATCH.getCode(), ex.getCode());
+    verify(storageDeletionOutbox).enqueueIndependently(List.of(OBJECT_KEY));
+    verify(storage, never()).getPublicUrl(anyString());
+  }
+
+  private static UploadTicketRequest request(String fileName, String contentType, Long size) {
+    UploadTicketRequest request = new UploadTicketRequest();
+    request.setFileName(fileName);
+    request.setContentType(contentType);
+    request.setSize(size);
+    return request;
+  }
+
+  private static Map<Object, Object> ticket(String userId) {
+    return Map.of(
+        "purpose", "AVATAR",
+        "userId", userId,
+        "contentType", "image/png",
+        "size", "100",
+        "fileName", "a.png",
+        "expiresAt", String.valueOf(System.currentTimeMillis() + 60000));
+  }
+}
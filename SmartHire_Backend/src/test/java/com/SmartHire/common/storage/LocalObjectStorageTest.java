@@ -0,0 +1,61 @@
+package com.SmartHire.common.storage;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * LocalObjectStorage 单元测试
+ *
+ * <p>测试目标：验证本地后端的上传、访问地址互转、删除，以及拒绝跳出根目录的对象名
+ */
+@DisplayName("本地文件存储单元测试")
+class LocalObjectStorageTest {
+
+  @TempDir Path rootDir;
+
+  private LocalObjectStorage storage;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    StorageProperties properties = new StorageProperties();
+    properties.getLocal().setRootDir(rootDir.toString());
+    properties.getLocal().setBaseUrl("http://localhost:8080/files/");
+    storage = new LocalObjectStorage();
+    ReflectionTestUtils.setField(storage, "properties", properties);
+    storage.init();
+  }
+
+  @Test
+  @DisplayName("上传后可按访问地址解析回对象名并删除")
+  void putObject_RoundTrip() throws Exception {
+    MockMultipartFile file =
+        new MockMultipartFile("file", "resume.pdf", "application/pdf", "content".getBytes());
+
+    storage.putObject("resumes/a.pdf", file);
+
+    String url = storage.getPublicUrl("resumes/a.pdf");
+    assertEquals("http://localhost:8080/files/resumes/a.pdf", url);
+    assertEquals("resumes/a.pdf", storage.extractObjectName(url + "?v=1"));
+    assertTrue(storage.exists("resumes/a.pdf"));
+    assertEquals("content", Files.readString(rootDir.resolve("resumes/a.pdf")));
+
+    storage.deleteObject("resumes/a.pdf");
+    assertFalse(storage.exists("resumes/a.pdf"));
+  }
+
+  @Test
+  @DisplayName("拒绝跳出根目录的对象名")
+  void putObject_RejectsPathTraversal() {
+    MockMultipartFile file = new MockMultipartFile("file", "x", null, new byte[] {1});
+
+    assertThrows(IllegalArgumentException.class, () -> storage.putObject("../escape", file));
+  }
+}
@@ -0,0 +1,91 @@
+package com.SmartHire.common.storage;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.SmartHire.common.storage.mapper.StorageDeletionOutboxMapper;
+import com.SmartHire.common.storage.model.StorageDeletionTask;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * StorageDeletionOutbox 单元测试
+ *
+ * <p>测试目标：验证到期记录按批删除后清除，删除失败时保留记录并推迟重试
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("存储删除发件箱单元测试")
+class StorageDeletionOutboxTest {
+
+  @Mock private StorageDeletionOutboxMapper outboxMapper;
+
+  @Mock private ObjectStorage storage;
+
+  @InjectMocks private StorageDeletionOutbox outbox;
+
+  @BeforeEach
+  void setUp() {
+    ReflectionTestUtils.setField(outbox, "batchSize", 1000);
+    ReflectionTestUtils.setField(outbox, "maxBatchesPerRun", 20);
+    ReflectionTestUtils.setField(outbox, "retryBaseDelayMs", 30000L);
+    ReflectionTestUtils.setField(outbox, "retryMaxDelayMs", 3600000L);
+    ReflectionTestUtils.setField(outbox, "alertAttempts", 10);
+  }
+
+  @Test
+  @DisplayName("登记时忽略空对象名并去重")
+  void enqueue_SkipsBlankAndDuplicates() {
+    outbox.enqueue(Arrays.asList("resumes/a.pdf", null, "", "resumes/a.pdf"));
+
+    verify(outboxMapper).insertBatch(eq(List.of("resumes/a.pdf")), any(Date.class));
+  }
+
+  @Test
+  @DisplayName("到期记录一次批量删除后清除")
+  void drain_DeletesBatchAndRemovesRows() {
+    when(outboxMapper.selectDue(any(Date.class), eq(1000)))
+        .thenReturn(List.of(task(1L, "resumes/a.pdf", 0), task(2L, "avatars/b.png", 0)));
+
+    outbox.drain();
+
+    verify(storage, times(1)).deleteObjects(List.of("resumes/a.pdf", "avatars/b.png"));
+    verify(outboxMapper).deleteByIds(List.of(1L, 2L));
+    verify(outboxMapper, never()).markFailed(any(), any(), any());
+  }
+
+  @Test
+  @DisplayName("删除失败时保留记录并按失败次数推迟重试")
+  void drain_FailureSchedulesRetry() {
+    when(outboxMapper.selectDue(any(Date.class), eq(1000)))
+        .thenReturn(List.of(task(1L, "resumes/a.pdf", 2)));
+    doThrow(new RuntimeException("network down")).when(storage).deleteObjects(anyList());
+
+    long before = System.currentTimeMillis();
+    outbox.drain();
+
+    ArgumentCaptor<Date> nextAttemptAt = ArgumentCaptor.forClass(Date.class);
+    verify(outboxMapper).markFailed(eq(List.of(1L)), nextAttemptAt.capture(), eq("network down"));
+    verify(outboxMapper, never()).deleteByIds(any());
+    // 第三次失败：30 秒 * 2^2
+    assertTrue(nextAttemptAt.getValue().getTime() >= before + 120000);
+  }
+
+  private static StorageDeletionTask task(Long id, String objectName, int attempts) {
+    StorageDeletionTask task = new StorageDeletionTask();
+    task.setId(id);
+    task.setObjectName(objectName);
+    task.setAttempts(attempts);
+    return task;
+  }
+}
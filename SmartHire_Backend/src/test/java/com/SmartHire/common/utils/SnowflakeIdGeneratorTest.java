@@ -0,0 +1,91 @@
+package com.SmartHire.common.utils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * SnowflakeIdGenerator 单元测试
+ *
+ * <p>测试目标：验证ID严格递增、不超过 JavaScript 安全整数、不同机器号互不冲突，以及秒内序号用尽和时钟回拨时等待
+ */
+@DisplayName("Snowflake ID 生成器单元测试")
+class SnowflakeIdGeneratorTest {
+
+  /** 可控时钟的生成器 */
+  private static class FixedClockGenerator extends SnowflakeIdGenerator {
+    volatile long second;
+
+    FixedClockGenerator(int workerId, long second) {
+      super(workerId);
+      this.second = second;
+    }
+
+    @Override
+    protected long currentSecond() {
+      return second;
+    }
+  }
+
+  @Test
+  @DisplayName("ID 严格递增且在 JavaScript 安全整数范围内")
+  void testIdsIncreasingAndJsSafe() {
+    SnowflakeIdGenerator generator = new SnowflakeIdGenerator(3);
+    long previous = 0;
+    for (int i = 0; i < 100_000; i++) {
+      long id = generator.nextId();
+      assertTrue(id > previous);
+      assertTrue(id <= (1L << 53) - 1);
+      previous = id;
+    }
+  }
+
+  @Test
+  @DisplayName("同一秒内不同机器号生成的ID不冲突")
+  void testDifferentWorkersDoNotCollide() {
+    long second = 1_800_000_000L;
+    SnowflakeIdGenerator a = new FixedClockGenerator(0, second);
+    SnowflakeIdGenerator b = new FixedClockGenerator(1, second);
+    Set<Long> ids = new HashSet<>();
+    for (int i = 0; i < 1000; i++) {
+      assertTrue(ids.add(a.nextId()));
+      assertTrue(ids.add(b.nextId()));
+    }
+  }
+
+  @Test
+  @DisplayName("时钟回拨时不生成更小的ID")
+  void testClockBackwards() throws Exception {
+    long now = System.currentTimeMillis() / 1000;
+    FixedClockGenerator generator = new FixedClockGenerator(0, now);
+    long first = generator.nextId();
+    generator.second = now - 1;
+    // 回拨期间等待到 lastSecond；模拟时钟在另一线程中追上
+    Thread catchUp =
+        new Thread(
+            () -> {
+              try {
+                Thread.sleep(50);
+              } catch (InterruptedException ignored) {
+                Thread.currentThread().interrupt();
+              }
+              generator.second = now;
+            });
+    catchUp.start();
+    long second = generator.nextId();
+    catchUp.join();
+    assertTrue(second > first);
+  }
+
+  @Test
+  @DisplayName("机器号超出范围时抛出异常")
+  void testInvalidWorkerId() {
+    assertThrows(IllegalArgumentException.class, () -> new SnowflakeIdGenerator(-1));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new SnowflakeIdGenerator(SnowflakeIdGenerator.MAX_WORKERS));
+  }
+}
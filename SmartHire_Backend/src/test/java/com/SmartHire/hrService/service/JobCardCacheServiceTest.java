@@ -0,0 +1,112 @@
+package com.SmartHire.hrService.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.SmartHire.common.dto.hrDto.JobCardDTO;
+import com.SmartHire.common.event.JobCardInvalidatedEvent;
+import com.SmartHire.hrService.mapper.JobInfoMapper;
+import com.SmartHire.hrService.service.impl.JobCardCacheServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * JobCardCacheService 单元测试
+ *
+ * <p>测试目标：验证 本地 -> Redis -> 数据库 的逐级回源、按读取时的版本号回填 Redis，以及失效广播清除本地缓存
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("岗位卡片两级缓存单元测试")
+class JobCardCacheServiceTest {
+
+  @Mock private JobInfoMapper jobInfoMapper;
+
+  @Mock private JobSkillLoader jobSkillLoader;
+
+  @Mock private RedisTemplate<String, String> redisTemplate;
+
+  @Mock private ValueOperations<String, String> valueOperations;
+
+  @Mock private RabbitTemplate rabbitTemplate;
+
+  @Spy private ObjectMapper objectMapper = new ObjectMapper();
+
+  @Spy private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  @InjectMocks private JobCardCacheServiceImpl jobCardCacheService;
+
+  @BeforeEach
+  void setUp() {
+    ReflectionTestUtils.setField(jobCardCacheService, "localMaximumSize", 100L);
+    ReflectionTestUtils.setField(jobCardCacheService, "localTtlSeconds", 60L);
+    ReflectionTestUtils.setField(jobCardCacheService, "redisTtlSeconds", 1800L);
+    jobCardCacheService.init();
+    when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+  }
+
+  private static JobCardDTO card(Long jobId, String title) {
+    JobCardDTO card = new JobCardDTO();
+    card.setJobId(jobId);
+    card.setJobTitle(title);
+    return card;
+  }
+
+  @Test
+  @DisplayName("Redis 命中的直接返回，未命中的一次查库并带版本号回填，之后走本地缓存")
+  void getAll_LoadsMissesOnceAndFillsWithVersion() throws Exception {
+    String cached = objectMapper.writeValueAsString(card(1L, "Java开发"));
+    // 前半为卡片，后半为版本号
+    when(valueOperations.multiGet(anyList())).thenReturn(Arrays.asList(cached, null, null, "3"));
+    when(jobInfoMapper.selectJobCardsByIds(List.of(2L))).thenReturn(List.of(card(2L, "前端开发")));
+    when(jobSkillLoader.loadAll(any())).thenReturn(Map.of(2L, List.of("Vue")));
+
+    Map<Long, JobCardDTO> first = jobCardCacheService.getAll(List.of(1L, 2L));
+    Map<Long, JobCardDTO> second = jobCardCacheService.getAll(List.of(1L, 2L));
+
+    assertEquals("Java开发", first.get(1L).getJobTitle());
+    assertEquals(List.of("Vue"), first.get(2L).getSkills());
+    assertEquals("前端开发", second.get(2L).getJobTitle());
+    assertNotSame(first.get(2L), second.get(2L), "返回的应是副本");
+    verify(valueOperations, times(1)).multiGet(anyList());
+    verify(jobInfoMapper, times(1)).selectJobCardsByIds(anyCollection());
+    verify(redisTemplate)
+        .execute(
+            any(RedisScript.class),
+            eq(List.of("job:card:2", "job:card:version:2")),
+            eq("1800000"),
+            eq("3"),
+            anyString());
+  }
+
+  @Test
+  @DisplayName("收到失效广播后重新回源")
+  void onJobCardInvalidated_EvictsLocalEntry() {
+    when(valueOperations.multiGet(anyList())).thenReturn(Arrays.asList(null, null));
+    when(jobInfoMapper.selectJobCardsByIds(List.of(1L))).thenReturn(List.of(card(1L, "Java开发")));
+    when(jobSkillLoader.loadAll(any())).thenReturn(Map.of());
+
+    jobCardCacheService.get(1L);
+    jobCardCacheService.onJobCardInvalidated(new JobCardInvalidatedEvent(List.of(1L)));
+    JobCardDTO reloaded = jobCardCacheService.get(1L);
+
+    assertEquals(List.of(), reloaded.getSkills());
+    verify(jobInfoMapper, times(2)).selectJobCardsByIds(List.of(1L));
+  }
+}
@@ -0,0 +1,83 @@
+package com.SmartHire.hrService.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.SmartHire.common.dto.hrDto.JobInfoDTO;
+import com.SmartHire.hrService.mapper.JobInfoMapper;
+import com.SmartHire.hrService.service.impl.JobCounterServiceImpl;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * JobCounterService 单元测试
+ *
+ * <p>测试目标：验证增量合并为按批的一次写入、写入失败的增量保留重试，以及读取时叠加未写入的增量
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("岗位计数缓冲单元测试")
+class JobCounterServiceTest {
+
+  @Mock private JobInfoMapper jobInfoMapper;
+
+  @InjectMocks private JobCounterServiceImpl jobCounterService;
+
+  @BeforeEach
+  void setUp() {
+    ReflectionTestUtils.setField(jobCounterService, "flushBatchSize", 500);
+  }
+
+  @Test
+  @DisplayName("多次累加合并为一条写入，写入后不再重复写")
+  void flush_MergesDeltasIntoOneUpdate() {
+    jobCounterService.incrementViews(1L);
+    jobCounterService.incrementViews(1L);
+    jobCounterService.incrementViews(2L);
+    jobCounterService.incrementApplications(2L);
+
+    jobCounterService.flush();
+    jobCounterService.flush();
+
+    verify(jobInfoMapper, times(1))
+        .addCounts(Map.of(1L, 2L, 2L, 1L), Map.of(2L, 1L), List.of(1L, 2L));
+  }
+
+  @Test
+  @DisplayName("写入失败的增量放回，下次写入时与新增量合并")
+  void flush_RestoresDeltasOnFailure() {
+    when(jobInfoMapper.addCounts(anyMap(), anyMap(), anyList()))
+        .thenThrow(new RuntimeException("db down"))
+        .thenReturn(1);
+    jobCounterService.incrementViews(1L);
+
+    jobCounterService.flush();
+    jobCounterService.incrementViews(1L);
+    jobCounterService.flush();
+
+    verify(jobInfoMapper).addCounts(Map.of(1L, 2L), Map.of(), List.of(1L));
+  }
+
+  @Test
+  @DisplayName("读取时叠加尚未写入的增量")
+  void applyPending_AddsPendingDeltas() {
+    jobCounterService.incrementViews(1L);
+    jobCounterService.incrementApplications(1L);
+    JobInfoDTO dto = new JobInfoDTO();
+    dto.setId(1L);
+    dto.setViewCount(10);
+
+    jobCounterService.applyPending(dto);
+
+    assertEquals(11, dto.getViewCount());
+    assertEquals(1, dto.getApplicationCount());
+  }
+}
@@ -0,0 +1,73 @@
+package com.SmartHire.hrService.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.SmartHire.hrService.mapper.JobSkillRequirementMapper;
+import com.SmartHire.hrService.service.impl.JobSkillLoaderImpl;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * JobSkillLoader 单元测试
+ *
+ * <p>测试目标：验证同一请求内登记的岗位合并为一次批量查询，且结果在请求内复用
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("岗位技能批量加载器单元测试")
+class JobSkillLoaderTest {
+
+  @Mock private JobSkillRequirementMapper jobSkillRequirementMapper;
+
+  @InjectMocks private JobSkillLoaderImpl jobSkillLoader;
+
+  @BeforeEach
+  void setUp() {
+    RequestContextHolder.setRequestAttributes(
+        new ServletRequestAttributes(new MockHttpServletRequest()));
+  }
+
+  @AfterEach
+  void tearDown() {
+    RequestContextHolder.resetRequestAttributes();
+  }
+
+  @Test
+  @DisplayName("登记后逐个取技能只查询一次，没有技能的岗位返回空列表")
+  void load_MergesPrimedJobsIntoOneQuery() {
+    when(jobSkillRequirementMapper.selectSkillNamesByJobIds(anyList()))
+        .thenReturn(Map.of(1L, List.of("Java"), 2L, List.of("Vue", "TypeScript")));
+
+    jobSkillLoader.prime(List.of(1L, 2L, 3L));
+
+    assertEquals(List.of("Java"), jobSkillLoader.load(1L));
+    assertEquals(List.of("Vue", "TypeScript"), jobSkillLoader.load(2L));
+    assertEquals(List.of(), jobSkillLoader.load(3L));
+    verify(jobSkillRequirementMapper, times(1)).selectSkillNamesByJobIds(List.of(1L, 2L, 3L));
+  }
+
+  @Test
+  @DisplayName("不在请求线程中时每次直接批量查询")
+  void loadAll_WithoutRequestQueriesDirectly() {
+    RequestContextHolder.resetRequestAttributes();
+    when(jobSkillRequirementMapper.selectSkillNamesByJobIds(anyList()))
+        .thenReturn(Map.of(1L, List.of("Java")));
+
+    jobSkillLoader.loadAll(List.of(1L));
+    jobSkillLoader.loadAll(List.of(1L));
+
+    verify(jobSkillRequirementMapper, times(2)).selectSkillNamesByJobIds(List.of(1L));
+  }
+}
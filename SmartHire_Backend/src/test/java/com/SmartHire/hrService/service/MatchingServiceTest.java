@@ -0,0 +1,172 @@
+package com.SmartHire.hrService.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.SmartHire.common.api.HrApi;
+import com.SmartHire.common.event.JobSkillsChangedEvent;
+import com.SmartHire.common.event.SeekerSkillChangedEvent;
+import com.SmartHire.hrService.mapper.HrApplicationMapper;
+import com.SmartHire.hrService.mapper.JobInfoMapper;
+import com.SmartHire.hrService.mapper.JobSeekerSkillMapper;
+import com.SmartHire.hrService.mapper.JobSkillRequirementMapper;
+import com.SmartHire.hrService.mapper.MatchRescorePendingMapper;
+import com.SmartHire.hrService.model.JobInfo;
+import com.SmartHire.hrService.model.MatchRescoreTask;
+import com.SmartHire.hrService.service.impl.MatchingServiceImpl;
+import com.SmartHire.recruitmentService.dto.ApplicationListDTO;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * MatchingService 单元测试
+ *
+ * <p>测试目标：验证技能变更事件登记待重算标记、只重算受影响的投递并批量写回、结果未变时不写库、失败时保留标记推迟重试，
+ * 以及查询匹配结果时不做计算
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("岗位匹配单元测试")
+class MatchingServiceTest {
+
+  private static final Long HR_ID = 10L;
+
+  private static final Long JOB_ID = 100L;
+
+  @Mock private JobInfoMapper jobInfoMapper;
+
+  @Mock private JobSkillRequirementMapper jobSkillRequirementMapper;
+
+  @Mock private JobSeekerSkillMapper jobSeekerSkillMapper;
+
+  @Mock private HrApplicationMapper hrApplicationMapper;
+
+  @Mock private HrApi hrApi;
+
+  @Mock private MatchRescorePendingMapper pendingMapper;
+
+  @InjectMocks private MatchingServiceImpl matchingService;
+
+  @BeforeEach
+  void setUp() {
+    ReflectionTestUtils.setField(matchingService, "refreshBatchSize", 200);
+    ReflectionTestUtils.setField(matchingService, "updateBatchSize", 500);
+    ReflectionTestUtils.setField(matchingService, "retryBaseDelayMs", 5000L);
+    ReflectionTestUtils.setField(matchingService, "retryMaxDelayMs", 600000L);
+  }
+
+  @Test
+  @DisplayName("岗位技能要求变更后重算该岗位的投递，并一条语句写回")
+  @SuppressWarnings("unchecked")
+  void refresh_RescoresAffectedApplicationsInOneBatch() {
+    MatchRescoreTask task = task(MatchRescoreTask.TYPE_JOB, JOB_ID);
+    when(pendingMapper.selectDue(any(), eq(200))).thenReturn(List.of(task), List.of());
+    when(hrApplicationMapper.selectMatchTargets(List.of(JOB_ID), List.of(), List.of()))
+        .thenReturn(List.of(target(1L, 11L, null, null), target(2L, 12L, null, null)));
+    when(jobSkillRequirementMapper.selectSkillNamesByJobIds(List.of(JOB_ID)))
+        .thenReturn(Map.of(JOB_ID, List.of("Java", "MySQL")));
+    when(jobSeekerSkillMapper.selectSkillNamesByJobSeekerIds(List.of(11L, 12L)))
+        .thenReturn(Map.of(11L, List.of("java"), 12L, List.of(" MySQL ", "JAVA", "Go")));
+
+    matchingService.onJobSkillsChanged(new JobSkillsChangedEvent(JOB_ID));
+    verify(pendingMapper).mark(eq(MatchRescoreTask.TYPE_JOB), eq(List.of(JOB_ID)), any());
+    matchingService.refreshPending();
+    matchingService.refreshPending();
+
+    ArgumentCaptor<Map<Long, BigDecimal>> scores = ArgumentCaptor.forClass(Map.class);
+    ArgumentCaptor<Map<Long, String>> analyses = ArgumentCaptor.forClass(Map.class);
+    verify(hrApplicationMapper, times(1))
+        .updateMatchResults(scores.capture(), analyses.capture(), any());
+    assertEquals(0, new BigDecimal("50").compareTo(scores.getValue().get(1L)));
+    assertEquals(0, new BigDecimal("100").compareTo(scores.getValue().get(2L)));
+    assertEquals(
+        "{\"required\":2,\"seeker\":3,\"matched\":2,\"matchedSkills\":[\"java\", \"mysql\"]}",
+        analyses.getValue().get(2L));
+    verify(pendingMapper).deleteProcessed(List.of(task));
+  }
+
+  @Test
+  @DisplayName("重算结果与库中一致时不写回")
+  void refresh_SkipsUnchangedResults() {
+    String analysis = "{\"required\":1,\"seeker\":1,\"matched\":1,\"matchedSkills\":[\"java\"]}";
+    when(pendingMapper.selectDue(any(), eq(200)))
+        .thenReturn(List.of(task(MatchRescoreTask.TYPE_SEEKER, 11L)));
+    when(hrApplicationMapper.selectMatchTargets(List.of(), List.of(11L), List.of()))
+        .thenReturn(List.of(target(1L, 11L, new BigDecimal("100.00"), analysis)));
+    when(jobSkillRequirementMapper.selectSkillNamesByJobIds(List.of(JOB_ID)))
+        .thenReturn(Map.of(JOB_ID, List.of("Java")));
+    when(jobSeekerSkillMapper.selectSkillNamesByJobSeekerIds(List.of(11L)))
+        .thenReturn(Map.of(11L, List.of("Java")));
+
+    matchingService.onSeekerSkillChanged(new SeekerSkillChangedEvent(11L));
+    matchingService.refreshPending();
+
+    verify(hrApplicationMapper, never()).updateMatchResults(anyMap(), anyMap(), any());
+  }
+
+  @Test
+  @DisplayName("重算失败时保留标记并推迟重试")
+  void refresh_FailureKeepsMarkerForRetry() {
+    MatchRescoreTask task = task(MatchRescoreTask.TYPE_SEEKER, 11L);
+    when(pendingMapper.selectDue(any(), eq(200))).thenReturn(List.of(task));
+    when(hrApplicationMapper.selectMatchTargets(List.of(), List.of(11L), List.of()))
+        .thenThrow(new RuntimeException("db down"));
+
+    long before = System.currentTimeMillis();
+    matchingService.refreshPending();
+
+    ArgumentCaptor<Date> nextAttemptAt = ArgumentCaptor.forClass(Date.class);
+    verify(pendingMapper).markFailed(eq(List.of(task)), nextAttemptAt.capture());
+    assertTrue(nextAttemptAt.getValue().getTime() >= before + 5000);
+    verify(pendingMapper, never()).deleteProcessed(any());
+  }
+
+  @Test
+  @DisplayName("查询匹配结果只读库，未计算的投递交给后台补算")
+  void match_ReadsScoresAndQueuesMissing() {
+    JobInfo jobInfo = new JobInfo();
+    jobInfo.setHrId(HR_ID);
+    when(hrApi.getCurrentHrId()).thenReturn(HR_ID);
+    when(jobInfoMapper.selectById(JOB_ID)).thenReturn(jobInfo);
+    when(hrApplicationMapper.selectApplicationsByJob(HR_ID, JOB_ID))
+        .thenReturn(new ArrayList<>(List.of(target(1L, 11L, null, null))));
+
+    List<ApplicationListDTO> results = matchingService.matchApplicationsForJob(JOB_ID);
+
+    assertEquals(1, results.size());
+    verifyNoInteractions(jobSeekerSkillMapper, jobSkillRequirementMapper);
+    verify(pendingMapper).mark(eq(MatchRescoreTask.TYPE_JOB), eq(List.of(JOB_ID)), any());
+  }
+
+  private static MatchRescoreTask task(String targetType, Long targetId) {
+    MatchRescoreTask task = new MatchRescoreTask();
+    task.setTargetType(targetType);
+    task.setTargetId(targetId);
+    task.setVersion(1L);
+    task.setAttempts(0);
+    return task;
+  }
+
+  private static ApplicationListDTO target(
+      Long id, Long jobSeekerId, BigDecimal matchScore, String matchAnalysis) {
+    ApplicationListDTO dto = new ApplicationListDTO();
+    dto.setId(id);
+    dto.setJobId(JOB_ID);
+    dto.setJobSeekerId(jobSeekerId);
+    dto.setMatchScore(matchScore);
+    dto.setMatchAnalysis(matchAnalysis);
+    return dto;
+  }
+}
@@ -0,0 +1,130 @@
+package com.SmartHire.messageService.benchmark;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.SmartHire.messageService.dto.SendMessageDTO;
+import com.SmartHire.messageService.mapper.ChatMessageMapper;
+import com.SmartHire.messageService.model.ChatMessage;
+import com.SmartHire.messageService.service.ChatMessageService;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * 聊天消息发送吞吐基准
+ *
+ * <p>需要可用的 MySQL、Redis、RabbitMQ 及一个 HR 账号和若干求职者账号，默认不执行。分别以同步落库和写后落库运行，对比发送吞吐：
+ *
+ * <pre>
+ * mvn test -Dtest=ChatMessageSendBenchmark -Dbenchmark=true \
+ *     -Dbenchmark.senderId=HR用户ID -Dbenchmark.receiverIds=求职者用户ID1,ID2 \
+ *     -Dmessage.write-behind.enabled=false|true
+ * </pre>
+ *
+ * <p>输出两个指标：确认吞吐（sendMessage 返回的速率）和落库吞吐（消息全部可在 chat_message 中查到的速率）
+ */
+// WebSocket 端点导出需要真实的 Servlet 容器
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DisplayName("聊天消息发送吞吐基准")
+class ChatMessageSendBenchmark {
+
+  @Autowired private ChatMessageService chatMessageService;
+
+  @Autowired private ChatMessageMapper chatMessageMapper;
+
+  @Test
+  @DisplayName("并发发送消息并统计每秒条数")
+  void benchmarkSend() throws Exception {
+    Long senderId = Long.getLong("benchmark.senderId");
+    List<Long> receiverIds =
+        Arrays.stream(System.getProperty("benchmark.receiverIds", "").split(","))
+            .filter(s -> !s.isBlank())
+            .map(Long::valueOf)
+            .toList();
+    assertNotNull(senderId, "缺少 benchmark.senderId");
+    assertFalse(receiverIds.isEmpty(), "缺少 benchmark.receiverIds");
+    int total = Integer.getInteger("benchmark.messages", 20_000);
+    int threads = Integer.getInteger("benchmark.threads", 16);
+    boolean writeBehind = Boolean.getBoolean("message.write-behind.enabled");
+
+    // 预热：建立会话、填充连接池
+    for (Long receiverId : receiverIds) {
+      chatMessageService.sendMessage(senderId, textMessage(receiverId, "warmup"), true);
+    }
+
+    Date since = new Date(System.currentTimeMillis() / 1000 * 1000);
+    AtomicInteger next = new AtomicInteger();
+    AtomicInteger failed = new AtomicInteger();
+    CountDownLatch done = new CountDownLatch(threads);
+    ExecutorService pool = Executors.newFixedThreadPool(threads);
+    long start = System.nanoTime();
+    for (int t = 0; t < threads; t++) {
+      pool.execute(
+          () -> {
+            try {
+              int i;
+              while ((i = next.getAndIncrement()) < total) {
+                Long receiverId = receiverIds.get(i % receiverIds.size());
+                try {
+                  chatMessageService.sendMessage(
+                      senderId, textMessage(receiverId, "benchmark-" + i), true);
+                } catch (Exception e) {
+                  failed.incrementAndGet();
+                }
+              }
+            } finally {
+              done.countDown();
+            }
+          });
+    }
+    done.await();
+    long ackedNanos = System.nanoTime() - start;
+    pool.shutdown();
+
+    // 等待全部落库（写后落库模式下由后台批量写入）
+    long expected = total - failed.get();
+    long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(5);
+    while (countSince(senderId, since) < expected && System.nanoTime() < deadline) {
+      Thread.sleep(50);
+    }
+    long persistedNanos = System.nanoTime() - start;
+
+    System.out.printf(
+        "[benchmark] mode=%s messages=%d threads=%d failed=%d acked=%.0f msg/s persisted=%.0f msg/s%n",
+        writeBehind ? "write-behind" : "sync",
+        total,
+        threads,
+        failed.get(),
+        expected / (ackedNanos / 1e9),
+        expected / (persistedNanos / 1e9));
+    assertTrue(countSince(senderId, since) >= expected, "消息未在超时时间内全部落库");
+  }
+
+  private long countSince(Long senderId, Date since) {
+    return chatMessageMapper.selectCount(
+        new LambdaQueryWrapper<ChatMessage>()
+            .eq(ChatMessage::getSenderId, senderId)
+            .ge(ChatMessage::getCreatedAt, since)
+            .likeRight(ChatMessage::getContent, "benchmark-"));
+  }
+
+  private static SendMessageDTO textMessage(Long receiverId, String content) {
+    SendMessageDTO dto = new SendMessageDTO();
+    dto.setReceiverId(receiverId);
+    dto.setMessageType(1);
+    dto.setContent(content);
+    return dto;
+  }
+}
@@ -0,0 +1,179 @@
+package com.SmartHire.messageService.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.SmartHire.common.config.RabbitMQConfig;
+import com.SmartHire.common.mq.RabbitConsumerAdvice;
+import com.SmartHire.common.utils.SnowflakeIdGenerator;
+import com.SmartHire.messageService.dto.ChatMessagePersistDTO;
+import com.SmartHire.messageService.mapper.ChatMessageMapper;
+import com.SmartHire.messageService.mapper.ConversationMapper;
+import com.SmartHire.messageService.model.ChatMessage;
+import com.SmartHire.messageService.model.Conversation;
+import com.SmartHire.messageService.service.impl.ChatMessageWriteBehindServiceImpl;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * ChatMessageWriteBehindServiceImpl 单元测试
+ *
+ * <p>测试目标：验证消息在发送事务提交后才投递到落库队列，批量落库的暂时性失败转入延迟重试而不是立即重新入队，
+ * 以及落库时按已读水位修正已读状态、消息ID冲突不被静默丢弃
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("聊天消息写后落库单元测试")
+class ChatMessageWriteBehindServiceTest {
+
+  @Mock private RabbitTemplate rabbitTemplate;
+
+  @Mock private ChatMessageMapper chatMessageMapper;
+
+  @Mock private ConversationMapper conversationMapper;
+
+  @Mock private ChatHistoryCacheService chatHistoryCacheService;
+
+  @Mock private PlatformTransactionManager transactionManager;
+
+  @Mock private MessageConverter messageConverter;
+
+  @Mock private RabbitConsumerAdvice consumerAdvice;
+
+  @InjectMocks private ChatMessageWriteBehindServiceImpl writeBehindService;
+
+  @BeforeEach
+  void setUp() {
+    ReflectionTestUtils.setField(
+        writeBehindService, "transactionTemplate", new TransactionTemplate(transactionManager));
+    ReflectionTestUtils.setField(writeBehindService, "confirmTimeoutMs", 100L);
+    ReflectionTestUtils.setField(writeBehindService, "idGenerator", new SnowflakeIdGenerator(1));
+    writeBehindService.initTransactionTemplate();
+  }
+
+  @Test
+  @DisplayName("发送事务提交前不投递，回滚则不进入落库队列")
+  void submit_PublishesOnlyAfterCommit() {
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      assertTrue(writeBehindService.submit(message(), "hi"));
+      verifyNoInteractions(rabbitTemplate);
+
+      TransactionSynchronizationManager.getSynchronizations()
+          .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+    verifyNoInteractions(rabbitTemplate);
+  }
+
+  @Test
+  @DisplayName("投递未获确认时以同一个消息ID直接落库")
+  void submit_FallsBackToDirectInsert() {
+    doAnswer(
+            invocation -> {
+              CorrelationData correlation = invocation.getArgument(3);
+              correlation.getFuture().complete(new CorrelationData.Confirm(false, "nack"));
+              return null;
+            })
+        .when(rabbitTemplate)
+        .convertAndSend(anyString(), anyString(), any(Object.class), any(CorrelationData.class));
+    ChatMessage message = message();
+
+    writeBehindService.submit(message, "hi");
+
+    assertNotNull(message.getId());
+    verify(chatMessageMapper).insertBatch(List.of(message));
+  }
+
+  @Test
+  @DisplayName("批量落库暂时失败时整批转入延迟重试")
+  void flush_TransientFailureRetriesWithDelay() throws Exception {
+    Message raw = new Message("{}".getBytes(), new MessageProperties());
+    ChatMessage message = message();
+    message.setId(1L);
+    when(messageConverter.fromMessage(raw)).thenReturn(new ChatMessagePersistDTO(message, "hi"));
+    QueryTimeoutException failure = new QueryTimeoutException("db down");
+    doThrow(failure).when(chatMessageMapper).insertBatch(anyList());
+
+    assertDoesNotThrow(() -> writeBehindService.flush(List.of(raw)));
+
+    verify(consumerAdvice)
+        .retryOrDeadLetter(eq(RabbitMQConfig.CHAT_PERSIST_QUEUE), eq(raw), same(failure));
+    verify(consumerAdvice, never()).deadLetter(any(), any(), any());
+  }
+
+  @Test
+  @DisplayName("落库前接收者已标记已读的消息以已读写入且不点亮通知")
+  void flush_AppliesReadWatermark() throws Exception {
+    Message raw = new Message("{}".getBytes(), new MessageProperties());
+    ChatMessage message = message();
+    message.setId(1L);
+    message.setIsRead((byte) 0);
+    when(messageConverter.fromMessage(raw)).thenReturn(new ChatMessagePersistDTO(message, "hi"));
+    Conversation watermark = new Conversation();
+    watermark.setId(10L);
+    watermark.setUser1Id(1L);
+    watermark.setUser2Id(2L);
+    watermark.setLastReadAtUser2(new Date(message.getCreatedAt().getTime() + 1000));
+    when(conversationMapper.selectReadWatermarksForUpdate(anyCollection()))
+        .thenReturn(List.of(watermark));
+
+    writeBehindService.flush(List.of(raw));
+
+    assertEquals((byte) 1, message.getIsRead());
+    verify(chatMessageMapper).insertBatch(List.of(message));
+    verify(conversationMapper)
+        .updateLastMessageIfNewer(eq(10L), eq("hi"), eq(message.getCreatedAt()), eq(Set.of()));
+  }
+
+  @Test
+  @DisplayName("消息ID与内容不同的已有消息冲突时转入死信而不是静默丢弃")
+  void flush_IdCollisionGoesToDeadLetter() throws Exception {
+    Message raw = new Message("{}".getBytes(), new MessageProperties());
+    ChatMessage message = message();
+    message.setId(1L);
+    when(messageConverter.fromMessage(raw)).thenReturn(new ChatMessagePersistDTO(message, "hi"));
+    ChatMessage existing = message();
+    existing.setId(1L);
+    existing.setContent("other");
+    when(chatMessageMapper.selectBatchIds(anyCollection())).thenReturn(List.of(existing));
+
+    writeBehindService.flush(List.of(raw));
+
+    verify(chatMessageMapper, never()).insertBatch(anyList());
+    verify(consumerAdvice)
+        .deadLetter(
+            eq(RabbitMQConfig.CHAT_PERSIST_QUEUE), eq(raw), any(DataIntegrityViolationException.class));
+  }
+
+  private static ChatMessage message() {
+    ChatMessage message = new ChatMessage();
+    message.setConversationId(10L);
+    message.setSenderId(1L);
+    message.setReceiverId(2L);
+    message.setContent("hi");
+    message.setCreatedAt(new Date());
+    return message;
+  }
+}
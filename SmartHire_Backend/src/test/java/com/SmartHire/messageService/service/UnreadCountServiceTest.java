@@ -0,0 +1,110 @@
+package com.SmartHire.messageService.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.SmartHire.messageService.mapper.ConversationMapper;
+import com.SmartHire.messageService.service.impl.UnreadCountServiceImpl;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * UnreadCountServiceImpl 单元测试
+ *
+ * <p>测试目标：验证计数就绪时只改 Redis；未就绪时直接写库、结束后登记待重建覆盖，并触发重建、查询退回数据库汇总，以及重建前清除残留计数
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("未读计数单元测试")
+class UnreadCountServiceTest {
+
+  @Mock private RedisTemplate<String, String> redisTemplate;
+
+  @Mock private ConversationMapper conversationMapper;
+
+  @Mock private ExecutorService rebuildExecutor;
+
+  @Mock private ValueOperations<String, String> valueOperations;
+
+  @InjectMocks private UnreadCountServiceImpl unreadCountService;
+
+  @BeforeEach
+  void setUp() {
+    ReflectionTestUtils.setField(unreadCountService, "inflightTtlSeconds", 60L);
+    ReflectionTestUtils.setField(unreadCountService, "rebuildExecutor", rebuildExecutor);
+  }
+
+  @Test
+  @DisplayName("计数就绪时只在 Redis 中累加，不写库")
+  @SuppressWarnings("unchecked")
+  void increment_ReadyUpdatesRedisOnly() {
+    when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+        .thenReturn(1L);
+
+    unreadCountService.increment(2L, 10L);
+
+    verifyNoInteractions(conversationMapper, rebuildExecutor);
+  }
+
+  @Test
+  @DisplayName("计数未就绪时直接写库，写完登记会话并触发重建")
+  @SuppressWarnings("unchecked")
+  void increment_NotReadyWritesDatabase() {
+    when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+        .thenReturn(-1L, 1L);
+    when(redisTemplate.hasKey("message:unread:ready")).thenReturn(false);
+
+    unreadCountService.increment(2L, 10L);
+
+    verify(conversationMapper).incrementUnreadCount(10L, 2L);
+    verify(redisTemplate)
+        .execute(
+            any(RedisScript.class),
+            eq(List.of("message:unread:rebuild:inflight", "message:unread:rebuild:touched")),
+            eq("10:2"));
+    verify(rebuildExecutor).execute(any(Runnable.class));
+  }
+
+  @Test
+  @DisplayName("计数未就绪时未读总数取数据库汇总")
+  void getTotal_NotReadyFallsBackToDatabase() {
+    when(redisTemplate.hasKey("message:unread:ready")).thenReturn(false);
+    when(conversationMapper.sumUnreadCount(2L)).thenReturn(5);
+
+    assertEquals(5, unreadCountService.getTotal(2L));
+    verify(rebuildExecutor).execute(any(Runnable.class));
+  }
+
+  @Test
+  @DisplayName("重建前删除残留的用户计数，同前缀的管理 key 保留")
+  @SuppressWarnings("unchecked")
+  void rebuild_ClearsStaleUserCounts() {
+    when(redisTemplate.hasKey("message:unread:ready")).thenReturn(false);
+    when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+    when(valueOperations.setIfAbsent(eq("message:unread:rebuilding"), eq("1"), anyLong(), any()))
+        .thenReturn(true);
+    Cursor<String> cursor = mock(Cursor.class);
+    when(cursor.hasNext()).thenReturn(true, true, true, false);
+    when(cursor.next())
+        .thenReturn("message:unread:2", "message:unread:dirty", "message:unread:rebuild:touched");
+    when(redisTemplate.scan(any(ScanOptions.class))).thenReturn(cursor);
+
+    unreadCountService.rebuildIfNecessary();
+
+    verify(redisTemplate).delete(List.of("message:unread:2"));
+    verify(redisTemplate).delete(anyCollection());
+  }
+}
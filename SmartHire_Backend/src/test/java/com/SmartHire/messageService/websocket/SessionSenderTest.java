@@ -0,0 +1,155 @@
+package com.SmartHire.messageService.websocket;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.websocket.CloseReason;
+import jakarta.websocket.RemoteEndpoint;
+import jakarta.websocket.SendHandler;
+import jakarta.websocket.SendResult;
+import jakarta.websocket.Session;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+/**
+ * SessionSender 单元测试
+ *
+ * <p>测试目标：验证出站队列同一时刻只有一条在途发送、按顺序排空，单条发送异常不中断排空，以及队列溢出时的丢弃/关闭策略
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("WebSocket 出站发送器单元测试")
+class SessionSenderTest {
+
+  @Mock private Session session;
+
+  @Mock private RemoteEndpoint.Async asyncRemote;
+
+  /** 尚未回调的异步发送 */
+  private final List<SendHandler> pendingHandlers = new ArrayList<>();
+
+  private final List<String> sentTexts = new ArrayList<>();
+
+  private final WebSocketSendMetrics metrics = new WebSocketSendMetrics(new SimpleMeterRegistry());
+
+  @BeforeEach
+  void setUp() {
+    when(session.isOpen()).thenReturn(true);
+    when(session.getId()).thenReturn("s1");
+    when(session.getAsyncRemote()).thenReturn(asyncRemote);
+    doAnswer(
+            invocation -> {
+              sentTexts.add(invocation.getArgument(0));
+              pendingHandlers.add(invocation.getArgument(1));
+              return null;
+            })
+        .when(asyncRemote)
+        .sendText(anyString(), any(SendHandler.class));
+  }
+
+  /** 完成最早的一次在途发送 */
+  private void completeOne() {
+    pendingHandlers.remove(0).onResult(new SendResult());
+  }
+
+  @Test
+  @DisplayName("同一时刻只有一条在途发送，完成后按入队顺序继续发送")
+  void send_SerializesInFlightFrames() {
+    SessionSender sender = new SessionSender(session, 10, SessionSender.OverflowPolicy.CLOSE, metrics);
+
+    assertTrue(sender.send("a"));
+    assertTrue(sender.send("b"));
+    assertTrue(sender.send("c"));
+
+    assertEquals(List.of("a"), sentTexts);
+    completeOne();
+    assertEquals(List.of("a", "b"), sentTexts);
+    completeOne();
+    completeOne();
+    assertEquals(List.of("a", "b", "c"), sentTexts);
+    assertEquals(3, sender.getStats().sent());
+    assertEquals(0, sender.getStats().queueDepth());
+  }
+
+  @Test
+  @DisplayName("单条消息发送时抛出异常，跳过该条继续发送后续消息")
+  void send_KeepsDrainingAfterSendFailure() {
+    SessionSender sender = new SessionSender(session, 10, SessionSender.OverflowPolicy.CLOSE, metrics);
+    doThrow(new IllegalStateException("busy"))
+        .when(asyncRemote)
+        .sendText(eq("b"), any(SendHandler.class));
+
+    sender.send("a");
+    sender.send("b");
+    sender.send("c");
+    completeOne();
+
+    assertEquals(List.of("a", "c"), sentTexts);
+    assertEquals(1, sender.getStats().dropped());
+    assertEquals(0, sender.getStats().queueDepth());
+  }
+
+  @Test
+  @DisplayName("发送异常时会话已断开则停止发送并清空队列")
+  void send_StopsWhenSessionClosedDuringSend() {
+    SessionSender sender = new SessionSender(session, 10, SessionSender.OverflowPolicy.CLOSE, metrics);
+    doAnswer(
+            invocation -> {
+              when(session.isOpen()).thenReturn(false);
+              throw new IllegalStateException("closed");
+            })
+        .when(asyncRemote)
+        .sendText(eq("b"), any(SendHandler.class));
+
+    sender.send("a");
+    sender.send("b");
+    sender.send("c");
+    completeOne();
+
+    assertEquals(List.of("a"), sentTexts);
+    assertEquals(0, sender.getStats().queueDepth());
+    assertFalse(sender.send("d"));
+  }
+
+  @Test
+  @DisplayName("队列溢出且策略为 DROP_OLDEST 时丢弃最旧的排队消息")
+  void send_DropOldestOnOverflow() {
+    SessionSender sender =
+        new SessionSender(session, 2, SessionSender.OverflowPolicy.DROP_OLDEST, metrics);
+
+    sender.send("in-flight");
+    sender.send("q1");
+    sender.send("q2");
+    assertTrue(sender.send("q3"));
+
+    completeOne();
+    completeOne();
+    completeOne();
+    assertEquals(List.of("in-flight", "q2", "q3"), sentTexts);
+    assertEquals(1, sender.getStats().dropped());
+  }
+
+  @Test
+  @DisplayName("队列溢出且策略为 CLOSE 时关闭慢连接并拒绝后续消息")
+  void send_CloseOnOverflow() throws Exception {
+    SessionSender sender = new SessionSender(session, 1, SessionSender.OverflowPolicy.CLOSE, metrics);
+
+    sender.send("in-flight");
+    sender.send("q1");
+    assertFalse(sender.send("q2"));
+
+    verify(session).close(any(CloseReason.class));
+    assertFalse(sender.send("after-close"));
+    assertEquals(List.of("in-flight"), sentTexts);
+  }
+}
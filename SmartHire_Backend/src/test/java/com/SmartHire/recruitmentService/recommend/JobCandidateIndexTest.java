@@ -0,0 +1,117 @@
+package com.SmartHire.recruitmentService.recommend;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.SmartHire.recruitmentService.model.RecommendExpectationRow;
+import com.SmartHire.recruitmentService.model.RecommendJobRow;
+import com.SmartHire.recruitmentService.model.RecommendSeekerRow;
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * JobCandidateIndex 单元测试
+ *
+ * <p>测试目标：验证按城市、学历筛选候选并在不足 K 个时放宽，特征打分和同分按发布时间排序，以及增量更新所用的候选范围判断
+ */
+@DisplayName("岗位推荐候选索引单元测试")
+class JobCandidateIndexTest {
+
+  private JobCandidateIndex index;
+
+  @BeforeEach
+  void setUp() {
+    index = new JobCandidateIndex();
+    index.put(job(1L, "Java开发工程师", "北京", 2, 1000L));
+    index.put(job(2L, "前端开发", "北京", 0, 2000L));
+    index.put(job(3L, "Java后端", "上海", 2, 3000L));
+    index.put(job(4L, "算法研究员", "北京", 4, 4000L));
+  }
+
+  private static JobFeatures job(
+      Long id, String title, String city, int education, long publishedAt) {
+    RecommendJobRow row = new RecommendJobRow();
+    row.setJobId(id);
+    row.setStatus(1);
+    row.setJobType(0);
+    row.setJobTitle(title);
+    row.setCompanyName("某公司");
+    row.setCity(city);
+    row.setEducationRequired(education);
+    row.setSalaryMin(new BigDecimal("10000"));
+    row.setSalaryMax(new BigDecimal("20000"));
+    row.setPublishedAt(new Date(publishedAt));
+    return JobFeatures.of(row);
+  }
+
+  private static SeekerProfile seeker(String city, Integer education, String major) {
+    RecommendSeekerRow row = new RecommendSeekerRow();
+    row.setJobSeekerId(100L);
+    row.setCurrentCity(city);
+    row.setEducation(education);
+    row.setMajor(major);
+    return SeekerProfile.of(row, List.of());
+  }
+
+  @Test
+  @DisplayName("候选足够时只取学历满足且位于求职者城市的岗位，关键词命中的排前")
+  void topK_PrefersCityAndEducation() {
+    List<RecommendedJob> ranked = index.topK(seeker(" 北京 ", 2, "java"), 2);
+
+    assertEquals(List.of(1L, 2L), ranked.stream().map(RecommendedJob::jobId).toList());
+    // 基础分 50 + 关键词 1/3 * 30 + 学历 10 + 城市 5
+    assertEquals(75, ranked.get(0).matchScore());
+    assertEquals(65, ranked.get(1).matchScore());
+  }
+
+  @Test
+  @DisplayName("首选候选不足 K 个时放宽到学历满足的岗位，同分时新发布的靠前")
+  void topK_RelaxesWhenNotEnoughCandidates() {
+    List<RecommendedJob> ranked = index.topK(seeker("北京", 2, null), 3);
+
+    assertEquals(List.of(2L, 1L, 3L), ranked.stream().map(RecommendedJob::jobId).toList());
+    assertFalse(ranked.stream().anyMatch(r -> r.jobId() == 4L), "学历不满足的岗位不应出现");
+  }
+
+  @Test
+  @DisplayName("期望薪资区间与岗位重叠时加分，移除后的岗位不再出现")
+  void topK_SalaryOverlapAndRemove() {
+    RecommendSeekerRow row = new RecommendSeekerRow();
+    row.setJobSeekerId(100L);
+    row.setEducation(2);
+    RecommendExpectationRow expectation = new RecommendExpectationRow();
+    expectation.setWorkCity("上海");
+    expectation.setSalaryMin(new BigDecimal("15000"));
+    SeekerProfile seeker = SeekerProfile.of(row, List.of(expectation));
+
+    index.remove(1L);
+    List<RecommendedJob> ranked = index.topK(seeker, 1);
+
+    assertEquals(3L, ranked.get(0).jobId());
+    assertEquals(70, ranked.get(0).matchScore());
+    assertNull(index.get(1L));
+  }
+
+  @Test
+  @DisplayName("候选范围与 topK 的放宽规则一致，岗位变更导致放宽时能识别出来")
+  void poolChange_FollowsRelaxation() {
+    SeekerProfile seeker = seeker("北京", 2, null);
+    assertEquals(JobCandidateIndex.Pool.PREFERRED, index.pool(seeker, 2));
+    assertEquals(JobCandidateIndex.Pool.ELIGIBLE, index.pool(seeker, 3));
+
+    // 上海的岗位对首选范围为北京的求职者是放宽后才会用到的候选
+    JobFeatures shanghai = index.get(3L);
+    assertFalse(JobCandidateIndex.inPool(JobCandidateIndex.Pool.PREFERRED, seeker, shanghai));
+    assertTrue(JobCandidateIndex.inPool(JobCandidateIndex.Pool.ELIGIBLE, seeker, shanghai));
+
+    // 北京的岗位下线后首选候选不足 2 个，候选范围由首选放宽到学历满足
+    JobFeatures beijing = index.remove(2L);
+    JobCandidateIndex.PoolChange change = index.poolChange(seeker, 2, beijing, null);
+    assertTrue(change.changed());
+    assertEquals(JobCandidateIndex.Pool.PREFERRED, change.before());
+    assertEquals(JobCandidateIndex.Pool.ELIGIBLE, change.after());
+  }
+}
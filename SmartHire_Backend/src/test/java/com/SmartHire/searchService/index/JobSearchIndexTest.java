@@ -0,0 +1,138 @@
+package com.SmartHire.searchService.index;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.SmartHire.common.dto.hrDto.JobCardDTO;
+import com.SmartHire.common.dto.hrDto.JobSearchDTO;
+import com.SmartHire.searchService.model.JobSearchDoc;
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * JobSearchIndex 单元测试
+ *
+ * <p>测试目标：验证二元分词、单字关键词交给数据库、筛选位图与原 SQL 语义一致、BM25 排序，以及增量更新和下线
+ */
+@DisplayName("岗位内存倒排索引单元测试")
+class JobSearchIndexTest {
+
+  private JobSearchIndex index;
+
+  @BeforeEach
+  void setUp() {
+    index = new JobSearchIndex(1.2f, 0.75f, 2.0f);
+    index.upsert(doc(1L, "Java后端开发工程师", "负责交易系统开发", "北京", 0, 2, 10000, 20000, 100, "Java", "MySQL"));
+    index.upsert(doc(2L, "前端开发", "使用 Vue 开发管理后台，了解 Java 优先", "上海", 0, null, 8000, 15000, 200, "Vue"));
+    index.upsert(doc(3L, "算法实习生", "推荐系统", "北京", 1, 3, null, null, 300, "Python"));
+  }
+
+  private static JobSearchDoc doc(
+      Long id,
+      String title,
+      String description,
+      String city,
+      int jobType,
+      Integer education,
+      Integer salaryMin,
+      Integer salaryMax,
+      long publishedAt,
+      String... skills) {
+    JobSearchDoc doc = new JobSearchDoc();
+    doc.setJobId(id);
+    doc.setCompanyId(id * 10);
+    doc.setStatus(1);
+    doc.setJobTitle(title);
+    doc.setDescription(description);
+    doc.setCity(city);
+    doc.setJobType(jobType);
+    doc.setEducationRequired(education);
+    doc.setSalaryMin(salaryMin == null ? null : BigDecimal.valueOf(salaryMin));
+    doc.setSalaryMax(salaryMax == null ? null : BigDecimal.valueOf(salaryMax));
+    doc.setPublishedAt(new Date(publishedAt));
+    doc.setCreatedAt(new Date(publishedAt));
+    doc.setSkills(List.of(skills));
+    return doc;
+  }
+
+  private static List<Long> ids(List<JobCardDTO> cards) {
+    return cards.stream().map(JobCardDTO::getJobId).toList();
+  }
+
+  @Test
+  @DisplayName("二元分词：中文切为相邻两字，英文单词小写并保留 c++ 等符号")
+  void tokenize_CjkBigramsAndWords() {
+    assertEquals(List.of("java", "后端", "端开", "开发"), CjkBigramTokenizer.tokenize("Java后端开发"));
+    assertEquals(List.of("c++", "京"), CjkBigramTokenizer.tokenize("C++ / 京"));
+  }
+
+  @Test
+  @DisplayName("含单个汉字的关键词交给数据库模糊匹配，索引只检索能由二元词命中的关键词")
+  void supportsKeyword_SingleCjkCharGoesToSql() {
+    assertFalse(JobSearchIndex.supportsKeyword("京"));
+    assertFalse(JobSearchIndex.supportsKeyword("java 前"));
+    assertTrue(JobSearchIndex.supportsKeyword("北京"));
+    assertTrue(JobSearchIndex.supportsKeyword("java 开发"));
+    assertTrue(JobSearchIndex.supportsKeyword(null));
+
+    // 单字只命中同样单独出现的字，"北京"中的"京"检索不到
+    JobSearchDTO query = new JobSearchDTO();
+    query.setKeyword("京");
+    assertTrue(index.search(query).isEmpty());
+  }
+
+  @Test
+  @DisplayName("无关键词时按发布时间倒序分页")
+  void search_NoKeywordOrdersByPublishedAt() {
+    JobSearchDTO query = new JobSearchDTO();
+    assertEquals(List.of(3L, 2L, 1L), ids(index.search(query)));
+
+    query.setSize(2);
+    query.setPage(2);
+    assertEquals(List.of(1L), ids(index.search(query)));
+  }
+
+  @Test
+  @DisplayName("关键词需全部命中，岗位名称命中的得分更高")
+  void search_KeywordRankedByBm25() {
+    JobSearchDTO query = new JobSearchDTO();
+    query.setKeyword("java 开发");
+
+    assertEquals(List.of(1L, 2L), ids(index.search(query)));
+  }
+
+  @Test
+  @DisplayName("学历为空的岗位命中任意学历筛选，薪资未填写的一侧不限")
+  void search_FiltersMatchSqlSemantics() {
+    JobSearchDTO query = new JobSearchDTO();
+    query.setEducationRequired(2);
+    assertEquals(List.of(2L, 1L), ids(index.search(query)));
+
+    query = new JobSearchDTO();
+    query.setMinSalary(BigDecimal.valueOf(16000));
+    assertEquals(List.of(3L, 1L), ids(index.search(query)));
+
+    query = new JobSearchDTO();
+    query.setCity("北京");
+    query.setSkills(List.of("python", "Go"));
+    assertEquals(List.of(3L), ids(index.search(query)));
+  }
+
+  @Test
+  @DisplayName("更新后按新内容检索，下线后不再返回")
+  void upsertAndRemove_UpdateIncrementally() {
+    index.upsert(doc(2L, "Go 开发", "微服务", "深圳", 0, null, 8000, 15000, 200, "Go"));
+    JobSearchDTO query = new JobSearchDTO();
+    query.setKeyword("vue");
+    assertTrue(index.search(query).isEmpty());
+    query.setKeyword("微服务");
+    assertEquals(List.of(2L), ids(index.search(query)));
+
+    index.remove(2L);
+    assertTrue(index.search(query).isEmpty());
+    assertEquals(2, index.size());
+  }
+}
@@ -0,0 +1,67 @@
+package com.SmartHire.searchService.index;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * SkillPostingIndex 单元测试
+ *
+ * <p>测试目标：验证全部命中、任一命中、至少命中 k 个三种查询，以及替换实体技能后倒排项同步更新
+ */
+@DisplayName("技能倒排索引单元测试")
+class SkillPostingIndexTest {
+
+  private SkillPostingIndex index;
+
+  @BeforeEach
+  void setUp() {
+    index = new SkillPostingIndex();
+    index.replace(1L, List.of("Java", "MySQL", "Redis"));
+    index.replace(2L, List.of("Java", "Vue"));
+    index.replace(3L, List.of("Python", "MySQL"));
+    index.add(4L, " java ");
+    index.add(4L, "Redis");
+  }
+
+  @Test
+  @DisplayName("任一命中、全部命中，技能名称忽略大小写和首尾空白")
+  void match_anyAndAll() {
+    assertEquals(List.of(1L, 2L, 3L, 4L), index.match(List.of("JAVA", "mysql"), 1));
+    assertEquals(List.of(1L), index.match(List.of("Java", "MySQL"), 2));
+    assertEquals(List.of(), index.match(List.of("Java", "Go"), 2));
+  }
+
+  @Test
+  @DisplayName("至少命中 k 个技能")
+  void match_atLeastK() {
+    List<String> skills = List.of("Java", "MySQL", "Redis", "Go");
+
+    assertEquals(List.of(1L, 4L), index.match(skills, 2));
+    assertEquals(List.of(1L), index.match(skills, 3));
+    assertEquals(List.of(), index.match(skills, 4));
+  }
+
+  @Test
+  @DisplayName("替换技能后旧倒排项失效，空列表等同删除")
+  void replace_updatesPostings() {
+    index.replace(2L, List.of("Go"));
+    index.remove(3L);
+
+    assertEquals(List.of(1L, 4L), index.match(List.of("Java"), 1));
+    assertEquals(List.of(2L), index.match(List.of("go"), 1));
+    assertEquals(List.of(1L), index.match(List.of("MySQL"), 1));
+    assertEquals(3, index.size());
+  }
+
+  @Test
+  @DisplayName("超出 32 位无符号范围的ID不能写入")
+  void add_rejectsOutOfRangeId() {
+    assertTrue(SkillPostingIndex.isIndexable(0xFFFFFFFFL));
+    assertFalse(SkillPostingIndex.isIndexable(0x100000000L));
+    assertThrows(IllegalArgumentException.class, () -> index.add(0x100000000L, "Java"));
+  }
+}
@@ -26,6 +26,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 /**
  * JobSeekerService 单元测试
@@ -52,6 +53,8 @@ class JobSeekerServiceTest {
 
   @Mock private UserContext userContext;
 
+  @Mock private ApplicationEventPublisher eventPublisher;
+
   @Spy @InjectMocks private JobSeekerServiceImpl jobSeekerService;
 
   // ==================== 测试数据常量 ====================
@@ -0,0 +1,93 @@
+package com.SmartHire.seekerService.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.SmartHire.common.event.SeekerProfileChangedEvent;
+import com.SmartHire.seekerService.mapper.SeekerCardMapper;
+import com.SmartHire.seekerService.mapper.SeekerCardPendingMapper;
+import com.SmartHire.seekerService.model.SeekerCardRefreshTask;
+import com.SmartHire.seekerService.service.impl.SeekerCardProjectionServiceImpl;
+import java.util.Date;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * SeekerCardProjectionService 单元测试
+ *
+ * <p>测试目标：验证卡片刷新成功后删除待刷新标记，刷新失败时保留标记并推迟重试，由定时任务补上
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("求职者卡片投影单元测试")
+class SeekerCardProjectionServiceTest {
+
+  private static final Long JOB_SEEKER_ID = 11L;
+
+  @Mock private SeekerCardMapper seekerCardMapper;
+
+  @Mock private SeekerCardPendingMapper pendingMapper;
+
+  @InjectMocks private SeekerCardProjectionServiceImpl projectionService;
+
+  @BeforeEach
+  void setUp() {
+    ReflectionTestUtils.setField(projectionService, "refreshBatchSize", 200);
+    ReflectionTestUtils.setField(projectionService, "retryBaseDelayMs", 5000L);
+    ReflectionTestUtils.setField(projectionService, "retryMaxDelayMs", 600000L);
+  }
+
+  @Test
+  @DisplayName("提交后刷新成功则删除版本未变的标记")
+  void onChanged_RefreshesAndDeletesMarker() {
+    SeekerCardRefreshTask task = task(0);
+    when(pendingMapper.selectByJobSeekerIds(List.of(JOB_SEEKER_ID))).thenReturn(List.of(task));
+
+    projectionService.onSeekerProfileChanged(new SeekerProfileChangedEvent(JOB_SEEKER_ID));
+
+    verify(seekerCardMapper).upsertByJobSeekerIds(List.of(JOB_SEEKER_ID));
+    verify(pendingMapper).deleteProcessed(List.of(task));
+    verify(pendingMapper, never()).markFailed(any(), any());
+  }
+
+  @Test
+  @DisplayName("提交后刷新失败时保留标记并推迟，定时任务到期后重试成功")
+  void onChanged_FailureRetriedByScheduler() {
+    SeekerCardRefreshTask task = task(0);
+    when(pendingMapper.selectByJobSeekerIds(List.of(JOB_SEEKER_ID))).thenReturn(List.of(task));
+    when(seekerCardMapper.upsertByJobSeekerIds(List.of(JOB_SEEKER_ID)))
+        .thenThrow(new QueryTimeoutException("db down"))
+        .thenReturn(1);
+
+    long before = System.currentTimeMillis();
+    projectionService.onSeekerProfileChanged(new SeekerProfileChangedEvent(JOB_SEEKER_ID));
+
+    ArgumentCaptor<Date> nextAttemptAt = ArgumentCaptor.forClass(Date.class);
+    verify(pendingMapper).markFailed(eq(List.of(task)), nextAttemptAt.capture());
+    assertTrue(nextAttemptAt.getValue().getTime() >= before + 5000);
+    verify(pendingMapper, never()).deleteProcessed(any());
+
+    SeekerCardRefreshTask due = task(1);
+    when(pendingMapper.selectDue(any(), eq(200))).thenReturn(List.of(due));
+    projectionService.refreshPending();
+
+    verify(pendingMapper).deleteProcessed(List.of(due));
+  }
+
+  private static SeekerCardRefreshTask task(int attempts) {
+    SeekerCardRefreshTask task = new SeekerCardRefreshTask();
+    task.setJobSeekerId(JOB_SEEKER_ID);
+    task.setVersion(1L);
+    task.setAttempts(attempts);
+    return task;
+  }
+}
@@ -24,6 +24,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 /**
  * JobSeekerExpectationService 单元测试
@@ -40,6 +41,8 @@ class JobSeekerExpectationServiceTest {
 
   @Mock private JobSeekerService jobSeekerService;
 
+  @Mock private ApplicationEventPublisher eventPublisher;
+
   @Spy @InjectMocks private JobSeekerExpectationServiceImpl jobSeekerExpectationService;
 
   private static final Long TEST_JOB_SEEKER_ID = 456L;
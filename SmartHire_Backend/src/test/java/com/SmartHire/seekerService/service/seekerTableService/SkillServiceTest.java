@@ -23,6 +23,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 /**
  * SkillService 单元测试
@@ -49,6 +50,8 @@ class SkillServiceTest {
 
   @Mock private JobSeekerService jobSeekerService;
 
+  @Mock private ApplicationEventPublisher eventPublisher;
+
   @Spy @InjectMocks private SkillServiceImpl skillService;
 
   // ==================== 测试数据常量 ====================
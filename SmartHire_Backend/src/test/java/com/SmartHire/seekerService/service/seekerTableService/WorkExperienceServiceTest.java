@@ -25,6 +25,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 /**
  * WorkExperienceService 单元测试
@@ -41,6 +42,8 @@ class WorkExperienceServiceTest {
 
   @Mock private JobSeekerService jobSeekerService;
 
+  @Mock private ApplicationEventPublisher eventPublisher;
+
   @Spy @InjectMocks private WorkExperienceServiceImpl workExperienceService;
 
   private static final Long TEST_JOB_SEEKER_ID = 456L;
@@ -6,6 +6,7 @@ import static org.mockito.Mockito.*;
 
 import com.SmartHire.common.auth.JwtTokenExtractor;
 import com.SmartHire.common.auth.UserContext;
+import com.SmartHire.common.security.TokenRevocationService;
 import com.SmartHire.common.exception.enums.ErrorCode;
 import com.SmartHire.common.exception.exception.BusinessException;
 import com.SmartHire.common.utils.JwtUtil;
@@ -14,6 +15,7 @@ import com.SmartHire.userAuthService.mapper.UserAuthMapper;
 import com.SmartHire.userAuthService.model.User;
 import com.SmartHire.userAuthService.service.impl.UserAuthServiceImpl;
 import java.lang.reflect.Field;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
 import org.junit.jupiter.api.BeforeEach;
@@ -66,6 +68,8 @@ class UserAuthServiceTest {
 
   @Mock private JwtTokenExtractor tokenExtractor;
 
+  @Mock private TokenRevocationService tokenRevocationService;
+
   @InjectMocks private UserAuthServiceImpl userAuthService;
 
   // ==================== 测试数据常量 ====================
@@ -614,8 +618,19 @@ class UserAuthServiceTest {
     // Mock Redis：获取当前 refreshToken
     when(valueOperations.get(contains("token:refresh:single:"))).thenReturn(refreshToken);
 
-    // Mock Redis：将 Token 加入黑名单
-    doNothing().when(valueOperations).set(anyString(), anyString(), anyLong(), any());
+    // Mock JWT 解码：读取两个 Token 的 jti 和过期时间
+    Date accessExpiresAt = new Date(System.currentTimeMillis() + 7200000L);
+    Date refreshExpiresAt = new Date(System.currentTimeMillis() + 604800000L);
+    com.auth0.jwt.interfaces.DecodedJWT accessDecoded =
+        mock(com.auth0.jwt.interfaces.DecodedJWT.class);
+    com.auth0.jwt.interfaces.DecodedJWT refreshDecoded =
+        mock(com.auth0.jwt.interfaces.DecodedJWT.class);
+    when(jwtUtil.decodeToken(accessToken)).thenReturn(accessDecoded);
+    when(jwtUtil.decodeToken(refreshToken)).thenReturn(refreshDecoded);
+    when(jwtUtil.getTokenId(accessDecoded)).thenReturn("access-jti");
+    when(jwtUtil.getTokenId(refreshDecoded)).thenReturn("refresh-jti");
+    when(accessDecoded.getExpiresAt()).thenReturn(accessExpiresAt);
+    when(refreshDecoded.getExpiresAt()).thenReturn(refreshExpiresAt);
 
     // Mock Redis：删除单点登录缓存
     when(redisTemplate.delete(anyString())).thenReturn(true);
@@ -628,30 +643,9 @@ class UserAuthServiceTest {
         "登出应该成功，不抛出异常");
 
     // Assert: 验证业务流程
-    // 1. 验证 accessToken 被加入黑名单（使用 ArgumentCaptor 验证过期时间）
-    ArgumentCaptor<String> blacklistKeyCaptor = ArgumentCaptor.forClass(String.class);
-    ArgumentCaptor<String> blacklistValueCaptor = ArgumentCaptor.forClass(String.class);
-    ArgumentCaptor<Long> expireTimeCaptor = ArgumentCaptor.forClass(Long.class);
-    verify(valueOperations, atLeastOnce())
-        .set(
-            blacklistKeyCaptor.capture(),
-            blacklistValueCaptor.capture(),
-            expireTimeCaptor.capture(),
-            any());
-
-    // 验证 accessToken 和 refreshToken 都被加入黑名单
-    assertTrue(
-        blacklistKeyCaptor.getAllValues().stream()
-            .anyMatch(key -> key.contains("token:blacklist:access:")),
-        "accessToken 应该被加入黑名单");
-    assertTrue(
-        blacklistKeyCaptor.getAllValues().stream()
-            .anyMatch(key -> key.contains("token:blacklist:refresh:")),
-        "refreshToken 应该被加入黑名单");
-
-    // 验证黑名单过期时间设置正确（应该大于 0）
-    assertTrue(
-        expireTimeCaptor.getAllValues().stream().allMatch(time -> time > 0), "黑名单过期时间应该大于 0");
+    // 1. 验证 accessToken 和 refreshToken 都按 jti 吊销，吊销记录保留到各自过期
+    verify(tokenRevocationService, times(1)).revoke("access-jti", accessExpiresAt);
+    verify(tokenRevocationService, times(1)).revoke("refresh-jti", refreshExpiresAt);
 
     // 2. 验证单点登录缓存被删除
     verify(redisTemplate, times(1)).delete(contains("token:refresh:single:"));
@@ -43,20 +43,35 @@ export interface SendMessageParams {
   replyTo: number | null;
 }
 
+const CONVERSATION_PAGE_SIZE = 50;
+
 /**
  * Get conversations list
+ * Follows the (lastMessageTime, id) cursor page by page, so callers still receive every conversation
  * @returns List of conversations
  */
-export function getConversations(): Promise<Conversation[]> {
-  const url = '/api/message/get-conversations';
-  console.log('[Params]', url, null);
-  return http<Conversation[]>({
-    url,
-    method: 'GET',
-  }).then(response => {
-    console.log('[Response]', url, response);
-    return response;
-  });
+export async function getConversations(): Promise<Conversation[]> {
+  const conversations: Conversation[] = [];
+  let cursor = '';
+  while (true) {
+    const url = `/api/message/get-conversations?size=${CONVERSATION_PAGE_SIZE}${cursor}`;
+    console.log('[Params]', url, null);
+    const page = await http<Conversation[]>({
+      url,
+      method: 'GET',
+    });
+    console.log('[Response]', url, page);
+    conversations.push(...page);
+
+    // Pinned conversations only come with the first page; the cursor follows the unpinned ones
+    const unpinned = page.filter(c => c.pinned !== 1);
+    if (unpinned.length < CONVERSATION_PAGE_SIZE) {
+      return conversations;
+    }
+    const last = unpinned[unpinned.length - 1];
+    const time = last.lastMessageTime ? new Date(last.lastMessageTime).getTime() : NaN;
+    cursor = `${Number.isNaN(time) ? '' : `&cursorTime=${time}`}&cursorId=${last.id}`;
+  }
 }
 
 /**
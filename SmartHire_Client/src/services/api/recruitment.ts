@@ -57,7 +57,8 @@ export interface JobSearchResult {
 }
 
 /**
- * Search job positions
+ * Search job positions (page-numbered)
+ * Scrolling lists should use feedJobPositions instead
  * @returns List of job search results
  */
 export function searchJobPositions(params: JobSearchParams): Promise<JobSearchResult[]> {
@@ -74,6 +75,36 @@ export function searchJobPositions(params: JobSearchParams): Promise<JobSearchRe
   });
 }
 
+export interface JobFeedParams extends Omit<JobSearchParams, 'page'> {
+  /** nextCursor returned by the previous page; omit for the first page */
+  cursor?: string;
+}
+
+export interface JobFeedResult {
+  list: JobSearchResult[];
+  nextCursor: string | null;
+  hasMore: boolean;
+}
+
+/**
+ * Job feed for infinite scroll, newest first
+ * Pass the returned nextCursor back unchanged to load the next page
+ * @returns One page of jobs and the cursor of the next page
+ */
+export function feedJobPositions(params: JobFeedParams): Promise<JobFeedResult> {
+  const url = '/public/job-position/feed';
+  console.log('[Params]', url, params);
+  return http<JobFeedResult>({
+    url,
+    method: 'POST',
+    data: params,
+    skipAuth: true,
+  }).then(response => {
+    console.log('[Response]', url, response);
+    return response;
+  });
+}
+
 export interface JobDetailCompany {
   companyId: number;
   companyName: string;
@@ -561,6 +561,7 @@ export function getOnlineResume(userId?: number): Promise<any> {
 
 // Get all seeker cards
 export interface SeekerCard {
+  userId: number;
   username: string;
   graduationYear: string;
   age: number;
@@ -599,11 +600,19 @@ export interface FilterSeekersParams {
   isInternship?: number;
   jobStatus?: number;
   hasInternship?: number;
+  skills?: string[];
+  minSkillMatch?: number;
+  /** userId of the last card of the previous page; omit for the first page */
+  cursor?: number;
+  pageSize?: number;
 }
 
+const SEEKER_FILTER_PAGE_SIZE = 20;
+
 /**
- * Filter seekers
- * @returns Filtered list of seeker cards
+ * Filter seekers, one page at a time (newest seekers first)
+ * Pass the userId of the last returned card as the next cursor; a page shorter than pageSize is the last one
+ * @returns One page of filtered seeker cards
  */
 export function filterSeekers(params: FilterSeekersParams): Promise<SeekerCard[]> {
   const queryParams: string[] = [];
@@ -614,6 +623,10 @@ export function filterSeekers(params: FilterSeekersParams): Promise<SeekerCard[]
   if (params.isInternship !== undefined) queryParams.push(`isInternship=${params.isInternship}`);
   if (params.jobStatus !== undefined) queryParams.push(`jobStatus=${params.jobStatus}`);
   if (params.hasInternship !== undefined) queryParams.push(`hasInternship=${params.hasInternship}`);
+  params.skills?.forEach(skill => queryParams.push(`skills=${encodeURIComponent(skill)}`));
+  if (params.minSkillMatch !== undefined) queryParams.push(`minSkillMatch=${params.minSkillMatch}`);
+  if (params.cursor !== undefined) queryParams.push(`cursor=${params.cursor}`);
+  queryParams.push(`pageSize=${params.pageSize ?? SEEKER_FILTER_PAGE_SIZE}`);
   const queryString = queryParams.join('&');
   const url = `/api/seeker/cards/filter${queryString ? `?${queryString}` : ''}`;
   console.log('[Params]', url, params);
@@ -61,6 +61,31 @@ CREATE INDEX idx_industry ON job_seeker_expectation (expected_industry);
 CREATE INDEX idx_job_seeker_id ON job_seeker_expectation (job_seeker_id);
 CREATE INDEX idx_salary_max ON job_seeker_expectation (salary_max);
 CREATE INDEX idx_salary_min ON job_seeker_expectation (salary_min);
+-- 求职者卡片投影表（由 job_seeker、education_experience、work_experience、job_seeker_expectation 汇总，供 HR 人才筛选）
+CREATE TABLE `seeker_card` (
+    `job_seeker_id` BIGINT NOT NULL COMMENT '求职者ID' PRIMARY KEY,
+    `user_id` BIGINT NOT NULL COMMENT '用户ID',
+    `real_name` VARCHAR(50) NOT NULL COMMENT '真实姓名',
+    `birth_date` DATE NULL COMMENT '出生日期',
+    `city` VARCHAR(50) NULL COMMENT '当前城市',
+    `education_level` TINYINT NULL COMMENT '最高学历（教育经历中最高的一条，没有时取求职者信息中的学历）',
+    `major` VARCHAR(100) NULL COMMENT '最高学历的专业',
+    `university` VARCHAR(100) NULL COMMENT '最高学历的学校',
+    `graduation_year` VARCHAR(20) NULL COMMENT '毕业年份展示文本',
+    `work_experience_year` INT DEFAULT 0 NOT NULL COMMENT '工作经验年份',
+    `internship_experience` TINYINT DEFAULT 0 NOT NULL COMMENT '求职者信息中的是否有实习经历',
+    `job_status` TINYINT NULL COMMENT '求职状态',
+    `has_internship` TINYINT DEFAULT 0 NOT NULL COMMENT '工作经历中是否有实习',
+    `salary_min` DECIMAL(10, 2) NULL COMMENT '各求职期望中的最低期望薪资，仅用于薪资筛选的预筛',
+    `salary_max` DECIMAL(10, 2) NULL COMMENT '各求职期望中的最高期望薪资，仅用于薪资筛选的预筛',
+    `updated_at` DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+    CONSTRAINT uk_user_id UNIQUE (user_id)
+) COMMENT '求职者卡片投影表' CHARSET = utf8mb4;
+CREATE INDEX idx_city_user ON seeker_card (city, user_id);
+CREATE INDEX idx_education_user ON seeker_card (education_level, user_id);
+CREATE INDEX idx_status_user ON seeker_card (job_status, user_id);
+CREATE INDEX idx_internship_user ON seeker_card (has_internship, user_id);
+CREATE INDEX idx_salary ON seeker_card (salary_min, salary_max);
 -- HR信息表
 CREATE TABLE `hr_info` (
     `id` BIGINT AUTO_INCREMENT COMMENT 'HR ID' PRIMARY KEY,
@@ -206,6 +231,7 @@ CREATE INDEX idx_company_audit_status ON job_info (company_audit_status);
 CREATE INDEX idx_company_id ON job_info (company_id);
 CREATE INDEX idx_hr_id ON job_info (hr_id);
 CREATE INDEX idx_published_at ON job_info (published_at);
+CREATE INDEX idx_status_published_id ON job_info (status, published_at, id);
 CREATE INDEX idx_submitted_at ON job_info (submitted_at);
 -- 职位审核记录表
 CREATE TABLE `job_audit_record` (
@@ -394,6 +420,8 @@ CREATE TABLE `application` (
     CONSTRAINT uk_job_seeker_job UNIQUE (job_id, job_seeker_id)
 ) COMMENT '投递/推荐记录表' CHARSET = utf8mb4;
 CREATE INDEX idx_job_seeker_id ON application (job_seeker_id);
+CREATE INDEX idx_conversation_id ON application (conversation_id);
+CREATE INDEX idx_job_match_score ON application (job_id, match_score, created_at);
 CREATE INDEX idx_status ON application (status);
 -- 面试安排表
 CREATE TABLE `interview` (
@@ -451,11 +479,15 @@ CREATE TABLE `conversation` (
     `pinned_by_user2` TINYINT DEFAULT 0 NULL,
     `has_notification_user1` TINYINT DEFAULT 0 NULL COMMENT '用户1是否有未读通知',
     `has_notification_user2` TINYINT DEFAULT 0 NULL COMMENT '用户2是否有未读通知',
+    `last_read_at_user1` DATETIME(3) NULL COMMENT '用户1最近一次标记已读的时间，此前发送、之后才落库的消息直接记为已读',
+    `last_read_at_user2` DATETIME(3) NULL COMMENT '用户2最近一次标记已读的时间，此前发送、之后才落库的消息直接记为已读',
     `created_at` DATETIME DEFAULT CURRENT_TIMESTAMP NULL,
     `deleted_by_user1` TINYINT DEFAULT 0 NULL,
     `deleted_by_user2` TINYINT DEFAULT 0 NULL,
     CONSTRAINT uniq_conversation_pair UNIQUE (user1_id, user2_id)
 ) COMMENT '一对一会话' CHARSET = utf8mb4;
+CREATE INDEX idx_user1_last_message ON conversation (user1_id, last_message_time, id);
+CREATE INDEX idx_user2_last_message ON conversation (user2_id, last_message_time, id);
 -- 聊天消息表
 CREATE TABLE `chat_message` (
     `id` BIGINT AUTO_INCREMENT COMMENT '消息ID' PRIMARY KEY,
@@ -469,12 +501,15 @@ CREATE TABLE `chat_message` (
     `is_read` TINYINT DEFAULT 0 NULL COMMENT '是否已读',
     `is_flagged` TINYINT DEFAULT 0 NULL COMMENT '是否被标记为敏感',
     `is_deleted` TINYINT DEFAULT 0 NULL COMMENT '是否被逻辑删除/撤回',
+    `is_delivered` TINYINT DEFAULT 0 NOT NULL COMMENT '是否已经离线补偿送达并由客户端确认',
     `created_at` DATETIME DEFAULT CURRENT_TIMESTAMP NULL COMMENT '发送时间'
 ) COMMENT '聊天消息表' CHARSET = utf8mb4;
 CREATE INDEX idx_conversation_created ON chat_message (conversation_id, created_at);
 CREATE INDEX idx_conversation_id ON chat_message (conversation_id);
 CREATE INDEX idx_created_at ON chat_message (created_at);
 CREATE INDEX idx_sender_receiver ON chat_message (sender_id, receiver_id);
+CREATE INDEX idx_receiver_read_created ON chat_message (receiver_id, is_read, created_at, id);
+CREATE INDEX idx_receiver_undelivered ON chat_message (receiver_id, is_read, is_delivered, created_at, id);
 -- 用户通知表
 CREATE TABLE `notifications` (
     `id` BIGINT NOT NULL AUTO_INCREMENT COMMENT '通知ID',
@@ -519,4 +554,38 @@ CREATE INDEX idx_handler_id ON reports (handler_id);
 CREATE INDEX idx_report_type ON reports (report_type);
 CREATE INDEX idx_reporter_id ON reports (reporter_id);
 CREATE INDEX idx_status ON reports (status);
-CREATE INDEX idx_target ON reports (target_type, target_id);
\ No newline at end of file
+CREATE INDEX idx_target ON reports (target_type, target_id);
+-- ==============================================
+-- 基础设施
+-- ==============================================
+-- 存储对象删除发件箱：业务删除记录时在同一事务中登记，后台批量删除 OSS 对象
+CREATE TABLE `storage_deletion_outbox` (
+    `id` BIGINT AUTO_INCREMENT COMMENT '记录ID' PRIMARY KEY,
+    `object_name` VARCHAR(1024) NOT NULL COMMENT '待删除的对象名',
+    `attempts` INT NOT NULL DEFAULT 0 COMMENT '已失败次数',
+    `next_attempt_at` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '下次尝试时间',
+    `last_error` VARCHAR(512) NULL COMMENT '最近一次失败原因',
+    `created_at` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间'
+) COMMENT '存储对象删除发件箱' CHARSET = utf8mb4 COLLATE = utf8mb4_unicode_ci;
+CREATE INDEX idx_next_attempt ON storage_deletion_outbox (next_attempt_at, id);
+-- 匹配分待重算标记：技能变更、新投递时在同一事务中登记，后台重算后删除；重复登记只递增版本号
+CREATE TABLE `match_rescore_pending` (
+    `target_type` VARCHAR(16) NOT NULL COMMENT '标记对象：JOB-岗位, SEEKER-求职者, APPLICATION-投递',
+    `target_id` BIGINT NOT NULL COMMENT '岗位/求职者/投递ID',
+    `version` BIGINT NOT NULL DEFAULT 1 COMMENT '登记次数，重算完成时只删除版本未变的标记',
+    `attempts` INT NOT NULL DEFAULT 0 COMMENT '已失败次数',
+    `next_attempt_at` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '下次尝试时间',
+    `created_at` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '首次登记时间',
+    PRIMARY KEY (target_type, target_id)
+) COMMENT '匹配分待重算标记' CHARSET = utf8mb4 COLLATE = utf8mb4_unicode_ci;
+CREATE INDEX idx_next_attempt ON match_rescore_pending (next_attempt_at);
+-- 求职者卡片待刷新标记：画像变更时在同一事务中登记，卡片刷新后删除；重复登记只递增版本号
+CREATE TABLE `seeker_card_pending` (
+    `job_seeker_id` BIGINT NOT NULL COMMENT '求职者ID',
+    `version` BIGINT NOT NULL DEFAULT 1 COMMENT '登记次数，刷新完成时只删除版本未变的标记',
+    `attempts` INT NOT NULL DEFAULT 0 COMMENT '已失败次数',
+    `next_attempt_at` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '下次尝试时间',
+    `created_at` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '首次登记时间',
+    PRIMARY KEY (job_seeker_id)
+) COMMENT '求职者卡片待刷新标记' CHARSET = utf8mb4 COLLATE = utf8mb4_unicode_ci;
+CREATE INDEX idx_next_attempt ON seeker_card_pending (next_attempt_at);